@@ -13,6 +13,7 @@ repositories {
 dependencies {
     implementation("io.javalin:javalin:5.6.1")
     implementation("com.zaxxer:HikariCP:5.0.1")
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
     implementation("mysql:mysql-connector-java:8.0.33")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.15.2")
     implementation("ch.qos.logback:logback-classic:1.4.11")
@@ -36,4 +37,18 @@ application {
 java {
     sourceCompatibility = JavaVersion.VERSION_11
     targetCompatibility = JavaVersion.VERSION_11
-}
\ No newline at end of file
+}
+
+// Benchmarks en su propio source set: compilan contra main pero no entran al jar
+val benchmark by sourceSets.creating {
+    compileClasspath += sourceSets["main"].output + sourceSets["main"].compileClasspath
+    runtimeClasspath += sourceSets["main"].output + sourceSets["main"].runtimeClasspath
+}
+
+// Benchmark de serialización de listados: HashMap por fila frente a DTO tipados
+tasks.register<JavaExec>("benchmarkSerializacion") {
+    group = "verification"
+    description = "Compara throughput y asignación de la serialización de listados"
+    classpath = benchmark.runtimeClasspath
+    mainClass.set("com.inventario.alma_jesus.benchmark.SerializacionBenchmark")
+}
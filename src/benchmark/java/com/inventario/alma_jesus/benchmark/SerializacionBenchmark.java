@@ -0,0 +1,193 @@
+package com.inventario.alma_jesus.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventario.alma_jesus.config.JacksonConfig;
+import com.inventario.alma_jesus.model.Producto;
+import com.inventario.alma_jesus.model.ProductoDTO;
+import com.inventario.alma_jesus.model.Venta;
+import com.inventario.alma_jesus.model.VentaDTO;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Comparación de la serialización de listados con mapas por fila frente a DTO tipados.
+ * <p>
+ * Reproduce el trabajo de {@code GET /api/v1/productos} y {@code GET /api/v1/ventas}
+ * sin base de datos: construye la respuesta a partir de una lista de entidades
+ * en memoria y la serializa con el {@link ObjectMapper} compartido, primero
+ * copiando cada fila a un {@code HashMap<String, Object>} (formato anterior) y
+ * después con {@link ProductoDTO} y {@link VentaDTO}. Para cada variante informa
+ * operaciones por segundo y bytes asignados por operación, medidos con el
+ * contador de asignación por hilo de la JVM.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * ./gradlew benchmarkSerializacion
+ *
+ * # o con otro tamaño de listado y duración (segundos por variante)
+ * ./gradlew benchmarkSerializacion --args="2000 10"
+ * </pre>
+ */
+public final class SerializacionBenchmark {
+
+    private static final ObjectMapper MAPPER = JacksonConfig.mapper();
+
+    private SerializacionBenchmark() {
+    }
+
+    /**
+     * Ejecuta el benchmark.
+     *
+     * @param args Filas por listado (500 por defecto) y segundos de medición por variante (5 por defecto)
+     * @throws Exception Si falla la serialización
+     */
+    public static void main(String[] args) throws Exception {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        List<Producto> productos = new ArrayList<>();
+        List<Venta> ventas = new ArrayList<>();
+        for (int i = 1; i <= filas; i++) {
+            productos.add(producto(i));
+            ventas.add(venta(i));
+        }
+
+        System.out.println("Listados de " + filas + " filas, " + segundos + " s por variante");
+        medir("productos / HashMap por fila", segundos, () -> respuesta("productos", mapasProducto(productos)));
+        medir("productos / ProductoDTO", segundos, () -> respuesta("productos", dtosProducto(productos)));
+        medir("ventas    / HashMap por fila", segundos, () -> respuesta("ventas", mapasVenta(ventas)));
+        medir("ventas    / VentaDTO", segundos, () -> respuesta("ventas", dtosVenta(ventas)));
+    }
+
+    private static void medir(String nombre, int segundos, Supplier<Map<String, Object>> respuesta) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long hilo = Thread.currentThread().getId();
+
+        // Calentamiento: compila los caminos calientes y llena la caché de serializadores
+        long finCalentamiento = System.nanoTime() + 2_000_000_000L;
+        while (System.nanoTime() < finCalentamiento) {
+            MAPPER.writeValueAsBytes(respuesta.get());
+        }
+
+        long operaciones = 0;
+        long bytes = 0;
+        long asignadoInicial = threads.getThreadAllocatedBytes(hilo);
+        long inicio = System.nanoTime();
+        long fin = inicio + segundos * 1_000_000_000L;
+        while (System.nanoTime() < fin) {
+            bytes += MAPPER.writeValueAsBytes(respuesta.get()).length;
+            operaciones++;
+        }
+        long duracion = System.nanoTime() - inicio;
+        long asignado = threads.getThreadAllocatedBytes(hilo) - asignadoInicial;
+
+        System.out.printf("%-30s %10.1f ops/s %12d B asignados/op %10d B JSON/op%n",
+                nombre, operaciones * 1e9 / duracion, asignado / operaciones, bytes / operaciones);
+    }
+
+    private static Map<String, Object> respuesta(String campo, List<?> filas) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put(campo, filas);
+        response.put("total", filas.size());
+        return response;
+    }
+
+    private static List<Map<String, Object>> mapasProducto(List<Producto> productos) {
+        List<Map<String, Object>> lista = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            Map<String, Object> productoMap = new HashMap<>();
+            productoMap.put("id", producto.getId());
+            productoMap.put("modelo", producto.getModelo());
+            productoMap.put("color", producto.getColor());
+            productoMap.put("precio", producto.getPrecio());
+            productoMap.put("stock", producto.getStock());
+            productoMap.put("tamaño", producto.getTamaño());
+            productoMap.put("imagenUrl", producto.getImagenUrl());
+            productoMap.put("activo", producto.isActivo());
+            productoMap.put("creadoPor", producto.getCreadoPor());
+            productoMap.put("fechaCreacion", producto.getFechaCreacion());
+            productoMap.put("tipo", producto.getTipo());
+            lista.add(productoMap);
+        }
+        return lista;
+    }
+
+    private static List<ProductoDTO> dtosProducto(List<Producto> productos) {
+        List<ProductoDTO> lista = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            lista.add(ProductoDTO.de(producto));
+        }
+        return lista;
+    }
+
+    private static List<Map<String, Object>> mapasVenta(List<Venta> ventas) {
+        List<Map<String, Object>> lista = new ArrayList<>(ventas.size());
+        for (Venta venta : ventas) {
+            Map<String, Object> ventaMap = new HashMap<>();
+            ventaMap.put("id", venta.getId());
+            ventaMap.put("clienteId", venta.getClienteId());
+            ventaMap.put("productoId", venta.getProductoId());
+            ventaMap.put("productoModelo", venta.getProductoModelo());
+            ventaMap.put("cantidad", venta.getCantidad());
+            ventaMap.put("precioUnitario", venta.getPrecioUnitario());
+            ventaMap.put("precioTotal", venta.getPrecioTotal());
+            ventaMap.put("fecha", venta.getFecha());
+            ventaMap.put("tipo", venta.getTipo());
+            ventaMap.put("usuarioRegistro", venta.getUsuarioRegistro());
+            ventaMap.put("fechaRegistro", venta.getFechaRegistro());
+            lista.add(ventaMap);
+        }
+        return lista;
+    }
+
+    private static List<VentaDTO> dtosVenta(List<Venta> ventas) {
+        List<VentaDTO> lista = new ArrayList<>(ventas.size());
+        for (Venta venta : ventas) {
+            lista.add(VentaDTO.de(venta));
+        }
+        return lista;
+    }
+
+    private static Producto producto(int i) {
+        Producto producto = new Producto();
+        producto.setId(i);
+        producto.setModelo("Modelo " + i);
+        producto.setColor(i % 2 == 0 ? "Dorado" : "Blanco");
+        producto.setPrecio(1000 + i);
+        producto.setStock(i % 50);
+        producto.setTamaño("30cm");
+        producto.setImagenUrl("https://res.cloudinary.com/demo/image/upload/producto-" + i + ".jpg");
+        producto.setActivo(true);
+        producto.setCreadoPor("admin");
+        producto.setFechaCreacion("2024-01-15 10:30:00");
+        producto.setTipo("religiosas");
+        return producto;
+    }
+
+    private static Venta venta(int i) {
+        Venta venta = new Venta();
+        venta.setId(i);
+        venta.setClienteId(100 + i % 40);
+        venta.setProductoId(i % 300);
+        venta.setProductoModelo("Modelo " + (i % 300));
+        venta.setCantidad(1 + i % 3);
+        venta.setPrecioUnitario(1500);
+        venta.setPrecioTotal(1500 * (1 + i % 3));
+        venta.setFecha("2024-11-04");
+        venta.setTipo("EFECTIVO");
+        venta.setUsuarioRegistro("admin");
+        venta.setFechaRegistro("2024-11-04 12:00:00");
+        return venta;
+    }
+}
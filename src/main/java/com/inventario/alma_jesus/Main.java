@@ -1,5 +1,6 @@
 package com.inventario.alma_jesus;
 
+import com.inventario.alma_jesus.config.JacksonConfig;
 import com.inventario.alma_jesus.router.AuthRouter;
 import com.inventario.alma_jesus.router.UsuarioRouter;
 import com.inventario.alma_jesus.router.ProductoRouter;
@@ -11,7 +12,18 @@ import com.inventario.alma_jesus.router.RecetarioRouter;
 import com.inventario.alma_jesus.router.TareaRouter;
 import com.inventario.alma_jesus.router.PedidoRouter;
 import com.inventario.alma_jesus.router.EstadisticasRouter;
+import com.inventario.alma_jesus.router.AdminRouter;
+import com.inventario.alma_jesus.router.AutorizacionFiltro;
+import com.inventario.alma_jesus.router.MetricasHttp;
+import com.inventario.alma_jesus.router.RutaMatcher;
+import com.inventario.alma_jesus.repository.RollupRepository;
+import com.inventario.alma_jesus.repository.UnitOfWork;
+import com.inventario.alma_jesus.service.JWTUtil;
+import com.inventario.alma_jesus.service.PasswordUtil;
 import io.javalin.Javalin;
+import io.javalin.json.JavalinJackson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Clase principal de la aplicación de gestión de inventario "Alma Jesús".
@@ -27,6 +39,11 @@ import io.javalin.Javalin;
 
 public class Main {
 
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(Main.class);
+
     /**
      * Método principal que inicia la aplicación.
      * <p>
@@ -34,7 +51,8 @@ public class Main {
      * y registra todos los routers de los diferentes módulos del sistema.
      * </p>
      *
-     * @param args Argumentos de línea de comandos (no utilizados)
+     * @param args Argumentos de línea de comandos; {@code --rebuild-rollups}
+     *             reconstruye los resúmenes diarios y termina sin iniciar el servidor
      *
      * @see AuthRouter
      * @see UsuarioRouter
@@ -47,18 +65,36 @@ public class Main {
      * @see TareaRouter
      * @see PedidoRouter
      * @see EstadisticasRouter
+     * @see AdminRouter
      *
      * @example
      * Para ejecutar la aplicación:
      * <pre>
      * java -jar inventario-alma-jesus.jar
+     *
+     * # Corregir los resúmenes diarios de las gráficas
+     * java -jar inventario-alma-jesus.jar --rebuild-rollups
      * </pre>
      *
      * La aplicación estará disponible en: http://localhost:7000
      */
 
     public static void main(String[] args) {
+        // Comando de mantenimiento: reconstruye los resúmenes diarios y termina
+        if (args.length > 0 && "--rebuild-rollups".equals(args[0])) {
+            logger.info("Resúmenes diarios reconstruidos: {}", RollupRepository.reconstruir());
+            return;
+        }
+
+        // Costo de BCrypt según la velocidad de esta máquina, antes del primer login
+        PasswordUtil.calibrar();
+
+        // Tokens revocados antes del reinicio
+        JWTUtil.iniciarRevocaciones();
+
         Javalin app = Javalin.create(config -> {
+            // Un solo ObjectMapper para ctx.json y la lectura de cuerpos en toda la aplicación
+            config.jsonMapper(new JavalinJackson(JacksonConfig.mapper()));
             config.plugins.enableCors(cors -> {
                 cors.add(it -> {
                     it.anyHost();
@@ -66,6 +102,21 @@ public class Main {
             });
         }).start(7000);
 
+        // Tabla de plantillas de ruta: se registra antes que las rutas para conocerlas
+        RutaMatcher.registrarEn(app);
+
+        // Métricas por ruta
+        MetricasHttp.registrar(app);
+
+        // Token JWT y rol por ruta; antes de la unidad de trabajo para que una
+        // petición rechazada no toque la base de datos
+        AutorizacionFiltro.registrar(app);
+
+        // Unidad de trabajo por petición: la conexión se toma del pool al primer uso
+        // y se devuelve al terminar la petición
+        app.before(ctx -> UnitOfWork.begin());
+        app.after(ctx -> UnitOfWork.end());
+
         // Registrar todas las rutas de los diferentes módulos
 
         AuthRouter authRouter = new AuthRouter();
@@ -99,70 +150,85 @@ public class Main {
         EstadisticasRouter estadisticasRouter = new EstadisticasRouter();
         estadisticasRouter.configureRoutes(app);
 
+        AdminRouter adminRouter = new AdminRouter();
+        adminRouter.configureRoutes(app);
+
         // Imprimir información del servidor y endpoints disponibles
-        System.out.println("Servidor corriendo en: http://localhost:7000");
-        System.out.println("ENDPOINTS AUTENTICACION");
-        System.out.println("POST http://localhost:7000/api/v1/auth/login");
-        System.out.println("POST http://localhost:7000/api/v1/auth/logout");
-        System.out.println("GET http://localhost:7000/api/v1/auth/verify");
-        System.out.println("ENDPOINTS USUARIOS");
-        System.out.println("GET http://localhost:7000/api/v1/usuarios");
-        System.out.println("GET http://localhost:7000/api/v1/usuarios/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/usuarios");
-        System.out.println("PUT http://localhost:7000/api/v1/usuarios/{id}/password");
-        System.out.println("DELETE http://localhost:7000/api/v1/usuarios/{id}");
-        System.out.println("ENDPOINTS PRODUCTOS");
-        System.out.println("GET http://localhost:7000/api/v1/productos");
-        System.out.println("GET http://localhost:7000/api/v1/productos/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/productos");
-        System.out.println("PUT http://localhost:7000/api/v1/productos/{id}");
-        System.out.println("DELETE http://localhost:7000/api/v1/productos/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/productos/publish");
-        System.out.println("ENDPOINTS VENTAS");
-        System.out.println("GET http://localhost:7000/api/v1/ventas");
-        System.out.println("GET http://localhost:7000/api/v1/ventas/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/ventas");
-        System.out.println("ENDPOINTS HERRAMIENTAS");
-        System.out.println("GET http://localhost:7000/api/v1/herramientas");
-        System.out.println("GET http://localhost:7000/api/v1/herramientas/{id o nombre}");
-        System.out.println("POST http://localhost:7000/api/v1/herramientas");
-        System.out.println("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/stock");
-        System.out.println("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/tomar");
-        System.out.println("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/devolver");
-        System.out.println("DELETE http://localhost:7000/api/v1/herramientas/{id o nombre}");
-        System.out.println("ENDPOINTS REPARACIONES");
-        System.out.println("GET http://localhost:7000/api/v1/reparaciones");
-        System.out.println("GET http://localhost:7000/api/v1/reparaciones/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/reparaciones");
-        System.out.println("PUT http://localhost:7000/api/v1/reparaciones/{id}/estado");
-        System.out.println("GET http://localhost:7000/api/v1/reparaciones/{id}/historial");
-        System.out.println("GET http://localhost:7000/api/v1/reparaciones/{id}/recibo");
-        System.out.println("DELETE http://localhost:7000/api/v1/reparaciones/{id}");
-        System.out.println("ENDPOINTS RECETARIO");
-        System.out.println("GET http://localhost:7000/api/v1/recetas");
-        System.out.println("GET http://localhost:7000/api/v1/recetas/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/recetas");
-        System.out.println("PUT http://localhost:7000/api/v1/recetas/{id}");
-        System.out.println("DELETE http://localhost:7000/api/v1/recetas/{id}");
-        System.out.println("ENDPOINTS TAREAS");
-        System.out.println("GET http://localhost:7000/api/v1/tareas");
-        System.out.println("GET http://localhost:7000/api/v1/tareas/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/tareas");
-        System.out.println("PUT http://localhost:7000/api/v1/tareas/{id}/estado");
-        System.out.println("DELETE http://localhost:7000/api/v1/tareas/{id}");
-        System.out.println("PUT http://localhost:7000/api/v1/tareas/{id}");
-        System.out.println("ENDPOINTS PEDIDOS");
-        System.out.println("GET http://localhost:7000/api/v1/pedidos");
-        System.out.println("GET http://localhost:7000/api/v1/pedidos/{id}");
-        System.out.println("POST http://localhost:7000/api/v1/pedidos");
-        System.out.println("PUT http://localhost:7000/api/v1/pedidos/{id}/etapa");
-        System.out.println("DELETE http://localhost:7000/api/v1/pedidos/{id}");
-        System.out.println("ENDPOINTS ESTADÍSTICAS DASHBOARD");
-        System.out.println("GET http://localhost:7000/api/v1/dashboard/stats");
-        System.out.println("GET http://localhost:7000/api/v1/analytics/venta?periodo=semanal|mensual|anual");
-        System.out.println("GET http://localhost:7000/api/v1/analytics/reparaciones?periodo=semanal|mensual|anual");
-        System.out.println("GET http://localhost:7000/api/v1/analytics/materiales?periodo=semanal|mensual|anual");
-        System.out.println("CREDENCIALES DE PRUEBA");
-        System.out.println("Body ejemplo login: {\"username\": \"admin001\", \"password\": \"AdminAlm@2024\"}");
+        logger.info("Servidor corriendo en: http://localhost:7000");
+        logger.info("ENDPOINTS AUTENTICACION");
+        logger.info("POST http://localhost:7000/api/v1/auth/login");
+        logger.info("POST http://localhost:7000/api/v1/auth/refresh");
+        logger.info("POST http://localhost:7000/api/v1/auth/logout");
+        logger.info("GET http://localhost:7000/api/v1/auth/verify");
+        logger.info("ENDPOINTS USUARIOS");
+        logger.info("GET http://localhost:7000/api/v1/usuarios");
+        logger.info("GET http://localhost:7000/api/v1/usuarios/{id}");
+        logger.info("POST http://localhost:7000/api/v1/usuarios");
+        logger.info("PUT http://localhost:7000/api/v1/usuarios/{id}/password");
+        logger.info("DELETE http://localhost:7000/api/v1/usuarios/{id}");
+        logger.info("ENDPOINTS PRODUCTOS");
+        logger.info("GET http://localhost:7000/api/v1/productos?limit=&after=");
+        logger.info("GET http://localhost:7000/api/v1/productos/export");
+        logger.info("GET http://localhost:7000/api/v1/productos/{id}");
+        logger.info("POST http://localhost:7000/api/v1/productos");
+        logger.info("PUT http://localhost:7000/api/v1/productos/{id}");
+        logger.info("DELETE http://localhost:7000/api/v1/productos/{id}");
+        logger.info("POST http://localhost:7000/api/v1/productos/publish");
+        logger.info("ENDPOINTS VENTAS");
+        logger.info("GET http://localhost:7000/api/v1/ventas?limit=&after=");
+        logger.info("GET http://localhost:7000/api/v1/ventas/export");
+        logger.info("GET http://localhost:7000/api/v1/ventas/{id}");
+        logger.info("POST http://localhost:7000/api/v1/ventas");
+        logger.info("ENDPOINTS HERRAMIENTAS");
+        logger.info("GET http://localhost:7000/api/v1/herramientas");
+        logger.info("GET http://localhost:7000/api/v1/herramientas/{id o nombre}");
+        logger.info("POST http://localhost:7000/api/v1/herramientas");
+        logger.info("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/stock");
+        logger.info("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/tomar");
+        logger.info("PUT http://localhost:7000/api/v1/herramientas/{id o nombre}/devolver");
+        logger.info("DELETE http://localhost:7000/api/v1/herramientas/{id o nombre}");
+        logger.info("ENDPOINTS REPARACIONES");
+        logger.info("GET http://localhost:7000/api/v1/reparaciones?limit=&after=");
+        logger.info("GET http://localhost:7000/api/v1/reparaciones/{id}");
+        logger.info("POST http://localhost:7000/api/v1/reparaciones");
+        logger.info("PUT http://localhost:7000/api/v1/reparaciones/{id}/estado");
+        logger.info("GET http://localhost:7000/api/v1/reparaciones/{id}/historial");
+        logger.info("GET http://localhost:7000/api/v1/reparaciones/{id}/recibo");
+        logger.info("DELETE http://localhost:7000/api/v1/reparaciones/{id}");
+        logger.info("ENDPOINTS RECETARIO");
+        logger.info("GET http://localhost:7000/api/v1/recetas");
+        logger.info("GET http://localhost:7000/api/v1/recetas/{id}");
+        logger.info("POST http://localhost:7000/api/v1/recetas");
+        logger.info("PUT http://localhost:7000/api/v1/recetas/{id}");
+        logger.info("DELETE http://localhost:7000/api/v1/recetas/{id}");
+        logger.info("ENDPOINTS TAREAS");
+        logger.info("GET http://localhost:7000/api/v1/tareas?limit=&after=");
+        logger.info("GET http://localhost:7000/api/v1/tareas/{id}");
+        logger.info("POST http://localhost:7000/api/v1/tareas");
+        logger.info("PUT http://localhost:7000/api/v1/tareas/{id}/estado");
+        logger.info("DELETE http://localhost:7000/api/v1/tareas/{id}");
+        logger.info("PUT http://localhost:7000/api/v1/tareas/{id}");
+        logger.info("ENDPOINTS PEDIDOS");
+        logger.info("GET http://localhost:7000/api/v1/pedidos?limit=&after=");
+        logger.info("GET http://localhost:7000/api/v1/pedidos/{id}");
+        logger.info("POST http://localhost:7000/api/v1/pedidos");
+        logger.info("PUT http://localhost:7000/api/v1/pedidos/{id}/etapa");
+        logger.info("DELETE http://localhost:7000/api/v1/pedidos/{id}");
+        logger.info("ENDPOINTS ESTADÍSTICAS DASHBOARD");
+        logger.info("GET http://localhost:7000/api/v1/dashboard/stats?fresh=true|false");
+        logger.info("GET http://localhost:7000/api/v1/dashboard/completo?periodo=diario|semanal|mensual|anual");
+        logger.info("GET http://localhost:7000/api/v1/analytics/venta?periodo=semanal|mensual|anual");
+        logger.info("GET http://localhost:7000/api/v1/analytics/reparaciones?periodo=semanal|mensual|anual");
+        logger.info("GET http://localhost:7000/api/v1/analytics/materiales?periodo=semanal|mensual|anual");
+        logger.info("GET http://localhost:7000/api/v1/analytics/{ventas|reparaciones|materiales}?desde=&hasta=&granularidad=dia|semana|mes|año");
+        logger.info("ENDPOINTS ADMINISTRACION");
+        logger.info("GET http://localhost:7000/api/v1/admin/pool");
+        logger.info("GET http://localhost:7000/api/v1/admin/cache/productos");
+        logger.info("GET http://localhost:7000/api/v1/admin/cache/analytics");
+        logger.info("GET http://localhost:7000/api/v1/admin/cache/auth");
+        logger.info("POST http://localhost:7000/api/v1/admin/rollups/rebuild");
+        logger.info("GET http://localhost:7000/metrics");
+        logger.info("CREDENCIALES DE PRUEBA");
+        logger.info("Body ejemplo login: {\"username\": \"admin001\", \"password\": \"AdminAlm@2024\"}");
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.inventario.alma_jesus.config;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configuración externa de la aplicación.
+ * <p>
+ * Resuelve cada clave buscando, en este orden: una variable de entorno
+ * (la clave en mayúsculas con los puntos sustituidos por guiones bajos, por
+ * ejemplo {@code db.pool.max-size} se busca como {@code DB_POOL_MAX_SIZE}),
+ * una propiedad de sistema ({@code -Ddb.pool.max-size=20}), el archivo indicado
+ * en {@code APP_CONFIG_FILE} y, por último, {@code application.properties}
+ * del classpath. Si la clave no aparece en ninguna fuente se usa el valor
+ * por defecto recibido.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ */
+public final class AppConfig {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+
+    /**
+     * Propiedades cargadas del classpath y, opcionalmente, del archivo externo.
+     */
+    private static final Properties PROPERTIES = cargarPropiedades();
+
+    private AppConfig() {
+    }
+
+    /**
+     * Obtiene un valor de texto de la configuración.
+     *
+     * @param clave Clave de configuración en formato {@code seccion.nombre}
+     * @param valorPorDefecto Valor a usar si la clave no está definida
+     * @return El valor configurado o el valor por defecto
+     */
+    public static String getString(String clave, String valorPorDefecto) {
+        String env = System.getenv(aVariableEntorno(clave));
+        if (env != null && !env.isBlank()) {
+            return env.trim();
+        }
+        String sistema = System.getProperty(clave);
+        if (sistema != null && !sistema.isBlank()) {
+            return sistema.trim();
+        }
+        String archivo = PROPERTIES.getProperty(clave);
+        if (archivo != null && !archivo.isBlank()) {
+            return archivo.trim();
+        }
+        return valorPorDefecto;
+    }
+
+    /**
+     * Obtiene un valor de texto que no tiene valor por defecto, como las
+     * credenciales de la base de datos.
+     *
+     * @param clave Clave de configuración
+     * @return El valor configurado
+     * @throws IllegalStateException Si la clave no está definida en ninguna fuente
+     */
+    public static String getRequired(String clave) {
+        String valor = getString(clave, null);
+        if (valor == null) {
+            throw new IllegalStateException("Falta la configuración obligatoria " + clave
+                    + " (variable de entorno " + aVariableEntorno(clave) + ")");
+        }
+        return valor;
+    }
+
+    /**
+     * Obtiene un valor entero de la configuración.
+     *
+     * @param clave Clave de configuración
+     * @param valorPorDefecto Valor a usar si la clave no está definida
+     * @return El valor configurado o el valor por defecto
+     * @throws IllegalStateException Si el valor configurado no es un entero válido
+     */
+    public static int getInt(String clave, int valorPorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null) {
+            return valorPorDefecto;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor entero inválido para " + clave + ": " + valor, e);
+        }
+    }
+
+    /**
+     * Obtiene un valor numérico largo de la configuración.
+     *
+     * @param clave Clave de configuración
+     * @param valorPorDefecto Valor a usar si la clave no está definida
+     * @return El valor configurado o el valor por defecto
+     * @throws IllegalStateException Si el valor configurado no es un número válido
+     */
+    public static long getLong(String clave, long valorPorDefecto) {
+        String valor = getString(clave, null);
+        if (valor == null) {
+            return valorPorDefecto;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Valor numérico inválido para " + clave + ": " + valor, e);
+        }
+    }
+
+    /**
+     * Obtiene un valor booleano de la configuración.
+     *
+     * @param clave Clave de configuración
+     * @param valorPorDefecto Valor a usar si la clave no está definida
+     * @return El valor configurado o el valor por defecto
+     */
+    public static boolean getBoolean(String clave, boolean valorPorDefecto) {
+        String valor = getString(clave, null);
+        return valor == null ? valorPorDefecto : Boolean.parseBoolean(valor);
+    }
+
+    private static String aVariableEntorno(String clave) {
+        return clave.toUpperCase().replace('.', '_').replace('-', '_');
+    }
+
+    private static Properties cargarPropiedades() {
+        Properties properties = new Properties();
+        try (InputStream in = AppConfig.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo leer application.properties: {}", e.getMessage());
+        }
+
+        String externo = System.getenv("APP_CONFIG_FILE");
+        if (externo == null || externo.isBlank()) {
+            externo = System.getProperty("app.config.file");
+        }
+        if (externo != null && !externo.isBlank()) {
+            try (InputStream in = new FileInputStream(externo)) {
+                properties.load(in);
+                logger.info("Configuración externa cargada desde {}", externo);
+            } catch (IOException e) {
+                logger.warn("No se pudo leer {}: {}", externo, e.getMessage());
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,54 @@
+package com.inventario.alma_jesus.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * {@link ObjectMapper} único de la aplicación.
+ * <p>
+ * Un {@code ObjectMapper} es costoso de crear y guarda en caché los
+ * serializadores de cada clase que procesa; es seguro para uso concurrente una
+ * vez configurado. Por eso se crea una sola instancia que comparten Javalin
+ * ({@code ctx.json}, {@code ctx.bodyAsClass}) y todos los controladores que
+ * leen el cuerpo de la petición, en lugar de una por controlador.
+ * </p>
+ * <p>
+ * Registra {@link JavaTimeModule} y escribe las fechas de {@code java.time}
+ * en formato ISO 8601 ({@code "2024-11-04"}) en lugar de arreglos numéricos.
+ * La deserialización conserva la configuración por defecto de Jackson.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * Javalin.create(config -&gt; config.jsonMapper(new JavalinJackson(JacksonConfig.mapper())));
+ *
+ * Map&lt;String, Object&gt; body = JacksonConfig.mapper().readValue(ctx.body(), Map.class);
+ * </pre>
+ */
+public final class JacksonConfig {
+
+    private static final ObjectMapper MAPPER = crearMapper();
+
+    private JacksonConfig() {
+    }
+
+    /**
+     * Obtiene el mapper compartido. No debe reconfigurarse después del arranque.
+     *
+     * @return La instancia única de {@link ObjectMapper}
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    private static ObjectMapper crearMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+}
@@ -0,0 +1,105 @@
+package com.inventario.alma_jesus.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de logback que deja pasar solo uno de cada N eventos frecuentes.
+ * <p>
+ * Se aplica a los loggers configurados (por prefijo de nombre) y solo a los
+ * eventos de nivel {@code nivelMaximo} o menor (por defecto DEBUG y TRACE);
+ * los WARN y ERROR nunca se descartan. Se evalúa antes de crear el evento,
+ * así que los eventos descartados no formatean el mensaje ni ocupan la cola
+ * del {@code AsyncAppender}. Si el nivel está deshabilitado el filtro no
+ * interviene y logback descarta el evento como siempre.
+ * </p>
+ * <p>
+ * El contador es por logger, de modo que un logger muy activo no consume la
+ * cuota de los demás.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * &lt;turboFilter class="com.inventario.alma_jesus.config.MuestreoLogFilter"&gt;
+ *     &lt;logger&gt;com.inventario.alma_jesus.repository&lt;/logger&gt;
+ *     &lt;cadaN&gt;100&lt;/cadaN&gt;
+ *     &lt;nivelMaximo&gt;DEBUG&lt;/nivelMaximo&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class MuestreoLogFilter extends TurboFilter {
+
+    private final List<String> prefijos = new ArrayList<>();
+    private final Map<String, AtomicLong> contadores = new ConcurrentHashMap<>();
+    private int cadaN = 100;
+    private Level nivelMaximo = Level.DEBUG;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format es null en las consultas isDebugEnabled()/isTraceEnabled(): no cuentan como evento
+        if (format == null || level == null || level.toInt() > nivelMaximo.toInt() || cadaN <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        String nombre = logger.getName();
+        if (!aplica(nombre)) {
+            return FilterReply.NEUTRAL;
+        }
+        long n = contadores.computeIfAbsent(nombre, k -> new AtomicLong()).getAndIncrement();
+        return n % cadaN == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean aplica(String nombre) {
+        for (String prefijo : prefijos) {
+            if (nombre.startsWith(prefijo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Agrega un logger (o paquete) al que se aplica el muestreo.
+     *
+     * @param prefijo Nombre del logger o prefijo de paquete
+     */
+    public void addLogger(String prefijo) {
+        prefijos.add(prefijo.trim());
+    }
+
+    /**
+     * @param cadaN Se registra uno de cada {@code cadaN} eventos; 1 o menos desactiva el muestreo
+     */
+    public void setCadaN(int cadaN) {
+        this.cadaN = cadaN;
+    }
+
+    /**
+     * @param nivelMaximo Nivel más severo que se muestrea (por ejemplo {@code DEBUG})
+     */
+    public void setNivelMaximo(String nivelMaximo) {
+        this.nivelMaximo = Level.toLevel(nivelMaximo, Level.DEBUG);
+    }
+
+    @Override
+    public void start() {
+        if (prefijos.isEmpty()) {
+            addWarn("MuestreoLogFilter sin loggers configurados; no se muestreará ningún evento");
+        }
+        super.start();
+    }
+}
@@ -0,0 +1,202 @@
+package com.inventario.alma_jesus.controller;
+
+import com.inventario.alma_jesus.repository.DatabaseConnection;
+import com.inventario.alma_jesus.repository.RollupRepository;
+import com.inventario.alma_jesus.service.EstadisticasService;
+import com.inventario.alma_jesus.service.JWTUtil;
+import com.inventario.alma_jesus.service.ProductoService;
+import io.javalin.http.Context;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controlador para los endpoints de administración y diagnóstico del sistema.
+ * <p>
+ * Expone información operativa que no forma parte del negocio, como el estado
+ * del pool de conexiones a la base de datos, para diagnosticar bloqueos en
+ * momentos de alta carga.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see DatabaseConnection
+ */
+public class AdminController {
+
+    /**
+     * Obtiene el estado actual del pool de conexiones HikariCP.
+     * <p>
+     * Incluye las conexiones activas, inactivas y los hilos en espera, además de
+     * los histogramas de tiempo de adquisición y uso de conexiones.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición GET: /api/v1/admin/pool
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "data": {
+     *         "pool": "alma-jesus-pool",
+     *         "activas": 3,
+     *         "inactivas": 7,
+     *         "totales": 10,
+     *         "pendientes": 0,
+     *         "metricas": {
+     *             "adquisicionMs": {"total": 1520, "p50": 0.12, "p99": 4.8, ...},
+     *             ...
+     *         }
+     *     }
+     * }
+     * </pre>
+     */
+    public void obtenerEstadoPool(Context ctx) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", DatabaseConnection.getPoolStatus());
+            ctx.json(response);
+        } catch (Exception e) {
+            ctx.status(500).json(Map.of(
+                    "success", false,
+                    "message", "Error al obtener el estado del pool: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Obtiene los contadores de la caché del catálogo de productos.
+     * <p>
+     * Permite vigilar la tasa de aciertos y cuántas veces se invalidó el
+     * catálogo por altas, ediciones, bajas o ventas.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición GET: /api/v1/admin/cache/productos
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "data": {
+     *         "hits": 18240,
+     *         "misses": 12,
+     *         "evictions": 11,
+     *         "hitRate": 0.9993,
+     *         "productos": 348,
+     *         "edadMs": 41250
+     *     }
+     * }
+     * </pre>
+     */
+    public void obtenerEstadoCacheProductos(Context ctx) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", ProductoService.estadisticasCatalogo());
+        ctx.json(response);
+    }
+
+    /**
+     * Obtiene los contadores de la caché de intervalos cerrados de analítica.
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición GET: /api/v1/admin/cache/analytics
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "data": {
+     *         "hits": 5320,
+     *         "misses": 96,
+     *         "invalidaciones": 3,
+     *         "hitRate": 0.9823,
+     *         "intervalos": 93
+     *     }
+     * }
+     * </pre>
+     */
+    public void obtenerEstadoCacheAnalitica(Context ctx) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", EstadisticasService.estadisticasSeries());
+        ctx.json(response);
+    }
+
+    /**
+     * Obtiene los contadores de la caché de claims de tokens JWT verificados.
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición GET: /api/v1/admin/cache/auth
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "data": {
+     *         "entradas": 37,
+     *         "aciertos": 48120,
+     *         "fallos": 41,
+     *         "hitRate": 0.999
+     *     }
+     * }
+     * </pre>
+     */
+    public void obtenerEstadoCacheAuth(Context ctx) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", JWTUtil.estadisticasCache());
+        ctx.json(response);
+    }
+
+    /**
+     * Reconstruye las tablas de resumen diario de ventas, reparaciones y consumo.
+     * <p>
+     * Recalcula los resúmenes a partir de los datos originales en una sola
+     * transacción. La migración ya llena el histórico al crear las tablas;
+     * esto se usa para corregir cualquier desviación.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición POST: /api/v1/admin/rollups/rebuild
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "message": "Resúmenes diarios reconstruidos",
+     *     "data": {
+     *         "resumen_ventas_dia": 412,
+     *         "resumen_reparaciones_dia": 230,
+     *         "resumen_consumo_dia": 1180
+     *     }
+     * }
+     * </pre>
+     */
+    public void reconstruirResumenes(Context ctx) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Resúmenes diarios reconstruidos");
+            response.put("data", RollupRepository.reconstruir());
+            EstadisticasService.invalidarSeries();
+            ctx.json(response);
+        } catch (Exception e) {
+            ctx.status(500).json(Map.of(
+                    "success", false,
+                    "message", "Error al reconstruir los resúmenes: " + e.getMessage()
+            ));
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.LoginRequest;
+import com.inventario.alma_jesus.model.RefreshTokenRequest;
 import com.inventario.alma_jesus.service.AuthService;
+import com.inventario.alma_jesus.service.DemasiadosIntentosException;
+import com.inventario.alma_jesus.service.ServidorOcupadoException;
 import io.javalin.http.Context;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones de autenticación y autorización.
@@ -20,13 +25,14 @@ import java.util.Map;
 public class AuthController {
 
     /**
-     * Servicio de autenticación que contiene la lógica de negocio.
+     * Logger de la clase.
      */
-    private AuthService authService = new AuthService();
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     /**
-     * Mapper para convertir entre JSON y objetos Java.
+     * Servicio de autenticación que contiene la lógica de negocio.
      */
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private AuthService authService = new AuthService();
 
     /**
      * Procesa la petición de inicio de sesión de un usuario.
@@ -54,11 +60,17 @@ public class AuthController {
      * {
      *     "success": true,
      *     "token": "eyJhbGciOiJIUzI1NiIs...",
+     *     "refreshToken": "eyJhbGciOiJIUzI1NiIs...",
+     *     "expiresIn": 900,
      *     "user": { ... }
      * }
      * </pre>
      *
-     * Respuesta de error (400, 401, 500):
+     * Si el usuario o la IP superaron el límite de intentos responde 429, y si
+     * el pool de BCrypt está saturado responde 503; ambos con el header
+     * {@code Retry-After} (segundos) y el mismo formato de error.
+     *
+     * Respuesta de error (400, 401, 429, 500, 503):
      * <pre>
      * {
      *     "success": false,
@@ -68,33 +80,80 @@ public class AuthController {
      */
     public void login(Context ctx) {
         try {
-            String body = ctx.body();
+            LoginRequest credenciales = BodyBinder.bind(ctx, LoginRequest.class, LoginRequest::validar);
 
-            // Verificar si el body está vacío
-            if (body == null || body.trim().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El cuerpo de la peticion no puede estar vacio"
-                ));
-                return;
+            // Intentar login
+            Map<String, Object> result = authService.login(credenciales.getUsername(), credenciales.getPassword(), ctx.ip());
+
+            if ((Boolean) result.get("success")) {
+                ctx.status(200).json(result);
+            } else {
+                ctx.status(401).json(result);
             }
 
-            // Convertir JSON a Map
-            Map<String, String> bodyMap = objectMapper.readValue(body, Map.class);
-            String username = bodyMap.get("username");
-            String password = bodyMap.get("password");
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
+        } catch (DemasiadosIntentosException e) {
+            ctx.header("Retry-After", String.valueOf(e.getReintentarEnSegundos()));
+            ctx.status(429).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        } catch (ServidorOcupadoException e) {
+            ctx.header("Retry-After", String.valueOf(e.getReintentarEnSegundos()));
+            ctx.status(503).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        } catch (Exception e) {
+            logger.error("Error en AuthController.login", e);
+            ctx.status(500).json(Map.of(
+                    "success", false,
+                    "message", "Error en el formato JSON: " + e.getMessage()
+            ));
+        }
+    }
 
-            // Validar que vengan los datos
-            if (username == null || password == null || username.isEmpty() || password.isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "Username y password son requeridos"
-                ));
-                return;
-            }
+    /**
+     * Renueva el token de acceso a partir de un refresh token.
+     * <p>
+     * Devuelve un nuevo token de acceso y un nuevo refresh token; el refresh
+     * token recibido queda revocado y no puede volver a usarse.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin que contiene la petición HTTP
+     *
+     * @example
+     * Petición POST a /api/v1/auth/refresh con body JSON:
+     * <pre>
+     * {
+     *     "refreshToken": "eyJhbGciOiJIUzI1NiIs..."
+     * }
+     * </pre>
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "token": "eyJhbGciOiJIUzI1NiIs...",
+     *     "refreshToken": "eyJhbGciOiJIUzI1NiIs...",
+     *     "expiresIn": 900
+     * }
+     * </pre>
+     *
+     * Respuesta de error (400, 401, 500):
+     * <pre>
+     * {
+     *     "success": false,
+     *     "message": "Refresh token inválido, expirado o ya usado"
+     * }
+     * </pre>
+     */
+    public void refresh(Context ctx) {
+        try {
+            RefreshTokenRequest request = BodyBinder.bind(ctx, RefreshTokenRequest.class, RefreshTokenRequest::validar);
 
-            // Intentar login
-            Map<String, Object> result = authService.login(username, password);
+            Map<String, Object> result = authService.refresh(request.getRefreshToken());
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -102,11 +161,13 @@ public class AuthController {
                 ctx.status(401).json(result);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en AuthController.refresh", e);
             ctx.status(500).json(Map.of(
                     "success", false,
-                    "message", "Error en el formato JSON: " + e.getMessage()
+                    "message", "Error al renovar token"
             ));
         }
     }
@@ -171,7 +232,7 @@ public class AuthController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en AuthController.verifyToken", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error al verificar token"
@@ -184,6 +245,8 @@ public class AuthController {
      * <p>
      * Este método marca el token como inválido en el sistema para que no pueda
      * ser utilizado nuevamente. Requiere un token válido en el header Authorization.
+     * Si el body trae {@code refreshToken}, también se revoca. Un body mal
+     * formado se responde con 400, después de revocar el token de acceso.
      * </p>
      *
      * @param ctx Contexto de Javalin que contiene la petición HTTP
@@ -202,7 +265,7 @@ public class AuthController {
      * }
      * </pre>
      *
-     * Respuesta de error (401, 500):
+     * Respuesta de error (400, 401, 500):
      * <pre>
      * {
      *     "success": false,
@@ -229,8 +292,18 @@ public class AuthController {
                 return;
             }
 
-            // Procesar logout
-            Map<String, Object> result = authService.logout(token);
+            // El body con el refresh token es opcional; si no se puede leer,
+            // el token de acceso se revoca igual y se responde 400
+            RefreshTokenRequest request;
+            try {
+                request = BodyBinder.bindOpcional(ctx, RefreshTokenRequest.class, (r, errores) -> { });
+            } catch (SolicitudInvalidaException e) {
+                authService.logout(token, null);
+                BodyBinder.responderError(ctx, e);
+                return;
+            }
+
+            Map<String, Object> result = authService.logout(token, request != null ? request.getRefreshToken() : null);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -239,11 +312,11 @@ public class AuthController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en AuthController.logout", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error al cerrar sesion"
             ));
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,246 @@
+package com.inventario.alma_jesus.controller;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.DeserializationProblemHandler;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.inventario.alma_jesus.config.JacksonConfig;
+import com.inventario.alma_jesus.model.ErroresValidacion;
+import io.javalin.http.Context;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Lectura del cuerpo de la petición como un comando tipado.
+ * <p>
+ * El JSON se lee directamente del flujo de entrada de la petición con el
+ * {@link ObjectMapper} compartido, sin copiarlo antes a un {@code String} ni
+ * pasar por un {@code Map} sin tipos: los números llegan al comando ya
+ * convertidos. Los errores de tipo no detienen la lectura; un manejador de
+ * problemas de Jackson los registra por campo, deja el campo en null y
+ * continúa. Después se aplican las reglas del comando sobre el mismo
+ * {@link ErroresValidacion}, así que la respuesta 400 informa todos los
+ * errores de una vez.
+ * </p>
+ * <p>
+ * Un decimal en un campo entero ({@code "cantidad": 2.5}) es un error del
+ * campo, no se trunca. Jackson no lo pasa por el manejador de problemas, así
+ * que detiene la lectura: la respuesta incluye ese campo y los errores
+ * anteriores a él.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see SolicitudInvalidaException
+ *
+ * @example
+ * <pre>
+ * try {
+ *     VentaRequest venta = BodyBinder.bind(ctx, VentaRequest.class, VentaRequest::validar);
+ *     ...
+ * } catch (SolicitudInvalidaException e) {
+ *     BodyBinder.responderError(ctx, e);
+ * }
+ *
+ * // 400:
+ * // {"success": false, "message": "Datos inválidos",
+ * //  "errores": {"cantidad": "debe ser un número entero", "fecha": "es requerido"}}
+ * </pre>
+ */
+public final class BodyBinder {
+
+    private static final ObjectMapper MAPPER = JacksonConfig.mapper();
+
+    /**
+     * Lectores por tipo de comando, sin {@link DeserializationFeature#ACCEPT_FLOAT_AS_INT};
+     * un {@link ObjectReader} es inmutable y reutilizable entre hilos.
+     */
+    private static final Map<Class<?>, ObjectReader> LECTORES = new ConcurrentHashMap<>();
+
+    private BodyBinder() {
+    }
+
+    /**
+     * Lee y valida el cuerpo de la petición.
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @param tipo Clase del comando
+     * @param validacion Reglas del comando; registra sus errores en el acumulador recibido
+     * @param <T> Tipo del comando
+     * @return El comando leído y validado
+     * @throws SolicitudInvalidaException Si el cuerpo está vacío, no es JSON
+     *         válido o tiene errores de tipo o de validación
+     */
+    public static <T> T bind(Context ctx, Class<T> tipo, BiConsumer<T, ErroresValidacion> validacion)
+            throws SolicitudInvalidaException {
+        return leer(ctx, tipo, validacion, true);
+    }
+
+    /**
+     * Lee el cuerpo sin reglas propias del comando; solo se informan los
+     * errores de formato y de tipo. Lo usan las entidades que validan en la
+     * capa de servicio.
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @param tipo Clase del comando
+     * @param <T> Tipo del comando
+     * @return El comando leído
+     * @throws SolicitudInvalidaException Si el cuerpo está vacío, no es JSON
+     *         válido o tiene errores de tipo
+     */
+    public static <T> T bind(Context ctx, Class<T> tipo) throws SolicitudInvalidaException {
+        return leer(ctx, tipo, (comando, errores) -> { }, true);
+    }
+
+    /**
+     * Lee y valida un cuerpo opcional: un cuerpo vacío no es un error. Si el
+     * cuerpo existe, se aplican las mismas reglas que en {@link #bind}.
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @param tipo Clase del comando
+     * @param validacion Reglas del comando; registra sus errores en el acumulador recibido
+     * @param <T> Tipo del comando
+     * @return El comando leído y validado, o null si la petición no trae cuerpo
+     * @throws SolicitudInvalidaException Si el cuerpo no es JSON válido o tiene
+     *         errores de tipo o de validación
+     */
+    public static <T> T bindOpcional(Context ctx, Class<T> tipo, BiConsumer<T, ErroresValidacion> validacion)
+            throws SolicitudInvalidaException {
+        return leer(ctx, tipo, validacion, false);
+    }
+
+    private static <T> T leer(Context ctx, Class<T> tipo, BiConsumer<T, ErroresValidacion> validacion,
+                              boolean requerido) throws SolicitudInvalidaException {
+        ErroresValidacion errores = new ErroresValidacion();
+        ObjectReader lector = LECTORES.computeIfAbsent(tipo,
+                        t -> MAPPER.readerFor(t).without(DeserializationFeature.ACCEPT_FLOAT_AS_INT))
+                .withHandler(new RecolectorErrores(errores));
+
+        T comando;
+        try (JsonParser parser = MAPPER.getFactory().createParser(ctx.bodyInputStream())) {
+            if (parser.nextToken() == null) {
+                if (!requerido) {
+                    return null;
+                }
+                throw new SolicitudInvalidaException("El cuerpo de la petición no puede estar vacío", null);
+            }
+            comando = lector.readValue(parser);
+        } catch (MismatchedInputException e) {
+            String campo = campo(e);
+            if (campo == null || e.getTargetType() == null) {
+                throw new SolicitudInvalidaException("JSON mal formado: " + e.getOriginalMessage(), null);
+            }
+            // Coerción rechazada por Jackson (por ejemplo, un decimal en un campo entero)
+            errores.agregar(campo, RecolectorErrores.descripcion(e.getTargetType()));
+            throw new SolicitudInvalidaException("Datos inválidos", errores.getErrores());
+        } catch (JsonProcessingException e) {
+            throw new SolicitudInvalidaException("JSON mal formado: " + e.getOriginalMessage(), null);
+        } catch (IOException e) {
+            throw new SolicitudInvalidaException("No se pudo leer el cuerpo de la petición: " + e.getMessage(), null);
+        }
+
+        if (comando == null) {
+            throw new SolicitudInvalidaException("Se esperaba un objeto JSON", errores.getErrores());
+        }
+        validacion.accept(comando, errores);
+        if (!errores.estaVacio()) {
+            throw new SolicitudInvalidaException("Datos inválidos", errores.getErrores());
+        }
+        return comando;
+    }
+
+    /**
+     * @return Nombre del campo en el que falló la lectura, o null si no fue en un campo
+     */
+    private static String campo(MismatchedInputException e) {
+        List<JsonMappingException.Reference> ruta = e.getPath();
+        return ruta.isEmpty() ? null : ruta.get(ruta.size() - 1).getFieldName();
+    }
+
+    /**
+     * Responde {@code 400 Bad Request} con el mensaje y los errores por campo.
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @param e Excepción lanzada por {@link #bind}
+     */
+    public static void responderError(Context ctx, SolicitudInvalidaException e) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", e.getMessage());
+        if (!e.getErrores().isEmpty()) {
+            error.put("errores", e.getErrores());
+        }
+        ctx.status(400).json(error);
+    }
+
+    /**
+     * Registra los valores con tipo inválido en lugar de abortar la lectura.
+     * El campo afectado queda en null y la lectura continúa con el siguiente.
+     */
+    private static final class RecolectorErrores extends DeserializationProblemHandler {
+
+        private final ErroresValidacion errores;
+
+        RecolectorErrores(ErroresValidacion errores) {
+            this.errores = errores;
+        }
+
+        @Override
+        public Object handleWeirdStringValue(DeserializationContext ctxt, Class<?> tipo, String valor,
+                                             String mensaje) throws IOException {
+            return registrar(ctxt.getParser(), tipo);
+        }
+
+        @Override
+        public Object handleWeirdNumberValue(DeserializationContext ctxt, Class<?> tipo, Number valor,
+                                             String mensaje) throws IOException {
+            return registrar(ctxt.getParser(), tipo);
+        }
+
+        @Override
+        public Object handleUnexpectedToken(DeserializationContext ctxt, JavaType tipo, JsonToken token,
+                                            JsonParser parser, String mensaje) throws IOException {
+            String campo = parser.currentName();
+            if (campo == null) {
+                // El cuerpo completo no es un objeto (por ejemplo, un arreglo)
+                return NOT_HANDLED;
+            }
+            parser.skipChildren();
+            return registrar(parser, tipo.getRawClass());
+        }
+
+        private Object registrar(JsonParser parser, Class<?> tipo) throws IOException {
+            String campo = parser.currentName();
+            if (campo == null || tipo.isPrimitive()) {
+                return NOT_HANDLED;
+            }
+            errores.agregar(campo, descripcion(tipo));
+            return null;
+        }
+
+        static String descripcion(Class<?> tipo) {
+            if (tipo == Integer.class || tipo == Long.class || tipo == int.class || tipo == long.class) {
+                return "debe ser un número entero";
+            } else if (Number.class.isAssignableFrom(tipo)) {
+                return "debe ser un número";
+            } else if (tipo == Boolean.class) {
+                return "debe ser true o false";
+            } else if (tipo == String.class) {
+                return "debe ser un texto";
+            }
+            return "tiene un formato no válido";
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.inventario.alma_jesus.controller;
 
 import com.inventario.alma_jesus.service.EstadisticasService;
+import com.inventario.alma_jesus.service.RangoAnalitica;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,7 +13,8 @@ import java.util.Map;
  * <p>
  * Esta clase proporciona endpoints para obtener datos estadísticos del dashboard,
  * gráficas de ventas, reparaciones y consumo de materiales. Los datos pueden ser
- * filtrados por periodo (semanal, mensual, anual) para análisis temporales.
+ * filtrados por periodo (semanal, mensual, anual) para análisis temporales,
+ * o consultados por un rango de fechas arbitrario con la granularidad deseada.
  * </p>
  *
  * @version 1.0
@@ -39,11 +42,16 @@ public class EstadisticasController {
      * Este endpoint retorna un resumen con las métricas clave del sistema
      * como total de ventas, reparaciones pendientes, productos en stock, etc.
      * </p>
+     * <p>
+     * Las métricas provienen de una instantánea refrescada en segundo plano;
+     * {@code edadMs} indica su antigüedad. Con {@code ?fresh=true} se
+     * recalculan en el momento.
+     * </p>
      *
-     * @see EstadisticasService#obtenerEstadisticasDashboard()
+     * @see EstadisticasService#obtenerEstadisticasDashboard(boolean)
      *
      * @example
-     * Petición GET: /api/v1/dashboard/stats
+     * Petición GET: /api/v1/dashboard/stats (o /api/v1/dashboard/stats?fresh=true)
      *
      * Respuesta exitosa (200):
      * <pre>
@@ -59,6 +67,8 @@ public class EstadisticasController {
      *         "ingresosTotales": 12500.50,
      *         "ingresosMensuales": 2500.75
      *     },
+     *     "generadoEn": 1718035200000,
+     *     "edadMs": 12450,
      *     "message": "Estadísticas obtenidas exitosamente"
      * }
      * </pre>
@@ -75,10 +85,13 @@ public class EstadisticasController {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                var stats = estadisticasService.obtenerEstadisticasDashboard();
+                boolean fresh = "true".equalsIgnoreCase(ctx.queryParam("fresh"));
+                var stats = estadisticasService.obtenerEstadisticasDashboard(fresh);
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
-                response.put("data", stats);
+                response.put("data", stats.getValor());
+                response.put("generadoEn", stats.getGeneradoEn());
+                response.put("edadMs", stats.getEdadMs());
                 response.put("message", "Estadísticas obtenidas exitosamente");
                 ctx.json(response).status(200);
             } catch (Exception e) {
@@ -90,6 +103,64 @@ public class EstadisticasController {
         }
     };
 
+    /**
+     * Handler para obtener el dashboard completo en una sola petición.
+     * <p>
+     * Reúne las estadísticas generales y las gráficas de ventas, reparaciones
+     * y materiales, calculadas en paralelo. Si alguna sección falla o supera
+     * su tiempo máximo, se devuelve como null, se informa en {@code errores}
+     * y {@code parcial} vale true; el resto de secciones se entrega igualmente.
+     * Solo si no se pudo calcular ninguna sección se responde 503.
+     * </p>
+     *
+     * @param periodo Parámetro de consulta opcional para las gráficas
+     *                ("diario", "semanal", "mensual", "anual"). Por defecto "mensual".
+     *
+     * @see EstadisticasService#obtenerDashboardCompleto(String)
+     *
+     * @example
+     * Petición GET: /api/v1/dashboard/completo?periodo=semanal
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "periodo": "semanal",
+     *     "parcial": true,
+     *     "data": {
+     *         "stats": {"totalVentas": 150, "pedidosPendientes": 8, ...},
+     *         "ventas": [{"periodo": "Semana 45", "cantidad": 12, "monto": 5400}, ...],
+     *         "reparaciones": [{"periodo": "Semana 45", "cantidadReparaciones": 3, ...}, ...],
+     *         "materiales": null
+     *     },
+     *     "errores": {"materiales": "Tiempo de espera agotado (3000 ms)"},
+     *     "duracionMs": 3004,
+     *     "message": "Dashboard obtenido parcialmente"
+     * }
+     * </pre>
+     */
+    public Handler obtenerDashboardCompleto = new Handler() {
+        @Override
+        public void handle(Context ctx) throws Exception {
+            long inicio = System.currentTimeMillis();
+            String periodo = ctx.queryParam("periodo");
+            Map<String, Object> resultado = estadisticasService.obtenerDashboardCompleto(periodo);
+            boolean parcial = (Boolean) resultado.get("parcial");
+            boolean vacio = (Integer) resultado.get("completas") == 0;
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", !vacio);
+            response.put("periodo", periodo != null ? periodo : "mensual");
+            response.put("parcial", parcial);
+            response.put("data", resultado.get("data"));
+            response.put("errores", resultado.get("errores"));
+            response.put("duracionMs", System.currentTimeMillis() - inicio);
+            response.put("message", vacio ? "No se pudo obtener ninguna sección del dashboard"
+                    : parcial ? "Dashboard obtenido parcialmente" : "Dashboard obtenido exitosamente");
+            ctx.json(response).status(vacio ? 503 : 200);
+        }
+    };
+
     /**
      * Handler para obtener datos de gráfica de ventas por periodo.
      * <p>
@@ -248,4 +319,99 @@ public class EstadisticasController {
             }
         }
     };
-}
\ No newline at end of file
+
+    /**
+     * Handler para obtener una serie de analítica por rango de fechas y granularidad.
+     * <p>
+     * Atiende {@code /api/v1/analytics/{serie}}. Si la petición incluye
+     * {@code desde}, {@code hasta} o {@code granularidad}, devuelve un punto por
+     * cada día, semana, mes o año del rango, incluidos los intervalos sin datos.
+     * Si no incluye ninguno de ellos se conserva la respuesta anterior basada
+     * en {@code periodo}, tanto para {@code venta} como para {@code ventas}.
+     * </p>
+     *
+     * @param serie Parámetro de ruta: "ventas" (o "venta"), "reparaciones" o "materiales"
+     * @param desde Parámetro de consulta opcional: primer día ("YYYY-MM-DD")
+     * @param hasta Parámetro de consulta opcional: último día inclusive ("YYYY-MM-DD"); por defecto hoy
+     * @param granularidad Parámetro de consulta opcional: "dia", "semana", "mes" o "año"; por defecto "dia"
+     *
+     * @see EstadisticasService#obtenerSerie(RangoAnalitica)
+     *
+     * @example
+     * Petición GET: /api/v1/analytics/ventas?desde=2024-01-15&amp;hasta=2024-03-31&amp;granularidad=mes
+     *
+     * Respuesta exitosa (200):
+     * <pre>
+     * {
+     *     "success": true,
+     *     "serie": "ventas",
+     *     "granularidad": "mes",
+     *     "desde": "2024-01-15",
+     *     "hasta": "2024-03-31",
+     *     "data": [
+     *         {"periodo": "2024-01", "desde": "2024-01-15", "hasta": "2024-02-01", "cantidad": 9, "monto": 4500},
+     *         {"periodo": "2024-02", "desde": "2024-02-01", "hasta": "2024-03-01", "cantidad": 0, "monto": 0},
+     *         {"periodo": "2024-03", "desde": "2024-03-01", "hasta": "2024-04-01", "cantidad": 14, "monto": 7300}
+     *     ],
+     *     "total": 3,
+     *     "message": "Serie obtenida exitosamente"
+     * }
+     * </pre>
+     *
+     * Respuesta de error (400):
+     * <pre>
+     * {
+     *     "success": false,
+     *     "message": "Granularidad no válida: quincena. Valores permitidos: dia, semana, mes, año"
+     * }
+     * </pre>
+     */
+    public Handler obtenerSerieAnalitica = new Handler() {
+        @Override
+        public void handle(Context ctx) throws Exception {
+            String serie = ctx.pathParam("serie");
+            String desde = ctx.queryParam("desde");
+            String hasta = ctx.queryParam("hasta");
+            String granularidad = ctx.queryParam("granularidad");
+
+            // Sin parámetros de rango se conservan las gráficas por periodo existentes
+            if (desde == null && hasta == null && granularidad == null) {
+                if ("venta".equals(serie) || "ventas".equals(serie)) {
+                    obtenerDatosGraficaVentas.handle(ctx);
+                    return;
+                } else if ("reparaciones".equals(serie)) {
+                    obtenerDatosGraficaReparaciones.handle(ctx);
+                    return;
+                } else if ("materiales".equals(serie)) {
+                    obtenerDatosGraficaMateriales.handle(ctx);
+                    return;
+                }
+            }
+
+            try {
+                RangoAnalitica rango = RangoAnalitica.de(serie, desde, hasta, granularidad, LocalDate.now());
+                var puntos = estadisticasService.obtenerSerie(rango);
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("serie", rango.getSerie());
+                response.put("granularidad", rango.getGranularidad().getParametro());
+                response.put("desde", rango.getDesde().toString());
+                response.put("hasta", rango.getHastaExclusivo().minusDays(1).toString());
+                response.put("data", puntos);
+                response.put("total", puntos.size());
+                response.put("message", "Serie obtenida exitosamente");
+                ctx.json(response).status(200);
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", e.getMessage());
+                ctx.json(error).status(400);
+            } catch (Exception e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", e.getMessage());
+                ctx.json(error).status(500);
+            }
+        }
+    };
+}
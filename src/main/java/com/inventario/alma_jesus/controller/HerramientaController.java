@@ -1,10 +1,14 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.AsignacionHerramientaRequest;
 import com.inventario.alma_jesus.model.Herramienta;
+import com.inventario.alma_jesus.model.StockHerramientaRequest;
 import com.inventario.alma_jesus.service.HerramientaService;
 import io.javalin.http.Context;
 import java.util.HashMap;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con herramientas del inventario.
@@ -19,6 +23,12 @@ import java.util.Map;
  * @see Herramienta
  */
 public class HerramientaController {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(HerramientaController.class);
+
     /**
      * Servicio que contiene la lógica de negocio para la gestión de herramientas.
      */
@@ -47,7 +57,7 @@ public class HerramientaController {
      */
     // Endpoint 18: GET /api/v1/herramientas - Listar herramientas
     public void listarHerramientas(Context ctx) {
-        System.out.println("[CONTROLLER] Listar herramientas llamado");
+        logger.debug("Listar herramientas llamado");
         try {
             String buscar = ctx.queryParam("buscar");
             String estatus = ctx.queryParam("estatus");
@@ -162,14 +172,9 @@ public class HerramientaController {
     public void actualizarStock(Context ctx) {
         try {
             String idONombre = ctx.pathParam("idONombre");
-            Map<String, Integer> body = ctx.bodyAsClass(Map.class);
-            Integer nuevaCantidad = body.get("cantidad");
-
-            if (nuevaCantidad == null) {
-                throw new RuntimeException("La cantidad es requerida");
-            }
+            StockHerramientaRequest stock = BodyBinder.bind(ctx, StockHerramientaRequest.class, StockHerramientaRequest::validar);
 
-            boolean actualizado = herramientaService.actualizarStock(idONombre, nuevaCantidad);
+            boolean actualizado = herramientaService.actualizarStock(idONombre, stock.getCantidad());
 
             if (actualizado) {
                 ctx.json(Map.of(
@@ -179,6 +184,8 @@ public class HerramientaController {
             } else {
                 throw new RuntimeException("No se pudo actualizar el stock");
             }
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
             ctx.status(400).json(Map.of(
                     "success", false,
@@ -210,11 +217,11 @@ public class HerramientaController {
     public void tomarHerramienta(Context ctx) {
         try {
             String idONombre = ctx.pathParam("idONombre");
-            Map<String, String> body = ctx.bodyAsClass(Map.class);
-            String usuarioAsignado = body.get("usuarioAsignado");
-            String asignadoPor = body.get("asignadoPor");
+            AsignacionHerramientaRequest asignacion =
+                    BodyBinder.bind(ctx, AsignacionHerramientaRequest.class, AsignacionHerramientaRequest::validar);
 
-            boolean tomada = herramientaService.tomarHerramienta(idONombre, usuarioAsignado, asignadoPor);
+            boolean tomada = herramientaService.tomarHerramienta(
+                    idONombre, asignacion.getUsuarioAsignado(), asignacion.getAsignadoPor());
 
             if (tomada) {
                 ctx.json(Map.of(
@@ -224,6 +231,8 @@ public class HerramientaController {
             } else {
                 throw new RuntimeException("No hay stock disponible para asignar");
             }
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
             ctx.status(400).json(Map.of(
                     "success", false,
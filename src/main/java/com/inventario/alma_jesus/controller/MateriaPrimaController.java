@@ -1,7 +1,11 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.AjusteStockRequest;
 import com.inventario.alma_jesus.model.MateriaPrima;
 import com.inventario.alma_jesus.model.MovimientoMp;
+import com.inventario.alma_jesus.model.StockMaterialRequest;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.MateriaPrimaService;
 import io.javalin.http.Context;
 import java.util.HashMap;
@@ -192,19 +196,9 @@ public class MateriaPrimaController {
     public void actualizarStock(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            Map<String, Object> body = ctx.bodyAsClass(Map.class);
-            Integer nuevaCantidad = (Integer) body.get("cantidad");
-            String usuarioId = (String) body.get("usuarioId");
-            String nota = (String) body.get("nota");
+            StockMaterialRequest stock = BodyBinder.bind(ctx, StockMaterialRequest.class, StockMaterialRequest::validar);
 
-            if (nuevaCantidad == null) {
-                throw new RuntimeException("La cantidad es requerida");
-            }
-            if (usuarioId == null) {
-                throw new RuntimeException("El usuario es requerido");
-            }
-
-            boolean actualizado = materiaService.actualizarStock(id, nuevaCantidad, usuarioId, nota);
+            boolean actualizado = materiaService.actualizarStock(id, stock.getCantidad(), stock.getUsuarioId(), stock.getNota());
 
             if (actualizado) {
                 ctx.json(Map.of(
@@ -214,6 +208,58 @@ public class MateriaPrimaController {
             } else {
                 throw new RuntimeException("No se pudo actualizar el stock");
             }
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
+        } catch (Exception e) {
+            ctx.status(400).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Endpoint 29b: Ajusta el stock de una materia prima con un delta.
+     * <p>
+     * Suma (o resta, si es negativo) el delta al stock y registra el movimiento
+     * en una sola transacción, sin leer antes la cantidad actual. Es la forma
+     * segura de registrar entradas y salidas cuando varios trabajadores ajustan
+     * el mismo material.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     *
+     * @example
+     * Petición PUT: /api/v1/materiales/456/stock/delta
+     * Body:
+     * <pre>
+     * {
+     *     "delta": -25,
+     *     "usuarioId": "trab001",
+     *     "nota": "Consumo en producción"
+     * }
+     * </pre>
+     */
+    // Endpoint 29b: PUT /api/v1/materiales/{id}/stock/delta - Ajustar stock con delta
+    public void ajustarStock(Context ctx) {
+        try {
+            Long id = Long.parseLong(ctx.pathParam("id"));
+            AjusteStockRequest ajuste = BodyBinder.bind(ctx, AjusteStockRequest.class, AjusteStockRequest::validar);
+
+            MovimientoMp movimiento = materiaService.ajustarStock(id, ajuste.getDelta(), ajuste.getUsuarioId(), ajuste.getNota());
+
+            ctx.json(Map.of(
+                    "success", true,
+                    "message", "Stock ajustado exitosamente",
+                    "data", movimiento
+            ));
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
+        } catch (IllegalStateException e) {
+            ctx.status(409).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             ctx.status(400).json(Map.of(
                     "success", false,
@@ -226,7 +272,8 @@ public class MateriaPrimaController {
      * Endpoint 30: Obtiene el historial de movimientos de una materia prima.
      * <p>
      * Retorna la lista cronológica de todos los ajustes de stock realizados
-     * en un material, incluyendo fechas, usuarios y notas.
+     * en un material, incluyendo fechas, usuarios y notas. Con {@code limit}
+     * y/o {@code after} la respuesta se pagina por cursor.
      * </p>
      *
      * @param ctx Contexto de Javalin con la petición HTTP
@@ -235,12 +282,24 @@ public class MateriaPrimaController {
     public void obtenerHistorial(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            List<MovimientoMp> movimientos = materiaService.obtenerHistorial(id);
+            PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
 
-            ctx.json(Map.of(
-                    "success", true,
-                    "data", movimientos
-            ));
+            if (page == null) {
+                List<MovimientoMp> movimientos = materiaService.obtenerHistorial(id);
+                ctx.json(Map.of(
+                        "success", true,
+                        "data", movimientos
+                ));
+                return;
+            }
+
+            Page<MovimientoMp> pagina = materiaService.obtenerHistorial(id, page);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", pagina.getItems());
+            response.put("nextCursor", pagina.getNextCursor());
+            response.put("hasMore", pagina.isHasMore());
+            ctx.json(response);
         } catch (Exception e) {
             ctx.status(400).json(Map.of(
                     "success", false,
@@ -280,4 +339,4 @@ public class MateriaPrimaController {
             ));
         }
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,9 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.CambioEtapaRequest;
 import com.inventario.alma_jesus.model.Pedido;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.PedidoService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
 import java.util.HashMap;
@@ -25,10 +26,6 @@ public class PedidoController {
      * Servicio que contiene la lógica de negocio para la gestión de pedidos.
      */
     private final PedidoService pedidoService;
-    /**
-     * Mapper para convertir entre JSON y objetos Java.
-     */
-    private final ObjectMapper objectMapper;
     /**
      * Constructor del controlador de pedidos.
      *
@@ -36,7 +33,6 @@ public class PedidoController {
      */
     public PedidoController(PedidoService pedidoService) {
         this.pedidoService = pedidoService;
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -106,24 +102,40 @@ public class PedidoController {
      * Handler para listar todos los pedidos del sistema.
      * <p>
      * Retorna la lista completa de pedidos sin filtros, ordenados
-     * por fecha de creación descendente.
+     * por fecha de creación descendente. Con {@code limit} y/o {@code after}
+     * la respuesta se pagina por cursor e incluye {@code nextCursor} y {@code hasMore}.
      * </p>
      *
      * @example
      * Petición GET: /api/v1/pedidos
+     * Petición GET: /api/v1/pedidos?limit=50&after={nextCursor}
      */
     public Handler listarPedidos = new Handler() {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                var pedidos = pedidoService.listarPedidos();
-
+                PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
                 Map<String, Object> response = new HashMap<>();
+
+                if (page == null) {
+                    var pedidos = pedidoService.listarPedidos();
+                    response.put("data", pedidos);
+                    response.put("total", pedidos.size());
+                } else {
+                    var pagina = pedidoService.listarPedidos(page);
+                    response.put("data", pagina.getItems());
+                    response.put("total", pagina.getItems().size());
+                    response.put("nextCursor", pagina.getNextCursor());
+                    response.put("hasMore", pagina.isHasMore());
+                }
                 response.put("success", true);
-                response.put("data", pedidos);
-                response.put("total", pedidos.size());
 
                 ctx.json(response).status(200);
+            } catch (IllegalArgumentException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", e.getMessage());
+                ctx.json(error).status(400);
             } catch (Exception e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -198,8 +210,7 @@ public class PedidoController {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                String body = ctx.body();
-                Pedido pedido = objectMapper.readValue(body, Pedido.class);
+                Pedido pedido = BodyBinder.bind(ctx, Pedido.class);
                 var nuevoPedido = pedidoService.crearPedido(pedido);
 
                 Map<String, Object> response = new HashMap<>();
@@ -208,6 +219,8 @@ public class PedidoController {
                 response.put("data", nuevoPedido);
 
                 ctx.json(response).status(201);
+            } catch (SolicitudInvalidaException e) {
+                BodyBinder.responderError(ctx, e);
             } catch (Exception e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -245,15 +258,9 @@ public class PedidoController {
                 String idParam = ctx.pathParam("id");
                 Long id = Long.parseLong(idParam);
 
-                Map<String, String> requestBody = objectMapper.readValue(ctx.body(), Map.class);
-                String nuevaEtapa = requestBody.get("etapa");
-                String notas = requestBody.get("notas");
-
-                if (nuevaEtapa == null || nuevaEtapa.trim().isEmpty()) {
-                    throw new RuntimeException("La nueva etapa es requerida");
-                }
+                CambioEtapaRequest cambio = BodyBinder.bind(ctx, CambioEtapaRequest.class, CambioEtapaRequest::validar);
 
-                var pedidoActualizado = pedidoService.actualizarEtapa(id, nuevaEtapa, notas);
+                var pedidoActualizado = pedidoService.actualizarEtapa(id, cambio.getEtapa(), cambio.getNotas());
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -266,6 +273,8 @@ public class PedidoController {
                 error.put("success", false);
                 error.put("message", "ID inválido: debe ser un número");
                 ctx.json(error).status(400);
+            } catch (SolicitudInvalidaException e) {
+                BodyBinder.responderError(ctx, e);
             } catch (Exception e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
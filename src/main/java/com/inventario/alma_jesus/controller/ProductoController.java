@@ -1,9 +1,12 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.ProductoRequest;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.ProductoService;
 import io.javalin.http.Context;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con productos del catálogo.
@@ -18,14 +21,16 @@ import java.util.Map;
  * @see ProductoService
  */
 public class ProductoController {
+
     /**
-     * Servicio que contiene la lógica de negocio para la gestión de productos.
+     * Logger de la clase.
      */
-    private ProductoService productoService = new ProductoService();
+    private static final Logger logger = LoggerFactory.getLogger(ProductoController.class);
+
     /**
-     * Mapper para convertir entre JSON y objetos Java.
+     * Servicio que contiene la lógica de negocio para la gestión de productos.
      */
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private ProductoService productoService = new ProductoService();
     /**
      * Endpoint: Lista todos los productos disponibles en el catálogo.
      * <p>
@@ -59,8 +64,13 @@ public class ProductoController {
      * </pre>
      */
     public void listarProductos(Context ctx) {
+        if ("true".equalsIgnoreCase(ctx.queryParam("stream"))) {
+            exportarProductos(ctx);
+            return;
+        }
         try {
-            Map<String, Object> result = productoService.listarProductos();
+            PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
+            Map<String, Object> result = productoService.listarProductos(page);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -68,6 +78,11 @@ public class ProductoController {
                 ctx.status(500).json(result);
             }
 
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             ctx.status(500).json(Map.of(
                     "success", false,
@@ -76,6 +91,34 @@ public class ProductoController {
         }
     }
 
+    /**
+     * Endpoint: Exporta el listado completo de productos en streaming.
+     * <p>
+     * Devuelve el mismo documento JSON que el listado, pero las filas se escriben
+     * en la respuesta conforme se leen de la base de datos, por lo que la memoria
+     * usada no depende del número de productos. También se usa desde el listado
+     * con {@code ?stream=true}.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @example GET /api/v1/productos/export
+     */
+    public void exportarProductos(Context ctx) {
+        ctx.contentType("application/json");
+        try {
+            productoService.exportarProductos(ctx.outputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar productos: {}", e.getMessage());
+            if (!ctx.res().isCommitted()) {
+                ctx.res().resetBuffer();
+                ctx.status(500).json(Map.of(
+                        "success", false,
+                        "message", "Error interno al exportar productos"
+                ));
+            }
+        }
+    }
+
     /**
      * Endpoint: Lista productos filtrados por tipo específico.
      * <p>
@@ -202,35 +245,8 @@ public class ProductoController {
      */
     public void crearProducto(Context ctx) {
         try {
-            String body = ctx.body();
-
-            if (body == null || body.trim().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El cuerpo de la petición no puede estar vacío"
-                ));
-                return;
-            }
-
-            Map<String, Object> bodyMap = objectMapper.readValue(body, Map.class);
-
-            if (bodyMap == null || bodyMap.isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "Datos del producto son requeridos"
-                ));
-                return;
-            }
-
-            if (bodyMap.get("creadoPor") == null || bodyMap.get("creadoPor").toString().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El campo 'creadoPor' es requerido"
-                ));
-                return;
-            }
-
-            Map<String, Object> result = productoService.crearProducto(bodyMap);
+            ProductoRequest producto = BodyBinder.bind(ctx, ProductoRequest.class, ProductoRequest::validarAlta);
+            Map<String, Object> result = productoService.crearProducto(producto);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(201).json(result);
@@ -238,10 +254,12 @@ public class ProductoController {
                 ctx.status(400).json(result);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
             ctx.status(500).json(Map.of(
                     "success", false,
-                    "message", "Error en el formato JSON: " + e.getMessage()
+                    "message", "Error interno al crear producto: " + e.getMessage()
             ));
         }
     }
@@ -261,7 +279,6 @@ public class ProductoController {
     public void actualizarProducto(Context ctx) {
         try {
             String idParam = ctx.pathParam("id");
-            String body = ctx.body();
 
             if (idParam == null || idParam.isEmpty()) {
                 ctx.status(400).json(Map.of(
@@ -271,18 +288,10 @@ public class ProductoController {
                 return;
             }
 
-            if (body == null || body.trim().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El cuerpo de la petición no puede estar vacío"
-                ));
-                return;
-            }
-
             int id = Integer.parseInt(idParam);
-            Map<String, Object> bodyMap = objectMapper.readValue(body, Map.class);
+            ProductoRequest cambios = BodyBinder.bind(ctx, ProductoRequest.class, ProductoRequest::validarCambios);
 
-            Map<String, Object> result = productoService.actualizarProducto(id, bodyMap);
+            Map<String, Object> result = productoService.actualizarProducto(id, cambios);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -295,6 +304,8 @@ public class ProductoController {
                     "success", false,
                     "message", "ID de producto debe ser un número válido"
             ));
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
             ctx.status(500).json(Map.of(
                     "success", false,
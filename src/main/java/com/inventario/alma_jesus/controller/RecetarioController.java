@@ -2,7 +2,6 @@ package com.inventario.alma_jesus.controller;
 
 import com.inventario.alma_jesus.model.Recetario;
 import com.inventario.alma_jesus.service.RecetarioService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 import io.javalin.http.Handler;
 
@@ -28,11 +27,6 @@ public class RecetarioController {
      */
     private final RecetarioService recetarioService;
 
-    /**
-     * Mapper para convertir entre JSON y objetos Java.
-     */
-    private final ObjectMapper objectMapper;
-
     /**
      * Constructor del controlador de recetario.
      *
@@ -40,7 +34,6 @@ public class RecetarioController {
      */
     public RecetarioController(RecetarioService recetarioService) {
         this.recetarioService = recetarioService;
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -52,6 +45,7 @@ public class RecetarioController {
      *
      * @example
      * Petición GET: /api/v1/recetas
+     * Con {@code ?incluir=materiales} cada receta trae también su lista de materiales.
      *
      * Respuesta exitosa (200):
      * <pre>
@@ -66,7 +60,7 @@ public class RecetarioController {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                var recetas = recetarioService.listarRecetas();
+                var recetas = recetarioService.listarRecetas(incluyeMateriales(ctx));
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -109,7 +103,7 @@ public class RecetarioController {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                var recetas = recetarioService.listarRecetasParaTrabajador();
+                var recetas = recetarioService.listarRecetasParaTrabajador(incluyeMateriales(ctx));
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -131,7 +125,8 @@ public class RecetarioController {
      * Handler para obtener una receta específica por ID.
      * <p>
      * Retorna todos los detalles de una receta incluyendo materiales requeridos,
-     * pasos de fabricación, tiempo estimado y notas importantes.
+     * pasos de fabricación, tiempo estimado y notas importantes. La lista de
+     * materiales solo se incluye con {@code ?incluir=materiales}.
      * </p>
      *
      * @param id Parámetro de ruta con el ID numérico de la receta
@@ -144,7 +139,7 @@ public class RecetarioController {
             try {
                 String idParam = ctx.pathParam("id");
                 Long id = Long.parseLong(idParam);
-                var receta = recetarioService.obtenerReceta(id);
+                var receta = recetarioService.obtenerReceta(id, incluyeMateriales(ctx));
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
@@ -196,8 +191,7 @@ public class RecetarioController {
         @Override
         public void handle(Context ctx) throws Exception {
             try {
-                String body = ctx.body();
-                Recetario receta = objectMapper.readValue(body, Recetario.class);
+                Recetario receta = BodyBinder.bind(ctx, Recetario.class);
                 var nuevaReceta = recetarioService.crearReceta(receta);
 
                 Map<String, Object> response = new HashMap<>();
@@ -206,6 +200,8 @@ public class RecetarioController {
                 response.put("data", nuevaReceta);
 
                 ctx.json(response).status(201);
+            } catch (SolicitudInvalidaException e) {
+                BodyBinder.responderError(ctx, e);
             } catch (Exception e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -230,7 +226,7 @@ public class RecetarioController {
             try {
                 String idParam = ctx.pathParam("id");
                 Long id = Long.parseLong(idParam);
-                Recetario receta = objectMapper.readValue(ctx.body(), Recetario.class);
+                Recetario receta = BodyBinder.bind(ctx, Recetario.class);
                 var recetaActualizada = recetarioService.actualizarReceta(id, receta);
 
                 Map<String, Object> response = new HashMap<>();
@@ -244,6 +240,8 @@ public class RecetarioController {
                 error.put("success", false);
                 error.put("message", "ID inválido: debe ser un número");
                 ctx.json(error).status(400);
+            } catch (SolicitudInvalidaException e) {
+                BodyBinder.responderError(ctx, e);
             } catch (Exception e) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -294,4 +292,11 @@ public class RecetarioController {
             }
         }
     };
-}
\ No newline at end of file
+
+    /**
+     * Indica si la petición pidió los materiales con {@code ?incluir=materiales}.
+     */
+    private static boolean incluyeMateriales(Context ctx) {
+        return "materiales".equals(ctx.queryParam("incluir"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.CambioEstadoRequest;
 import com.inventario.alma_jesus.model.Reparacion;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.ReparacionService;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.javalin.http.Context;
 import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con reparaciones de clientes.
@@ -22,14 +26,14 @@ import java.util.*;
 public class ReparacionController {
 
     /**
-     * Servicio que contiene la lógica de negocio para la gestión de reparaciones.
+     * Logger de la clase.
      */
-    private final ReparacionService reparacionService;
+    private static final Logger logger = LoggerFactory.getLogger(ReparacionController.class);
 
     /**
-     * Mapper para convertir entre JSON y objetos Java.
+     * Servicio que contiene la lógica de negocio para la gestión de reparaciones.
      */
-    private final ObjectMapper objectMapper;
+    private final ReparacionService reparacionService;
 
     /**
      * Constructor por defecto del controlador de reparaciones.
@@ -37,7 +41,6 @@ public class ReparacionController {
      */
     public ReparacionController() {
         this.reparacionService = new ReparacionService();
-        this.objectMapper = new ObjectMapper();
     }
 
     /**
@@ -53,30 +56,48 @@ public class ReparacionController {
      * @param cliente Parámetro de consulta opcional para filtrar por nombre de cliente
      * @param modelo Parámetro de consulta opcional para filtrar por modelo del artículo
      *
+     * @param limit Parámetro de consulta opcional con el tamaño de página
+     * @param after Parámetro de consulta opcional con el cursor de la página anterior
+     *
      * @example
      * Petición GET: /api/v1/reparaciones?estado=pendiente&cliente=Juan
+     * Petición GET: /api/v1/reparaciones?limit=50&after={nextCursor}
      */
     public void listarReparaciones(Context ctx) {
         try {
-            System.out.println("Listando reparaciones");
+            logger.debug("Listando reparaciones");
 
             String estado = ctx.queryParam("estado");
             String cliente = ctx.queryParam("cliente");
             String modelo = ctx.queryParam("modelo");
 
-            List<Reparacion> reparaciones = reparacionService.listarReparaciones(estado, cliente, modelo);
+            PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
 
             Map<String, Object> response = new HashMap<>();
+            List<Reparacion> reparaciones;
+            if (page == null) {
+                reparaciones = reparacionService.listarReparaciones(estado, cliente, modelo);
+            } else {
+                Page<Reparacion> pagina = reparacionService.listarReparaciones(estado, cliente, modelo, page);
+                reparaciones = pagina.getItems();
+                response.put("nextCursor", pagina.getNextCursor());
+                response.put("hasMore", pagina.isHasMore());
+            }
             response.put("success", true);
             response.put("data", reparaciones);
             response.put("total", reparaciones.size());
 
             ctx.json(response).status(200);
-            System.out.println("Listado exitoso: " + reparaciones.size() + " reparaciones");
+            logger.debug("Listado exitoso: {} reparaciones", reparaciones.size());
 
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+
+            ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al listar: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error al listar", e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -103,7 +124,7 @@ public class ReparacionController {
     public void obtenerReparacion(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Obteniendo reparacion ID: " + id);
+            logger.debug("Obteniendo reparacion ID: {}", id);
 
             Optional<Reparacion> reparacionOpt = reparacionService.obtenerReparacion(id);
 
@@ -115,18 +136,18 @@ public class ReparacionController {
                 response.put("saldoPendiente", reparacionService.calcularSaldoPendiente(reparacion));
 
                 ctx.json(response).status(200);
-                System.out.println("Reparacion encontrada ID: " + id);
+                logger.debug("Reparacion encontrada ID: {}", id);
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Reparacion no encontrada");
 
                 ctx.json(error).status(404);
-                System.out.println("Reparacion no encontrada ID: " + id);
+                logger.debug("Reparacion no encontrada ID: {}", id);
             }
 
         } catch (NumberFormatException e) {
-            System.err.println("ID invalido");
+            logger.warn("ID invalido");
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -134,7 +155,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al obtener: " + e.getMessage());
+            logger.error("Error al obtener: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -172,13 +193,10 @@ public class ReparacionController {
      */
     public void crearReparacion(Context ctx) {
         try {
-            System.out.println("Creando nueva reparacion");
+            logger.debug("Creando nueva reparacion");
 
-            Reparacion reparacion = objectMapper.readValue(ctx.body(), Reparacion.class);
-
-            if (reparacion.getNombreCliente() == null || reparacion.getNombreCliente().trim().isEmpty()) {
-                throw new IllegalArgumentException("El nombre del cliente es requerido");
-            }
+            Reparacion reparacion = BodyBinder.bind(ctx, Reparacion.class,
+                    (r, errores) -> errores.requerido("nombreCliente", r.getNombreCliente()));
 
             Reparacion reparacionCreada = reparacionService.crearReparacion(reparacion);
 
@@ -189,10 +207,12 @@ public class ReparacionController {
             response.put("saldoPendiente", reparacionService.calcularSaldoPendiente(reparacionCreada));
 
             ctx.json(response).status(201);
-            System.out.println("Reparacion creada ID: " + reparacionCreada.getId());
+            logger.debug("Reparacion creada ID: {}", reparacionCreada.getId());
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (IllegalArgumentException e) {
-            System.err.println("Error de validacion: " + e.getMessage());
+            logger.warn("Error de validacion: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -200,7 +220,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al crear: " + e.getMessage());
+            logger.error("Error al crear: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -224,9 +244,9 @@ public class ReparacionController {
     public void actualizarReparacion(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Actualizando reparacion ID: " + id);
+            logger.debug("Actualizando reparacion ID: {}", id);
 
-            Reparacion reparacion = objectMapper.readValue(ctx.body(), Reparacion.class);
+            Reparacion reparacion = BodyBinder.bind(ctx, Reparacion.class);
             reparacion.setId(id);
 
             boolean actualizado = reparacionService.actualizarReparacion(reparacion);
@@ -240,18 +260,20 @@ public class ReparacionController {
                 response.put("data", reparacionActualizada.orElse(null));
 
                 ctx.json(response).status(200);
-                System.out.println("Reparacion actualizada ID: " + id);
+                logger.debug("Reparacion actualizada ID: {}", id);
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Reparacion no encontrada o no se pudo actualizar");
 
                 ctx.json(error).status(404);
-                System.out.println("No se pudo actualizar ID: " + id);
+                logger.warn("No se pudo actualizar ID: {}", id);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (IllegalArgumentException e) {
-            System.err.println("Error de validacion: " + e.getMessage());
+            logger.warn("Error de validacion: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -259,7 +281,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al actualizar: " + e.getMessage());
+            logger.error("Error al actualizar: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -284,14 +306,9 @@ public class ReparacionController {
     public void cambiarEstado(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Cambiando estado reparacion ID: " + id);
+            logger.debug("Cambiando estado reparacion ID: {}", id);
 
-            Map<String, String> requestBody = objectMapper.readValue(ctx.body(), Map.class);
-            String nuevoEstado = requestBody.get("estado");
-
-            if (nuevoEstado == null || nuevoEstado.trim().isEmpty()) {
-                throw new IllegalArgumentException("El estado es requerido");
-            }
+            String nuevoEstado = BodyBinder.bind(ctx, CambioEstadoRequest.class, CambioEstadoRequest::validar).getEstado();
 
             boolean actualizado = reparacionService.cambiarEstado(id, nuevoEstado);
 
@@ -302,18 +319,20 @@ public class ReparacionController {
                 response.put("nuevoEstado", nuevoEstado);
 
                 ctx.json(response).status(200);
-                System.out.println("Estado actualizado ID: " + id + " -> " + nuevoEstado);
+                logger.debug("Estado actualizado ID: {} -> {}", id, nuevoEstado);
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Reparacion no encontrada o no se pudo actualizar el estado");
 
                 ctx.json(error).status(404);
-                System.out.println("No se pudo cambiar estado ID: " + id);
+                logger.warn("No se pudo cambiar estado ID: {}", id);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (IllegalArgumentException e) {
-            System.err.println("Error de validacion: " + e.getMessage());
+            logger.warn("Error de validacion: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -321,7 +340,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al cambiar estado: " + e.getMessage());
+            logger.error("Error al cambiar estado: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -343,7 +362,7 @@ public class ReparacionController {
     public void obtenerHistorial(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Obteniendo historial ID: " + id);
+            logger.debug("Obteniendo historial ID: {}", id);
 
             List<Map<String, Object>> historial = reparacionService.obtenerHistorial(id);
 
@@ -353,10 +372,10 @@ public class ReparacionController {
             response.put("total", historial.size());
 
             ctx.json(response).status(200);
-            System.out.println("Historial obtenido ID: " + id + " - " + historial.size() + " entradas");
+            logger.debug("Historial obtenido ID: {} - {} entradas", id, historial.size());
 
         } catch (NumberFormatException e) {
-            System.err.println("ID invalido para historial");
+            logger.warn("ID invalido para historial");
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -364,7 +383,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al obtener historial: " + e.getMessage());
+            logger.error("Error al obtener historial: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -386,7 +405,7 @@ public class ReparacionController {
     public void generarRecibo(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Generando recibo ID: " + id);
+            logger.debug("Generando recibo ID: {}", id);
 
             Map<String, Object> recibo = reparacionService.generarRecibo(id);
 
@@ -396,10 +415,10 @@ public class ReparacionController {
             response.put("data", recibo);
 
             ctx.json(response).status(200);
-            System.out.println("Recibo generado ID: " + id);
+            logger.debug("Recibo generado ID: {}", id);
 
         } catch (NumberFormatException e) {
-            System.err.println("ID invalido para recibo");
+            logger.warn("ID invalido para recibo");
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -407,7 +426,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al generar recibo: " + e.getMessage());
+            logger.error("Error al generar recibo: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -429,7 +448,7 @@ public class ReparacionController {
     public void eliminarReparacion(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            System.out.println("Eliminando reparacion ID: " + id);
+            logger.debug("Eliminando reparacion ID: {}", id);
 
             boolean eliminado = reparacionService.eliminarReparacion(id);
 
@@ -439,18 +458,18 @@ public class ReparacionController {
                 response.put("message", "Reparacion eliminada exitosamente");
 
                 ctx.json(response).status(200);
-                System.out.println("Reparacion eliminada ID: " + id);
+                logger.debug("Reparacion eliminada ID: {}", id);
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "Reparacion no encontrada o no se pudo eliminar");
 
                 ctx.json(error).status(404);
-                System.out.println("Reparacion no encontrada para eliminar ID: " + id);
+                logger.debug("Reparacion no encontrada para eliminar ID: {}", id);
             }
 
         } catch (NumberFormatException e) {
-            System.err.println("ID invalido");
+            logger.warn("ID invalido");
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -458,7 +477,7 @@ public class ReparacionController {
 
             ctx.json(error).status(400);
         } catch (Exception e) {
-            System.err.println("Error al eliminar: " + e.getMessage());
+            logger.error("Error al eliminar: {}", e.getMessage());
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
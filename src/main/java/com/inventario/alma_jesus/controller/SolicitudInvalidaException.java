@@ -0,0 +1,38 @@
+package com.inventario.alma_jesus.controller;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Cuerpo de petición vacío, mal formado o con datos inválidos.
+ * <p>
+ * La lanza {@link BodyBinder} y los controladores la responden con
+ * {@code 400 Bad Request}, incluyendo todos los errores por campo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see BodyBinder#responderError(io.javalin.http.Context, SolicitudInvalidaException)
+ */
+public class SolicitudInvalidaException extends Exception {
+
+    private final Map<String, String> errores;
+
+    /**
+     * Crea la excepción.
+     *
+     * @param mensaje Descripción general del problema
+     * @param errores Errores por campo (puede estar vacío)
+     */
+    public SolicitudInvalidaException(String mensaje, Map<String, String> errores) {
+        super(mensaje);
+        this.errores = errores != null ? errores : Collections.emptyMap();
+    }
+
+    /**
+     * @return Errores por campo, en el orden en que se detectaron
+     */
+    public Map<String, String> getErrores() {
+        return errores;
+    }
+}
@@ -1,6 +1,9 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.CambioEstadoRequest;
 import com.inventario.alma_jesus.model.Tarea;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.TareaService;
 import io.javalin.http.Context;
 import java.util.HashMap;
@@ -34,21 +37,35 @@ public class TareaController {
      * </p>
      *
      * @param ctx Contexto de Javalin con la petición HTTP
-     * @example GET /api/v1/tareas?estado=PENDIENTE&buscar=ensamblaje
+     * @example GET /api/v1/tareas?estado=PENDIENTE&buscar=ensamblaje&limit=50&after={nextCursor}
      */
     public void listarTareas(Context ctx) {
         try {
             String buscar = ctx.queryParam("buscar");
             String estado = ctx.queryParam("estado");
 
-            List<Tarea> tareas = tareaService.listarTareas(buscar, estado);
+            PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
 
             Map<String, Object> response = new HashMap<>();
+            List<Tarea> tareas;
+            if (page == null) {
+                tareas = tareaService.listarTareas(buscar, estado);
+            } else {
+                Page<Tarea> pagina = tareaService.listarTareas(buscar, estado, page);
+                tareas = pagina.getItems();
+                response.put("nextCursor", pagina.getNextCursor());
+                response.put("hasMore", pagina.isHasMore());
+            }
             response.put("success", true);
             response.put("data", tareas);
             response.put("total", tareas.size());
 
             ctx.json(response);
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             ctx.status(500).json(Map.of(
                     "success", false,
@@ -169,12 +186,7 @@ public class TareaController {
     public void actualizarEstado(Context ctx) {
         try {
             Long id = Long.parseLong(ctx.pathParam("id"));
-            Map<String, Object> body = ctx.bodyAsClass(Map.class);
-            String nuevoEstado = (String) body.get("estado");
-
-            if (nuevoEstado == null || nuevoEstado.trim().isEmpty()) {
-                throw new RuntimeException("El estado es requerido");
-            }
+            String nuevoEstado = BodyBinder.bind(ctx, CambioEstadoRequest.class, CambioEstadoRequest::validar).getEstado();
 
             boolean actualizado = tareaService.actualizarEstado(id, nuevoEstado.toUpperCase());
 
@@ -186,6 +198,8 @@ public class TareaController {
             } else {
                 throw new RuntimeException("No se pudo actualizar el estado");
             }
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
             ctx.status(400).json(Map.of(
                     "success", false,
@@ -1,9 +1,13 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.CambioPasswordRequest;
+import com.inventario.alma_jesus.model.CrearUsuarioRequest;
+import com.inventario.alma_jesus.service.ServidorOcupadoException;
 import com.inventario.alma_jesus.service.UsuarioService;
 import io.javalin.http.Context;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con usuarios.
@@ -18,8 +22,13 @@ import java.util.Map;
  */
 @SuppressWarnings("unchecked")
 public class UsuarioController {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioController.class);
+
     private UsuarioService usuarioService = new UsuarioService();
-    private ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Endpoint: Lista todos los usuarios registrados en el sistema.
@@ -42,7 +51,7 @@ public class UsuarioController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioController.listarUsuarios", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error interno al listar usuarios"
@@ -81,7 +90,7 @@ public class UsuarioController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioController.obtenerUsuarioPorId", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error interno al obtener usuario"
@@ -111,30 +120,9 @@ public class UsuarioController {
      */
     public void crearUsuario(Context ctx) {
         try {
-            String body = ctx.body();
-
-            // Verificar si el body está vacío
-            if (body == null || body.trim().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El cuerpo de la peticion no puede estar vacio"
-                ));
-                return;
-            }
-
-            // Convertir JSON a Map
-            Map<String, String> bodyMap = objectMapper.readValue(body, Map.class);
-
-            // Validar que vengan los datos
-            if (bodyMap == null || bodyMap.isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "Datos del usuario son requeridos"
-                ));
-                return;
-            }
+            CrearUsuarioRequest usuario = BodyBinder.bind(ctx, CrearUsuarioRequest.class, CrearUsuarioRequest::validar);
 
-            Map<String, Object> result = usuarioService.crearUsuario(bodyMap);
+            Map<String, Object> result = usuarioService.crearUsuario(usuario);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(201).json(result); // 201 Created
@@ -142,8 +130,16 @@ public class UsuarioController {
                 ctx.status(400).json(result); // 400 Bad Request
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
+        } catch (ServidorOcupadoException e) {
+            ctx.header("Retry-After", String.valueOf(e.getReintentarEnSegundos()));
+            ctx.status(503).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioController.crearUsuario", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error en el formato JSON: " + e.getMessage()
@@ -166,20 +162,6 @@ public class UsuarioController {
     public void cambiarPassword(Context ctx) {
         try {
             String id = ctx.pathParam("id");
-            String body = ctx.body();
-
-            // Verificar si el body está vacío
-            if (body == null || body.trim().isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "El cuerpo de la peticion no puede estar vacio"
-                ));
-                return;
-            }
-
-            // Convertir JSON a Map
-            Map<String, String> bodyMap = objectMapper.readValue(body, Map.class);
-            String nuevaPassword = bodyMap.get("nuevaPassword");
 
             // Validar datos
             if (id == null || id.isEmpty()) {
@@ -190,15 +172,9 @@ public class UsuarioController {
                 return;
             }
 
-            if (nuevaPassword == null || nuevaPassword.isEmpty()) {
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "nuevaPassword es requerido"
-                ));
-                return;
-            }
+            CambioPasswordRequest cambio = BodyBinder.bind(ctx, CambioPasswordRequest.class, CambioPasswordRequest::validar);
 
-            Map<String, Object> result = usuarioService.cambiarPassword(id, nuevaPassword);
+            Map<String, Object> result = usuarioService.cambiarPassword(id, cambio.getNuevaPassword());
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -206,8 +182,16 @@ public class UsuarioController {
                 ctx.status(400).json(result);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
+        } catch (ServidorOcupadoException e) {
+            ctx.header("Retry-After", String.valueOf(e.getReintentarEnSegundos()));
+            ctx.status(503).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioController.cambiarPassword", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error interno al cambiar contrasena"
@@ -246,7 +230,7 @@ public class UsuarioController {
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioController.eliminarUsuario", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error interno al eliminar usuario"
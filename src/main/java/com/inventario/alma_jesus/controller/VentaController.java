@@ -1,8 +1,9 @@
 package com.inventario.alma_jesus.controller;
 
+import com.inventario.alma_jesus.model.VentaRequest;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.service.VentaService;
 import io.javalin.http.Context;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -10,6 +11,8 @@ import java.sql.ResultSet;
 import java.util.HashMap;
 
 import com.inventario.alma_jesus.repository.DatabaseConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Controlador para gestionar las operaciones relacionadas con ventas.
@@ -23,8 +26,13 @@ import com.inventario.alma_jesus.repository.DatabaseConnection;
  * @see VentaService
  */
 public class VentaController {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(VentaController.class);
+
     private VentaService ventaService = new VentaService();
-    private ObjectMapper objectMapper = new ObjectMapper();
 
     /**
      * Endpoint: Lista todas las ventas registradas en el sistema.
@@ -37,8 +45,13 @@ public class VentaController {
      * @example GET /api/v1/ventas
      */
     public void listarVentas(Context ctx) {
+        if ("true".equalsIgnoreCase(ctx.queryParam("stream"))) {
+            exportarVentas(ctx);
+            return;
+        }
         try {
-            Map<String, Object> result = ventaService.listarVentas();
+            PageRequest page = PageRequest.from(ctx.queryParam("limit"), ctx.queryParam("after"));
+            Map<String, Object> result = ventaService.listarVentas(page);
 
             if ((Boolean) result.get("success")) {
                 ctx.status(200).json(result);
@@ -46,6 +59,11 @@ public class VentaController {
                 ctx.status(500).json(result);
             }
 
+        } catch (IllegalArgumentException e) {
+            ctx.status(400).json(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
         } catch (Exception e) {
             ctx.status(500).json(Map.of(
                     "success", false,
@@ -54,6 +72,34 @@ public class VentaController {
         }
     }
 
+    /**
+     * Endpoint: Exporta el listado completo de ventas en streaming.
+     * <p>
+     * Devuelve el mismo documento JSON que el listado, pero las filas se escriben
+     * en la respuesta conforme se leen de la base de datos, por lo que la memoria
+     * usada no depende del número de ventas. También se usa desde el listado
+     * con {@code ?stream=true}.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @example GET /api/v1/ventas/export
+     */
+    public void exportarVentas(Context ctx) {
+        ctx.contentType("application/json");
+        try {
+            ventaService.exportarVentas(ctx.outputStream());
+        } catch (Exception e) {
+            logger.error("Error al exportar ventas: {}", e.getMessage());
+            if (!ctx.res().isCommitted()) {
+                ctx.res().resetBuffer();
+                ctx.status(500).json(Map.of(
+                        "success", false,
+                        "message", "Error interno al exportar ventas"
+                ));
+            }
+        }
+    }
+
     /**
      * Endpoint: Obtiene una venta específica por su ID.
      * <p>
@@ -105,62 +151,70 @@ public class VentaController {
      * descuentos y actualiza el inventario automáticamente.
      * </p>
      *
+     * <p>
+     * Acepta el encabezado opcional {@code Idempotency-Key} (máximo 64
+     * caracteres). Un reintento con la misma clave devuelve el resultado de la
+     * venta original con el encabezado {@code Idempotent-Replayed: true} y no
+     * registra una segunda venta. Si la clave ya se usó con otros datos de
+     * venta se responde 422.
+     * </p>
+     *
      * @param ctx Contexto de Javalin con la petición HTTP
      * @example
      * POST /api/v1/ventas
+     * Idempotency-Key: 6f1c2b9e-tablet-03-0042
      * Body:
      * {
-     *     "cliente_id": "CLI001",
-     *     "vendedor_id": "VEN001",
-     *     "productos": [
-     *         {
-     *             "producto_id": 1,
-     *             "cantidad": 2,
-     *             "precio_unitario": 150.50
-     *         }
-     *     ],
-     *     "descuento": 0.0,
-     *     "metodo_pago": "EFECTIVO"
+     *     "clienteId": 100,
+     *     "productoId": 1,
+     *     "cantidad": 2,
+     *     "precioUnitario": 15050,
+     *     "fecha": "2024-01-15",
+     *     "tipo": "EFECTIVO",
+     *     "usuarioRegistro": "admin"
      * }
+     *
+     * Respuesta 400 si el cuerpo tiene errores:
+     * {"success": false, "message": "Datos inválidos", "errores": {"cantidad": "debe ser un número entero"}}
      */
     public void registrarVenta(Context ctx) {
         try {
-            String body = ctx.body();
-            System.out.println(" Request recibido en /api/v1/ventas: " + body);
-
-            if (body == null || body.trim().isEmpty()) {
-                System.out.println(" Body vacío");
+            String idempotencyKey = ctx.header("Idempotency-Key");
+            if (idempotencyKey != null && idempotencyKey.isBlank()) {
+                idempotencyKey = null;
+            }
+            if (idempotencyKey != null && idempotencyKey.length() > 64) {
                 ctx.status(400).json(Map.of(
                         "success", false,
-                        "message", "El cuerpo de la petición no puede estar vacío"
+                        "message", "El encabezado Idempotency-Key no puede exceder 64 caracteres"
                 ));
                 return;
             }
 
-            Map<String, Object> bodyMap = objectMapper.readValue(body, Map.class);
-            System.out.println(" Datos parseados: " + bodyMap);
+            VentaRequest venta = BodyBinder.bind(ctx, VentaRequest.class, VentaRequest::validar);
+            logger.debug("Request recibido en /api/v1/ventas: {}", venta);
 
-            if (bodyMap == null || bodyMap.isEmpty()) {
-                System.out.println(" BodyMap vacío");
-                ctx.status(400).json(Map.of(
-                        "success", false,
-                        "message", "Datos de la venta son requeridos"
-                ));
-                return;
-            }
+            Map<String, Object> result = ventaService.registrarVenta(venta, idempotencyKey);
+            logger.debug("Resultado del servicio: {}", result);
 
-            Map<String, Object> result = ventaService.registrarVenta(bodyMap);
-            System.out.println(" Resultado del servicio: " + result);
+            if (Boolean.TRUE.equals(result.get("idempotentReplay"))) {
+                ctx.header("Idempotent-Replayed", "true");
+            }
 
             if ((Boolean) result.get("success")) {
                 ctx.status(201).json(result);
+            } else if (Boolean.TRUE.equals(result.get("stockInsuficiente"))) {
+                ctx.status(409).json(result);
+            } else if (Boolean.TRUE.equals(result.get("claveReutilizada"))) {
+                ctx.status(422).json(result);
             } else {
                 ctx.status(400).json(result);
             }
 
+        } catch (SolicitudInvalidaException e) {
+            BodyBinder.responderError(ctx, e);
         } catch (Exception e) {
-            System.out.println("❌ Error en VentaController.registrarVenta: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en VentaController.registrarVenta", e);
             ctx.status(500).json(Map.of(
                     "success", false,
                     "message", "Error en el formato JSON: " + e.getMessage()
@@ -247,7 +301,7 @@ public class VentaController {
             // Buscar en pedido_productos por nombre de producto
             String sql = "SELECT DISTINCT producto_id, producto_nombre FROM pedido_productos WHERE producto_nombre LIKE ? LIMIT 1";
 
-            try (Connection conn = DatabaseConnection.getConnection();
+            try (Connection conn = DatabaseConnection.getConnection("VentaController.buscarProductoEnPedidos");
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
 
                 stmt.setString(1, "%" + nombreProducto + "%");
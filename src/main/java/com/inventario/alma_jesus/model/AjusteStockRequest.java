@@ -0,0 +1,52 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Ajuste relativo del stock de una materia prima recibido en {@code PUT /api/v1/materiales/{id}/stock/delta}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "delta": -25, "usuarioId": "trab001", "nota": "Consumo en producción" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AjusteStockRequest {
+    private Integer delta;
+    private String usuarioId;
+    private String nota;
+
+    /**
+     * Valida que vengan el delta y el usuario responsable.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("delta", delta);
+        errores.requerido("usuarioId", usuarioId);
+    }
+
+    public Integer getDelta() { return delta; }
+
+    public void setDelta(Integer delta) { this.delta = delta; }
+
+    public String getUsuarioId() { return usuarioId; }
+
+    public void setUsuarioId(String usuarioId) { this.usuarioId = usuarioId; }
+
+    public String getNota() { return nota; }
+
+    public void setNota(String nota) { this.nota = nota; }
+
+    @Override
+    public String toString() {
+        return "AjusteStockRequest{delta=" + delta + ", usuarioId=" + usuarioId + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Asignación de una herramienta recibida en {@code PUT /api/v1/herramientas/{idONombre}/tomar}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "usuarioAsignado": "juan.perez", "asignadoPor": "admin001" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AsignacionHerramientaRequest {
+    private String usuarioAsignado;
+    private String asignadoPor;
+
+    /**
+     * Valida que venga el usuario al que se asigna la herramienta.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("usuarioAsignado", usuarioAsignado);
+    }
+
+    public String getUsuarioAsignado() { return usuarioAsignado; }
+
+    public void setUsuarioAsignado(String usuarioAsignado) { this.usuarioAsignado = usuarioAsignado; }
+
+    public String getAsignadoPor() { return asignadoPor; }
+
+    public void setAsignadoPor(String asignadoPor) { this.asignadoPor = asignadoPor; }
+
+    @Override
+    public String toString() {
+        return "AsignacionHerramientaRequest{usuarioAsignado=" + usuarioAsignado + ", asignadoPor=" + asignadoPor + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Nuevo estado recibido en {@code PUT /api/v1/reparaciones/{id}/estado} y en
+ * {@code PUT /api/v1/tareas/{id}/estado}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "estado": "diagnostico" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CambioEstadoRequest {
+    private String estado;
+
+    /**
+     * Valida que venga el estado.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("estado", estado);
+    }
+
+    public String getEstado() { return estado; }
+
+    public void setEstado(String estado) { this.estado = estado; }
+
+    @Override
+    public String toString() {
+        return "CambioEstadoRequest{estado=" + estado + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Nueva etapa de un pedido recibida en {@code PUT /api/v1/pedidos/{id}/etapa}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "etapa": "produccion", "notas": "Asignado al equipo de carpintería" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CambioEtapaRequest {
+    private String etapa;
+    private String notas;
+
+    /**
+     * Valida que venga la etapa; las notas son opcionales.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("etapa", etapa);
+    }
+
+    public String getEtapa() { return etapa; }
+
+    public void setEtapa(String etapa) { this.etapa = etapa; }
+
+    public String getNotas() { return notas; }
+
+    public void setNotas(String notas) { this.notas = notas; }
+
+    @Override
+    public String toString() {
+        return "CambioEtapaRequest{etapa=" + etapa + "}";
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Nueva contraseña recibida en {@code PUT /api/v1/usuarios/{id}/password}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "nuevaPassword": "NuevaContraseña456" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CambioPasswordRequest {
+    private String nuevaPassword;
+
+    /**
+     * Valida que venga la nueva contraseña.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.si(nuevaPassword == null || nuevaPassword.isEmpty(), "nuevaPassword", "es requerido");
+    }
+
+    public String getNuevaPassword() { return nuevaPassword; }
+
+    public void setNuevaPassword(String nuevaPassword) { this.nuevaPassword = nuevaPassword; }
+
+    @Override
+    public String toString() {
+        return "CambioPasswordRequest{}";
+    }
+}
@@ -0,0 +1,65 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Datos de un usuario nuevo recibidos en {@code POST /api/v1/usuarios}.
+ * <p>
+ * Las propiedades desconocidas se ignoran. {@link #toString()} omite la
+ * contraseña para que no llegue a los logs.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "id": "USU001", "username": "jperez", "password": "********", "rol": "TRABAJADOR", "email": "juan@ejemplo.com" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CrearUsuarioRequest {
+    private String id;
+    private String username;
+    private String password;
+    private String rol;
+    private String email;
+
+    /**
+     * Valida que vengan el ID, el usuario, la contraseña y el rol.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("id", id);
+        errores.requerido("username", username);
+        errores.si(password == null || password.isEmpty(), "password", "es requerido");
+        errores.requerido("rol", rol);
+    }
+
+    public String getId() { return id; }
+
+    public void setId(String id) { this.id = id; }
+
+    public String getUsername() { return username; }
+
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+
+    public void setPassword(String password) { this.password = password; }
+
+    public String getRol() { return rol; }
+
+    public void setRol(String rol) { this.rol = rol; }
+
+    public String getEmail() { return email; }
+
+    public void setEmail(String email) { this.email = email; }
+
+    @Override
+    public String toString() {
+        return "CrearUsuarioRequest{id=" + id + ", username=" + username + ", rol=" + rol + "}";
+    }
+}
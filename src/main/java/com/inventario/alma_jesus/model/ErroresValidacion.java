@@ -0,0 +1,78 @@
+package com.inventario.alma_jesus.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Errores de validación de una petición, acumulados por campo.
+ * <p>
+ * Se llena en una sola pasada: primero con los errores de tipo detectados al
+ * leer el JSON (por ejemplo, texto en un campo numérico) y después con las
+ * reglas de cada comando (campos requeridos, rangos). Solo se guarda el
+ * primer error de cada campo, de modo que un valor con tipo inválido no se
+ * informa además como "requerido".
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * ErroresValidacion errores = new ErroresValidacion();
+ * errores.requerido("modelo", request.getModelo());
+ * errores.si(request.getPrecio() != null &amp;&amp; request.getPrecio() &lt; 0, "precio", "no puede ser negativo");
+ * // {"modelo": "es requerido", "precio": "no puede ser negativo"}
+ * </pre>
+ */
+public class ErroresValidacion {
+
+    private final Map<String, String> errores = new LinkedHashMap<>();
+
+    /**
+     * Registra un error para un campo, si el campo no tiene ya uno.
+     *
+     * @param campo Nombre del campo en el JSON
+     * @param mensaje Descripción del error
+     */
+    public void agregar(String campo, String mensaje) {
+        errores.putIfAbsent(campo, mensaje);
+    }
+
+    /**
+     * Registra un error si se cumple la condición.
+     *
+     * @param condicion true si el valor es inválido
+     * @param campo Nombre del campo en el JSON
+     * @param mensaje Descripción del error
+     */
+    public void si(boolean condicion, String campo, String mensaje) {
+        if (condicion) {
+            agregar(campo, mensaje);
+        }
+    }
+
+    /**
+     * Registra "es requerido" si el valor es nulo o un texto en blanco.
+     *
+     * @param campo Nombre del campo en el JSON
+     * @param valor Valor recibido
+     */
+    public void requerido(String campo, Object valor) {
+        si(valor == null || (valor instanceof String && ((String) valor).isBlank()), campo, "es requerido");
+    }
+
+    /**
+     * @return true si no se registró ningún error
+     */
+    public boolean estaVacio() {
+        return errores.isEmpty();
+    }
+
+    /**
+     * @return Errores por campo, en el orden en que se detectaron
+     */
+    public Map<String, String> getErrores() {
+        return Collections.unmodifiableMap(errores);
+    }
+}
@@ -0,0 +1,48 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Credenciales recibidas en {@code POST /api/v1/auth/login}.
+ * <p>
+ * Las propiedades desconocidas se ignoran. {@link #toString()} omite la
+ * contraseña para que no llegue a los logs.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "username": "admin", "password": "********" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LoginRequest {
+    private String username;
+    private String password;
+
+    /**
+     * Valida las credenciales: usuario y contraseña son requeridos.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("username", username);
+        errores.si(password == null || password.isEmpty(), "password", "es requerido");
+    }
+
+    public String getUsername() { return username; }
+
+    public void setUsername(String username) { this.username = username; }
+
+    public String getPassword() { return password; }
+
+    public void setPassword(String password) { this.password = password; }
+
+    @Override
+    public String toString() {
+        return "LoginRequest{username=" + username + "}";
+    }
+}
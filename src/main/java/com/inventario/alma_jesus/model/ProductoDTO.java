@@ -0,0 +1,106 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Representación de un producto en las respuestas de la API.
+ * <p>
+ * Objeto inmutable que Jackson serializa directamente, en lugar de copiar
+ * cada producto a un {@code HashMap<String, Object>}: no se crea un mapa por
+ * fila ni se encapsulan los valores numéricos. Solo {@code activo},
+ * {@code creadoPor} y {@code fechaCreacion} se omiten cuando son nulos, lo que
+ * permite la vista reducida de {@link #resumen(Producto)} usada por el filtro
+ * por tipo; el resto de los campos se serializa siempre, también como
+ * {@code null}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see Producto
+ *
+ * @example
+ * <pre>
+ * {
+ *     "id": 1, "modelo": "Virgen de Guadalupe", "color": "Dorado",
+ *     "precio": 1500, "stock": 10, "tamaño": "30cm",
+ *     "imagenUrl": "https://...", "activo": true, "creadoPor": "admin",
+ *     "fechaCreacion": "2024-01-15 10:30:00", "tipo": "religiosas"
+ * }
+ * </pre>
+ */
+@JsonPropertyOrder({"id", "modelo", "color", "precio", "stock", "tamaño", "imagenUrl",
+        "activo", "creadoPor", "fechaCreacion", "tipo"})
+public final class ProductoDTO {
+    private final int id;
+    private final String modelo;
+    private final String color;
+    private final int precio;
+    private final int stock;
+    private final String tamaño;
+    private final String imagenUrl;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Boolean activo;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String creadoPor;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String fechaCreacion;
+    private final String tipo;
+
+    private ProductoDTO(Producto producto, boolean completo) {
+        this.id = producto.getId();
+        this.modelo = producto.getModelo();
+        this.color = producto.getColor();
+        this.precio = producto.getPrecio();
+        this.stock = producto.getStock();
+        this.tamaño = producto.getTamaño();
+        this.imagenUrl = producto.getImagenUrl();
+        this.activo = completo ? producto.isActivo() : null;
+        this.creadoPor = completo ? producto.getCreadoPor() : null;
+        this.fechaCreacion = completo ? producto.getFechaCreacion() : null;
+        this.tipo = producto.getTipo();
+    }
+
+    /**
+     * Crea la representación completa de un producto.
+     *
+     * @param producto Producto a representar
+     * @return DTO con todos los campos públicos del producto
+     */
+    public static ProductoDTO de(Producto producto) {
+        return new ProductoDTO(producto, true);
+    }
+
+    /**
+     * Crea la representación reducida de un producto, sin {@code activo},
+     * {@code creadoPor} ni {@code fechaCreacion}.
+     *
+     * @param producto Producto a representar
+     * @return DTO con los campos de catálogo del producto
+     */
+    public static ProductoDTO resumen(Producto producto) {
+        return new ProductoDTO(producto, false);
+    }
+
+    public int getId() { return id; }
+
+    public String getModelo() { return modelo; }
+
+    public String getColor() { return color; }
+
+    public int getPrecio() { return precio; }
+
+    public int getStock() { return stock; }
+
+    public String getTamaño() { return tamaño; }
+
+    public String getImagenUrl() { return imagenUrl; }
+
+    public Boolean getActivo() { return activo; }
+
+    public String getCreadoPor() { return creadoPor; }
+
+    public String getFechaCreacion() { return fechaCreacion; }
+
+    public String getTipo() { return tipo; }
+}
@@ -0,0 +1,92 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Datos de un producto recibidos en {@code POST /api/v1/productos} y
+ * {@code PUT /api/v1/productos/{id}}.
+ * <p>
+ * En el alta se exigen modelo, color, precio, stock y creadoPor. En la
+ * edición todos los campos son opcionales y solo se modifican los enviados.
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * {
+ *     "modelo": "Virgen de Guadalupe", "color": "Dorado", "precio": 1500, "stock": 10,
+ *     "tamaño": "30cm", "imagenUrl": "https://...", "tipo": "religiosas", "creadoPor": "admin"
+ * }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductoRequest {
+    private String modelo;
+    private String color;
+    private Integer precio;
+    private Integer stock;
+    private String tamaño;
+    private String imagenUrl;
+    private String tipo;
+    private String creadoPor;
+
+    /**
+     * Valida los datos de un producto nuevo.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validarAlta(ErroresValidacion errores) {
+        errores.requerido("modelo", modelo);
+        errores.requerido("color", color);
+        errores.requerido("precio", precio);
+        errores.requerido("stock", stock);
+        errores.requerido("creadoPor", creadoPor);
+        validarCambios(errores);
+    }
+
+    /**
+     * Valida los campos enviados en una edición.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validarCambios(ErroresValidacion errores) {
+        errores.si(precio != null && precio < 0, "precio", "no puede ser negativo");
+        errores.si(stock != null && stock < 0, "stock", "no puede ser negativo");
+    }
+
+    public String getModelo() { return modelo; }
+
+    public void setModelo(String modelo) { this.modelo = modelo; }
+
+    public String getColor() { return color; }
+
+    public void setColor(String color) { this.color = color; }
+
+    public Integer getPrecio() { return precio; }
+
+    public void setPrecio(Integer precio) { this.precio = precio; }
+
+    public Integer getStock() { return stock; }
+
+    public void setStock(Integer stock) { this.stock = stock; }
+
+    public String getTamaño() { return tamaño; }
+
+    public void setTamaño(String tamaño) { this.tamaño = tamaño; }
+
+    public String getImagenUrl() { return imagenUrl; }
+
+    public void setImagenUrl(String imagenUrl) { this.imagenUrl = imagenUrl; }
+
+    public String getTipo() { return tipo; }
+
+    public void setTipo(String tipo) { this.tipo = tipo; }
+
+    public String getCreadoPor() { return creadoPor; }
+
+    public void setCreadoPor(String creadoPor) { this.creadoPor = creadoPor; }
+}
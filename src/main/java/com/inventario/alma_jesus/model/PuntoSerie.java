@@ -0,0 +1,135 @@
+package com.inventario.alma_jesus.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Modelo que representa un punto de una serie temporal de analítica.
+ * <p>
+ * Cada punto corresponde a un intervalo semiabierto {@code [desde, hasta)}
+ * (un día, una semana, un mes o un año) e incluye la cantidad acumulada en
+ * ese intervalo y, para las series con importe, el monto. Los intervalos sin
+ * datos se devuelven con cantidad cero para que las gráficas no tengan huecos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ */
+public class PuntoSerie {
+    /**
+     * Etiqueta del intervalo (ej: "2024-11-04", "2024-S45", "2024-11", "2024").
+     */
+    private String periodo;
+
+    /**
+     * Primer día del intervalo, inclusive ("YYYY-MM-DD").
+     */
+    private String desde;
+
+    /**
+     * Día siguiente al último del intervalo, exclusivo ("YYYY-MM-DD").
+     */
+    private String hasta;
+
+    /**
+     * Cantidad acumulada en el intervalo (ventas, reparaciones o unidades consumidas).
+     */
+    private long cantidad;
+
+    /**
+     * Monto acumulado en el intervalo; null en las series sin importe.
+     */
+    private BigDecimal monto;
+
+    /**
+     * Constructor por defecto.
+     * Inicializa un punto vacío con cantidad cero.
+     */
+    public PuntoSerie() {}
+
+    /**
+     * Constructor con todos los campos.
+     *
+     * @param periodo Etiqueta del intervalo
+     * @param desde Primer día del intervalo, inclusive
+     * @param hasta Día siguiente al último del intervalo, exclusivo
+     * @param cantidad Cantidad acumulada
+     * @param monto Monto acumulado, o null si la serie no tiene importe
+     */
+    public PuntoSerie(String periodo, String desde, String hasta, long cantidad, BigDecimal monto) {
+        this.periodo = periodo;
+        this.desde = desde;
+        this.hasta = hasta;
+        this.cantidad = cantidad;
+        this.monto = monto;
+    }
+
+    /**
+     * Obtiene la etiqueta del intervalo.
+     *
+     * @return La etiqueta del intervalo
+     */
+    public String getPeriodo() { return periodo; }
+
+    /**
+     * Establece la etiqueta del intervalo.
+     *
+     * @param periodo La etiqueta a asignar (ej: "2024-11", "2024-S45")
+     */
+    public void setPeriodo(String periodo) { this.periodo = periodo; }
+
+    /**
+     * Obtiene el primer día del intervalo.
+     *
+     * @return Fecha inicial inclusiva ("YYYY-MM-DD")
+     */
+    public String getDesde() { return desde; }
+
+    /**
+     * Establece el primer día del intervalo.
+     *
+     * @param desde Fecha inicial inclusiva ("YYYY-MM-DD")
+     */
+    public void setDesde(String desde) { this.desde = desde; }
+
+    /**
+     * Obtiene el día siguiente al último del intervalo.
+     *
+     * @return Fecha final exclusiva ("YYYY-MM-DD")
+     */
+    public String getHasta() { return hasta; }
+
+    /**
+     * Establece el día siguiente al último del intervalo.
+     *
+     * @param hasta Fecha final exclusiva ("YYYY-MM-DD")
+     */
+    public void setHasta(String hasta) { this.hasta = hasta; }
+
+    /**
+     * Obtiene la cantidad acumulada.
+     *
+     * @return La cantidad acumulada en el intervalo
+     */
+    public long getCantidad() { return cantidad; }
+
+    /**
+     * Establece la cantidad acumulada.
+     *
+     * @param cantidad La cantidad a asignar
+     */
+    public void setCantidad(long cantidad) { this.cantidad = cantidad; }
+
+    /**
+     * Obtiene el monto acumulado.
+     *
+     * @return El monto acumulado, o null si la serie no tiene importe
+     */
+    public BigDecimal getMonto() { return monto; }
+
+    /**
+     * Establece el monto acumulado.
+     *
+     * @param monto El monto a asignar
+     */
+    public void setMonto(BigDecimal monto) { this.monto = monto; }
+}
@@ -0,0 +1,43 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Refresh token recibido en {@code POST /api/v1/auth/refresh} y, de forma
+ * opcional, en {@code POST /api/v1/auth/logout}.
+ * <p>
+ * Las propiedades desconocidas se ignoran. {@link #toString()} omite el token
+ * para que no llegue a los logs.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "refreshToken": "eyJhbGciOiJIUzI1NiIs..." }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RefreshTokenRequest {
+    private String refreshToken;
+
+    /**
+     * Valida la petición de renovación: el refresh token es requerido.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("refreshToken", refreshToken);
+    }
+
+    public String getRefreshToken() { return refreshToken; }
+
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequest{}";
+    }
+}
@@ -0,0 +1,41 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Nueva cantidad de una herramienta recibida en {@code PUT /api/v1/herramientas/{idONombre}/stock}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "cantidad": 10 }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockHerramientaRequest {
+    private Integer cantidad;
+
+    /**
+     * Valida que venga la cantidad.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("cantidad", cantidad);
+    }
+
+    public Integer getCantidad() { return cantidad; }
+
+    public void setCantidad(Integer cantidad) { this.cantidad = cantidad; }
+
+    @Override
+    public String toString() {
+        return "StockHerramientaRequest{cantidad=" + cantidad + "}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Nueva cantidad de una materia prima recibida en {@code PUT /api/v1/materiales/{id}/stock}.
+ * <p>
+ * Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * { "cantidad": 1500, "usuarioId": "admin001", "nota": "Compra mensual" }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StockMaterialRequest {
+    private Integer cantidad;
+    private String usuarioId;
+    private String nota;
+
+    /**
+     * Valida que vengan la cantidad y el usuario responsable.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("cantidad", cantidad);
+        errores.requerido("usuarioId", usuarioId);
+    }
+
+    public Integer getCantidad() { return cantidad; }
+
+    public void setCantidad(Integer cantidad) { this.cantidad = cantidad; }
+
+    public String getUsuarioId() { return usuarioId; }
+
+    public void setUsuarioId(String usuarioId) { this.usuarioId = usuarioId; }
+
+    public String getNota() { return nota; }
+
+    public void setNota(String nota) { this.nota = nota; }
+
+    @Override
+    public String toString() {
+        return "StockMaterialRequest{cantidad=" + cantidad + ", usuarioId=" + usuarioId + "}";
+    }
+}
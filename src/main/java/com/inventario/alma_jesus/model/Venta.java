@@ -24,6 +24,8 @@ public class Venta {
     private String tipo;
     private String usuarioRegistro;
     private String fechaRegistro;
+    private String idempotencyKey;
+    private String idempotencyFingerprint;
 
     /**
      * Constructor por defecto.
@@ -297,4 +299,49 @@ public class Venta {
     public void setFechaRegistro(String fechaRegistro) {
         this.fechaRegistro = fechaRegistro;
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtiene la clave de idempotencia con la que se registró la venta.
+     * <p>
+     * Es el valor del encabezado {@code Idempotency-Key} enviado por el cliente;
+     * puede ser null si la petición no lo incluía.
+     * </p>
+     *
+     * @return Clave de idempotencia o null
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Establece la clave de idempotencia de la venta.
+     *
+     * @param idempotencyKey Clave enviada en el encabezado {@code Idempotency-Key}
+     */
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Obtiene la huella del cuerpo con el que se registró la venta.
+     * <p>
+     * Se guarda junto a la clave de idempotencia para rechazar un reintento
+     * que reutiliza la clave con datos distintos.
+     * </p>
+     *
+     * @return SHA-256 en hexadecimal, o null si la venta no trae clave
+     * @see VentaRequest#huella()
+     */
+    public String getIdempotencyFingerprint() {
+        return idempotencyFingerprint;
+    }
+
+    /**
+     * Establece la huella del cuerpo de la venta.
+     *
+     * @param idempotencyFingerprint SHA-256 en hexadecimal de los datos de la venta
+     */
+    public void setIdempotencyFingerprint(String idempotencyFingerprint) {
+        this.idempotencyFingerprint = idempotencyFingerprint;
+    }
+}
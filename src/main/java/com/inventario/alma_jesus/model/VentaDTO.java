@@ -0,0 +1,86 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Representación de una venta en las respuestas de la API.
+ * <p>
+ * Objeto inmutable que Jackson serializa directamente, en lugar de copiar
+ * cada venta a un {@code HashMap<String, Object>}. No expone la clave de
+ * idempotencia con la que se registró la venta.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see Venta
+ *
+ * @example
+ * <pre>
+ * {
+ *     "id": 1, "clienteId": 100, "productoId": 5, "productoModelo": "Virgen de Guadalupe",
+ *     "cantidad": 2, "precioUnitario": 1500, "precioTotal": 3000, "fecha": "2024-01-15",
+ *     "tipo": "EFECTIVO", "usuarioRegistro": "admin", "fechaRegistro": "2024-01-15 10:30:00"
+ * }
+ * </pre>
+ */
+@JsonPropertyOrder({"id", "clienteId", "productoId", "productoModelo", "cantidad", "precioUnitario",
+        "precioTotal", "fecha", "tipo", "usuarioRegistro", "fechaRegistro"})
+public final class VentaDTO {
+    private final int id;
+    private final int clienteId;
+    private final int productoId;
+    private final String productoModelo;
+    private final int cantidad;
+    private final int precioUnitario;
+    private final int precioTotal;
+    private final String fecha;
+    private final String tipo;
+    private final String usuarioRegistro;
+    private final String fechaRegistro;
+
+    private VentaDTO(Venta venta) {
+        this.id = venta.getId();
+        this.clienteId = venta.getClienteId();
+        this.productoId = venta.getProductoId();
+        this.productoModelo = venta.getProductoModelo();
+        this.cantidad = venta.getCantidad();
+        this.precioUnitario = venta.getPrecioUnitario();
+        this.precioTotal = venta.getPrecioTotal();
+        this.fecha = venta.getFecha();
+        this.tipo = venta.getTipo();
+        this.usuarioRegistro = venta.getUsuarioRegistro();
+        this.fechaRegistro = venta.getFechaRegistro();
+    }
+
+    /**
+     * Crea la representación de una venta.
+     *
+     * @param venta Venta a representar
+     * @return DTO con los campos públicos de la venta
+     */
+    public static VentaDTO de(Venta venta) {
+        return new VentaDTO(venta);
+    }
+
+    public int getId() { return id; }
+
+    public int getClienteId() { return clienteId; }
+
+    public int getProductoId() { return productoId; }
+
+    public String getProductoModelo() { return productoModelo; }
+
+    public int getCantidad() { return cantidad; }
+
+    public int getPrecioUnitario() { return precioUnitario; }
+
+    public int getPrecioTotal() { return precioTotal; }
+
+    public String getFecha() { return fecha; }
+
+    public String getTipo() { return tipo; }
+
+    public String getUsuarioRegistro() { return usuarioRegistro; }
+
+    public String getFechaRegistro() { return fechaRegistro; }
+}
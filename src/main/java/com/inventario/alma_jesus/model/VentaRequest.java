@@ -0,0 +1,111 @@
+package com.inventario.alma_jesus.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Datos de una nueva venta recibidos en {@code POST /api/v1/ventas}.
+ * <p>
+ * Jackson lo lee directamente del cuerpo de la petición; los campos numéricos
+ * aceptan números o textos numéricos. Las propiedades desconocidas se ignoran.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see com.inventario.alma_jesus.controller.BodyBinder
+ *
+ * @example
+ * <pre>
+ * {
+ *     "clienteId": 100, "productoId": 5, "cantidad": 2, "precioUnitario": 1500,
+ *     "fecha": "2024-01-15", "tipo": "EFECTIVO", "usuarioRegistro": "admin"
+ * }
+ * </pre>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class VentaRequest {
+    private Integer clienteId;
+    private Integer productoId;
+    private Integer cantidad;
+    private Integer precioUnitario;
+    private String fecha;
+    private String tipo;
+    private String usuarioRegistro;
+
+    /**
+     * Valida la venta: todos los campos son requeridos, la cantidad debe ser
+     * positiva y el precio unitario no puede ser negativo.
+     *
+     * @param errores Acumulador de errores de la petición
+     */
+    public void validar(ErroresValidacion errores) {
+        errores.requerido("clienteId", clienteId);
+        errores.requerido("productoId", productoId);
+        errores.requerido("cantidad", cantidad);
+        errores.requerido("precioUnitario", precioUnitario);
+        errores.requerido("fecha", fecha);
+        errores.requerido("tipo", tipo);
+        errores.requerido("usuarioRegistro", usuarioRegistro);
+        errores.si(cantidad != null && cantidad <= 0, "cantidad", "debe ser mayor que cero");
+        errores.si(precioUnitario != null && precioUnitario < 0, "precioUnitario", "no puede ser negativo");
+    }
+
+    /**
+     * Huella de los datos de la venta, para detectar una clave de idempotencia
+     * reutilizada con otro cuerpo. Dos peticiones con los mismos valores
+     * tienen la misma huella sin importar el orden o el formato del JSON.
+     *
+     * @return SHA-256 en hexadecimal (64 caracteres)
+     */
+    public String huella() {
+        String canonico = clienteId + "|" + productoId + "|" + cantidad + "|" + precioUnitario
+                + "|" + fecha + "|" + tipo + "|" + usuarioRegistro;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonico.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM incluye SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Integer getClienteId() { return clienteId; }
+
+    public void setClienteId(Integer clienteId) { this.clienteId = clienteId; }
+
+    public Integer getProductoId() { return productoId; }
+
+    public void setProductoId(Integer productoId) { this.productoId = productoId; }
+
+    public Integer getCantidad() { return cantidad; }
+
+    public void setCantidad(Integer cantidad) { this.cantidad = cantidad; }
+
+    public Integer getPrecioUnitario() { return precioUnitario; }
+
+    public void setPrecioUnitario(Integer precioUnitario) { this.precioUnitario = precioUnitario; }
+
+    public String getFecha() { return fecha; }
+
+    public void setFecha(String fecha) { this.fecha = fecha; }
+
+    public String getTipo() { return tipo; }
+
+    public void setTipo(String tipo) { this.tipo = tipo; }
+
+    public String getUsuarioRegistro() { return usuarioRegistro; }
+
+    public void setUsuarioRegistro(String usuarioRegistro) { this.usuarioRegistro = usuarioRegistro; }
+
+    @Override
+    public String toString() {
+        return "VentaRequest{clienteId=" + clienteId + ", productoId=" + productoId + ", cantidad=" + cantidad
+                + ", precioUnitario=" + precioUnitario + ", fecha=" + fecha + ", tipo=" + tipo + "}";
+    }
+}
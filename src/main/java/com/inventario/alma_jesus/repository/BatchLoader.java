@@ -0,0 +1,144 @@
+package com.inventario.alma_jesus.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Carga por lotes de registros hijos para una lista de registros padre.
+ * <p>
+ * Evita el patrón N+1 (una consulta por cada padre) consultando los hijos de
+ * todos los padres con {@code WHERE columna IN (?, ?, ...)} y agrupándolos en
+ * Java por el identificador del padre. Los identificadores se envían en bloques
+ * de {@link #DEFAULT_BATCH_SIZE} para no exceder el límite de parámetros del driver.
+ * </p>
+ * <p>
+ * Se usa para pares padre/hijo como {@code pedidos}/{@code pedido_productos} y
+ * {@code recetario}/{@code recetamaterial}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * BatchLoader.loadInto(conn, pedidos, Pedido::getId, Pedido::setProductos,
+ *         "SELECT * FROM pedido_productos WHERE pedido_id IN (%s) ORDER BY id",
+ *         "pedido_id", this::mapPedidoProducto);
+ * </pre>
+ */
+public final class BatchLoader {
+
+    /**
+     * Número máximo de identificadores enviados en una sola consulta.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private BatchLoader() {
+    }
+
+    /**
+     * Convierte la fila actual de un ResultSet en un objeto.
+     *
+     * @param <T> Tipo del objeto mapeado
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Carga los hijos de un conjunto de padres agrupados por el identificador del padre.
+     *
+     * @param conn Conexión a usar (la misma de la consulta de padres)
+     * @param sqlTemplate Consulta con un {@code %s} donde van los parámetros del {@code IN}
+     * @param parentColumn Columna del hijo que referencia al padre
+     * @param parentIds Identificadores de los padres; los nulos y duplicados se ignoran
+     * @param mapper Mapeador de filas de hijos
+     * @param <T> Tipo de los hijos
+     * @return Mapa de identificador de padre a la lista de sus hijos, en el orden de la consulta
+     * @throws SQLException Si ocurre un error en la consulta
+     */
+    public static <T> Map<Long, List<T>> load(Connection conn, String sqlTemplate, String parentColumn,
+                                              Collection<Long> parentIds, RowMapper<T> mapper) throws SQLException {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(parentIds));
+        ids.removeIf(id -> id == null);
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, List<T>> hijos = new HashMap<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += DEFAULT_BATCH_SIZE) {
+            List<Long> bloque = ids.subList(inicio, Math.min(inicio + DEFAULT_BATCH_SIZE, ids.size()));
+            String sql = String.format(sqlTemplate, placeholders(bloque.size()));
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < bloque.size(); i++) {
+                    stmt.setLong(i + 1, bloque.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        long parentId = rs.getLong(parentColumn);
+                        hijos.computeIfAbsent(parentId, k -> new ArrayList<>()).add(mapper.map(rs));
+                    }
+                }
+            }
+        }
+        return hijos;
+    }
+
+    /**
+     * Carga los hijos de una lista de padres y los asigna a cada padre.
+     * <p>
+     * Los padres sin hijos reciben una lista vacía.
+     * </p>
+     *
+     * @param conn Conexión a usar
+     * @param parents Lista de padres ya cargados
+     * @param idGetter Función que obtiene el identificador del padre
+     * @param setter Función que asigna la lista de hijos al padre
+     * @param sqlTemplate Consulta con un {@code %s} donde van los parámetros del {@code IN}
+     * @param parentColumn Columna del hijo que referencia al padre
+     * @param mapper Mapeador de filas de hijos
+     * @param <P> Tipo de los padres
+     * @param <T> Tipo de los hijos
+     * @throws SQLException Si ocurre un error en la consulta
+     */
+    public static <P, T> void loadInto(Connection conn, List<P> parents, Function<P, Long> idGetter,
+                                       BiConsumer<P, List<T>> setter, String sqlTemplate, String parentColumn,
+                                       RowMapper<T> mapper) throws SQLException {
+        if (parents.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(parents.size());
+        for (P parent : parents) {
+            ids.add(idGetter.apply(parent));
+        }
+        Map<Long, List<T>> hijos = load(conn, sqlTemplate, parentColumn, ids, mapper);
+        for (P parent : parents) {
+            List<T> lista = hijos.get(idGetter.apply(parent));
+            setter.accept(parent, lista != null ? lista : new ArrayList<>());
+        }
+    }
+
+    private static String placeholders(int cantidad) {
+        StringBuilder sb = new StringBuilder(cantidad * 3);
+        for (int i = 0; i < cantidad; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('?');
+        }
+        return sb.toString();
+    }
+}
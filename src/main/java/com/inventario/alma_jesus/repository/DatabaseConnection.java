@@ -1,9 +1,15 @@
 package com.inventario.alma_jesus.repository;
 
+import com.inventario.alma_jesus.config.AppConfig;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Clase para la gestión de conexiones a la base de datos utilizando HikariCP.
@@ -18,40 +24,65 @@ import java.sql.SQLException;
  * @see HikariConfig
  */
 public class DatabaseConnection {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConnection.class);
+
     /**
      * Pool de conexiones HikariCP configurado estáticamente.
      */
     private static HikariDataSource dataSource;
 
+    /**
+     * Tracker que acumula los tiempos de adquisición, uso y creación de conexiones.
+     */
+    private static final PoolMetricsTracker metricsTracker = new PoolMetricsTracker();
+
     /**
      * Bloque de inicialización estática.
      * Configura y inicializa el pool de conexiones HikariCP al cargar la clase.
+     * Los valores se leen de {@link AppConfig}, por lo que pueden ajustarse con
+     * variables de entorno o un archivo de propiedades sin recompilar.
      *
      * @throws RuntimeException Si ocurre un error durante la configuración del pool
      */
     static {
         try {
             HikariConfig config = new HikariConfig();
-            config.setJdbcUrl("jdbc:mysql://35.170.167.235:3306/inventario_alma_jesus");
-            config.setUsername("root");
-            config.setPassword("albafica");
-            config.setMaximumPoolSize(10);
-            config.setMinimumIdle(2);
-            config.addDataSourceProperty("cachePrepStmts", "true");
-            config.addDataSourceProperty("prepStmtCacheSize", "250");
-            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.setPoolName(AppConfig.getString("db.pool.name", "alma-jesus-pool"));
+            config.setJdbcUrl(AppConfig.getString("db.url", "jdbc:mysql://35.170.167.235:3306/inventario_alma_jesus"));
+            // Las credenciales no tienen valor por defecto: DB_USERNAME y DB_PASSWORD
+            config.setUsername(AppConfig.getRequired("db.username"));
+            config.setPassword(AppConfig.getRequired("db.password"));
+            config.setMaximumPoolSize(AppConfig.getInt("db.pool.max-size", 10));
+            config.setMinimumIdle(AppConfig.getInt("db.pool.min-idle", 2));
+            config.setConnectionTimeout(AppConfig.getLong("db.pool.connection-timeout", 30000));
+            config.setIdleTimeout(AppConfig.getLong("db.pool.idle-timeout", 600000));
+            config.setMaxLifetime(AppConfig.getLong("db.pool.max-lifetime", 1800000));
+            config.setValidationTimeout(AppConfig.getLong("db.pool.validation-timeout", 5000));
+            config.setLeakDetectionThreshold(AppConfig.getLong("db.pool.leak-detection-threshold", 0));
+            config.setRegisterMbeans(true);
+            config.setMetricsTrackerFactory(metricsTracker);
+
+            config.addDataSourceProperty("cachePrepStmts", String.valueOf(AppConfig.getBoolean("db.stmt-cache.enabled", true)));
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(AppConfig.getInt("db.stmt-cache.size", 250)));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", String.valueOf(AppConfig.getInt("db.stmt-cache.sql-limit", 2048)));
+            // Sin esto el driver envía cada addBatch como una sentencia aparte
+            config.addDataSourceProperty("rewriteBatchedStatements", String.valueOf(AppConfig.getBoolean("db.rewrite-batched-statements", true)));
 
             // **AQUÍ AGREGAS LA DESACTIVACIÓN DE ONLY_FULL_GROUP_BY**
             config.addDataSourceProperty("sessionVariables", "sql_mode='STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION'");
 
             dataSource = new HikariDataSource(config);
-            System.out.println("[DATABASE] Pool HikariCP inicializado correctamente");
-            System.out.println("[DATABASE] URL: jdbc:mysql://localhost:3306/inventario_alma_jesus");
-            System.out.println("[DATABASE] Modo SQL: ONLY_FULL_GROUP_BY DESACTIVADO");
+            logger.info("Pool HikariCP inicializado: url={}, max={}, minIdle={}, connectionTimeout={}ms, leakDetection={}ms",
+                    config.getJdbcUrl(), config.getMaximumPoolSize(), config.getMinimumIdle(),
+                    config.getConnectionTimeout(), config.getLeakDetectionThreshold());
+            logger.info("Modo SQL: ONLY_FULL_GROUP_BY DESACTIVADO");
 
         } catch (Exception e) {
-            System.err.println("[DATABASE] Error inicializando pool: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error inicializando pool", e);
             throw new RuntimeException("Error crítico: No se pudo inicializar el pool de conexiones", e);
         }
     }
@@ -61,14 +92,17 @@ public class DatabaseConnection {
      * <p>
      * Este método proporciona una conexión activa a la base de datos desde el pool.
      * Las conexiones deben ser cerradas después de su uso para retornarlas al pool.
+     * El tiempo entre la entrega y el cierre se registra como duración del
+     * método de repositorio indicado (ver {@link MetricasRepositorio}).
      * </p>
      *
+     * @param metodo Método que pide la conexión, con el formato {@code Clase.metodo}
      * @return Una conexión activa a la base de datos
      * @throws SQLException Si ocurre un error al obtener la conexión del pool
      *
      * @example
      * <pre>
-     * try (Connection conn = DatabaseConnection.getConnection()) {
+     * try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.findAll")) {
      *     // Usar la conexión
      *     PreparedStatement stmt = conn.prepareStatement("SELECT * FROM usuarios");
      *     ResultSet rs = stmt.executeQuery();
@@ -78,10 +112,72 @@ public class DatabaseConnection {
      * }
      * </pre>
      */
+    public static Connection getConnection(String metodo) throws SQLException {
+        return MetricasRepositorio.instrumentar(obtenerDelPool(), metodo);
+    }
+
+    /**
+     * Obtiene una conexión del pool sin medir el método que la usa.
+     *
+     * @return Una conexión activa a la base de datos
+     * @throws SQLException Si ocurre un error al obtener la conexión del pool
+     * @see #getConnection(String)
+     */
     public static Connection getConnection() throws SQLException {
-        System.out.println("[DATABASE] Solicitando conexion del pool...");
+        return obtenerDelPool();
+    }
+
+    /**
+     * Obtiene una conexión del pool sin instrumentar. La usa {@link UnitOfWork}
+     * para la conexión física que retiene durante toda la petición.
+     *
+     * @return Una conexión activa a la base de datos
+     * @throws SQLException Si ocurre un error al obtener la conexión del pool
+     */
+    static Connection obtenerDelPool() throws SQLException {
         Connection conn = dataSource.getConnection();
-        System.out.println("[DATABASE] Conexion obtenida: " + conn.toString());
+        // Se llama en cada consulta: en TRACE y muestreado por logback.xml
+        logger.trace("Conexion obtenida: {}", conn);
         return conn;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retira del pool una conexión en estado desconocido (por ejemplo, que no
+     * pudo volver a autocommit) y la cierra, en lugar de devolverla para otra
+     * petición.
+     *
+     * @param conn Conexión obtenida con {@link #obtenerDelPool()}
+     */
+    static void descartar(Connection conn) {
+        logger.warn("Conexion descartada del pool: {}", conn);
+        dataSource.evictConnection(conn);
+    }
+
+    /**
+     * Obtiene el estado actual del pool de conexiones.
+     * <p>
+     * Combina los contadores en vivo del MXBean de Hikari (conexiones activas,
+     * inactivas, totales y los hilos esperando una conexión) con los histogramas
+     * acumulados por {@link PoolMetricsTracker}.
+     * </p>
+     *
+     * @return Mapa con los contadores del pool y las métricas de adquisición
+     */
+    public static Map<String, Object> getPoolStatus() {
+        Map<String, Object> estado = new LinkedHashMap<>();
+        estado.put("pool", dataSource.getPoolName());
+        HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+        if (mxBean != null) {
+            estado.put("activas", mxBean.getActiveConnections());
+            estado.put("inactivas", mxBean.getIdleConnections());
+            estado.put("totales", mxBean.getTotalConnections());
+            estado.put("pendientes", mxBean.getThreadsAwaitingConnection());
+        }
+        estado.put("maximo", dataSource.getMaximumPoolSize());
+        estado.put("minimoInactivas", dataSource.getMinimumIdle());
+        estado.put("connectionTimeoutMs", dataSource.getConnectionTimeout());
+        estado.put("leakDetectionThresholdMs", dataSource.getLeakDetectionThreshold());
+        estado.put("metricas", metricsTracker.snapshot());
+        return estado;
+    }
+}
@@ -1,13 +1,15 @@
 package com.inventario.alma_jesus.repository;
 
 import com.inventario.alma_jesus.model.EstadisticaDashboard;
-import com.inventario.alma_jesus.model.EstadisticaVenta;
-import com.inventario.alma_jesus.model.EstadisticaReparacion;
 import com.inventario.alma_jesus.model.EstadisticaMaterial;
+import com.inventario.alma_jesus.model.PuntoSerie;
 import java.sql.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Repositorio para la obtención de estadísticas del sistema.
@@ -16,12 +18,67 @@ import java.util.List;
  * de ventas, reparaciones, materiales y métricas generales del dashboard.
  * Utiliza consultas SQL optimizadas para diferentes períodos de tiempo.
  * </p>
+ * <p>
+ * Las gráficas por período leen las tablas de resumen diario que mantiene
+ * {@link RollupRepository}, no las tablas de transacciones. Las series se
+ * leen por día con {@link #obtenerSerieDiaria} y
+ * {@link #obtenerConsumoDiarioPorMaterial} y se agrupan en la capa de servicio.
+ * </p>
+ * <p>
+ * Las consultas que se ejecutan dentro de {@link #conLimite(long, Callable)}
+ * llevan {@link Statement#setQueryTimeout(int)} con el tiempo que le queda al
+ * plazo. Interrumpir el hilo no detiene una consulta JDBC en curso; el
+ * timeout sí la cancela en el servidor y devuelve la conexión al pool.
+ * </p>
  *
  * @version 1.0
  * @since 2024
+ * @see RollupRepository
  */
 public class EstadisticasRepository {
 
+    /**
+     * Instante límite ({@link System#nanoTime()}) de las consultas del hilo
+     * actual, o null si no tienen plazo.
+     */
+    private static final ThreadLocal<Long> LIMITE = new ThreadLocal<>();
+
+    /**
+     * Ejecuta una tarea cuyas consultas de estadísticas deben terminar antes
+     * de un instante límite.
+     *
+     * @param limiteNanos Instante límite, en la escala de {@link System#nanoTime()}
+     * @param tarea Tarea que consulta este repositorio en el hilo actual
+     * @param <T> Tipo del resultado
+     * @return El resultado de la tarea
+     * @throws Exception La excepción de la tarea; una consulta que agota el
+     *         plazo lanza {@link SQLTimeoutException}
+     */
+    public static <T> T conLimite(long limiteNanos, Callable<T> tarea) throws Exception {
+        LIMITE.set(limiteNanos);
+        try {
+            return tarea.call();
+        } finally {
+            LIMITE.remove();
+        }
+    }
+
+    /**
+     * Aplica a la sentencia el tiempo que le queda al plazo del hilo, si lo hay.
+     */
+    private static void aplicarLimite(Statement stmt) throws SQLException {
+        Long limite = LIMITE.get();
+        if (limite == null) {
+            return;
+        }
+        long restanteMs = TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime());
+        if (restanteMs <= 0) {
+            throw new SQLTimeoutException("Plazo agotado antes de ejecutar la consulta");
+        }
+        // setQueryTimeout es en segundos y 0 significa sin límite: se redondea hacia arriba
+        stmt.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (restanteMs + 999) / 1000));
+    }
+
     /**
      * Obtiene las estadísticas generales para el dashboard principal.
      * <p>
@@ -39,271 +96,121 @@ public class EstadisticasRepository {
         EstadisticaDashboard stats = new EstadisticaDashboard();
 
         String sql = "SELECT " +
-                "(SELECT COALESCE(SUM(precio_total), 0) FROM venta) as total_ventas, " +
+                "(SELECT COALESCE(SUM(ventas_monto), 0) FROM resumen_ventas_dia) as total_ventas, " +
                 "(SELECT COUNT(*) FROM reparacion WHERE estado != 'Completada' AND activo = true) as reparaciones_pendientes, " +
                 "(SELECT COUNT(*) FROM reparacion WHERE activo = true) as total_reparaciones, " +
                 "(SELECT COUNT(DISTINCT cliente_id) FROM venta) as clientes_activos, " +
-                "(SELECT COALESCE(SUM(cantidad), 0) FROM movimientomp WHERE tipo = 'consumo') as materiales_consumidos";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                stats.setTotalVentas(BigDecimal.valueOf(rs.getInt("total_ventas")));
-                stats.setPedidosPendientes(rs.getInt("reparaciones_pendientes"));
-                stats.setTotalReparaciones(rs.getInt("total_reparaciones"));
-                stats.setClientesActivos(rs.getInt("clientes_activos"));
-                stats.setMaterialesUtilizados(BigDecimal.valueOf(rs.getInt("materiales_consumidos")));
+                "(SELECT COALESCE(SUM(consumo), 0) FROM resumen_consumo_dia) as materiales_consumidos";
+
+        try (Connection conn = DatabaseConnection.getConnection("EstadisticasRepository.obtenerEstadisticasGenerales");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            aplicarLimite(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    stats.setTotalVentas(BigDecimal.valueOf(rs.getInt("total_ventas")));
+                    stats.setPedidosPendientes(rs.getInt("reparaciones_pendientes"));
+                    stats.setTotalReparaciones(rs.getInt("total_reparaciones"));
+                    stats.setClientesActivos(rs.getInt("clientes_activos"));
+                    stats.setMaterialesUtilizados(BigDecimal.valueOf(rs.getInt("materiales_consumidos")));
+                }
             }
         }
         return stats;
     }
 
     /**
-     * Obtiene estadísticas de ventas agrupadas por período.
+     * Obtiene el consumo diario de cada material en un rango de fechas.
      * <p>
-     * Soporta diferentes niveles de agrupación temporal:
-     * - "diario": Últimos 7 días agrupados por día de la semana
-     * - "semanal": Últimas 8 semanas
-     * - "mensual": Últimos 12 meses (valor por defecto)
-     * - "anual": Últimos 3 años
+     * Igual que {@link #obtenerSerieDiaria}, filtra con un rango semiabierto
+     * sobre la columna {@code dia} sin funciones. El agrupamiento por semana
+     * ISO, mes o año se hace en la capa de servicio.
      * </p>
      *
-     * @param periodo Tipo de período para agrupar los datos ("diario", "semanal", "mensual", "anual")
-     * @return Lista de {@link EstadisticaVenta} con cantidad y monto por período
+     * @param desde Primer día del rango, inclusive
+     * @param hastaExclusivo Día siguiente al último del rango, exclusivo
+     * @return Lista de {@link EstadisticaMaterial} ordenada por día, con el día
+     *         ({@code YYYY-MM-DD}) en {@code periodo}; solo los días y materiales con consumo
      * @throws SQLException Si ocurre un error en la consulta a la base de datos
      */
-    public List<EstadisticaVenta> obtenerVentasPorPeriodo(String periodo) throws SQLException {
-        List<EstadisticaVenta> ventas = new ArrayList<>();
-        String sql = "";
-
-        if ("diario".equalsIgnoreCase(periodo)) {
-            // CONSULTA CORREGIDA: compatible con only_full_group_by
-            sql = "SELECT " +
-                    "CASE DAYOFWEEK(fecha) " +
-                    "  WHEN 1 THEN 'Domingo' " +
-                    "  WHEN 2 THEN 'Lunes' " +
-                    "  WHEN 3 THEN 'Martes' " +
-                    "  WHEN 4 THEN 'Miércoles' " +
-                    "  WHEN 5 THEN 'Jueves' " +
-                    "  WHEN 6 THEN 'Viernes' " +
-                    "  WHEN 7 THEN 'Sábado' " +
-                    "END as periodo, " +
-                    "COUNT(*) as cantidad, " +
-                    "COALESCE(SUM(precio_total), 0) as monto " +
-                    "FROM venta " +
-                    "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 7 DAY) " +
-                    "GROUP BY DAYOFWEEK(fecha) " + // SOLO DAYOFWEEK en GROUP BY
-                    "ORDER BY DAYOFWEEK(fecha)";   // Ordenar por DAYOFWEEK directamente
-        } else if ("semanal".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "CONCAT('Semana ', WEEK(fecha, 1)) as periodo, " +
-                    "COUNT(*) as cantidad, " +
-                    "COALESCE(SUM(precio_total), 0) as monto " +
-                    "FROM venta " +
-                    "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 8 WEEK) " +
-                    "GROUP BY WEEK(fecha, 1) " + // SOLO WEEK en GROUP BY
-                    "ORDER BY WEEK(fecha, 1)";   // Ordenar por WEEK directamente
-        } else if ("mensual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "DATE_FORMAT(fecha, '%Y-%m') as periodo, " +
-                    "COUNT(*) as cantidad, " +
-                    "COALESCE(SUM(precio_total), 0) as monto " +
-                    "FROM venta " +
-                    "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 12 MONTH) " +
-                    "GROUP BY DATE_FORMAT(fecha, '%Y-%m') " + // SOLO DATE_FORMAT en GROUP BY
-                    "ORDER BY DATE_FORMAT(fecha, '%Y-%m')";   // Ordenar por DATE_FORMAT directamente
-        } else if ("anual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "YEAR(fecha) as periodo, " +
-                    "COUNT(*) as cantidad, " +
-                    "COALESCE(SUM(precio_total), 0) as monto " +
-                    "FROM venta " +
-                    "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 3 YEAR) " +
-                    "GROUP BY YEAR(fecha) " + // SOLO YEAR en GROUP BY
-                    "ORDER BY YEAR(fecha)";   // Ordenar por YEAR directamente
-        } else {
-            // Por defecto: últimos 12 meses
-            sql = "SELECT " +
-                    "DATE_FORMAT(fecha, '%Y-%m') as periodo, " +
-                    "COUNT(*) as cantidad, " +
-                    "COALESCE(SUM(precio_total), 0) as monto " +
-                    "FROM venta " +
-                    "WHERE fecha >= DATE_SUB(CURDATE(), INTERVAL 12 MONTH) " +
-                    "GROUP BY DATE_FORMAT(fecha, '%Y-%m') " +
-                    "ORDER BY DATE_FORMAT(fecha, '%Y-%m')";
-        }
+    public List<EstadisticaMaterial> obtenerConsumoDiarioPorMaterial(LocalDate desde, LocalDate hastaExclusivo) throws SQLException {
+        String sql = "SELECT m.dia, mp.nombre AS material, SUM(m.consumo) AS cantidad_consumida " +
+                "FROM resumen_consumo_dia m " +
+                "INNER JOIN materiaprima mp ON m.materia_id = mp.id " +
+                "WHERE m.dia >= ? AND m.dia < ? " +
+                "GROUP BY m.dia, mp.nombre " +
+                "ORDER BY m.dia";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                EstadisticaVenta venta = new EstadisticaVenta();
-                venta.setPeriodo(rs.getString("periodo"));
-                venta.setCantidad(BigDecimal.valueOf(rs.getLong("cantidad")));
-                venta.setMonto(BigDecimal.valueOf(rs.getDouble("monto")));
-                ventas.add(venta);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error en obtenerVentasPorPeriodo: " + e.getMessage());
-            throw e;
-        }
-
-        return ventas;
-    }
-
-    /**
-     * Obtiene estadísticas de reparaciones agrupadas por período.
-     * <p>
-     * Consulta el volumen de reparaciones realizadas, considerando
-     * solo las reparaciones activas en el sistema.
-     * </p>
-     *
-     * @param periodo Tipo de período para agrupar los datos ("diario", "semanal", "mensual", "anual")
-     * @return Lista de {@link EstadisticaReparacion} con cantidad por período
-     * @throws SQLException Si ocurre un error en la consulta a la base de datos
-     */
-    public List<EstadisticaReparacion> obtenerReparacionesPorPeriodo(String periodo) throws SQLException {
-        List<EstadisticaReparacion> reparaciones = new ArrayList<>();
-        String sql = "";
-
-        if ("diario".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "CASE DAYOFWEEK(fecha_ingreso) " +
-                    "  WHEN 1 THEN 'Domingo' " +
-                    "  WHEN 2 THEN 'Lunes' " +
-                    "  WHEN 3 THEN 'Martes' " +
-                    "  WHEN 4 THEN 'Miércoles' " +
-                    "  WHEN 5 THEN 'Jueves' " +
-                    "  WHEN 6 THEN 'Viernes' " +
-                    "  WHEN 7 THEN 'Sábado' " +
-                    "END as periodo, " +
-                    "COUNT(*) as cantidad_reparaciones " + // Removido dia_orden que no se usa
-                    "FROM reparacion " +
-                    "WHERE fecha_ingreso >= DATE_SUB(CURDATE(), INTERVAL 7 DAY) AND activo = true " +
-                    "GROUP BY DAYOFWEEK(fecha_ingreso) " + // SOLO DAYOFWEEK en GROUP BY
-                    "ORDER BY DAYOFWEEK(fecha_ingreso)";   // Ordenar por DAYOFWEEK directamente
-        } else if ("semanal".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "CONCAT('Semana ', WEEK(fecha_ingreso)) as periodo, " +
-                    "COUNT(*) as cantidad_reparaciones " +
-                    "FROM reparacion " +
-                    "WHERE fecha_ingreso >= DATE_SUB(CURDATE(), INTERVAL 8 WEEK) AND activo = true " +
-                    "GROUP BY WEEK(fecha_ingreso) " + // SOLO WEEK en GROUP BY
-                    "ORDER BY WEEK(fecha_ingreso)";   // Ordenar por WEEK directamente
-        } else if ("mensual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "DATE_FORMAT(fecha_ingreso, '%Y-%m') as periodo, " +
-                    "COUNT(*) as cantidad_reparaciones " +
-                    "FROM reparacion " +
-                    "WHERE fecha_ingreso >= DATE_SUB(CURDATE(), INTERVAL 12 MONTH) AND activo = true " +
-                    "GROUP BY DATE_FORMAT(fecha_ingreso, '%Y-%m') " + // SOLO DATE_FORMAT en GROUP BY
-                    "ORDER BY DATE_FORMAT(fecha_ingreso, '%Y-%m')";   // Ordenar por DATE_FORMAT directamente
-        } else if ("anual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "YEAR(fecha_ingreso) as periodo, " +
-                    "COUNT(*) as cantidad_reparaciones " +
-                    "FROM reparacion " +
-                    "WHERE fecha_ingreso >= DATE_SUB(CURDATE(), INTERVAL 3 YEAR) AND activo = true " +
-                    "GROUP BY YEAR(fecha_ingreso) " + // SOLO YEAR en GROUP BY
-                    "ORDER BY YEAR(fecha_ingreso)";   // Ordenar por YEAR directamente
-        }
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                EstadisticaReparacion reparacion = new EstadisticaReparacion();
-                reparacion.setPeriodo(rs.getString("periodo"));
-                reparacion.setCantidadReparaciones(rs.getInt("cantidad_reparaciones"));
-                reparacion.setTipoReparacion("General"); // Valor fijo
-                reparaciones.add(reparacion);
+        List<EstadisticaMaterial> materiales = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection("EstadisticasRepository.obtenerConsumoDiarioPorMaterial");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(desde));
+            stmt.setDate(2, Date.valueOf(hastaExclusivo));
+            aplicarLimite(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    EstadisticaMaterial material = new EstadisticaMaterial();
+                    material.setPeriodo(rs.getDate("dia").toLocalDate().toString());
+                    material.setMaterial(rs.getString("material"));
+                    material.setCantidadConsumida(BigDecimal.valueOf(rs.getLong("cantidad_consumida")));
+                    materiales.add(material);
+                }
             }
         }
-        return reparaciones;
+        return materiales;
     }
 
     /**
-     * Obtiene estadísticas de consumo de materiales agrupadas por período.
+     * Obtiene los totales diarios de una serie en un rango de fechas.
      * <p>
-     * Consulta los materiales consumidos en movimientos de tipo 'consumo',
-     * agrupados por material y período. Útil para análisis de costos y
-     * previsión de inventario.
+     * El filtro es un rango semiabierto sobre la columna {@code dia} sin
+     * funciones ({@code dia >= ? AND dia < ?}), de modo que MySQL recorre solo
+     * el tramo correspondiente de la clave primaria. Solo se devuelven los días
+     * con datos; el agrupamiento por semana, mes o año y el relleno de los
+     * intervalos vacíos se hacen en la capa de servicio.
      * </p>
      *
-     * @param periodo Tipo de período para agrupar los datos ("diario", "semanal", "mensual", "anual")
-     * @return Lista de {@link EstadisticaMaterial} con material y cantidad consumida
+     * @param serie "ventas", "reparaciones" o "materiales"
+     * @param desde Primer día del rango, inclusive
+     * @param hastaExclusivo Día siguiente al último del rango, exclusivo
+     * @return Lista de {@link PuntoSerie} diarios ordenada por fecha; el monto
+     *         solo se informa en la serie de ventas
      * @throws SQLException Si ocurre un error en la consulta a la base de datos
+     * @throws IllegalArgumentException Si la serie no existe
      */
-    public List<EstadisticaMaterial> obtenerMaterialesPorPeriodo(String periodo) throws SQLException {
-        List<EstadisticaMaterial> materiales = new ArrayList<>();
-        String sql = "";
-
-        if ("diario".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "CASE DAYOFWEEK(m.fecha) " +
-                    "  WHEN 1 THEN 'Domingo' " +
-                    "  WHEN 2 THEN 'Lunes' " +
-                    "  WHEN 3 THEN 'Martes' " +
-                    "  WHEN 4 THEN 'Miércoles' " +
-                    "  WHEN 5 THEN 'Jueves' " +
-                    "  WHEN 6 THEN 'Viernes' " +
-                    "  WHEN 7 THEN 'Sábado' " +
-                    "END as periodo, " +
-                    "mp.nombre as material, " +
-                    "SUM(m.cantidad) as cantidad_consumida " +
-                    "FROM movimientomp m " +
-                    "INNER JOIN materiaprima mp ON m.materia_id = mp.id " +
-                    "WHERE m.tipo = 'consumo' AND m.fecha >= DATE_SUB(CURDATE(), INTERVAL 7 DAY) " +
-                    "GROUP BY DAYOFWEEK(m.fecha), mp.nombre " + // SOLO columnas reales en GROUP BY
-                    "ORDER BY DAYOFWEEK(m.fecha), SUM(m.cantidad) DESC";
-        } else if ("semanal".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "CONCAT('Semana ', WEEK(m.fecha)) as periodo, " +
-                    "mp.nombre as material, " +
-                    "SUM(m.cantidad) as cantidad_consumida " +
-                    "FROM movimientomp m " +
-                    "INNER JOIN materiaprima mp ON m.materia_id = mp.id " +
-                    "WHERE m.tipo = 'consumo' AND m.fecha >= DATE_SUB(CURDATE(), INTERVAL 8 WEEK) " +
-                    "GROUP BY WEEK(m.fecha), mp.nombre " + // SOLO WEEK y nombre en GROUP BY
-                    "ORDER BY WEEK(m.fecha), SUM(m.cantidad) DESC";
-        } else if ("mensual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "DATE_FORMAT(m.fecha, '%Y-%m') as periodo, " +
-                    "mp.nombre as material, " +
-                    "SUM(m.cantidad) as cantidad_consumida " +
-                    "FROM movimientomp m " +
-                    "INNER JOIN materiaprima mp ON m.materia_id = mp.id " +
-                    "WHERE m.tipo = 'consumo' AND m.fecha >= DATE_SUB(CURDATE(), INTERVAL 12 MONTH) " +
-                    "GROUP BY DATE_FORMAT(m.fecha, '%Y-%m'), mp.nombre " + // SOLO DATE_FORMAT y nombre
-                    "ORDER BY DATE_FORMAT(m.fecha, '%Y-%m'), SUM(m.cantidad) DESC";
-        } else if ("anual".equalsIgnoreCase(periodo)) {
-            sql = "SELECT " +
-                    "YEAR(m.fecha) as periodo, " +
-                    "mp.nombre as material, " +
-                    "SUM(m.cantidad) as cantidad_consumida " +
-                    "FROM movimientomp m " +
-                    "INNER JOIN materiaprima mp ON m.materia_id = mp.id " +
-                    "WHERE m.tipo = 'consumo' AND m.fecha >= DATE_SUB(CURDATE(), INTERVAL 3 YEAR) " +
-                    "GROUP BY YEAR(m.fecha), mp.nombre " + // SOLO YEAR y nombre en GROUP BY
-                    "ORDER BY YEAR(m.fecha), SUM(m.cantidad) DESC";
+    public List<PuntoSerie> obtenerSerieDiaria(String serie, LocalDate desde, LocalDate hastaExclusivo) throws SQLException {
+        String sql;
+        boolean conMonto = false;
+        if ("ventas".equals(serie)) {
+            sql = "SELECT dia, ventas_count AS cantidad, ventas_monto AS monto " +
+                    "FROM resumen_ventas_dia WHERE dia >= ? AND dia < ? ORDER BY dia";
+            conMonto = true;
+        } else if ("reparaciones".equals(serie)) {
+            sql = "SELECT dia, reparaciones_count AS cantidad " +
+                    "FROM resumen_reparaciones_dia WHERE dia >= ? AND dia < ? ORDER BY dia";
+        } else if ("materiales".equals(serie)) {
+            sql = "SELECT dia, SUM(consumo) AS cantidad " +
+                    "FROM resumen_consumo_dia WHERE dia >= ? AND dia < ? GROUP BY dia ORDER BY dia";
+        } else {
+            throw new IllegalArgumentException("Serie no válida: " + serie);
         }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                EstadisticaMaterial material = new EstadisticaMaterial();
-                material.setPeriodo(rs.getString("periodo"));
-                material.setMaterial(rs.getString("material"));
-                material.setCantidadConsumida(BigDecimal.valueOf(rs.getInt("cantidad_consumida")));
-                materiales.add(material);
+        List<PuntoSerie> puntos = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection("EstadisticasRepository.obtenerSerieDiaria");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setDate(1, Date.valueOf(desde));
+            stmt.setDate(2, Date.valueOf(hastaExclusivo));
+            aplicarLimite(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate dia = rs.getDate("dia").toLocalDate();
+                    puntos.add(new PuntoSerie(dia.toString(), dia.toString(), dia.plusDays(1).toString(),
+                            rs.getLong("cantidad"), conMonto ? BigDecimal.valueOf(rs.getLong("monto")) : null));
+                }
             }
         }
-        return materiales;
+        return puntos;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para gestionar las operaciones de base de datos relacionadas con herramientas.
@@ -17,26 +19,14 @@ import java.util.Optional;
  * @version 1.0
  * @since 2024
  * @see Herramienta
- * @see DatabaseConnection
+ * @see UnitOfWork
  */
 public class HerramientaRepository {
-    /**
-     * Conexión a la base de datos utilizada por este repositorio.
-     */
-    private final Connection connection;
 
     /**
-     * Constructor que inicializa la conexión a la base de datos.
-     *
-     * @throws RuntimeException Si no se puede establecer la conexión a la BD
+     * Logger de la clase.
      */
-    public HerramientaRepository() {
-        try {
-            this.connection = DatabaseConnection.getConnection();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al conectar con la base de datos", e);
-        }
-    }
+    private static final Logger logger = LoggerFactory.getLogger(HerramientaRepository.class);
 
     /**
      * Obtiene todas las herramientas activas con filtros opcionales.
@@ -53,11 +43,12 @@ public class HerramientaRepository {
      * @throws RuntimeException Si ocurre un error en la consulta SQL
      */
     public List<Herramienta> findAll(String buscar, String estatus) {
-        System.out.println("🔧 [HERRAMIENTA] Listando herramientas - Buscar: " + buscar + ", Estatus: " + estatus);
+        logger.debug("Listando herramientas - Buscar: {}, Estatus: {}", buscar, estatus);
         List<Herramienta> herramientas = new ArrayList<>();
         String sql = "SELECT * FROM herramienta WHERE activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(buildQuery(sql, buscar, estatus))) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.findAll");
+             PreparedStatement stmt = connection.prepareStatement(buildQuery(sql, buscar, estatus))) {
             int paramIndex = 1;
             if (buscar != null && !buscar.isEmpty()) {
                 stmt.setString(paramIndex++, "%" + buscar + "%");
@@ -90,10 +81,11 @@ public class HerramientaRepository {
      * @throws RuntimeException Si ocurre un error en la consulta SQL
      */
     public Optional<Herramienta> findByIdOrNombre(String idOrNombre) {
-        System.out.println("🔧 [HERRAMIENTA] Buscando herramienta: " + idOrNombre);
+        logger.debug("Buscando herramienta: {}", idOrNombre);
         String sql = "SELECT * FROM herramienta WHERE (id = ? OR nombre = ?) AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.findByIdOrNombre");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             try {
                 Long id = Long.parseLong(idOrNombre);
                 stmt.setLong(1, id);
@@ -128,11 +120,12 @@ public class HerramientaRepository {
      * @throws SQLException Si no se afecta ninguna fila
      */
     public Herramienta save(Herramienta herramienta) {
-        System.out.println("🔧 [HERRAMIENTA] Creando herramienta: " + herramienta.getNombre());
+        logger.debug("Creando herramienta: {}", herramienta.getNombre());
         String sql = "INSERT INTO herramienta (nombre, descripcion, cantidad_total, cantidad_disponible, " +
                 "estatus, creado_por) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.save");
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, herramienta.getNombre());
             stmt.setString(2, herramienta.getDescripcion());
             stmt.setInt(3, herramienta.getCantidadTotal());
@@ -173,7 +166,8 @@ public class HerramientaRepository {
         String sql = "UPDATE herramienta SET cantidad_total = ?, cantidad_disponible = ?, " +
                 "fecha_actualizacion = CURRENT_TIMESTAMP WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.updateStock");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, nuevaCantidad);
             stmt.setInt(2, nuevaCantidad);
             stmt.setLong(3, id);
@@ -204,7 +198,8 @@ public class HerramientaRepository {
                 "fecha_actualizacion = CURRENT_TIMESTAMP, cantidad_disponible = cantidad_disponible - 1 " +
                 "WHERE id = ? AND cantidad_disponible > 0 AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.asignarHerramienta");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, usuarioAsignado);
             stmt.setString(2, asignadoPor);
             stmt.setLong(3, id);
@@ -232,7 +227,8 @@ public class HerramientaRepository {
                 "fecha_actualizacion = CURRENT_TIMESTAMP, cantidad_disponible = cantidad_disponible + 1 " +
                 "WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.devolverHerramienta");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
@@ -255,7 +251,8 @@ public class HerramientaRepository {
     public boolean delete(Long id) {
         String sql = "UPDATE herramienta SET activo = false, fecha_actualizacion = CURRENT_TIMESTAMP WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HerramientaRepository.delete");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
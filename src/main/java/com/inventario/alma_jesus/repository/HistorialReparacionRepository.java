@@ -4,6 +4,8 @@ import com.inventario.alma_jesus.model.HistorialReparacion;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para gestionar las operaciones de base de datos relacionadas con el historial de reparaciones.
@@ -15,28 +17,14 @@ import java.util.List;
  * @version 1.0
  * @since 2024
  * @see HistorialReparacion
- * @see DatabaseConnection
+ * @see UnitOfWork
  */
 public class HistorialReparacionRepository {
-    /**
-     * Conexión a la base de datos utilizada por este repositorio.
-     */
-    private final Connection connection;
 
     /**
-     * Constructor que inicializa la conexión a la base de datos.
-     * Establece la conexión utilizando el pool de conexiones configurado.
-     *
-     * @throws RuntimeException Si no se puede establecer la conexión a la base de datos
+     * Logger de la clase.
      */
-    public HistorialReparacionRepository() {
-        try {
-            this.connection = DatabaseConnection.getConnection();
-            System.out.println("📋 [HISTORIAL-REPO] Conectado a la base de datos");
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al conectar con la base de datos", e);
-        }
-    }
+    private static final Logger logger = LoggerFactory.getLogger(HistorialReparacionRepository.class);
 
     /**
      * Obtiene el historial completo de una reparación específica.
@@ -57,13 +45,14 @@ public class HistorialReparacionRepository {
      * </pre>
      */
     public List<HistorialReparacion> findByReparacionId(Long reparacionId) {
-        System.out.println("📋 [HISTORIAL-REPO] Obteniendo historial para reparación ID: " + reparacionId);
+        logger.debug("Obteniendo historial para reparación ID: {}", reparacionId);
         List<HistorialReparacion> historiales = new ArrayList<>();
         String sql = "SELECT * FROM HistorialReparacion WHERE reparacion_id = ? ORDER BY fecha DESC, fecha_registro DESC";
 
-        System.out.println("📋 [HISTORIAL-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("HistorialReparacionRepository.findByReparacionId");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, reparacionId);
 
             ResultSet rs = stmt.executeQuery();
@@ -72,9 +61,9 @@ public class HistorialReparacionRepository {
                 historiales.add(mapResultSetToHistorial(rs));
                 count++;
             }
-            System.out.println("📋 [HISTORIAL-REPO] Encontrados " + count + " registros de historial");
+            logger.debug("Encontrados {} registros de historial", count);
         } catch (SQLException e) {
-            System.out.println("❌ [HISTORIAL-REPO] Error al obtener historial: " + e.getMessage());
+            logger.error("Error al obtener historial: {}", e.getMessage());
             throw new RuntimeException("Error al obtener historial para reparación ID: " + reparacionId, e);
         }
         return historiales;
@@ -107,14 +96,14 @@ public class HistorialReparacionRepository {
      * </pre>
      */
     public HistorialReparacion save(HistorialReparacion historial) {
-        System.out.println("📋 [HISTORIAL-REPO] Registrando historial - Reparación: " + historial.getReparacionId() +
-                ", Estado: " + historial.getEstado() + ", Usuario: " + historial.getUsuarioId());
+        logger.debug("Registrando historial - Reparación: {}, Estado: {}, Usuario: {}", historial.getReparacionId(), historial.getEstado(), historial.getUsuarioId());
         String sql = "INSERT INTO HistorialReparacion (reparacion_id, fecha, estado, notas, usuario_id) " +
                 "VALUES (?, ?, ?, ?, ?)";
 
-        System.out.println("📋 [HISTORIAL-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = UnitOfWork.getConnection("HistorialReparacionRepository.save");
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setLong(1, historial.getReparacionId());
             stmt.setString(2, historial.getFecha());
             stmt.setString(3, historial.getEstado());
@@ -123,19 +112,19 @@ public class HistorialReparacionRepository {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
-                System.out.println("❌ [HISTORIAL-REPO] Error: ninguna fila afectada");
+                logger.error("Error: ninguna fila afectada");
                 throw new SQLException("Error al registrar historial, ninguna fila afectada");
             }
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     historial.setId(generatedKeys.getLong(1));
-                    System.out.println("📋 [HISTORIAL-REPO] Historial registrado con ID: " + historial.getId());
+                    logger.debug("Historial registrado con ID: {}", historial.getId());
                 }
             }
             return historial;
         } catch (SQLException e) {
-            System.out.println("❌ [HISTORIAL-REPO] Error al registrar historial: " + e.getMessage());
+            logger.error("Error al registrar historial: {}", e.getMessage());
             throw new RuntimeException("Error al registrar historial: " + e.getMessage(), e);
         }
     }
@@ -0,0 +1,147 @@
+package com.inventario.alma_jesus.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades para construir consultas paginadas por cursor (keyset).
+ * <p>
+ * Las consultas se ordenan por {@code (fecha DESC, id DESC)} y la condición de
+ * continuación se escribe como {@code fecha < ? OR (fecha = ? AND id < ?)}, que
+ * MySQL resuelve con un rango sobre un índice compuesto {@code (fecha, id)}
+ * sin recorrer ni ordenar las filas anteriores. Se pide una fila más que el
+ * límite para saber si existe una página siguiente.
+ * </p>
+ * <p>
+ * En orden descendente MySQL deja las filas con fecha nula al final. Se
+ * recorren en una segunda fase: el cursor de una fila sin fecha lleva solo su
+ * id y la condición pasa a ser {@code fecha IS NULL AND id < ?}, otro rango
+ * del mismo índice. Cuando las filas con fecha se agotan, el cursor salta al
+ * inicio de esa fase; si no hay filas sin fecha, esa última página llega vacía.
+ * Ninguna de las dos condiciones mezcla filas con y sin fecha, de modo que
+ * cada página sigue siendo un rango del índice. Esa fase solo existe si la
+ * columna admite NULL: el llamador lo indica en
+ * {@link #collect(ResultSet, PageRequest, String, String, boolean, BatchLoader.RowMapper)};
+ * para una columna {@code NOT NULL} la última página con fecha termina el
+ * recorrido sin una página vacía adicional.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see PageRequest
+ * @see Page
+ *
+ * @example
+ * <pre>
+ * String sql = "SELECT * FROM tareas WHERE activo = true";
+ * if (page.hasCursor()) {
+ *     sql += " AND " + Keyset.condition("fecha_creacion", "id", page);
+ * }
+ * sql += Keyset.orderAndLimit("fecha_creacion", "id");
+ * // ... asignar filtros y luego:
+ * Keyset.bind(stmt, paramIndex, page);
+ * return Keyset.collect(stmt.executeQuery(), page, "fecha_creacion", "id", false, this::mapResultSetToTarea);
+ * </pre>
+ */
+public final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * Condición para continuar después del cursor, según la fase en que está.
+     *
+     * @param timestampColumn Columna de fecha del orden
+     * @param idColumn Columna de identificador que desempata
+     * @param page Petición de página con cursor
+     * @return Fragmento SQL con tres parámetros, o uno si el cursor está en
+     *         las filas sin fecha
+     */
+    public static String condition(String timestampColumn, String idColumn, PageRequest page) {
+        if (page.isNullSegment()) {
+            return "(" + timestampColumn + " IS NULL AND " + idColumn + " < ?)";
+        }
+        return "(" + timestampColumn + " < ? OR (" + timestampColumn + " = ? AND " + idColumn + " < ?))";
+    }
+
+    /**
+     * Cláusula de orden descendente y límite.
+     *
+     * @param timestampColumn Columna de fecha del orden
+     * @param idColumn Columna de identificador que desempata
+     * @return Fragmento SQL con un parámetro para el límite
+     */
+    public static String orderAndLimit(String timestampColumn, String idColumn) {
+        return " ORDER BY " + timestampColumn + " DESC, " + idColumn + " DESC LIMIT ?";
+    }
+
+    /**
+     * Asigna los parámetros de la condición (si hay cursor) y del límite.
+     *
+     * @param stmt Sentencia preparada
+     * @param index Índice del primer parámetro a asignar
+     * @param page Petición de página
+     * @return Índice del siguiente parámetro libre
+     * @throws SQLException Si ocurre un error al asignar los parámetros
+     */
+    public static int bind(PreparedStatement stmt, int index, PageRequest page) throws SQLException {
+        if (page.isNullSegment()) {
+            stmt.setLong(index++, page.getAfterId());
+        } else if (page.hasCursor()) {
+            stmt.setTimestamp(index++, page.getAfterTimestamp());
+            stmt.setTimestamp(index++, page.getAfterTimestamp());
+            stmt.setLong(index++, page.getAfterId());
+        }
+        stmt.setInt(index++, page.getLimit() + 1);
+        return index;
+    }
+
+    /**
+     * Lee una página de resultados y calcula el cursor siguiente.
+     *
+     * @param rs Resultado de la consulta (ya con {@code LIMIT limit + 1})
+     * @param page Petición de página
+     * @param timestampColumn Etiqueta de la columna de fecha en el resultado
+     * @param idColumn Etiqueta de la columna de identificador en el resultado
+     * @param nullable Si la columna de fecha admite NULL; solo entonces, al
+     *                 agotarse las filas con fecha, se sigue con las que no la tienen
+     * @param mapper Mapeador de filas
+     * @param <T> Tipo de los elementos
+     * @return La página leída
+     * @throws SQLException Si ocurre un error al leer el resultado
+     */
+    public static <T> Page<T> collect(ResultSet rs, PageRequest page, String timestampColumn, String idColumn,
+                                      boolean nullable, BatchLoader.RowMapper<T> mapper) throws SQLException {
+        List<T> items = new ArrayList<>(page.getLimit());
+        Timestamp ultimoTimestamp = null;
+        long ultimoId = 0;
+        boolean hayMas = false;
+
+        try (rs) {
+            while (rs.next()) {
+                if (items.size() == page.getLimit()) {
+                    hayMas = true;
+                    break;
+                }
+                items.add(mapper.map(rs));
+                ultimoTimestamp = rs.getTimestamp(timestampColumn);
+                ultimoId = rs.getLong(idColumn);
+            }
+        }
+
+        String nextCursor;
+        if (hayMas) {
+            nextCursor = PageRequest.encode(ultimoTimestamp, ultimoId);
+        } else if (nullable && page.hasCursor() && !page.isNullSegment()) {
+            // La condición con fecha no alcanza las filas sin fecha: se sigue con ellas
+            nextCursor = PageRequest.encode(null, Long.MAX_VALUE);
+        } else {
+            nextCursor = null;
+        }
+        return new Page<>(items, nextCursor);
+    }
+}
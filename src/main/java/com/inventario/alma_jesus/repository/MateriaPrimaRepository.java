@@ -5,6 +5,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para gestionar las operaciones de base de datos relacionadas con materias primas.
@@ -17,28 +19,14 @@ import java.util.Optional;
  * @version 1.0
  * @since 2024
  * @see MateriaPrima
- * @see DatabaseConnection
+ * @see UnitOfWork
  */
 public class MateriaPrimaRepository {
-    /**
-     * Conexión a la base de datos utilizada por este repositorio.
-     */
-    private final Connection connection;
 
     /**
-     * Constructor que inicializa la conexión a la base de datos.
-     * Utiliza el pool de conexiones configurado en DatabaseConnection.
-     *
-     * @throws RuntimeException Si no se puede establecer la conexión a la base de datos
+     * Logger de la clase.
      */
-    public MateriaPrimaRepository() {
-        try {
-            this.connection = DatabaseConnection.getConnection();
-            System.out.println("[MATERIAL-REPO] Conectado a la base de datos");
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al conectar con la base de datos", e);
-        }
-    }
+    private static final Logger logger = LoggerFactory.getLogger(MateriaPrimaRepository.class);
 
     /**
      * Obtiene todas las materias primas activas con filtros opcionales.
@@ -67,23 +55,24 @@ public class MateriaPrimaRepository {
      * </pre>
      */
     public List<MateriaPrima> findAll(String buscar, String categoria) {
-        System.out.println("[MATERIAL-REPO] Listando materiales - Buscar: '" + buscar + "', Categoría: '" + categoria + "'");
+        logger.debug("Listando materiales - Buscar: '{}', Categoría: '{}'", buscar, categoria);
         List<MateriaPrima> materiales = new ArrayList<>();
         String sql = "SELECT * FROM materiaprima WHERE activo = true";
         String finalSql = buildQuery(sql, buscar, categoria);
 
-        System.out.println("[MATERIAL-REPO] SQL: " + finalSql);
+        logger.debug("SQL: {}", finalSql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(finalSql)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.findAll");
+             PreparedStatement stmt = connection.prepareStatement(finalSql)) {
             int paramIndex = 1;
             if (buscar != null && !buscar.isEmpty()) {
                 stmt.setString(paramIndex++, "%" + buscar + "%");
                 stmt.setString(paramIndex++, "%" + buscar + "%");
-                System.out.println("[MATERIAL-REPO] Parámetro buscar: %" + buscar + "%");
+                logger.debug("Parámetro buscar: %{}%", buscar);
             }
             if (categoria != null && !categoria.isEmpty() && !categoria.equals("Todas las materias primas")) {
                 stmt.setString(paramIndex, categoria);
-                System.out.println("[MATERIAL-REPO] Parámetro categoría: " + categoria);
+                logger.debug("Parámetro categoría: {}", categoria);
             }
 
             ResultSet rs = stmt.executeQuery();
@@ -92,9 +81,9 @@ public class MateriaPrimaRepository {
                 materiales.add(mapResultSetToMateriaPrima(rs));
                 count++;
             }
-            System.out.println("[MATERIAL-REPO] Encontrados " + count + " materiales");
+            logger.debug("Encontrados {} materiales", count);
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al listar materiales: " + e.getMessage());
+            logger.error("Error al listar materiales: {}", e.getMessage());
             throw new RuntimeException("Error al listar materiales", e);
         }
         return materiales;
@@ -113,22 +102,23 @@ public class MateriaPrimaRepository {
      * @throws RuntimeException Si ocurre un error en la consulta SQL
      */
     public Optional<MateriaPrima> findById(Long id) {
-        System.out.println("[MATERIAL-REPO] Buscando material por ID: " + id);
+        logger.debug("Buscando material por ID: {}", id);
         String sql = "SELECT * FROM materiaprima WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.findById");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
-            System.out.println("[MATERIAL-REPO] SQL: " + sql + " | ID: " + id);
+            logger.debug("SQL: {} | ID: {}", sql, id);
 
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
-                System.out.println("[MATERIAL-REPO] Material encontrado: " + rs.getString("nombre"));
+                logger.debug("Material encontrado: {}", rs.getString("nombre"));
                 return Optional.of(mapResultSetToMateriaPrima(rs));
             } else {
-                System.out.println("[MATERIAL-REPO] Material no encontrado ID: " + id);
+                logger.debug("Material no encontrado ID: {}", id);
             }
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al buscar material: " + e.getMessage());
+            logger.error("Error al buscar material: {}", e.getMessage());
             throw new RuntimeException("Error al buscar material ID: " + id, e);
         }
         return Optional.empty();
@@ -148,14 +138,15 @@ public class MateriaPrimaRepository {
      * @throws SQLException Si no se afecta ninguna fila en la inserción
      */
     public MateriaPrima save(MateriaPrima material) {
-        System.out.println("[MATERIAL-REPO] Creando nuevo material: " + material.getNombre());
+        logger.debug("Creando nuevo material: {}", material.getNombre());
         String sql = "INSERT INTO materiaprima (nombre, descripcion, cantidad, unidad, " +
                 "stock_minimo, costo, categoria, creado_por) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-        System.out.println("[MATERIAL-REPO] SQL: " + sql);
-        System.out.println("[MATERIAL-REPO] Datos: " + material.getNombre() + ", " + material.getCantidad() + " " + material.getUnidad() + ", $" + material.getCosto());
+        logger.debug("SQL: {}", sql);
+        logger.debug("Datos: {}, {} {}, ${}", material.getNombre(), material.getCantidad(), material.getUnidad(), material.getCosto());
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.save");
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, material.getNombre());
             stmt.setString(2, material.getDescripcion());
             stmt.setInt(3, material.getCantidad());
@@ -167,19 +158,19 @@ public class MateriaPrimaRepository {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
-                System.out.println("❌ [MATERIAL-REPO] Error: ninguna fila afectada");
+                logger.error("Error: ninguna fila afectada");
                 throw new SQLException("Error al crear material, ninguna fila afectada");
             }
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     material.setId(generatedKeys.getLong(1));
-                    System.out.println("[MATERIAL-REPO] Material creado con ID: " + material.getId());
+                    logger.debug("Material creado con ID: {}", material.getId());
                 }
             }
             return material;
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al crear material: " + e.getMessage());
+            logger.error("Error al crear material: {}", e.getMessage());
             throw new RuntimeException("Error al crear material: " + e.getMessage(), e);
         }
     }
@@ -197,14 +188,15 @@ public class MateriaPrimaRepository {
      * @throws RuntimeException Si ocurre un error en la actualización SQL
      */
     public boolean update(MateriaPrima material) {
-        System.out.println("[MATERIAL-REPO] Actualizando material ID: " + material.getId());
+        logger.debug("Actualizando material ID: {}", material.getId());
         String sql = "UPDATE materiaprima SET nombre = ?, descripcion = ?, unidad = ?, " +
                 "stock_minimo = ?, costo = ?, categoria = ? WHERE id = ? AND activo = true";
 
-        System.out.println("[MATERIAL-REPO] SQL: " + sql);
-        System.out.println("[MATERIAL-REPO] Nuevos datos: " + material.getNombre() + ", " + material.getCategoria() + ", $" + material.getCosto());
+        logger.debug("SQL: {}", sql);
+        logger.debug("Nuevos datos: {}, {}, ${}", material.getNombre(), material.getCategoria(), material.getCosto());
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.update");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, material.getNombre());
             stmt.setString(2, material.getDescripcion());
             stmt.setString(3, material.getUnidad());
@@ -214,10 +206,10 @@ public class MateriaPrimaRepository {
             stmt.setLong(7, material.getId());
 
             int affectedRows = stmt.executeUpdate();
-            System.out.println("[MATERIAL-REPO] Filas afectadas: " + affectedRows);
+            logger.debug("Filas afectadas: {}", affectedRows);
             return affectedRows > 0;
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al actualizar material: " + e.getMessage());
+            logger.error("Error al actualizar material: {}", e.getMessage());
             throw new RuntimeException("Error al actualizar material ID: " + material.getId(), e);
         }
     }
@@ -236,24 +228,61 @@ public class MateriaPrimaRepository {
      * @throws RuntimeException Si ocurre un error en la actualización SQL
      */
     public boolean updateStock(Long id, Integer nuevaCantidad) {
-        System.out.println("[MATERIAL-REPO] Actualizando stock material ID: " + id + " -> " + nuevaCantidad);
+        logger.debug("Actualizando stock material ID: {} -> {}", id, nuevaCantidad);
         String sql = "UPDATE materiaprima SET cantidad = ? WHERE id = ? AND activo = true";
 
-        System.out.println("[MATERIAL-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.updateStock");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setInt(1, nuevaCantidad);
             stmt.setLong(2, id);
 
             int affectedRows = stmt.executeUpdate();
-            System.out.println("[MATERIAL-REPO] Stock actualizado - Filas afectadas: " + affectedRows);
+            logger.debug("Stock actualizado - Filas afectadas: {}", affectedRows);
             return affectedRows > 0;
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al actualizar stock: " + e.getMessage());
+            logger.error("Error al actualizar stock: {}", e.getMessage());
             throw new RuntimeException("Error al actualizar stock material ID: " + id, e);
         }
     }
 
+    /**
+     * Ajusta la cantidad en stock de una materia prima sumando un delta.
+     * <p>
+     * Aplica {@code cantidad = cantidad + ?} directamente en la base de datos,
+     * sin leer antes el valor actual, por lo que dos ajustes simultáneos sobre
+     * el mismo material se acumulan en lugar de sobrescribirse. La condición
+     * {@code cantidad + ? >= 0} impide que un ajuste negativo deje el stock
+     * por debajo de cero.
+     * </p>
+     *
+     * @param id ID de la materia prima a ajustar
+     * @param delta Cantidad a sumar (negativa para salidas)
+     * @return true si se ajustó, false si el material no existe, está inactivo
+     *         o no tiene stock suficiente para el ajuste
+     *
+     * @throws RuntimeException Si ocurre un error en la actualización SQL
+     */
+    public boolean adjustStock(Long id, int delta) {
+        logger.debug("Ajustando stock material ID: {} delta: {}", id, delta);
+        String sql = "UPDATE materiaprima SET cantidad = cantidad + ? WHERE id = ? AND activo = true AND cantidad + ? >= 0";
+
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.adjustStock");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setInt(1, delta);
+            stmt.setLong(2, id);
+            stmt.setInt(3, delta);
+
+            int affectedRows = stmt.executeUpdate();
+            logger.debug("Stock ajustado - Filas afectadas: {}", affectedRows);
+            return affectedRows > 0;
+        } catch (SQLException e) {
+            logger.error("Error al ajustar stock: {}", e.getMessage());
+            throw new RuntimeException("Error al ajustar stock material ID: " + id, e);
+        }
+    }
+
     /**
      * Realiza una eliminación lógica de una materia prima.
      * <p>
@@ -267,19 +296,20 @@ public class MateriaPrimaRepository {
      * @throws RuntimeException Si ocurre un error en la actualización SQL
      */
     public boolean delete(Long id) {
-        System.out.println("[MATERIAL-REPO] Eliminando material ID: " + id + " (lógico)");
+        logger.debug("Eliminando material ID: {} (lógico)", id);
         String sql = "UPDATE materiaprima SET activo = false WHERE id = ?";
 
-        System.out.println("[MATERIAL-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("MateriaPrimaRepository.delete");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
 
             int affectedRows = stmt.executeUpdate();
-            System.out.println("[MATERIAL-REPO] Material eliminado - Filas afectadas: " + affectedRows);
+            logger.debug("Material eliminado - Filas afectadas: {}", affectedRows);
             return affectedRows > 0;
         } catch (SQLException e) {
-            System.out.println("[MATERIAL-REPO] Error al eliminar material: " + e.getMessage());
+            logger.error("Error al eliminar material: {}", e.getMessage());
             throw new RuntimeException("Error al eliminar material ID: " + id, e);
         }
     }
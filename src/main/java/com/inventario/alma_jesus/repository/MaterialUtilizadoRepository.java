@@ -47,7 +47,8 @@ public class MaterialUtilizadoRepository {
         List<MaterialUtilizado> materiales = new ArrayList<>();
         String sql = "SELECT * FROM materialutilizado WHERE tipo_documento = ? AND documento_id = ? ORDER BY fecha_registro DESC";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(),
+                "MaterialUtilizadoRepository.findByTipoDocumentoAndDocumentoIdOrderByFechaRegistroDesc");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, tipoDocumento.name());
@@ -94,7 +95,8 @@ public class MaterialUtilizadoRepository {
         String sql = "SELECT COALESCE(SUM(cantidad * costo_unitario), 0) FROM materialutilizado " +
                 "WHERE tipo_documento = 'reparacion' AND documento_id = ?";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(),
+                "MaterialUtilizadoRepository.calcularCostoTotalMaterialesPorReparacion");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, reparacionId);
@@ -124,7 +126,7 @@ public class MaterialUtilizadoRepository {
     public boolean existsByTipoDocumentoAndDocumentoId(MaterialUtilizado.TipoDocumento tipoDocumento, Long documentoId) {
         String sql = "SELECT COUNT(*) FROM materialutilizado WHERE tipo_documento = ? AND documento_id = ?";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(), "MaterialUtilizadoRepository.existsByTipoDocumentoAndDocumentoId");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, tipoDocumento.name());
@@ -157,7 +159,7 @@ public class MaterialUtilizadoRepository {
                 "cantidad, costo_unitario, fecha, usuario_id, fecha_registro) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(), "MaterialUtilizadoRepository.save");
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, material.getTipoDocumento().name());
@@ -199,7 +201,7 @@ public class MaterialUtilizadoRepository {
     public void deleteById(Long materialId) {
         String sql = "DELETE FROM materialutilizado WHERE id = ?";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(), "MaterialUtilizadoRepository.deleteById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, materialId);
@@ -219,7 +221,7 @@ public class MaterialUtilizadoRepository {
     public boolean existsById(Long materialId) {
         String sql = "SELECT COUNT(*) FROM materialutilizado WHERE id = ?";
 
-        try (Connection conn = dataSource.getConnection();
+        try (Connection conn = MetricasRepositorio.instrumentar(dataSource.getConnection(), "MaterialUtilizadoRepository.existsById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, materialId);
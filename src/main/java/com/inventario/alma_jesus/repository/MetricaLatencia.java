@@ -0,0 +1,89 @@
+package com.inventario.alma_jesus.repository;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencia, total y operaciones en curso de una ruta HTTP o un método de repositorio.
+ * <p>
+ * Las duraciones se guardan en microsegundos en un {@link ConcurrentHistogram},
+ * que admite registros concurrentes sin bloqueo; los percentiles se calculan
+ * sobre una copia al exportar. La suma se lleva aparte porque el histograma
+ * solo conserva valores aproximados.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see PrometheusTexto
+ *
+ * @example
+ * <pre>
+ * MetricaLatencia metrica = new MetricaLatencia();
+ * long inicio = metrica.iniciar();
+ * try {
+ *     ...
+ * } finally {
+ *     metrica.terminar(inicio);
+ * }
+ * </pre>
+ */
+public class MetricaLatencia {
+
+    /**
+     * Cuantiles exportados en las métricas de tipo summary.
+     */
+    private static final double[] CUANTILES = {0.5, 0.9, 0.95, 0.99, 0.999};
+
+    private final Histogram micros = new ConcurrentHistogram(3);
+    private final LongAdder sumaMicros = new LongAdder();
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    /**
+     * Marca el inicio de una operación.
+     *
+     * @return Instante de inicio en nanosegundos, para {@link #terminar(long)}
+     */
+    public long iniciar() {
+        enCurso.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marca el fin de una operación iniciada con {@link #iniciar()} y registra su duración.
+     *
+     * @param inicioNanos Valor devuelto por {@link #iniciar()}
+     */
+    public void terminar(long inicioNanos) {
+        enCurso.decrementAndGet();
+        long duracion = Math.max(0, (System.nanoTime() - inicioNanos) / 1000);
+        micros.recordValue(duracion);
+        sumaMicros.add(duracion);
+    }
+
+    /**
+     * @return Operaciones iniciadas que aún no terminan
+     */
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+
+    /**
+     * Escribe la métrica como summary de Prometheus (cuantiles, suma y conteo en segundos).
+     *
+     * @param salida Documento en construcción
+     * @param nombre Nombre de la métrica, sin sufijos
+     * @param etiquetas Pares nombre/valor de las etiquetas de la serie
+     */
+    public void escribirResumen(PrometheusTexto salida, String nombre, String... etiquetas) {
+        Histogram copia = micros.copy();
+        for (double cuantil : CUANTILES) {
+            double valor = copia.getTotalCount() == 0 ? Double.NaN : copia.getValueAtPercentile(cuantil * 100) / 1e6;
+            salida.muestra(nombre, valor, PrometheusTexto.agregar(etiquetas, "quantile", String.valueOf(cuantil)));
+        }
+        salida.muestra(nombre + "_sum", sumaMicros.sum() / 1e6, etiquetas);
+        salida.muestra(nombre + "_count", copia.getTotalCount(), etiquetas);
+    }
+}
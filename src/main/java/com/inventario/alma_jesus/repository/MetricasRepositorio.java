@@ -0,0 +1,94 @@
+package com.inventario.alma_jesus.repository;
+
+import com.inventario.alma_jesus.config.AppConfig;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencia y llamadas en curso de cada método de repositorio.
+ * <p>
+ * Los repositorios piden la conexión al inicio de cada método (dentro de un
+ * try-with-resources) y la cierran al terminar, así que ese intervalo es la
+ * duración del método. Cada método pasa su nombre al pedir la conexión
+ * ({@code UnitOfWork.getConnection("VentaRepository.crearVenta")}); la
+ * conexión entregada es una {@link ConexionPrestada} que registra la duración
+ * cuando el repositorio la cierra. El nombre viene del punto de llamada, así
+ * que no se recorre la pila ni se crean proxies dinámicos por conexión.
+ * </p>
+ * <p>
+ * Dentro de una {@link UnitOfWork} el cierre de la conexión prestada no la
+ * devuelve al pool, pero igual marca el fin del método. La conexión física
+ * que la unidad de trabajo retiene durante la petición no se instrumenta.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see MetricaLatencia
+ * @see DatabaseConnection#getConnection(String)
+ * @see UnitOfWork#getConnection(String)
+ */
+public final class MetricasRepositorio {
+
+    private static final boolean HABILITADO = AppConfig.getBoolean("metrics.repository.enabled", true);
+
+    private static final Map<String, MetricaLatencia> METRICAS = new ConcurrentHashMap<>();
+
+    private MetricasRepositorio() {
+    }
+
+    /**
+     * Envuelve una conexión propia del método para medirlo; cerrarla la
+     * devuelve al pool.
+     *
+     * @param conexion Conexión tomada del pool para el método
+     * @param metodo Método que la usa, con el formato {@code Clase.metodo}
+     * @return Conexión que registra la duración al cerrarse, o la misma si las métricas están desactivadas
+     */
+    static Connection instrumentar(Connection conexion, String metodo) {
+        MetricaLatencia metrica = metrica(metodo);
+        return metrica != null ? new ConexionPrestada(conexion, metrica, true) : conexion;
+    }
+
+    /**
+     * Métrica de un método de repositorio.
+     *
+     * @param metodo Método con el formato {@code Clase.metodo}, o null
+     * @return La métrica, o null si las métricas están desactivadas o no se indicó método
+     */
+    static MetricaLatencia metrica(String metodo) {
+        if (!HABILITADO || metodo == null) {
+            return null;
+        }
+        return METRICAS.computeIfAbsent(metodo, k -> new MetricaLatencia());
+    }
+
+    /**
+     * Escribe las métricas de repositorio en formato Prometheus.
+     *
+     * @param salida Documento en construcción
+     */
+    public static void exportar(PrometheusTexto salida) {
+        Map<String, MetricaLatencia> ordenadas = new TreeMap<>(METRICAS);
+
+        salida.metrica("repository_call_seconds", "summary", "Duración de los métodos de repositorio");
+        for (Map.Entry<String, MetricaLatencia> entrada : ordenadas.entrySet()) {
+            entrada.getValue().escribirResumen(salida, "repository_call_seconds", etiquetas(entrada.getKey()));
+        }
+
+        salida.metrica("repository_calls_in_flight", "gauge", "Métodos de repositorio en ejecución");
+        for (Map.Entry<String, MetricaLatencia> entrada : ordenadas.entrySet()) {
+            salida.muestra("repository_calls_in_flight", entrada.getValue().getEnCurso(), etiquetas(entrada.getKey()));
+        }
+    }
+
+    private static String[] etiquetas(String clave) {
+        int punto = clave.indexOf('.');
+        if (punto < 0) {
+            return new String[]{"repository", clave, "method", ""};
+        }
+        return new String[]{"repository", clave.substring(0, punto), "method", clave.substring(punto + 1)};
+    }
+}
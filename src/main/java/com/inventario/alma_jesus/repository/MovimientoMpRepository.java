@@ -5,6 +5,8 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para la gestión de movimientos de materia prima.
@@ -16,27 +18,14 @@ import java.util.List;
  *
  * @version 1.0
  * @since 2024
+ * @see UnitOfWork
  */
 public class MovimientoMpRepository {
-    private final Connection connection;
 
     /**
-     * Constructor del repositorio.
-     * <p>
-     * Establece la conexión a la base de datos utilizando {@link DatabaseConnection}.
-     * Lanza una excepción si no puede establecer la conexión.
-     * </p>
-     *
-     * @throws RuntimeException Si ocurre un error al conectar con la base de datos
+     * Logger de la clase.
      */
-    public MovimientoMpRepository() {
-        try {
-            this.connection = DatabaseConnection.getConnection();
-            System.out.println("[MOVIMIENTO-REPO] Conectado a la base de datos");
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al conectar con la base de datos", e);
-        }
-    }
+    private static final Logger logger = LoggerFactory.getLogger(MovimientoMpRepository.class);
 
     /**
      * Obtiene el historial de movimientos para un material específico.
@@ -52,14 +41,15 @@ public class MovimientoMpRepository {
      * @see MovimientoMp
      */
     public List<MovimientoMp> findByMateriaId(Long materiaId) {
-        System.out.println(" [MOVIMIENTO-REPO] Obteniendo historial para material ID: " + materiaId);
+        logger.debug("Obteniendo historial para material ID: {}", materiaId);
         List<MovimientoMp> movimientos = new ArrayList<>();
         // Nota: El nombre de la tabla es "movimientomp" (en minúsculas)
         String sql = "SELECT * FROM movimientomp WHERE materia_id = ? ORDER BY fecha DESC, fecha_registro DESC";
 
-        System.out.println("[MOVIMIENTO-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("MovimientoMpRepository.findByMateriaId");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, materiaId);
 
             ResultSet rs = stmt.executeQuery();
@@ -68,14 +58,46 @@ public class MovimientoMpRepository {
                 movimientos.add(mapResultSetToMovimiento(rs));
                 count++;
             }
-            System.out.println("[MOVIMIENTO-REPO] Encontrados " + count + " movimientos");
+            logger.debug("Encontrados {} movimientos", count);
         } catch (SQLException e) {
-            System.out.println("[MOVIMIENTO-REPO] Error al obtener historial: " + e.getMessage());
+            logger.error("Error al obtener historial: {}", e.getMessage());
             throw new RuntimeException("Error al obtener historial para material ID: " + materiaId, e);
         }
         return movimientos;
     }
 
+    /**
+     * Obtiene una página del historial de movimientos de un material.
+     * <p>
+     * Pagina por cursor sobre el par {@code (fecha, id)}, de los movimientos
+     * más recientes a los más antiguos.
+     * </p>
+     *
+     * @param materiaId ID del material para el cual obtener el historial
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link MovimientoMp} con el cursor de la siguiente página
+     * @throws RuntimeException Si ocurre un error en la consulta SQL
+     * @see Keyset
+     */
+    public Page<MovimientoMp> findByMateriaId(Long materiaId, PageRequest page) {
+        String sql = "SELECT * FROM movimientomp WHERE materia_id = ?";
+        if (page.hasCursor()) {
+            sql += " AND " + Keyset.condition("fecha", "id", page);
+        }
+        sql += Keyset.orderAndLimit("fecha", "id");
+
+        try (Connection connection = UnitOfWork.getConnection("MovimientoMpRepository.findByMateriaId");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setLong(1, materiaId);
+            Keyset.bind(stmt, 2, page);
+
+            return Keyset.collect(stmt.executeQuery(), page, "fecha", "id", true, this::mapResultSetToMovimiento);
+        } catch (SQLException e) {
+            logger.error("Error al obtener historial: {}", e.getMessage());
+            throw new RuntimeException("Error al obtener historial para material ID: " + materiaId, e);
+        }
+    }
+
     /**
      * Registra un nuevo movimiento de materia prima.
      * <p>
@@ -87,6 +109,10 @@ public class MovimientoMpRepository {
      * - "consumo": Uso en producción
      * - "ajuste": Corrección manual de inventario
      * </p>
+     * <p>
+     * Los movimientos de tipo "consumo" se acumulan además en el resumen
+     * diario {@code resumen_consumo_dia}, en la misma transacción.
+     * </p>
      *
      * @param movimiento Objeto {@link MovimientoMp} a registrar
      * @return El mismo objeto con el ID generado establecido
@@ -94,15 +120,28 @@ public class MovimientoMpRepository {
      * @throws IllegalArgumentException Si algún campo requerido es nulo o inválido
      */
     public MovimientoMp save(MovimientoMp movimiento) {
-        System.out.println("[MOVIMIENTO-REPO] Registrando movimiento - Material: " + movimiento.getMateriaId() +
-                ", Tipo: " + movimiento.getTipo() + ", Cantidad: " + movimiento.getCantidad());
+        logger.debug("Registrando movimiento - Material: {}, Tipo: {}, Cantidad: {}", movimiento.getMateriaId(), movimiento.getTipo(), movimiento.getCantidad());
         // Nota: El nombre de la tabla es "movimientomp" (en minúsculas)
         String sql = "INSERT INTO movimientomp (materia_id, fecha, tipo, cantidad, usuario_id) " +
                 "VALUES (?, ?, ?, ?, ?)";
 
-        System.out.println("[MOVIMIENTO-REPO] SQL: " + sql);
+        logger.debug("SQL: {}", sql);
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        // El movimiento y el resumen diario de consumo se escriben en la misma transacción
+        return UnitOfWork.inTransaction(() -> insertar(sql, movimiento));
+    }
+
+    /**
+     * Inserta el movimiento y, si es un consumo, lo suma al resumen diario
+     * sobre la conexión de la transacción.
+     *
+     * @param sql Sentencia INSERT del movimiento
+     * @param movimiento Movimiento a insertar
+     * @return El mismo movimiento con el ID generado
+     */
+    private MovimientoMp insertar(String sql, MovimientoMp movimiento) {
+        try (Connection connection = UnitOfWork.getConnection("MovimientoMpRepository.insertar");
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setLong(1, movimiento.getMateriaId());
             stmt.setString(2, movimiento.getFecha());
             stmt.setString(3, movimiento.getTipo());
@@ -111,19 +150,23 @@ public class MovimientoMpRepository {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows == 0) {
-                System.out.println("[MOVIMIENTO-REPO] Error: ninguna fila afectada");
+                logger.error("Error: ninguna fila afectada");
                 throw new SQLException("Error al registrar movimiento, ninguna fila afectada");
             }
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     movimiento.setId(generatedKeys.getLong(1));
-                    System.out.println("[MOVIMIENTO-REPO] Movimiento registrado con ID: " + movimiento.getId());
+                    logger.debug("Movimiento registrado con ID: {}", movimiento.getId());
                 }
             }
+
+            if ("consumo".equals(movimiento.getTipo())) {
+                RollupRepository.sumarConsumo(connection, movimiento.getFecha(), movimiento.getMateriaId(), movimiento.getCantidad());
+            }
             return movimiento;
         } catch (SQLException e) {
-            System.out.println("❌ [MOVIMIENTO-REPO] Error al registrar movimiento: " + e.getMessage());
+            logger.error("Error al registrar movimiento: {}", e.getMessage());
             throw new RuntimeException("Error al registrar movimiento: " + e.getMessage(), e);
         }
     }
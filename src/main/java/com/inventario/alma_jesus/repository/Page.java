@@ -0,0 +1,31 @@
+package com.inventario.alma_jesus.repository;
+
+import java.util.List;
+
+/**
+ * Página de resultados de una consulta paginada por cursor.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @version 1.0
+ * @since 2024
+ * @see PageRequest
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * @param items Elementos de la página, en el orden de la consulta
+     * @param nextCursor Cursor para pedir la siguiente página, o null si es la última
+     */
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasMore() { return nextCursor != null; }
+}
@@ -0,0 +1,138 @@
+package com.inventario.alma_jesus.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Parámetros de una consulta paginada por cursor (keyset).
+ * <p>
+ * En lugar de {@code OFFSET}, cada página continúa a partir de la última fila
+ * de la anterior, identificada por el par {@code (fecha, id)}. El cursor que
+ * recibe el cliente es una cadena opaca en Base64 que codifica ese par; si la
+ * fila no tiene fecha, el cursor lleva solo el id y la página siguiente
+ * continúa entre las filas sin fecha.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see Page
+ * @see Keyset
+ */
+public final class PageRequest {
+
+    /**
+     * Tamaño de página cuando solo se envía {@code after}.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Tamaño máximo de página permitido.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private final int limit;
+    private final Timestamp afterTimestamp;
+    private final long afterId;
+    private final boolean cursor;
+
+    private PageRequest(int limit, Timestamp afterTimestamp, long afterId, boolean cursor) {
+        this.limit = limit;
+        this.afterTimestamp = afterTimestamp;
+        this.afterId = afterId;
+        this.cursor = cursor;
+    }
+
+    /**
+     * Construye la petición de página a partir de los parámetros de consulta.
+     *
+     * @param limitParam Valor de {@code ?limit=} (opcional)
+     * @param afterParam Valor de {@code ?after=} (opcional)
+     * @return La petición de página, o null si no se envió ninguno de los dos
+     *         parámetros (el endpoint conserva su respuesta completa)
+     * @throws IllegalArgumentException Si el límite o el cursor no son válidos
+     */
+    public static PageRequest from(String limitParam, String afterParam) {
+        boolean sinLimit = limitParam == null || limitParam.isBlank();
+        boolean sinAfter = afterParam == null || afterParam.isBlank();
+        if (sinLimit && sinAfter) {
+            return null;
+        }
+
+        int limit = DEFAULT_LIMIT;
+        if (!sinLimit) {
+            try {
+                limit = Integer.parseInt(limitParam.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("El parámetro limit debe ser un número entero");
+            }
+            if (limit < 1) {
+                throw new IllegalArgumentException("El parámetro limit debe ser mayor que cero");
+            }
+            limit = Math.min(limit, MAX_LIMIT);
+        }
+
+        if (sinAfter) {
+            return new PageRequest(limit, null, 0, false);
+        }
+        return decode(limit, afterParam.trim());
+    }
+
+    /**
+     * Codifica la posición de una fila como cursor opaco.
+     *
+     * @param timestamp Fecha de la fila; null si no tiene
+     * @param id Identificador de la fila
+     * @return Cursor en Base64 URL-safe
+     */
+    public static String encode(Timestamp timestamp, long id) {
+        String valor = (timestamp != null ? timestamp.toLocalDateTime().toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PageRequest decode(int limit, String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf('|');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            String fecha = valor.substring(0, separador);
+            Timestamp timestamp = fecha.isEmpty() ? null : Timestamp.valueOf(LocalDateTime.parse(fecha));
+            long id = Long.parseLong(valor.substring(separador + 1));
+            return new PageRequest(limit, timestamp, id, true);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public int getLimit() { return limit; }
+
+    /**
+     * @return Fecha de la última fila de la página anterior; null si no hay
+     *         cursor o si esa fila no tenía fecha
+     */
+    public Timestamp getAfterTimestamp() { return afterTimestamp; }
+
+    public long getAfterId() { return afterId; }
+
+    /**
+     * Indica si el cursor está en las filas sin fecha, que se recorren solo por id.
+     *
+     * @return true si se envió {@code after} y su fila no tenía fecha
+     */
+    public boolean isNullSegment() {
+        return cursor && afterTimestamp == null;
+    }
+
+    /**
+     * Indica si la petición continúa desde un cursor o pide la primera página.
+     *
+     * @return true si se envió {@code after}
+     */
+    public boolean hasCursor() {
+        return cursor;
+    }
+}
@@ -4,6 +4,7 @@ import com.inventario.alma_jesus.model.Pedido;
 import com.inventario.alma_jesus.model.PedidoProducto;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,7 +27,8 @@ public class PedidoRepository {
      * <p>
      * Retorna una lista completa de pedidos ordenados por fecha de creación
      * descendente (los más recientes primero). Cada pedido incluye su lista
-     * completa de productos asociados.
+     * completa de productos asociados, cargada en lote con una sola consulta
+     * adicional.
      * </p>
      *
      * @return Lista de todos los {@link Pedido} en el sistema
@@ -36,19 +38,47 @@ public class PedidoRepository {
         List<Pedido> pedidos = new ArrayList<>();
         String sql = "SELECT * FROM pedidos ORDER BY fecha_creacion DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.findAll");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                Pedido pedido = mapPedido(rs);
-                pedido.setProductos(findProductosByPedidoId(pedido.getId()));
-                pedidos.add(pedido);
+                pedidos.add(mapPedido(rs));
             }
+            cargarProductos(conn, pedidos);
         }
         return pedidos;
     }
 
+    /**
+     * Obtiene una página de pedidos ordenados por fecha de creación descendente.
+     * <p>
+     * Usa paginación por cursor sobre el par {@code (fecha_creacion, id)}.
+     * Los productos de los pedidos de la página se cargan en lote.
+     * </p>
+     *
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link Pedido} con el cursor de la siguiente página
+     * @throws SQLException Si ocurre un error en la consulta a la base de datos
+     * @see Keyset
+     */
+    public Page<Pedido> findAll(PageRequest page) throws SQLException {
+        String sql = "SELECT * FROM pedidos";
+        if (page.hasCursor()) {
+            sql += " WHERE " + Keyset.condition("fecha_creacion", "id", page);
+        }
+        sql += Keyset.orderAndLimit("fecha_creacion", "id");
+
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.findAll");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            Keyset.bind(stmt, 1, page);
+            Page<Pedido> resultado = Keyset.collect(stmt.executeQuery(), page, "fecha_creacion", "id", false, this::mapPedido);
+            cargarProductos(conn, resultado.getItems());
+            return resultado;
+        }
+    }
+
     /**
      * Busca pedidos por fecha específica.
      * <p>
@@ -64,18 +94,17 @@ public class PedidoRepository {
         List<Pedido> pedidos = new ArrayList<>();
         String sql = "SELECT * FROM pedidos WHERE DATE(fecha_creacion) = ? ORDER BY fecha_creacion DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.findByFecha");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, fecha);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Pedido pedido = mapPedido(rs);
-                    pedido.setProductos(findProductosByPedidoId(pedido.getId()));
-                    pedidos.add(pedido);
+                    pedidos.add(mapPedido(rs));
                 }
             }
+            cargarProductos(conn, pedidos);
         }
         return pedidos;
     }
@@ -94,14 +123,14 @@ public class PedidoRepository {
     public Pedido findById(Long id) throws SQLException {
         String sql = "SELECT * FROM pedidos WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.findById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Pedido pedido = mapPedido(rs);
-                    pedido.setProductos(findProductosByPedidoId(pedido.getId()));
+                    cargarProductos(conn, List.of(pedido));
                     return pedido;
                 }
             }
@@ -123,10 +152,63 @@ public class PedidoRepository {
      * @see #createProductos
      */
     public Long create(Pedido pedido) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.create")) {
+            return insertarPedido(conn, pedido);
+        }
+    }
+
+    /**
+     * Crea un pedido junto con sus productos en una sola transacción.
+     * <p>
+     * El encabezado y las líneas se insertan sobre la misma conexión y se
+     * confirman juntos: si falla cualquier inserción se revierte todo y no queda
+     * un pedido huérfano sin productos. Las líneas se envían en un solo lote y
+     * sus IDs generados se asignan a cada {@link PedidoProducto}.
+     * </p>
+     * <p>
+     * El pedido recibido se completa con su ID y sus fechas y se devuelve tal
+     * cual, sin volver a consultarlo.
+     * </p>
+     *
+     * @param pedido Pedido con sus productos ya validados y calculados
+     * @return El mismo {@link Pedido} con los IDs generados del encabezado y las líneas
+     * @throws RuntimeException Si ocurre un error en alguna inserción (la transacción se revierte)
+     * @see UnitOfWork#inTransaction(UnitOfWork.TransactionalWork)
+     *
+     * @example
+     * <pre>
+     * Pedido creado = repository.createConProductos(pedido);
+     * Long id = creado.getId();
+     * Long lineaId = creado.getProductos().get(0).getId();
+     * </pre>
+     */
+    public Pedido createConProductos(Pedido pedido) {
+        return UnitOfWork.inTransaction(() -> {
+            try (Connection conn = UnitOfWork.getConnection("PedidoRepository.createConProductos")) {
+                Long pedidoId = insertarPedido(conn, pedido);
+                insertarProductos(conn, pedidoId, pedido.getProductos());
+
+                LocalDateTime ahora = LocalDateTime.now();
+                pedido.setId(pedidoId);
+                pedido.setFechaCreacion(ahora);
+                pedido.setFechaActualizacion(ahora);
+                return pedido;
+            }
+        });
+    }
+
+    /**
+     * Inserta el encabezado de un pedido sobre la conexión recibida.
+     *
+     * @param conn Conexión a usar
+     * @param pedido Pedido a insertar
+     * @return ID generado del pedido
+     * @throws SQLException Si ocurre un error en la inserción o no se puede obtener el ID
+     */
+    private Long insertarPedido(Connection conn, Pedido pedido) throws SQLException {
         String sql = "INSERT INTO pedidos (cliente_nombre, cliente_contacto, fecha_entrega, notas, etapa, total, anticipo, total_cantidad, resumen_producto, creado_por) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, pedido.getClienteNombre());
             stmt.setString(2, pedido.getClienteContacto());
@@ -173,7 +255,7 @@ public class PedidoRepository {
     public boolean updateEtapa(Long id, String nuevaEtapa, String notas) throws SQLException {
         String sql = "UPDATE pedidos SET etapa = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.updateEtapa");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, nuevaEtapa);
@@ -205,7 +287,7 @@ public class PedidoRepository {
     public boolean delete(Long id) throws SQLException {
         // Primero eliminar los productos del pedido
         String sqlDeleteProductos = "DELETE FROM pedido_productos WHERE pedido_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.delete");
              PreparedStatement stmt = conn.prepareStatement(sqlDeleteProductos)) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
@@ -213,7 +295,7 @@ public class PedidoRepository {
 
         // Luego eliminar el pedido
         String sql = "DELETE FROM pedidos WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.delete");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
@@ -238,10 +320,31 @@ public class PedidoRepository {
             return;
         }
 
+        try (Connection conn = DatabaseConnection.getConnection("PedidoRepository.createProductos")) {
+            insertarProductos(conn, pedidoId, productos);
+        }
+    }
+
+    /**
+     * Inserta las líneas de un pedido en un solo lote sobre la conexión recibida.
+     * <p>
+     * Cada {@link PedidoProducto} recibe el ID del pedido y el ID generado de su
+     * línea, en el mismo orden en que se agregaron al lote.
+     * </p>
+     *
+     * @param conn Conexión a usar
+     * @param pedidoId ID del pedido al que pertenecen las líneas
+     * @param productos Líneas a insertar
+     * @throws SQLException Si ocurre un error en la inserción
+     */
+    private void insertarProductos(Connection conn, Long pedidoId, List<PedidoProducto> productos) throws SQLException {
+        if (productos == null || productos.isEmpty()) {
+            return;
+        }
+
         String sql = "INSERT INTO pedido_productos (pedido_id, producto_id, producto_nombre, cantidad, precio_unitario, subtotal) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             for (PedidoProducto producto : productos) {
                 stmt.setLong(1, pedidoId);
@@ -253,31 +356,34 @@ public class PedidoRepository {
                 stmt.addBatch();
             }
             stmt.executeBatch();
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (PedidoProducto producto : productos) {
+                    producto.setPedidoId(pedidoId);
+                    if (generatedKeys.next()) {
+                        producto.setId(generatedKeys.getLong(1));
+                    }
+                }
+            }
         }
     }
 
     /**
-     * Obtiene los productos asociados a un pedido específico.
+     * Carga los productos de una lista de pedidos con una sola consulta por lote.
+     * <p>
+     * Reemplaza la consulta individual por pedido: todos los productos se obtienen
+     * con {@code WHERE pedido_id IN (...)} sobre la misma conexión y se agrupan en Java.
+     * </p>
      *
-     * @param pedidoId ID del pedido
-     * @return Lista de {@link PedidoProducto} asociados al pedido
+     * @param conn Conexión usada para leer los pedidos
+     * @param pedidos Pedidos a los que se asignarán sus productos
      * @throws SQLException Si ocurre un error en la consulta
+     * @see BatchLoader
      */
-    private List<PedidoProducto> findProductosByPedidoId(Long pedidoId) throws SQLException {
-        List<PedidoProducto> productos = new ArrayList<>();
-        String sql = "SELECT * FROM pedido_productos WHERE pedido_id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setLong(1, pedidoId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    productos.add(mapPedidoProducto(rs));
-                }
-            }
-        }
-        return productos;
+    private void cargarProductos(Connection conn, List<Pedido> pedidos) throws SQLException {
+        BatchLoader.loadInto(conn, pedidos, Pedido::getId, Pedido::setProductos,
+                "SELECT * FROM pedido_productos WHERE pedido_id IN (%s) ORDER BY id",
+                "pedido_id", this::mapPedidoProducto);
     }
 
     /**
@@ -0,0 +1,139 @@
+package com.inventario.alma_jesus.repository;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de métricas del pool de conexiones HikariCP.
+ * <p>
+ * Hikari invoca al tracker cada vez que se entrega, se usa o se crea una conexión.
+ * Los tiempos se acumulan en histogramas HdrHistogram concurrentes para poder
+ * consultar percentiles sin bloquear a los hilos que piden conexiones.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see DatabaseConnection
+ * @see MetricsTrackerFactory
+ */
+public class PoolMetricsTracker implements MetricsTrackerFactory {
+
+    /**
+     * Límites (en milisegundos) de los buckets reportados para el tiempo de adquisición.
+     */
+    private static final long[] LIMITES_ADQUISICION_MS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    /**
+     * Tiempo de espera para obtener una conexión, en microsegundos.
+     */
+    private final Histogram adquisicion = new ConcurrentHistogram(3);
+
+    /**
+     * Tiempo que la conexión permaneció prestada, en milisegundos.
+     */
+    private final Histogram uso = new ConcurrentHistogram(3);
+
+    /**
+     * Tiempo de creación de conexiones físicas, en milisegundos.
+     */
+    private final Histogram creacion = new ConcurrentHistogram(3);
+
+    /**
+     * Número de peticiones que agotaron el connectionTimeout.
+     */
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * Estadísticas del pool proporcionadas por Hikari al crear el tracker.
+     */
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                adquisicion.recordValue(TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos));
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                uso.recordValue(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                creacion.recordValue(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    /**
+     * Construye un resumen de las métricas acumuladas.
+     *
+     * @return Mapa con los histogramas de adquisición, uso y creación, y el total de timeouts
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        Map<String, Object> adquisicionMs = resumen(adquisicion, 1000.0);
+        adquisicionMs.put("buckets", buckets(adquisicion));
+        resultado.put("adquisicionMs", adquisicionMs);
+        resultado.put("usoMs", resumen(uso, 1.0));
+        resultado.put("creacionMs", resumen(creacion, 1.0));
+        resultado.put("timeouts", timeouts.sum());
+
+        PoolStats stats = poolStats;
+        if (stats != null) {
+            resultado.put("maxConexiones", stats.getMaxConnections());
+            resultado.put("minConexiones", stats.getMinConnections());
+        }
+        return resultado;
+    }
+
+    private static Map<String, Object> resumen(Histogram histograma, double divisor) {
+        Histogram copia = histograma.copy();
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("total", copia.getTotalCount());
+        resumen.put("media", redondear(copia.getMean() / divisor));
+        resumen.put("p50", redondear(copia.getValueAtPercentile(50) / divisor));
+        resumen.put("p95", redondear(copia.getValueAtPercentile(95) / divisor));
+        resumen.put("p99", redondear(copia.getValueAtPercentile(99) / divisor));
+        resumen.put("max", redondear(copia.getMaxValue() / divisor));
+        return resumen;
+    }
+
+    private static Map<String, Long> buckets(Histogram histogramaMicros) {
+        Histogram copia = histogramaMicros.copy();
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        long inferior = 0;
+        for (long limiteMs : LIMITES_ADQUISICION_MS) {
+            long superior = limiteMs * 1000;
+            buckets.put("<=" + limiteMs, copia.getCountBetweenValues(inferior, superior));
+            inferior = superior + 1;
+        }
+        long restantes = copia.getTotalCount();
+        for (Long cantidad : buckets.values()) {
+            restantes -= cantidad;
+        }
+        buckets.put(">" + LIMITES_ADQUISICION_MS[LIMITES_ADQUISICION_MS.length - 1], restantes);
+        return buckets;
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 1000.0) / 1000.0;
+    }
+}
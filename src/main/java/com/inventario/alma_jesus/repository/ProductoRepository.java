@@ -5,6 +5,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para gestionar las operaciones de base de datos relacionadas con productos.
@@ -21,6 +23,11 @@ import java.util.Optional;
  */
 public class ProductoRepository {
 
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProductoRepository.class);
+
     /**
      * Obtiene todos los productos activos del catálogo.
      * <p>
@@ -30,7 +37,8 @@ public class ProductoRepository {
      *
      * @return Lista de todos los productos activos
      *
-     * @throws SQLException Si ocurre un error en la conexión o consulta SQL
+     * @throws RuntimeException Si ocurre un error en la conexión o consulta SQL;
+     *         la caché del catálogo no guarda el resultado en ese caso
      *
      * @example
      * <pre>
@@ -42,7 +50,7 @@ public class ProductoRepository {
         List<Producto> productos = new ArrayList<>();
         String sql = "SELECT * FROM producto WHERE activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.findAll");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -52,12 +60,55 @@ public class ProductoRepository {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error en ProductoRepository.findAll: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoRepository.findAll", e);
+            throw new RuntimeException("Error al listar productos: " + e.getMessage(), e);
         }
         return productos;
     }
 
+    /**
+     * Obtiene una página de productos activos, del más reciente al más antiguo.
+     * <p>
+     * Pagina por cursor sobre el par {@code (fecha_creacion, id)}.
+     * </p>
+     *
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de productos con el cursor de la siguiente página
+     * @throws RuntimeException Si ocurre un error en la consulta SQL
+     * @see Keyset
+     */
+    public Page<Producto> findAll(PageRequest page) {
+        String sql = "SELECT * FROM producto WHERE activo = true";
+        if (page.hasCursor()) {
+            sql += " AND " + Keyset.condition("fecha_creacion", "id", page);
+        }
+        sql += Keyset.orderAndLimit("fecha_creacion", "id");
+
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.findAll");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            Keyset.bind(stmt, 1, page);
+            return Keyset.collect(stmt.executeQuery(), page, "fecha_creacion", "id", false, this::mapearProducto);
+
+        } catch (SQLException e) {
+            logger.error("Error en ProductoRepository.findAll: {}", e.getMessage());
+            throw new RuntimeException("Error al listar productos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recorre todos los productos activos sin cargarlos en memoria.
+     *
+     * @param consumer Consumidor que recibe cada producto
+     * @return Número de productos recorridos
+     * @throws Exception Si falla la consulta o el consumidor
+     * @see ResultSetStreamer
+     */
+    public int streamAll(ResultSetStreamer.RowConsumer<Producto> consumer) throws Exception {
+        return ResultSetStreamer.stream("ProductoRepository.streamAll",
+                "SELECT * FROM producto WHERE activo = true", this::mapearProducto, consumer);
+    }
+
     /**
      * Busca un producto específico por su ID.
      * <p>
@@ -73,7 +124,7 @@ public class ProductoRepository {
     public Optional<Producto> findById(int id) {
         String sql = "SELECT * FROM producto WHERE id = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.findById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
@@ -85,8 +136,7 @@ public class ProductoRepository {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error en ProductoRepository.findById: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoRepository.findById", e);
         }
         return Optional.empty();
     }
@@ -113,7 +163,7 @@ public class ProductoRepository {
         List<Producto> productos = new ArrayList<>();
         String sql = "SELECT * FROM producto WHERE tipo = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.findByTipo");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, tipo);
@@ -125,8 +175,7 @@ public class ProductoRepository {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error en ProductoRepository.findByTipo: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoRepository.findByTipo", e);
         }
         return productos;
     }
@@ -158,19 +207,12 @@ public class ProductoRepository {
     public boolean crearProducto(Producto producto) {
         String sql = "INSERT INTO producto (modelo, color, precio, stock, tamaño, imagen_url, activo, creado_por, tipo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.crearProducto");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            // DEBUG: Ver qué datos se están enviando
-            System.out.println("🔄 DEBUG - Intentando insertar producto:");
-            System.out.println("  📝 Modelo: " + producto.getModelo());
-            System.out.println("  🎨 Color: " + producto.getColor());
-            System.out.println("  💰 Precio: " + producto.getPrecio());
-            System.out.println("  📦 Stock: " + producto.getStock());
-            System.out.println("  📏 Tamaño: " + producto.getTamaño());
-            System.out.println("  🖼️ ImagenURL: " + producto.getImagenUrl());
-            System.out.println("  👤 CreadoPor: " + producto.getCreadoPor());
-            System.out.println("  🏷️ Tipo: " + producto.getTipo());
+            logger.debug("Insertando producto: modelo={}, color={}, precio={}, stock={}, tamaño={}, tipo={}, creadoPor={}",
+                    producto.getModelo(), producto.getColor(), producto.getPrecio(), producto.getStock(),
+                    producto.getTamaño(), producto.getTipo(), producto.getCreadoPor());
 
             stmt.setString(1, producto.getModelo());
             stmt.setString(2, producto.getColor());
@@ -184,22 +226,14 @@ public class ProductoRepository {
 
             int filasAfectadas = stmt.executeUpdate();
 
-            // DEBUG: Ver si se insertó
-            System.out.println("✅ DEBUG - Filas afectadas en BD: " + filasAfectadas);
-
-            if (filasAfectadas > 0) {
-                System.out.println("🎉 ¡Producto insertado EXITOSAMENTE en la BD!");
-            } else {
-                System.out.println("❌ ¡CERO filas insertadas en la BD!");
+            if (filasAfectadas == 0) {
+                logger.warn("No se insertó el producto {}", producto.getModelo());
             }
 
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.out.println("💥 ERROR SQL en crearProducto: " + e.getMessage());
-            System.out.println("🔍 SQL State: " + e.getSQLState());
-            System.out.println("⚡ Error Code: " + e.getErrorCode());
-            e.printStackTrace();
+            logger.error("Error SQL en crearProducto (SQLState={}, código={})", e.getSQLState(), e.getErrorCode(), e);
             return false;
         }
     }
@@ -219,7 +253,7 @@ public class ProductoRepository {
     public boolean actualizarProducto(Producto producto) {
         String sql = "UPDATE producto SET modelo = ?, color = ?, precio = ?, stock = ?, tamaño = ?, imagen_url = ?, tipo = ? WHERE id = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.actualizarProducto");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, producto.getModelo());
@@ -235,8 +269,7 @@ public class ProductoRepository {
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error en ProductoRepository.actualizarProducto: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoRepository.actualizarProducto", e);
             return false;
         }
     }
@@ -256,7 +289,7 @@ public class ProductoRepository {
     public boolean eliminarProducto(int id) {
         String sql = "UPDATE producto SET activo = false WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("ProductoRepository.eliminarProducto");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
@@ -264,8 +297,7 @@ public class ProductoRepository {
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error en ProductoRepository.eliminarProducto: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoRepository.eliminarProducto", e);
             return false;
         }
     }
@@ -0,0 +1,123 @@
+package com.inventario.alma_jesus.repository;
+
+import java.util.Arrays;
+
+/**
+ * Construye un documento en el formato de texto de exposición de Prometheus (versión 0.0.4).
+ * <p>
+ * Cada métrica se declara una vez con {@link #metrica(String, String, String)}
+ * y después se agregan sus series con {@link #muestra(String, double, String...)}.
+ * Las etiquetas se pasan como pares nombre/valor y sus valores se escapan
+ * según el formato.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Formatos de exposición</a>
+ *
+ * @example
+ * <pre>
+ * PrometheusTexto salida = new PrometheusTexto();
+ * salida.metrica("http_server_requests_in_flight", "gauge", "Peticiones en curso");
+ * salida.muestra("http_server_requests_in_flight", 3, "method", "GET", "route", "/api/v1/pedidos/{id}");
+ * // http_server_requests_in_flight{method="GET",route="/api/v1/pedidos/{id}"} 3
+ * </pre>
+ */
+public class PrometheusTexto {
+
+    /**
+     * Valor del encabezado Content-Type del formato de texto.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final StringBuilder texto = new StringBuilder(16 * 1024);
+
+    /**
+     * Declara una métrica (líneas {@code # HELP} y {@code # TYPE}).
+     *
+     * @param nombre Nombre de la métrica
+     * @param tipo counter, gauge o summary
+     * @param ayuda Descripción de la métrica
+     * @return Este documento
+     */
+    public PrometheusTexto metrica(String nombre, String tipo, String ayuda) {
+        texto.append("# HELP ").append(nombre).append(' ')
+                .append(ayuda.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        texto.append("# TYPE ").append(nombre).append(' ').append(tipo).append('\n');
+        return this;
+    }
+
+    /**
+     * Agrega una serie.
+     *
+     * @param nombre Nombre de la serie (incluye sufijos como {@code _sum})
+     * @param valor Valor de la muestra
+     * @param etiquetas Pares nombre/valor de las etiquetas
+     * @return Este documento
+     */
+    public PrometheusTexto muestra(String nombre, double valor, String... etiquetas) {
+        texto.append(nombre);
+        if (etiquetas.length > 0) {
+            texto.append('{');
+            for (int i = 0; i + 1 < etiquetas.length; i += 2) {
+                if (i > 0) {
+                    texto.append(',');
+                }
+                texto.append(etiquetas[i]).append("=\"");
+                escapar(etiquetas[i + 1]);
+                texto.append('"');
+            }
+            texto.append('}');
+        }
+        texto.append(' ').append(formatear(valor)).append('\n');
+        return this;
+    }
+
+    /**
+     * Devuelve una copia de las etiquetas con un par adicional al final.
+     *
+     * @param etiquetas Pares nombre/valor existentes
+     * @param nombre Nombre de la etiqueta nueva
+     * @param valor Valor de la etiqueta nueva
+     * @return Arreglo con todas las etiquetas
+     */
+    public static String[] agregar(String[] etiquetas, String nombre, String valor) {
+        String[] resultado = Arrays.copyOf(etiquetas, etiquetas.length + 2);
+        resultado[etiquetas.length] = nombre;
+        resultado[etiquetas.length + 1] = valor;
+        return resultado;
+    }
+
+    private void escapar(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '\\') {
+                texto.append("\\\\");
+            } else if (c == '"') {
+                texto.append("\\\"");
+            } else if (c == '\n') {
+                texto.append("\\n");
+            } else {
+                texto.append(c);
+            }
+        }
+    }
+
+    private static String formatear(double valor) {
+        if (Double.isNaN(valor)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(valor)) {
+            return valor > 0 ? "+Inf" : "-Inf";
+        }
+        if (valor == Math.rint(valor) && Math.abs(valor) < 1e15) {
+            return Long.toString((long) valor);
+        }
+        return Double.toString(valor);
+    }
+
+    @Override
+    public String toString() {
+        return texto.toString();
+    }
+}
@@ -9,6 +9,8 @@ import java.util.List;
 /**
  * Repositorio para la gestión de operaciones CRUD de la entidad Recetario en la base de datos.
  * Proporciona métodos para crear, leer, actualizar y eliminar recetas del sistema de inventario.
+ * Las consultas de lectura pueden incluir los materiales de cada receta, cargados
+ * en lote; por defecto no los incluyen.
  *
  * @author Alma & Jesús
  * @version 1.0
@@ -23,10 +25,21 @@ public class RecetarioRepository {
      * @throws SQLException Si ocurre un error al acceder a la base de datos.
      */
     public List<Recetario> findAll() throws SQLException {
+        return findAll(false);
+    }
+
+    /**
+     * Recupera todas las recetas del sistema, ordenadas por fecha de creación descendente.
+     *
+     * @param conMateriales true para cargar también los materiales de cada receta
+     * @return Lista de objetos Recetario con todas las recetas existentes.
+     * @throws SQLException Si ocurre un error al acceder a la base de datos.
+     */
+    public List<Recetario> findAll(boolean conMateriales) throws SQLException {
         List<Recetario> recetas = new ArrayList<>();
         String sql = "SELECT * FROM recetario ORDER BY fecha_creacion DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.findAll");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -34,6 +47,9 @@ public class RecetarioRepository {
                 Recetario receta = mapRecetario(rs);
                 recetas.add(receta);
             }
+            if (conMateriales) {
+                cargarMateriales(conn, recetas);
+            }
         }
         return recetas;
     }
@@ -51,6 +67,18 @@ public class RecetarioRepository {
      * @throws SQLException Si ocurre un error al acceder a la base de datos.
      */
     public List<Recetario> findActivas() throws SQLException {
+        return findActivas(false);
+    }
+
+    /**
+     * Recupera todas las recetas activas del sistema.
+     *
+     * @param conMateriales true para cargar también los materiales de cada receta
+     * @return Lista de objetos Recetario con todas las recetas existentes.
+     * @throws SQLException Si ocurre un error al acceder a la base de datos.
+     * @see #findActivas()
+     */
+    public List<Recetario> findActivas(boolean conMateriales) throws SQLException {
         List<Recetario> recetas = new ArrayList<>();
 
         // Si tu tabla tiene un campo 'estado' o 'activo', modifica la consulta así:
@@ -59,7 +87,7 @@ public class RecetarioRepository {
         // Por ahora, devuelve todas las recetas (para compatibilidad)
         String sql = "SELECT * FROM recetario ORDER BY fecha_creacion DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.findActivas");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -67,6 +95,9 @@ public class RecetarioRepository {
                 Recetario receta = mapRecetario(rs);
                 recetas.add(receta);
             }
+            if (conMateriales) {
+                cargarMateriales(conn, recetas);
+            }
         }
         return recetas;
     }
@@ -79,15 +110,30 @@ public class RecetarioRepository {
      * @throws SQLException Si ocurre un error al acceder a la base de datos.
      */
     public Recetario findById(Long id) throws SQLException {
+        return findById(id, false);
+    }
+
+    /**
+     * Busca una receta específica por su identificador único.
+     *
+     * @param id Identificador único de la receta a buscar.
+     * @param conMateriales true para cargar también los materiales de la receta
+     * @return Objeto Recetario si se encuentra, null en caso contrario.
+     * @throws SQLException Si ocurre un error al acceder a la base de datos.
+     */
+    public Recetario findById(Long id, boolean conMateriales) throws SQLException {
         String sql = "SELECT * FROM recetario WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.findById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
                     Recetario receta = mapRecetario(rs);
+                    if (conMateriales) {
+                        cargarMateriales(conn, List.of(receta));
+                    }
                     return receta;
                 }
             }
@@ -105,7 +151,7 @@ public class RecetarioRepository {
     public Long create(Recetario receta) throws SQLException {
         String sql = "INSERT INTO recetario (producto_id, tiempo_fabricacion, instrucciones, notas, herramientas, creado_por) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.create");
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setLong(1, receta.getProductoId());
@@ -141,7 +187,7 @@ public class RecetarioRepository {
     public boolean update(Recetario receta) throws SQLException {
         String sql = "UPDATE recetario SET producto_id = ?, tiempo_fabricacion = ?, instrucciones = ?, notas = ?, herramientas = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.update");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, receta.getProductoId());
@@ -168,7 +214,7 @@ public class RecetarioRepository {
     public boolean delete(Long id) throws SQLException {
         // Primero eliminar los materiales de la receta
         String sqlDeleteMateriales = "DELETE FROM recetamaterial WHERE receta_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.delete");
              PreparedStatement stmt = conn.prepareStatement(sqlDeleteMateriales)) {
             stmt.setLong(1, id);
             stmt.executeUpdate();
@@ -176,7 +222,7 @@ public class RecetarioRepository {
 
         // Luego eliminar la receta
         String sql = "DELETE FROM recetario WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("RecetarioRepository.delete");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
@@ -185,6 +231,40 @@ public class RecetarioRepository {
         }
     }
 
+    /**
+     * Carga los materiales de una lista de recetas con una sola consulta por lote.
+     *
+     * @param conn Conexión usada para leer las recetas
+     * @param recetas Recetas a las que se asignarán sus materiales
+     * @throws SQLException Si ocurre un error en la consulta
+     * @see BatchLoader
+     */
+    private void cargarMateriales(Connection conn, List<Recetario> recetas) throws SQLException {
+        BatchLoader.loadInto(conn, recetas, Recetario::getId, Recetario::setMateriales,
+                "SELECT rm.*, mp.nombre FROM recetamaterial rm " +
+                        "LEFT JOIN materiaprima mp ON mp.id = rm.materia_id " +
+                        "WHERE rm.receta_id IN (%s) ORDER BY rm.id",
+                "receta_id", this::mapRecetaMaterial);
+    }
+
+    /**
+     * Convierte una fila de la tabla recetamaterial en un objeto RecetaMaterial.
+     *
+     * @param rs ResultSet posicionado en la fila a mapear.
+     * @return Objeto RecetaMaterial poblado con los datos del ResultSet.
+     * @throws SQLException Si ocurre un error al acceder a los datos del ResultSet.
+     */
+    private RecetaMaterial mapRecetaMaterial(ResultSet rs) throws SQLException {
+        RecetaMaterial material = new RecetaMaterial();
+        material.setId(rs.getLong("id"));
+        material.setRecetaId(rs.getLong("receta_id"));
+        material.setMateriaId(rs.getLong("materia_id"));
+        material.setCantidad(rs.getBigDecimal("cantidad"));
+        material.setUnidad(rs.getString("unidad"));
+        material.setNombre(rs.getString("nombre"));
+        return material;
+    }
+
     /**
      * Convierte un ResultSet de base de datos en un objeto Recetario.
      * Mapea cada columna del resultado a su correspondiente atributo en el objeto.
@@ -75,7 +75,7 @@ public class ReparacionRepository {
 
         sql += " ORDER BY fecha_registro DESC";
 
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getConnection("ReparacionRepository.findAll");
              PreparedStatement stmt = connection.prepareStatement(sql)) {
 
             for (int i = 0; i < parametros.size(); i++) {
@@ -95,6 +95,57 @@ public class ReparacionRepository {
         return reparaciones;
     }
 
+    /**
+     * Obtiene una página de reparaciones activas con filtros opcionales.
+     * <p>
+     * Aplica los mismos filtros que {@link #findAll(String, String, String)} y
+     * pagina por cursor sobre el par {@code (fecha_registro, id)}.
+     * </p>
+     *
+     * @param estado Estado de la reparación a filtrar (opcional)
+     * @param cliente Nombre o parte del nombre del cliente (opcional)
+     * @param modelo Modelo o parte del modelo del artículo (opcional)
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de reparaciones con el cursor de la siguiente página
+     * @throws RuntimeException Si ocurre un error en la consulta SQL
+     * @see Keyset
+     */
+    public Page<Reparacion> findAll(String estado, String cliente, String modelo, PageRequest page) {
+        String sql = "SELECT * FROM reparacion WHERE activo = true";
+        List<Object> parametros = new ArrayList<>();
+
+        if (estado != null && !estado.isEmpty()) {
+            sql += " AND estado = ?";
+            parametros.add(estado);
+        }
+        if (cliente != null && !cliente.isEmpty()) {
+            sql += " AND nombre_cliente LIKE ?";
+            parametros.add("%" + cliente + "%");
+        }
+        if (modelo != null && !modelo.isEmpty()) {
+            sql += " AND modelo LIKE ?";
+            parametros.add("%" + modelo + "%");
+        }
+        if (page.hasCursor()) {
+            sql += " AND " + Keyset.condition("fecha_registro", "id", page);
+        }
+        sql += Keyset.orderAndLimit("fecha_registro", "id");
+
+        try (Connection connection = DatabaseConnection.getConnection("ReparacionRepository.findAll");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            Keyset.bind(stmt, parametros.size() + 1, page);
+
+            return Keyset.collect(stmt.executeQuery(), page, "fecha_registro", "id", false, this::mapResultSetToReparacion);
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar reparaciones", e);
+        }
+    }
+
     /**
      * Busca una reparación específica por su ID.
      * <p>
@@ -114,7 +165,7 @@ public class ReparacionRepository {
 
         String sql = "SELECT * FROM reparacion WHERE id = ? AND activo = true";
 
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getConnection("ReparacionRepository.findById");
              PreparedStatement stmt = connection.prepareStatement(sql)) {
 
             stmt.setLong(1, id);
@@ -165,7 +216,21 @@ public class ReparacionRepository {
                 "estado, notas, imagen_url, recibo_url, creado_por) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection connection = DatabaseConnection.getConnection();
+        // La reparación y el resumen diario se escriben en la misma transacción
+        return UnitOfWork.inTransaction(() -> insertar(sql, reparacion));
+    }
+
+    /**
+     * Inserta la reparación y la suma al resumen diario sobre la conexión de la transacción.
+     *
+     * @param sql Sentencia INSERT de la reparación
+     * @param reparacion Reparación a insertar
+     * @return La misma reparación con el ID asignado
+     */
+    private Reparacion insertar(String sql, Reparacion reparacion) {
+        String fechaIngreso = reparacion.getFechaIngreso() != null ? reparacion.getFechaIngreso() : java.time.LocalDate.now().toString();
+
+        try (Connection connection = UnitOfWork.getConnection("ReparacionRepository.insertar");
              PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setLong(1, reparacion.getClienteId() != null ? reparacion.getClienteId() : 1);
@@ -176,7 +241,7 @@ public class ReparacionRepository {
             stmt.setString(6, reparacion.getCondicion());
             stmt.setInt(7, reparacion.getCostoTotal() != null ? reparacion.getCostoTotal() : 0);
             stmt.setInt(8, reparacion.getAnticipo() != null ? reparacion.getAnticipo() : 0);
-            stmt.setString(9, reparacion.getFechaIngreso() != null ? reparacion.getFechaIngreso() : java.time.LocalDate.now().toString());
+            stmt.setString(9, fechaIngreso);
             stmt.setString(10, reparacion.getFechaEntrega());
             stmt.setString(11, reparacion.getEstado() != null ? reparacion.getEstado() : "Pendiente");
             stmt.setString(12, reparacion.getNotas());
@@ -192,12 +257,14 @@ public class ReparacionRepository {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     reparacion.setId(generatedKeys.getLong(1));
-                    return reparacion;
                 } else {
                     throw new SQLException("No se pudo obtener el ID generado");
                 }
             }
 
+            RollupRepository.sumarReparacion(connection, fechaIngreso, 1);
+            return reparacion;
+
         } catch (SQLException e) {
             throw new RuntimeException("Error al crear reparacion: " + e.getMessage(), e);
         }
@@ -225,7 +292,7 @@ public class ReparacionRepository {
                 "fecha_entrega = ?, estado = ?, notas = ?, imagen_url = ?, recibo_url = ? " +
                 "WHERE id = ? AND activo = true";
 
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getConnection("ReparacionRepository.update");
              PreparedStatement stmt = connection.prepareStatement(sql)) {
 
             stmt.setString(1, reparacion.getNombreCliente());
@@ -269,7 +336,7 @@ public class ReparacionRepository {
 
         String sql = "UPDATE reparacion SET estado = ? WHERE id = ? AND activo = true";
 
-        try (Connection connection = DatabaseConnection.getConnection();
+        try (Connection connection = DatabaseConnection.getConnection("ReparacionRepository.updateEstado");
              PreparedStatement stmt = connection.prepareStatement(sql)) {
 
             stmt.setString(1, nuevoEstado);
@@ -286,11 +353,12 @@ public class ReparacionRepository {
      * Realiza una eliminación lógica de una reparación.
      * <p>
      * Marca la reparación como inactiva en lugar de eliminarla físicamente,
-     * preservando el historial y referencias en el sistema.
+     * preservando el historial y referencias en el sistema. En la misma
+     * transacción se descuenta del resumen diario de reparaciones.
      * </p>
      *
      * @param id ID de la reparación a eliminar
-     * @return true si la reparación se eliminó exitosamente, false en caso contrario
+     * @return true si la reparación existe (aunque ya estuviera inactiva), false si no existe
      *
      * @throws RuntimeException Si ocurre un error en la actualización SQL
      */
@@ -299,16 +367,37 @@ public class ReparacionRepository {
             return false;
         }
 
+        // La fila se bloquea para que dos bajas simultáneas no descuenten dos veces del resumen
+        String fechaSql = "SELECT activo, fecha_ingreso FROM reparacion WHERE id = ? FOR UPDATE";
         String sql = "UPDATE reparacion SET activo = false WHERE id = ?";
 
-        try (Connection connection = DatabaseConnection.getConnection();
-             PreparedStatement stmt = connection.prepareStatement(sql)) {
-
-            stmt.setLong(1, id);
-
-            return stmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
+        try {
+            return UnitOfWork.inTransaction(() -> {
+                try (Connection connection = UnitOfWork.getConnection("ReparacionRepository.delete");
+                     PreparedStatement fechaStmt = connection.prepareStatement(fechaSql);
+                     PreparedStatement stmt = connection.prepareStatement(sql)) {
+
+                    fechaStmt.setLong(1, id);
+                    boolean activa;
+                    String fechaIngreso;
+                    try (ResultSet rs = fechaStmt.executeQuery()) {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        activa = rs.getBoolean("activo");
+                        fechaIngreso = rs.getString("fecha_ingreso");
+                    }
+
+                    // Una reparación ya inactiva cuenta como eliminada, sin tocar el resumen
+                    if (activa) {
+                        stmt.setLong(1, id);
+                        stmt.executeUpdate();
+                        RollupRepository.sumarReparacion(connection, fechaIngreso, -1);
+                    }
+                    return true;
+                }
+            });
+        } catch (RuntimeException e) {
             throw new RuntimeException("Error al eliminar reparacion ID: " + id, e);
         }
     }
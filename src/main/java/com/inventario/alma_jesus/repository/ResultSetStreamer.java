@@ -0,0 +1,73 @@
+package com.inventario.alma_jesus.repository;
+
+import com.inventario.alma_jesus.config.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Lectura de resultados fila por fila para respuestas que se escriben en streaming.
+ * <p>
+ * Prepara sentencias de solo avance y solo lectura con un fetch size ajustado,
+ * de modo que el driver no cargue el resultado completo en memoria. Con el valor
+ * por defecto ({@link Integer#MIN_VALUE}) MySQL Connector/J entrega las filas
+ * una a una; mientras el resultado esté abierto la conexión no puede ejecutar
+ * otras sentencias, por lo que los métodos de streaming usan su propia conexión.
+ * </p>
+ * <p>
+ * El fetch size se configura con {@code db.stream.fetch-size}; un valor positivo
+ * solo tiene efecto si la URL JDBC incluye {@code useCursorFetch=true}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ */
+public final class ResultSetStreamer {
+
+    /**
+     * Fetch size aplicado a las sentencias de streaming.
+     */
+    private static final int FETCH_SIZE = AppConfig.getInt("db.stream.fetch-size", Integer.MIN_VALUE);
+
+    private ResultSetStreamer() {
+    }
+
+    /**
+     * Recibe cada fila leída del resultado.
+     *
+     * @param <T> Tipo de la fila mapeada
+     */
+    @FunctionalInterface
+    public interface RowConsumer<T> {
+        void accept(T row) throws Exception;
+    }
+
+    /**
+     * Ejecuta una consulta sin parámetros y entrega cada fila mapeada al consumidor.
+     *
+     * @param metodo Método de repositorio que hace el recorrido, con el formato {@code Clase.metodo}
+     * @param sql Consulta a ejecutar
+     * @param mapper Mapeador de filas
+     * @param consumer Consumidor de cada fila
+     * @param <T> Tipo de la fila mapeada
+     * @return Número de filas entregadas
+     * @throws Exception Si falla la consulta o el consumidor
+     */
+    public static <T> int stream(String metodo, String sql, BatchLoader.RowMapper<T> mapper,
+                                 RowConsumer<T> consumer) throws Exception {
+        int filas = 0;
+        try (Connection conn = DatabaseConnection.getConnection(metodo);
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapper.map(rs));
+                    filas++;
+                }
+            }
+        }
+        return filas;
+    }
+}
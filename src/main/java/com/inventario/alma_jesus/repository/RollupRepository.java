@@ -0,0 +1,151 @@
+package com.inventario.alma_jesus.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Repositorio de las tablas de resumen diario usadas por las gráficas.
+ * <p>
+ * Mantiene tres tablas con una fila por día (y por material en el caso del
+ * consumo): {@code resumen_ventas_dia}, {@code resumen_reparaciones_dia} y
+ * {@code resumen_consumo_dia}. Los repositorios de ventas, reparaciones y
+ * movimientos llaman a los métodos {@code sumar*} con la misma conexión y
+ * dentro de la misma transacción que la escritura original, de modo que el
+ * resumen nunca diverge de los datos. Las gráficas semanales, mensuales y
+ * anuales leen decenas de filas en lugar de recorrer años de transacciones.
+ * </p>
+ * <p>
+ * {@link #reconstruir()} recalcula las tres tablas desde cero a partir de los
+ * datos originales, con las mismas consultas que llenan el histórico en la
+ * migración {@code 003_resumenes_diarios.sql}; se usa para corregir cualquier
+ * desviación.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see EstadisticasRepository
+ *
+ * @example
+ * <pre>
+ * // Dentro de la transacción que inserta la venta
+ * RollupRepository.sumarVenta(conn, venta.getFecha(), 1, venta.getPrecioTotal());
+ *
+ * // Corrección de una desviación
+ * Map&lt;String, Integer&gt; filas = RollupRepository.reconstruir();
+ * </pre>
+ */
+public final class RollupRepository {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(RollupRepository.class);
+
+    private RollupRepository() {
+    }
+
+    /**
+     * Acumula ventas en el resumen del día.
+     *
+     * @param conn Conexión de la transacción que registra o elimina la venta
+     * @param fecha Fecha de la venta ("YYYY-MM-DD")
+     * @param cantidad Número de ventas a sumar (negativo al eliminar)
+     * @param monto Monto a sumar (negativo al eliminar)
+     * @throws SQLException Si ocurre un error en la actualización
+     */
+    public static void sumarVenta(Connection conn, String fecha, int cantidad, long monto) throws SQLException {
+        String sql = "INSERT INTO resumen_ventas_dia (dia, ventas_count, ventas_monto) VALUES (DATE(?), ?, ?) " +
+                "ON DUPLICATE KEY UPDATE ventas_count = ventas_count + VALUES(ventas_count), " +
+                "ventas_monto = ventas_monto + VALUES(ventas_monto)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, fecha);
+            stmt.setInt(2, cantidad);
+            stmt.setLong(3, monto);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Acumula reparaciones activas en el resumen del día de ingreso.
+     *
+     * @param conn Conexión de la transacción que registra o desactiva la reparación
+     * @param fechaIngreso Fecha de ingreso de la reparación ("YYYY-MM-DD")
+     * @param cantidad Número de reparaciones a sumar (negativo al desactivar)
+     * @throws SQLException Si ocurre un error en la actualización
+     */
+    public static void sumarReparacion(Connection conn, String fechaIngreso, int cantidad) throws SQLException {
+        String sql = "INSERT INTO resumen_reparaciones_dia (dia, reparaciones_count) VALUES (DATE(?), ?) " +
+                "ON DUPLICATE KEY UPDATE reparaciones_count = reparaciones_count + VALUES(reparaciones_count)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, fechaIngreso);
+            stmt.setInt(2, cantidad);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Acumula consumo de un material en el resumen del día.
+     *
+     * @param conn Conexión de la transacción que registra el movimiento
+     * @param fecha Fecha del movimiento ("YYYY-MM-DD")
+     * @param materiaId ID del material consumido
+     * @param cantidad Cantidad consumida
+     * @throws SQLException Si ocurre un error en la actualización
+     */
+    public static void sumarConsumo(Connection conn, String fecha, Long materiaId, long cantidad) throws SQLException {
+        String sql = "INSERT INTO resumen_consumo_dia (dia, materia_id, consumo) VALUES (DATE(?), ?, ?) " +
+                "ON DUPLICATE KEY UPDATE consumo = consumo + VALUES(consumo)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, fecha);
+            stmt.setLong(2, materiaId);
+            stmt.setLong(3, cantidad);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Reconstruye las tres tablas de resumen a partir de los datos originales.
+     * <p>
+     * Vacía cada tabla y la vuelve a llenar con un {@code INSERT ... SELECT}
+     * agrupado por día, todo en una sola transacción: los lectores ven el
+     * resumen anterior hasta que la reconstrucción se confirma.
+     * </p>
+     *
+     * @return Número de filas generadas por tabla
+     * @throws RuntimeException Si ocurre un error (la transacción se revierte)
+     */
+    public static Map<String, Integer> reconstruir() {
+        return UnitOfWork.inTransaction(() -> {
+            Map<String, Integer> filas = new LinkedHashMap<>();
+            try (Connection conn = UnitOfWork.getConnection("RollupRepository.reconstruir");
+                 Statement stmt = conn.createStatement()) {
+
+                stmt.executeUpdate("DELETE FROM resumen_ventas_dia");
+                filas.put("resumen_ventas_dia", stmt.executeUpdate(
+                        "INSERT INTO resumen_ventas_dia (dia, ventas_count, ventas_monto) " +
+                        "SELECT DATE(fecha), COUNT(*), COALESCE(SUM(precio_total), 0) " +
+                        "FROM venta GROUP BY DATE(fecha)"));
+
+                stmt.executeUpdate("DELETE FROM resumen_reparaciones_dia");
+                filas.put("resumen_reparaciones_dia", stmt.executeUpdate(
+                        "INSERT INTO resumen_reparaciones_dia (dia, reparaciones_count) " +
+                        "SELECT DATE(fecha_ingreso), COUNT(*) " +
+                        "FROM reparacion WHERE activo = true GROUP BY DATE(fecha_ingreso)"));
+
+                stmt.executeUpdate("DELETE FROM resumen_consumo_dia");
+                filas.put("resumen_consumo_dia", stmt.executeUpdate(
+                        "INSERT INTO resumen_consumo_dia (dia, materia_id, consumo) " +
+                        "SELECT DATE(fecha), materia_id, SUM(cantidad) " +
+                        "FROM movimientomp WHERE tipo = 'consumo' GROUP BY DATE(fecha), materia_id"));
+            }
+            logger.info("Resúmenes diarios reconstruidos: {}", filas);
+            return filas;
+        });
+    }
+}
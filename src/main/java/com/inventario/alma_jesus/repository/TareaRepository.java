@@ -16,27 +16,9 @@ import java.util.Optional;
  *
  * @version 1.0
  * @since 2024
+ * @see UnitOfWork
  */
 public class TareaRepository {
-    private final Connection connection;
-
-    /**
-     * Constructor del repositorio.
-     * <p>
-     * Establece la conexión a la base de datos utilizando {@link DatabaseConnection}.
-     * Lanza una excepción si no puede establecer la conexión.
-     * </p>
-     *
-     * @throws RuntimeException Si ocurre un error al conectar con la base de datos
-     */
-    public TareaRepository() {
-        try {
-            this.connection = DatabaseConnection.getConnection();
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al conectar con la base de datos", e);
-        }
-    }
-
     /**
      * Obtiene todas las tareas con opciones de filtrado.
      * <p>
@@ -53,9 +35,10 @@ public class TareaRepository {
     public List<Tarea> findAll(String buscar, String estado) {
         List<Tarea> tareas = new ArrayList<>();
         String sql = "SELECT * FROM tareas WHERE activo = true";
-        String finalSql = buildQuery(sql, buscar, estado);
+        String finalSql = buildQuery(sql, buscar, estado) + " ORDER BY fecha_creacion DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(finalSql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.findAll");
+             PreparedStatement stmt = connection.prepareStatement(finalSql)) {
             int paramIndex = 1;
             if (buscar != null && !buscar.isEmpty()) {
                 stmt.setString(paramIndex++, "%" + buscar + "%");
@@ -75,6 +58,45 @@ public class TareaRepository {
         return tareas;
     }
 
+    /**
+     * Obtiene una página de tareas con opciones de filtrado.
+     * <p>
+     * Aplica los mismos filtros que {@link #findAll(String, String)} y pagina
+     * por cursor sobre el par {@code (fecha_creacion, id)}.
+     * </p>
+     *
+     * @param buscar Texto opcional para buscar en asunto o detalles
+     * @param estado Estado opcional para filtrar tareas ("TODAS" para incluir todos los estados)
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link Tarea} con el cursor de la siguiente página
+     * @throws RuntimeException Si ocurre un error en la consulta SQL
+     * @see Keyset
+     */
+    public Page<Tarea> findAll(String buscar, String estado, PageRequest page) {
+        String sql = buildQuery("SELECT * FROM tareas WHERE activo = true", buscar, estado);
+        if (page.hasCursor()) {
+            sql += " AND " + Keyset.condition("fecha_creacion", "id", page);
+        }
+        sql += Keyset.orderAndLimit("fecha_creacion", "id");
+
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.findAll");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
+            int paramIndex = 1;
+            if (buscar != null && !buscar.isEmpty()) {
+                stmt.setString(paramIndex++, "%" + buscar + "%");
+                stmt.setString(paramIndex++, "%" + buscar + "%");
+            }
+            if (estado != null && !estado.isEmpty() && !estado.equals("TODAS")) {
+                stmt.setString(paramIndex++, estado);
+            }
+            Keyset.bind(stmt, paramIndex, page);
+
+            return Keyset.collect(stmt.executeQuery(), page, "fecha_creacion", "id", false, this::mapResultSetToTarea);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar tareas", e);
+        }
+    }
+
     /**
      * Busca tareas asignadas a un trabajador específico.
      * <p>
@@ -97,7 +119,8 @@ public class TareaRepository {
         }
         sql += " ORDER BY fecha_creacion DESC";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.findByTrabajadorId");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, trabajadorId);
             if (estado != null && !estado.isEmpty() && !estado.equals("TODAS")) {
                 stmt.setString(2, estado);
@@ -126,7 +149,8 @@ public class TareaRepository {
     public Optional<Tarea> findById(Long id) {
         String sql = "SELECT * FROM tareas WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.findById");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
 
             ResultSet rs = stmt.executeQuery();
@@ -156,7 +180,8 @@ public class TareaRepository {
         String sql = "INSERT INTO tareas (asunto, detalles, fecha_asignacion, fecha_entrega, " +
                 "cantidad_figuras, estado, creado_por, trabajador_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.save");
+             PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, tarea.getAsunto());
             stmt.setString(2, tarea.getDetalles());
             stmt.setDate(3, Date.valueOf(tarea.getFechaAsignacion()));
@@ -197,7 +222,8 @@ public class TareaRepository {
     public boolean updateEstado(Long id, String nuevoEstado) {
         String sql = "UPDATE tareas SET estado = ? WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.updateEstado");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, nuevoEstado);
             stmt.setLong(2, id);
 
@@ -222,7 +248,8 @@ public class TareaRepository {
     public boolean delete(Long id) {
         String sql = "UPDATE tareas SET activo = false WHERE id = ?";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.delete");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setLong(1, id);
 
             return stmt.executeUpdate() > 0;
@@ -247,7 +274,8 @@ public class TareaRepository {
         String sql = "UPDATE tareas SET asunto = ?, detalles = ?, fecha_asignacion = ?, " +
                 "fecha_entrega = ?, cantidad_figuras = ?, trabajador_id = ? WHERE id = ? AND activo = true";
 
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+        try (Connection connection = UnitOfWork.getConnection("TareaRepository.update");
+             PreparedStatement stmt = connection.prepareStatement(sql)) {
             stmt.setString(1, tarea.getAsunto());
             stmt.setString(2, tarea.getDetalles());
             stmt.setDate(3, Date.valueOf(tarea.getFechaAsignacion()));
@@ -310,7 +338,7 @@ public class TareaRepository {
      * @param baseSql Consulta SQL base
      * @param buscar Parámetro de búsqueda opcional
      * @param estado Parámetro de estado opcional
-     * @return Consulta SQL completa con filtros aplicados
+     * @return Consulta SQL con filtros aplicados, sin cláusula ORDER BY
      */
     private String buildQuery(String baseSql, String buscar, String estado) {
         StringBuilder query = new StringBuilder(baseSql);
@@ -321,8 +349,6 @@ public class TareaRepository {
         if (estado != null && !estado.isEmpty() && !estado.equals("TODAS")) {
             query.append(" AND estado = ?");
         }
-        query.append(" ORDER BY fecha_creacion DESC");
-
         return query.toString();
     }
 }
\ No newline at end of file
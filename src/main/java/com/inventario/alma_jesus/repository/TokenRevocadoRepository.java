@@ -0,0 +1,99 @@
+package com.inventario.alma_jesus.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Repositorio de la tabla {@code token_revocado}.
+ * <p>
+ * Persiste los {@code jti} de los tokens revocados para que sobrevivan a un
+ * reinicio. Las peticiones no consultan esta tabla: la revisión se hace en
+ * memoria y la tabla solo se lee al arrancar (ver
+ * {@link com.inventario.alma_jesus.service.TokenRevocationStore}).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ */
+public class TokenRevocadoRepository {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocadoRepository.class);
+
+    /**
+     * Guarda un token revocado.
+     *
+     * @param jti Identificador del token
+     * @param expiraEn Expiración del token en milisegundos desde la época
+     * @return true si se guardó
+     */
+    public boolean guardar(String jti, long expiraEn) {
+        String sql = "INSERT INTO token_revocado (jti, expira_en) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE expira_en = VALUES(expira_en)";
+
+        try (Connection conn = DatabaseConnection.getConnection("TokenRevocadoRepository.guardar");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, jti);
+            stmt.setLong(2, expiraEn);
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            logger.error("Error en TokenRevocadoRepository.guardar", e);
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene los tokens revocados que aún no expiran.
+     *
+     * @param ahora Instante actual en milisegundos desde la época
+     * @return Mapa jti → expiración en milisegundos
+     * @throws SQLException Si la consulta falla; el llamador decide cómo arrancar sin ellos
+     */
+    public Map<String, Long> findVigentes(long ahora) throws SQLException {
+        String sql = "SELECT jti, expira_en FROM token_revocado WHERE expira_en > ?";
+        Map<String, Long> vigentes = new HashMap<>();
+
+        try (Connection conn = DatabaseConnection.getConnection("TokenRevocadoRepository.findVigentes");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, ahora);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    vigentes.put(rs.getString("jti"), rs.getLong("expira_en"));
+                }
+            }
+        }
+        return vigentes;
+    }
+
+    /**
+     * Borra los tokens revocados que ya expiraron.
+     *
+     * @param ahora Instante actual en milisegundos desde la época
+     * @return Filas borradas, o -1 si hubo un error
+     */
+    public int eliminarExpirados(long ahora) {
+        String sql = "DELETE FROM token_revocado WHERE expira_en <= ?";
+
+        try (Connection conn = DatabaseConnection.getConnection("TokenRevocadoRepository.eliminarExpirados");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setLong(1, ahora);
+            return stmt.executeUpdate();
+
+        } catch (SQLException e) {
+            logger.error("Error en TokenRevocadoRepository.eliminarExpirados", e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.inventario.alma_jesus.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unidad de trabajo ligada al hilo que atiende la petición.
+ * <p>
+ * Sustituye a la conexión fija que cada repositorio abría en su constructor.
+ * Al iniciar una petición se llama a {@link #begin()}; la primera vez que un
+ * repositorio pide conexión se toma una del pool y queda asociada al hilo, de
+ * modo que todas las consultas de la misma petición comparten esa conexión.
+ * Al terminar la petición {@link #end()} la devuelve al pool.
+ * </p>
+ * <p>
+ * Los repositorios obtienen la conexión con {@link #getConnection(String)} dentro de
+ * un try-with-resources, igual que con {@link DatabaseConnection#getConnection(String)}.
+ * Si hay una unidad de trabajo activa, cerrar la conexión no la devuelve al pool
+ * (lo hace {@link #end()}); si no la hay, la conexión es una conexión normal del
+ * pool y se devuelve al cerrarla.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see DatabaseConnection
+ *
+ * @example
+ * <pre>
+ * try (Connection connection = UnitOfWork.getConnection("TareaRepository.findAll");
+ *      PreparedStatement stmt = connection.prepareStatement(sql)) {
+ *     // Usar la sentencia
+ * }
+ *
+ * // Varias operaciones en una sola transacción
+ * UnitOfWork.inTransaction(() -> {
+ *     materiaPrimaRepository.updateStock(id, cantidad);
+ *     return movimientoMpRepository.save(movimiento);
+ * });
+ * </pre>
+ */
+public final class UnitOfWork {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+
+    /**
+     * Estado de la unidad de trabajo asociada al hilo actual.
+     */
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Operación que se ejecuta dentro de una transacción.
+     *
+     * @param <T> Tipo del resultado de la operación
+     */
+    @FunctionalInterface
+    public interface TransactionalWork<T> {
+        T execute() throws Exception;
+    }
+
+    /**
+     * Inicia una unidad de trabajo en el hilo actual.
+     * <p>
+     * No toma ninguna conexión todavía; la conexión se pide al pool la primera
+     * vez que se necesita. Si el hilo tenía una unidad de trabajo que no se cerró
+     * (por ejemplo, porque la petición terminó en otro hilo), se libera antes.
+     * </p>
+     */
+    public static void begin() {
+        Scope anterior = CURRENT.get();
+        if (anterior != null) {
+            anterior.release();
+        }
+        CURRENT.set(new Scope());
+    }
+
+    /**
+     * Termina la unidad de trabajo del hilo actual y devuelve su conexión al pool.
+     * Si hay una transacción abierta por error, se revierte.
+     */
+    public static void end() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        if (scope != null) {
+            scope.release();
+        }
+    }
+
+    /**
+     * Indica si el hilo actual tiene una unidad de trabajo activa.
+     *
+     * @return true si se llamó a {@link #begin()} y aún no a {@link #end()}
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Obtiene una conexión para el hilo actual sin medir el método que la usa.
+     *
+     * @return Conexión a la base de datos
+     * @throws SQLException Si no se puede obtener una conexión del pool
+     * @see #getConnection(String)
+     */
+    public static Connection getConnection() throws SQLException {
+        return getConnection(null);
+    }
+
+    /**
+     * Obtiene una conexión para el hilo actual.
+     * <p>
+     * Con una unidad de trabajo activa devuelve la conexión ligada al hilo
+     * (tomándola del pool si aún no se había pedido); su {@code close()} no la
+     * devuelve al pool. Sin unidad de trabajo devuelve una conexión del pool.
+     * En ambos casos el {@code close()} marca el fin del método de repositorio
+     * para {@link MetricasRepositorio}.
+     * </p>
+     *
+     * @param metodo Método que pide la conexión, con el formato {@code Clase.metodo}
+     * @return Conexión a la base de datos
+     * @throws SQLException Si no se puede obtener una conexión del pool
+     */
+    public static Connection getConnection(String metodo) throws SQLException {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return DatabaseConnection.getConnection(metodo);
+        }
+        return new ConexionPrestada(scope.physical(), MetricasRepositorio.metrica(metodo), false);
+    }
+
+    /**
+     * Ejecuta una operación dentro de una transacción.
+     * <p>
+     * Todas las llamadas a {@link #getConnection(String)} hechas desde la operación
+     * reciben la misma conexión con autocommit desactivado. Si la operación
+     * termina normalmente se confirma; si lanza una excepción se revierte y la
+     * excepción se propaga. Las transacciones anidadas se unen a la exterior.
+     * </p>
+     *
+     * @param work Operación a ejecutar
+     * @param <T> Tipo del resultado
+     * @return El resultado de la operación
+     * @throws RuntimeException Si la operación o el commit fallan
+     */
+    public static <T> T inTransaction(TransactionalWork<T> work) {
+        boolean scopePropio = !isActive();
+        if (scopePropio) {
+            begin();
+        }
+        Scope scope = CURRENT.get();
+        if (scope.inTransaction) {
+            try {
+                return work.execute();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+
+        try {
+            Connection connection = scope.physical();
+            connection.setAutoCommit(false);
+            scope.inTransaction = true;
+            RuntimeException fallo = null;
+            try {
+                T resultado = work.execute();
+                connection.commit();
+                return resultado;
+            } catch (Exception e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                fallo = e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e.getMessage(), e);
+                throw fallo;
+            } finally {
+                scope.inTransaction = false;
+                restaurarAutoCommit(scope, fallo);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
+        } finally {
+            if (scopePropio) {
+                end();
+            }
+        }
+    }
+
+    /**
+     * Devuelve la conexión a autocommit al cerrar una transacción.
+     * <p>
+     * Si falla, la conexión queda en un estado desconocido: se descarta en
+     * lugar de devolverla al pool con la transacción abierta. El error se
+     * agrega como suprimido a la excepción de la operación, que es la que se
+     * propaga; si la operación terminó bien, se propaga el error.
+     * </p>
+     *
+     * @param scope Unidad de trabajo de la transacción
+     * @param fallo Excepción de la operación, o null si terminó bien
+     */
+    private static void restaurarAutoCommit(Scope scope, RuntimeException fallo) {
+        try {
+            scope.connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            scope.discard();
+            if (fallo != null) {
+                fallo.addSuppressed(e);
+                return;
+            }
+            throw new RuntimeException("Error en la transacción: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Conexión prestada a un hilo y su estado transaccional.
+     */
+    private static final class Scope {
+        private Connection connection;
+        private boolean inTransaction;
+
+        Connection physical() throws SQLException {
+            if (connection == null) {
+                connection = DatabaseConnection.obtenerDelPool();
+            }
+            return connection;
+        }
+
+        /**
+         * Retira la conexión física del pool sin reutilizarla; la siguiente
+         * llamada a {@link #physical()} toma otra.
+         */
+        void discard() {
+            if (connection == null) {
+                return;
+            }
+            DatabaseConnection.descartar(connection);
+            connection = null;
+        }
+
+        void release() {
+            if (connection == null) {
+                return;
+            }
+            try {
+                if (inTransaction || !connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                logger.error("Error revirtiendo transacción pendiente: {}", e.getMessage());
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.error("Error devolviendo la conexión al pool: {}", e.getMessage());
+            }
+            connection = null;
+            inTransaction = false;
+        }
+    }
+}
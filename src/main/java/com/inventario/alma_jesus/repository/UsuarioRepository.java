@@ -5,6 +5,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para la gestión de operaciones CRUD de la entidad Usuario en la base de datos.
@@ -16,6 +18,11 @@ import java.util.Optional;
  */
 public class UsuarioRepository {
 
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioRepository.class);
+
     /**
      * Busca un usuario activo por su nombre de usuario (username).
      *
@@ -26,7 +33,7 @@ public class UsuarioRepository {
     public Optional<Usuario> findByUsername(String username) {
         String sql = "SELECT id, username, password, rol, email, activo, fecha_creacion FROM usuario WHERE username = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.findByUsername");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, username);
@@ -45,8 +52,7 @@ public class UsuarioRepository {
                 return Optional.of(usuario);
             }
         } catch (SQLException e) {
-            System.out.println("Error en UsuarioRepository.findByUsername: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en UsuarioRepository.findByUsername", e);
         }
 
         return Optional.empty();
@@ -61,7 +67,7 @@ public class UsuarioRepository {
         List<Usuario> usuarios = new ArrayList<>();
         String sql = "SELECT id, username, password, rol, email, activo, fecha_creacion FROM usuario WHERE activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.findAll");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -78,8 +84,7 @@ public class UsuarioRepository {
                 usuarios.add(usuario);
             }
         } catch (SQLException e) {
-            System.out.println("Error en UsuarioRepository.findAll: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en UsuarioRepository.findAll", e);
         }
 
         return usuarios;
@@ -95,7 +100,7 @@ public class UsuarioRepository {
     public Optional<Usuario> findById(String id) {
         String sql = "SELECT id, username, password, rol, email, activo, fecha_creacion FROM usuario WHERE id = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.findById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, id);
@@ -114,8 +119,7 @@ public class UsuarioRepository {
                 return Optional.of(usuario);
             }
         } catch (SQLException e) {
-            System.out.println("Error en UsuarioRepository.findById: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en UsuarioRepository.findById", e);
         }
 
         return Optional.empty();
@@ -131,7 +135,7 @@ public class UsuarioRepository {
         // CORRECCIÓN: La consulta SQL tenía un error - faltaban los placeholders
         String sql = "INSERT INTO usuario (id, username, password, rol, email, activo) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.crearUsuario");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, usuario.getId());
@@ -144,17 +148,16 @@ public class UsuarioRepository {
             int filasAfectadas = stmt.executeUpdate();
             boolean exito = filasAfectadas > 0;
 
-            System.out.println("Repository: Usuario creado - " + usuario.getUsername() + " - Exito: " + exito);
+            logger.debug("Repository: Usuario creado - {} - Exito: {}", usuario.getUsername(), exito);
             return exito;
 
         } catch (SQLException e) {
             // Manejo específico para errores de duplicación (código 1062 para MySQL)
             if (e.getErrorCode() == 1062) {
-                System.out.println("Repository: Usuario ya existe - " + usuario.getUsername());
+                logger.debug("Repository: Usuario ya existe - {}", usuario.getUsername());
             } else {
-                System.out.println("Error en UsuarioRepository.crearUsuario: " + e.getMessage());
+                logger.error("Error en UsuarioRepository.crearUsuario", e);
             }
-            e.printStackTrace();
             return false;
         }
     }
@@ -169,7 +172,7 @@ public class UsuarioRepository {
     public boolean cambiarPassword(String id, String nuevaPassword) {
         String sql = "UPDATE usuario SET password = ? WHERE id = ? AND activo = true";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.cambiarPassword");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, nuevaPassword);
@@ -179,8 +182,38 @@ public class UsuarioRepository {
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error en UsuarioRepository.cambiarPassword: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en UsuarioRepository.cambiarPassword", e);
+            return false;
+        }
+    }
+
+    /**
+     * Reemplaza el hash de la contraseña solo si no cambió desde que se leyó.
+     * <p>
+     * Se usa para volver a calcular el hash con otro costo de BCrypt después de
+     * un login. La condición sobre el hash anterior evita pisar un cambio de
+     * contraseña hecho mientras tanto.
+     * </p>
+     *
+     * @param id Identificador único del usuario.
+     * @param hashAnterior Hash leído durante el login.
+     * @param hashNuevo Hash de la misma contraseña con el costo actual.
+     * @return true si se reemplazó, false si el hash ya había cambiado o hubo un error.
+     */
+    public boolean reemplazarHashPassword(String id, String hashAnterior, String hashNuevo) {
+        String sql = "UPDATE usuario SET password = ? WHERE id = ? AND password = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.reemplazarHashPassword");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, hashNuevo);
+            stmt.setString(2, id);
+            stmt.setString(3, hashAnterior);
+
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            logger.error("Error en UsuarioRepository.reemplazarHashPassword", e);
             return false;
         }
     }
@@ -194,7 +227,7 @@ public class UsuarioRepository {
     public boolean eliminarUsuario(String id) {
         String sql = "UPDATE usuario SET activo = false WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = DatabaseConnection.getConnection("UsuarioRepository.eliminarUsuario");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setString(1, id);
@@ -202,8 +235,7 @@ public class UsuarioRepository {
             return filasAfectadas > 0;
 
         } catch (SQLException e) {
-            System.out.println("Error en UsuarioRepository.eliminarUsuario: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en UsuarioRepository.eliminarUsuario", e);
             return false;
         }
     }
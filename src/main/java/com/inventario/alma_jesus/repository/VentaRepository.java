@@ -5,6 +5,8 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Repositorio para gestionar las operaciones de base de datos relacionadas con ventas.
@@ -21,6 +23,30 @@ import java.util.Optional;
  */
 public class VentaRepository {
 
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(VentaRepository.class);
+
+    /**
+     * Código de error de MySQL para una clave única duplicada.
+     */
+    private static final int ER_DUP_ENTRY = 1062;
+
+    /**
+     * Resultado de {@link #crearVenta(Venta, boolean)}.
+     */
+    public enum ResultadoRegistro {
+        /** La venta se insertó y, si correspondía, se descontó el stock. */
+        CREADA,
+        /** La clave de idempotencia ya estaba registrada con el mismo cuerpo: no se insertó nada. */
+        REPETIDA,
+        /** La clave de idempotencia ya estaba registrada con otro cuerpo: no se insertó nada. */
+        CLAVE_REUTILIZADA,
+        /** La venta no se pudo registrar. */
+        FALLIDA
+    }
+
     /**
      * Obtiene todas las ventas registradas en el sistema.
      * <p>
@@ -48,7 +74,7 @@ public class VentaRepository {
                 "INNER JOIN producto p ON v.producto_id = p.id " +
                 "ORDER BY v.fecha_registro DESC";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = UnitOfWork.getConnection("VentaRepository.findAll");
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
@@ -58,12 +84,71 @@ public class VentaRepository {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error en VentaRepository.findAll: " + e.getMessage());
+            logger.error("Error en VentaRepository.findAll: {}", e.getMessage());
         }
 
         return ventas;
     }
 
+    /**
+     * Obtiene una página de ventas ordenadas por fecha de registro descendente.
+     * <p>
+     * Usa paginación por cursor sobre el par {@code (fecha_registro, id)}: la
+     * consulta continúa desde la última venta de la página anterior en lugar
+     * de leer y ordenar todo el historial.
+     * </p>
+     *
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de ventas con el cursor de la siguiente página
+     * @throws RuntimeException Si ocurre un error en la consulta SQL
+     * @see Keyset
+     */
+    public Page<Venta> findAll(PageRequest page) {
+        String sql = "SELECT v.id, v.cliente_id, v.producto_id, p.modelo as producto_modelo, " +
+                "v.cantidad, v.precio_unitario, v.precio_total, v.fecha, v.tipo, " +
+                "v.usuario_registro, v.fecha_registro " +
+                "FROM venta v " +
+                "INNER JOIN producto p ON v.producto_id = p.id";
+        if (page.hasCursor()) {
+            sql += " WHERE " + Keyset.condition("v.fecha_registro", "v.id", page);
+        }
+        sql += Keyset.orderAndLimit("v.fecha_registro", "v.id");
+
+        try (Connection conn = UnitOfWork.getConnection("VentaRepository.findAll");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            Keyset.bind(stmt, 1, page);
+            return Keyset.collect(stmt.executeQuery(), page, "fecha_registro", "id", false, this::mapearVenta);
+
+        } catch (SQLException e) {
+            logger.error("Error en VentaRepository.findAll: {}", e.getMessage());
+            throw new RuntimeException("Error al listar ventas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recorre todas las ventas sin cargarlas en memoria.
+     * <p>
+     * Cada venta se lee del resultado en modo streaming y se entrega al
+     * consumidor antes de leer la siguiente, en el mismo orden que
+     * {@link #findAll()}.
+     * </p>
+     *
+     * @param consumer Consumidor que recibe cada venta
+     * @return Número de ventas recorridas
+     * @throws Exception Si falla la consulta o el consumidor
+     * @see ResultSetStreamer
+     */
+    public int streamAll(ResultSetStreamer.RowConsumer<Venta> consumer) throws Exception {
+        String sql = "SELECT v.id, v.cliente_id, v.producto_id, p.modelo as producto_modelo, " +
+                "v.cantidad, v.precio_unitario, v.precio_total, v.fecha, v.tipo, " +
+                "v.usuario_registro, v.fecha_registro " +
+                "FROM venta v " +
+                "INNER JOIN producto p ON v.producto_id = p.id " +
+                "ORDER BY v.fecha_registro DESC";
+        return ResultSetStreamer.stream("VentaRepository.streamAll", sql, this::mapearVenta, consumer);
+    }
+
     /**
      * Busca una venta específica por su ID.
      * <p>
@@ -84,7 +169,7 @@ public class VentaRepository {
                 "INNER JOIN producto p ON v.producto_id = p.id " +
                 "WHERE v.id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = UnitOfWork.getConnection("VentaRepository.findById");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
@@ -96,25 +181,60 @@ public class VentaRepository {
             }
 
         } catch (SQLException e) {
-            System.out.println("Error en VentaRepository.findById: " + e.getMessage());
+            logger.error("Error en VentaRepository.findById: {}", e.getMessage());
         }
 
         return Optional.empty();
     }
 
+    /**
+     * Registra una nueva venta en el sistema descontando el stock del producto.
+     *
+     * @param venta Objeto Venta con los datos de la transacción
+     * @return Resultado del registro
+     * @throws IllegalStateException Si el producto no tiene stock suficiente
+     * @see #crearVenta(Venta, boolean)
+     */
+    public ResultadoRegistro crearVenta(Venta venta) {
+        return crearVenta(venta, true);
+    }
+
     /**
      * Registra una nueva venta en el sistema.
      * <p>
-     * Inserta un nuevo registro de venta utilizando transacciones para
-     * garantizar la integridad de los datos. No verifica duplicados ya que
-     * en un entorno de tienda física es normal tener múltiples ventas
-     * del mismo producto en un día.
+     * Inserta un nuevo registro de venta en una transacción de la unidad de
+     * trabajo ({@link UnitOfWork#inTransaction}), con la conexión de la
+     * petición, para garantizar la integridad de los datos. No verifica
+     * duplicados ya que en un entorno de tienda física es normal tener
+     * múltiples ventas del mismo producto en un día.
+     * </p>
+     * <p>
+     * Cuando {@code descontarStock} es true, en la misma transacción se ejecuta
+     * {@code UPDATE producto SET stock = stock - ? WHERE id = ? AND stock >= ?}.
+     * La condición se evalúa de forma atómica sobre la fila bloqueada, así que
+     * dos ventas simultáneas no pueden vender más unidades de las existentes y
+     * no hace falta leer el stock antes. Si el UPDATE no afecta ninguna fila la
+     * transacción se revierte y la venta se rechaza.
+     * </p>
+     * <p>
+     * Si la venta trae clave de idempotencia, lo primero que hace la
+     * transacción es buscar la clave, antes de tocar el stock. Si ya existe se
+     * devuelve {@link ResultadoRegistro#REPETIDA} cuando la huella guardada
+     * coincide con la de esta venta, o {@link ResultadoRegistro#CLAVE_REUTILIZADA}
+     * cuando no. Si dos reintentos llegan a la vez, los dos pasan la búsqueda,
+     * pero la columna única {@code idempotency_key} rechaza la segunda
+     * inserción; esa transacción se revierte (incluido el descuento de stock)
+     * y la clave se vuelve a resolver con la fila ya confirmada.
+     * </p>
+     * <p>
+     * El resumen diario de ventas ({@code resumen_ventas_dia}) se actualiza en
+     * la misma transacción.
      * </p>
      *
      * @param venta Objeto Venta con los datos de la transacción
-     * @return true si la venta se registró exitosamente, false en caso contrario
-     *
-     * @throws SQLException Si ocurre un error en la conexión o inserción SQL
+     * @param descontarStock true para descontar la cantidad vendida del stock del producto
+     * @return Resultado del registro
+     * @throws IllegalStateException Si el producto no existe o no tiene stock suficiente
      *
      * @example
      * <pre>
@@ -126,59 +246,134 @@ public class VentaRepository {
      * nuevaVenta.setPrecioTotal(3000);
      * // ... otros atributos
      *
-     * boolean registrada = repository.crearVenta(nuevaVenta);
-     * // true si la venta se insertó correctamente en la base de datos
+     * ResultadoRegistro resultado = repository.crearVenta(nuevaVenta, true);
+     * // CREADA si la venta se insertó y el stock se descontó en la misma transacción
      * </pre>
      */
-    public boolean crearVenta(Venta venta) {
-        Connection conn = null;
+    public ResultadoRegistro crearVenta(Venta venta, boolean descontarStock) {
         try {
-            conn = DatabaseConnection.getConnection();
-            conn.setAutoCommit(false); // Iniciar transacción
-
-            // Insertar la venta directamente
-            String insertSql = "INSERT INTO venta (cliente_id, producto_id, cantidad, precio_unitario, " +
-                    "precio_total, fecha, tipo, usuario_registro) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
-            try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                insertStmt.setInt(1, venta.getClienteId());
-                insertStmt.setInt(2, venta.getProductoId());
-                insertStmt.setInt(3, venta.getCantidad());
-                insertStmt.setInt(4, venta.getPrecioUnitario());
-                insertStmt.setInt(5, venta.getPrecioTotal());
-                insertStmt.setString(6, venta.getFecha());
-                insertStmt.setString(7, venta.getTipo());
-                insertStmt.setString(8, venta.getUsuarioRegistro());
-
-                int filasAfectadas = insertStmt.executeUpdate();
-
-                if (filasAfectadas > 0) {
-                    conn.commit(); // Confirmar transacción
-                    System.out.println("Venta registrada exitosamente: Producto ID " + venta.getProductoId() + " - Fecha: " + venta.getFecha());
-                    return true;
-                } else {
-                    conn.rollback(); // Revertir si no se insertó
-                    return false;
+            return UnitOfWork.inTransaction(() -> {
+                try (Connection conn = UnitOfWork.getConnection("VentaRepository.crearVenta")) {
+                    return registrar(conn, venta, descontarStock);
                 }
+            });
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (!(e.getCause() instanceof SQLIntegrityConstraintViolationException)) {
+                logger.error("Error en VentaRepository.crearVenta", e);
+                return ResultadoRegistro.FALLIDA;
             }
-
-        } catch (SQLException e) {
-            try {
-                if (conn != null) conn.rollback();
-            } catch (SQLException rollbackEx) {
-                System.out.println("Error en rollback: " + rollbackEx.getMessage());
+            SQLIntegrityConstraintViolationException violacion = (SQLIntegrityConstraintViolationException) e.getCause();
+            if (venta.getIdempotencyKey() == null || violacion.getErrorCode() != ER_DUP_ENTRY) {
+                logger.error("Error en VentaRepository.crearVenta: {}", violacion.getMessage());
+                return ResultadoRegistro.FALLIDA;
             }
-            System.out.println("❌ Error en VentaRepository.crearVenta: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        } finally {
+            // Otro reintento con la misma clave se confirmó primero; la
+            // transacción fallida ya se revirtió y la clave se resuelve en otra
             try {
-                if (conn != null) {
-                    conn.setAutoCommit(true);
-                    conn.close();
+                ResultadoRegistro previo = UnitOfWork.inTransaction(() -> {
+                    try (Connection conn = UnitOfWork.getConnection("VentaRepository.crearVenta")) {
+                        return resolverClave(conn, venta);
+                    }
+                });
+                return previo != null ? previo : ResultadoRegistro.FALLIDA;
+            } catch (RuntimeException ex) {
+                logger.error("Error en VentaRepository.crearVenta", ex);
+                return ResultadoRegistro.FALLIDA;
+            }
+        }
+    }
+
+    /**
+     * Cuerpo de {@link #crearVenta(Venta, boolean)}; se ejecuta dentro de la
+     * transacción de la unidad de trabajo, que confirma o revierte.
+     *
+     * @param conn Conexión de la transacción en curso
+     * @param venta Venta a registrar
+     * @param descontarStock true para descontar la cantidad vendida del stock del producto
+     * @return Resultado del registro
+     * @throws SQLException Si falla alguna sentencia, incluida la clave única duplicada
+     * @throws IllegalStateException Si el producto no tiene stock suficiente
+     */
+    private ResultadoRegistro registrar(Connection conn, Venta venta, boolean descontarStock) throws SQLException {
+        // Un reintento se resuelve antes de descontar stock
+        if (venta.getIdempotencyKey() != null) {
+            ResultadoRegistro previo = resolverClave(conn, venta);
+            if (previo != null) {
+                return previo;
+            }
+        }
+
+        // Descontar stock de forma condicional: rechaza la venta si no alcanza
+        if (descontarStock) {
+            String stockSql = "UPDATE producto SET stock = stock - ? WHERE id = ? AND stock >= ?";
+            try (PreparedStatement stockStmt = conn.prepareStatement(stockSql)) {
+                stockStmt.setInt(1, venta.getCantidad());
+                stockStmt.setInt(2, venta.getProductoId());
+                stockStmt.setInt(3, venta.getCantidad());
+
+                if (stockStmt.executeUpdate() == 0) {
+                    logger.warn("Venta rechazada por stock insuficiente: Producto ID {} - Cantidad: {}", venta.getProductoId(), venta.getCantidad());
+                    throw new IllegalStateException("Stock insuficiente para el producto ID " + venta.getProductoId());
+                }
+            }
+        }
+
+        // Insertar la venta
+        String insertSql = "INSERT INTO venta (cliente_id, producto_id, cantidad, precio_unitario, " +
+                "precio_total, fecha, tipo, usuario_registro, idempotency_key, idempotency_fingerprint) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
+            insertStmt.setInt(1, venta.getClienteId());
+            insertStmt.setInt(2, venta.getProductoId());
+            insertStmt.setInt(3, venta.getCantidad());
+            insertStmt.setInt(4, venta.getPrecioUnitario());
+            insertStmt.setInt(5, venta.getPrecioTotal());
+            insertStmt.setString(6, venta.getFecha());
+            insertStmt.setString(7, venta.getTipo());
+            insertStmt.setString(8, venta.getUsuarioRegistro());
+            insertStmt.setString(9, venta.getIdempotencyKey());
+            insertStmt.setString(10, venta.getIdempotencyFingerprint());
+
+            if (insertStmt.executeUpdate() == 0) {
+                return ResultadoRegistro.FALLIDA;
+            }
+        }
+
+        // Mantener el resumen diario en la misma transacción
+        RollupRepository.sumarVenta(conn, venta.getFecha(), 1, venta.getPrecioTotal());
+        logger.debug("Venta registrada exitosamente: Producto ID {} - Fecha: {}", venta.getProductoId(), venta.getFecha());
+        return ResultadoRegistro.CREADA;
+    }
+
+    /**
+     * Busca una venta ya registrada con la clave de idempotencia de {@code venta}.
+     *
+     * @param conn Conexión de la transacción en curso
+     * @param venta Venta con clave y huella
+     * @return REPETIDA o CLAVE_REUTILIZADA si la clave existe; null si no
+     * @throws SQLException Si falla la consulta
+     */
+    private ResultadoRegistro resolverClave(Connection conn, Venta venta) throws SQLException {
+        String sql = "SELECT id, idempotency_fingerprint FROM venta WHERE idempotency_key = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, venta.getIdempotencyKey());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
                 }
-            } catch (SQLException e) {
-                System.out.println("Error cerrando conexión: " + e.getMessage());
+                String huella = rs.getString("idempotency_fingerprint");
+                // Las ventas anteriores a la migración 005 no tienen huella: se aceptan como reintento
+                if (huella == null || huella.equals(venta.getIdempotencyFingerprint())) {
+                    logger.debug("Venta ya registrada con Idempotency-Key {} (ID {}), se omite el reintento",
+                            venta.getIdempotencyKey(), rs.getInt("id"));
+                    return ResultadoRegistro.REPETIDA;
+                }
+                logger.warn("Idempotency-Key {} reutilizada con otros datos (venta ID {})",
+                        venta.getIdempotencyKey(), rs.getInt("id"));
+                return ResultadoRegistro.CLAVE_REUTILIZADA;
             }
         }
     }
@@ -188,6 +383,7 @@ public class VentaRepository {
      * <p>
      * Realiza una eliminación física de la venta (no lógica).
      * Esta operación no se puede deshacer y debe usarse con precaución.
+     * El resumen diario de ventas se descuenta en la misma transacción.
      * </p>
      *
      * @param id ID de la venta a eliminar
@@ -196,80 +392,40 @@ public class VentaRepository {
      * @throws SQLException Si ocurre un error en la conexión o eliminación SQL
      */
     public boolean eliminarVenta(int id) {
+        String selectSql = "SELECT fecha, precio_total FROM venta WHERE id = ? FOR UPDATE";
         String sql = "DELETE FROM venta WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            int filasAfectadas = stmt.executeUpdate();
-            return filasAfectadas > 0;
-
-        } catch (SQLException e) {
-            System.out.println("Error en VentaRepository.eliminarVenta: " + e.getMessage());
+        try {
+            return UnitOfWork.inTransaction(() -> {
+                try (Connection conn = UnitOfWork.getConnection("VentaRepository.eliminarVenta");
+                     PreparedStatement selectStmt = conn.prepareStatement(selectSql);
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                    selectStmt.setInt(1, id);
+                    String fecha;
+                    int precioTotal;
+                    try (ResultSet rs = selectStmt.executeQuery()) {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        fecha = rs.getString("fecha");
+                        precioTotal = rs.getInt("precio_total");
+                    }
+
+                    stmt.setInt(1, id);
+                    int filasAfectadas = stmt.executeUpdate();
+                    if (filasAfectadas > 0) {
+                        RollupRepository.sumarVenta(conn, fecha, -1, -precioTotal);
+                    }
+                    return filasAfectadas > 0;
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error("Error en VentaRepository.eliminarVenta: {}", e.getMessage());
             return false;
         }
     }
 
-    /**
-     * Busca ventas similares a la proporcionada (método para depuración).
-     * <p>
-     * Encuentra ventas con los mismos atributos clave (cliente, producto,
-     * cantidad, precio, fecha y tipo). Este método es opcional y se usa
-     * principalmente para debugging o análisis de datos duplicados.
-     * </p>
-     *
-     * @param venta Venta de referencia para buscar similares
-     * @return Lista de ventas que coinciden con los criterios
-     *
-     * @throws SQLException Si ocurre un error en la conexión o consulta SQL
-     *
-     * @example
-     * <pre>
-     * Venta referencia = new Venta();
-     * referencia.setClienteId(123);
-     * referencia.setProductoId(456);
-     * // ... otros atributos
-     *
-     * List<Venta> similares = repository.findDuplicadas(referencia);
-     * // Retorna ventas existentes con los mismos datos clave
-     * </pre>
-     */
-    public List<Venta> findDuplicadas(Venta venta) {
-        List<Venta> duplicadas = new ArrayList<>();
-        String sql = "SELECT v.id, v.cliente_id, v.producto_id, p.modelo as producto_modelo, " +
-                "v.cantidad, v.precio_unitario, v.precio_total, v.fecha, v.tipo, " +
-                "v.usuario_registro, v.fecha_registro " +
-                "FROM venta v " +
-                "INNER JOIN producto p ON v.producto_id = p.id " +
-                "WHERE v.cliente_id = ? AND v.producto_id = ? AND v.cantidad = ? AND " +
-                "v.precio_unitario = ? AND v.fecha = ? AND v.tipo = ? " +
-                "ORDER BY v.fecha_registro DESC";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, venta.getClienteId());
-            stmt.setInt(2, venta.getProductoId());
-            stmt.setInt(3, venta.getCantidad());
-            stmt.setInt(4, venta.getPrecioUnitario());
-            stmt.setString(5, venta.getFecha());
-            stmt.setString(6, venta.getTipo());
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                duplicadas.add(mapearVenta(rs));
-            }
-
-            System.out.println("ℹVentas similares encontradas (solo informativo): " + duplicadas.size());
-
-        } catch (SQLException e) {
-            System.out.println("Error buscando duplicados: " + e.getMessage());
-        }
-
-        return duplicadas;
-    }
-
     /**
      * Convierte un ResultSet de base de datos a un objeto Venta.
      * <p>
@@ -0,0 +1,35 @@
+package com.inventario.alma_jesus.router;
+
+/**
+ * Excepción lanzada por {@link AutorizacionFiltro} cuando una petición no
+ * tiene un token válido (401) o su rol no alcanza para la ruta (403).
+ * <p>
+ * Se lanza desde un manejador {@code before} en lugar de responder y saltar
+ * los manejadores restantes, para que los {@code after} (métricas, unidad de
+ * trabajo) se ejecuten igual.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see AutorizacionFiltro
+ */
+public class AccesoDenegadoException extends RuntimeException {
+
+    private final int status;
+
+    /**
+     * @param status Código HTTP de la respuesta (401 o 403)
+     * @param message Mensaje para el cliente
+     */
+    public AccesoDenegadoException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * @return Código HTTP de la respuesta
+     */
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,46 @@
+package com.inventario.alma_jesus.router;
+
+import com.inventario.alma_jesus.controller.AdminController;
+import io.javalin.Javalin;
+
+/**
+ * Router para configurar las rutas de administración y diagnóstico.
+ *
+ * @version 1.0
+ * @since 2024
+ * @see AdminController
+ */
+public class AdminRouter {
+    private AdminController adminController = new AdminController();
+
+    /**
+     * Configura las rutas de administración en la aplicación Javalin.
+     *
+     * <p><b>Endpoints configurados:</b></p>
+     * <ul>
+     *   <li>GET /api/v1/admin/pool - Estado y métricas del pool de conexiones</li>
+     *   <li>GET /api/v1/admin/cache/productos - Contadores de la caché del catálogo de productos</li>
+     *   <li>GET /api/v1/admin/cache/analytics - Contadores de la caché de intervalos cerrados de analítica</li>
+     *   <li>GET /api/v1/admin/cache/auth - Contadores de la caché de claims de tokens JWT</li>
+     *   <li>POST /api/v1/admin/rollups/rebuild - Reconstruir los resúmenes diarios de las gráficas</li>
+     *   <li>GET /metrics - Métricas de rutas, repositorios y pool en formato Prometheus</li>
+     * </ul>
+     *
+     * @param app Instancia de la aplicación Javalin donde se registrarán las rutas.
+     */
+    public void configureRoutes(Javalin app) {
+        // ESTADO DEL POOL DE CONEXIONES
+        app.get("/api/v1/admin/pool", adminController::obtenerEstadoPool);
+
+        // CACHÉ DEL CATÁLOGO DE PRODUCTOS
+        app.get("/api/v1/admin/cache/productos", adminController::obtenerEstadoCacheProductos);
+        app.get("/api/v1/admin/cache/analytics", adminController::obtenerEstadoCacheAnalitica);
+        app.get("/api/v1/admin/cache/auth", adminController::obtenerEstadoCacheAuth);
+
+        // RECONSTRUCCIÓN DE LOS RESÚMENES DIARIOS
+        app.post("/api/v1/admin/rollups/rebuild", adminController::reconstruirResumenes);
+
+        // MÉTRICAS PARA PROMETHEUS
+        app.get("/metrics", MetricasHttp::exportar);
+    }
+}
@@ -24,7 +24,8 @@ public class AuthRouter {
      * Define los siguientes endpoints:
      * <ul>
      *   <li>POST /api/v1/auth/login - Para iniciar sesión y obtener token JWT</li>
-     *   <li>POST /api/v1/auth/logout - Para cerrar sesión y invalidar token (si aplica)</li>
+     *   <li>POST /api/v1/auth/refresh - Para obtener un nuevo token de acceso con el refresh token</li>
+     *   <li>POST /api/v1/auth/logout - Para cerrar sesión y revocar el token y el refresh token</li>
      *   <li>GET /api/v1/auth/verify - Para verificar la validez de un token JWT</li>
      * </ul>
      * Todos los endpoints siguen la convención de versionado /api/v1/ y están
@@ -38,10 +39,13 @@ public class AuthRouter {
         // Endpoint 1: /api/v1/auth/login - Iniciar sesión
         app.post("/api/v1/auth/login", authController::login);
 
-        // Endpoint 2: /api/v1/auth/logout - Cerrar sesión
+        // Endpoint 2: /api/v1/auth/refresh - Renovar token de acceso
+        app.post("/api/v1/auth/refresh", authController::refresh);
+
+        // Endpoint 3: /api/v1/auth/logout - Cerrar sesión
         app.post("/api/v1/auth/logout", authController::logout);
 
-        // Endpoint 3: /api/v1/auth/verify - Verificar token
+        // Endpoint 4: /api/v1/auth/verify - Verificar token
         app.get("/api/v1/auth/verify", authController::verifyToken);
     }
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.inventario.alma_jesus.router;
+
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.service.JWTUtil;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro {@code before} de toda la aplicación que exige un token JWT válido y
+ * comprueba el rol según la ruta.
+ * <p>
+ * La tabla ruta → acceso se calcula una sola vez por endpoint, con el evento
+ * {@code handlerAdded} de Javalin, a partir de las rutas que registran los
+ * routers. En cada petición solo se resuelve la plantilla (compartida con
+ * {@link MetricasHttp} a través de {@link RutaMatcher#plantilla(Context)}) y se
+ * busca en esa tabla. El token se valida con {@link JWTUtil#decodeToken(String)},
+ * que reutiliza un único verificador y guarda los claims en caché hasta su
+ * expiración.
+ * </p>
+ * <p>
+ * Reglas, en orden:
+ * <ul>
+ *   <li>Públicas: login, refresh, logout y verify. Logout y verify validan el
+ *       token por su cuenta para responder con su propio formato.</li>
+ *   <li>{@code GET /metrics}: solo administradores, salvo con {@code metrics.publico=true}.</li>
+ *   <li>{@code PUT /api/v1/usuarios/{id}/password}: el propio usuario (el claim
+ *       {@code uid} del token coincide con {@code {id}}) o un administrador.</li>
+ *   <li>Solo administradores: el resto de {@code /api/v1/usuarios} y {@code /api/v1/admin}.</li>
+ *   <li>Cualquier usuario autenticado: el resto.</li>
+ * </ul>
+ * Las peticiones {@code OPTIONS} (preflight de CORS) y las rutas inexistentes
+ * pasan sin token; estas últimas terminan en 404.
+ * </p>
+ * <p>
+ * Debe registrarse antes que la unidad de trabajo, para que una petición
+ * rechazada no pida conexión a la base de datos. El rechazo se hace lanzando
+ * {@link AccesoDenegadoException}, de modo que los manejadores {@code after}
+ * se ejecutan igual.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see JWTUtil
+ * @see RutaMatcher
+ *
+ * @example
+ * <pre>
+ * GET /api/v1/productos                      → 401 {"success": false, "message": "Token no proporcionado"}
+ * GET /api/v1/usuarios  (rol TRABAJADOR)     → 403 {"success": false, "message": "Permisos insuficientes"}
+ * GET /api/v1/productos (Bearer válido)      → 200
+ * PUT /api/v1/usuarios/USU002/password (TRABAJADOR con uid USU002) → 200
+ * PUT /api/v1/usuarios/USU001/password (TRABAJADOR con uid USU002) → 403
+ * </pre>
+ */
+public final class AutorizacionFiltro {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AutorizacionFiltro.class);
+
+    private static final boolean HABILITADO = AppConfig.getBoolean("auth.enabled", true);
+
+    /**
+     * Si {@code GET /metrics} se sirve sin token; por defecto solo a administradores.
+     */
+    private static final boolean METRICAS_PUBLICAS = AppConfig.getBoolean("metrics.publico", false);
+
+    /**
+     * Atributos de la petición con los datos del token ya validado.
+     */
+    public static final String ATRIBUTO_USUARIO = "auth.usuario";
+    public static final String ATRIBUTO_ROL = "auth.rol";
+
+    private static final String PREFIJO_BEARER = "Bearer ";
+
+    /**
+     * Roles con acceso a las rutas de administración, en mayúsculas.
+     */
+    private static final Set<String> ROLES_ADMIN = leerRoles(AppConfig.getString("auth.roles-admin", "ADMIN"));
+
+    /**
+     * Acceso requerido por cada endpoint, con clave {@code "METODO plantilla"}.
+     */
+    private static final Map<String, Acceso> TABLA = new ConcurrentHashMap<>();
+
+    private AutorizacionFiltro() {
+    }
+
+    /**
+     * Nivel de acceso que exige una ruta.
+     */
+    enum Acceso {
+        PUBLICO, AUTENTICADO, PROPIETARIO, ADMIN
+    }
+
+    /**
+     * Registra la construcción de la tabla de acceso, el filtro y la respuesta
+     * de rechazo.
+     *
+     * @param app Instancia de Javalin, antes de configurar las rutas
+     */
+    public static void registrar(Javalin app) {
+        app.events(eventos -> eventos.handlerAdded(meta -> {
+            if (RutaMatcher.METODOS_HTTP.contains(meta.getHttpMethod())) {
+                TABLA.put(meta.getHttpMethod() + " " + meta.getPath(), acceso(meta.getHttpMethod(), meta.getPath()));
+            }
+        }));
+        if (!HABILITADO) {
+            logger.warn("Autorización desactivada (auth.enabled=false): todas las rutas son públicas");
+            return;
+        }
+        app.before(AutorizacionFiltro::verificar);
+        app.exception(AccesoDenegadoException.class, (e, ctx) -> ctx.status(e.getStatus()).json(Map.of(
+                "success", false,
+                "message", e.getMessage()
+        )));
+    }
+
+    /**
+     * Reglas de acceso; se evalúan una vez por endpoint al registrarlo.
+     */
+    static Acceso acceso(HandlerType metodo, String plantilla) {
+        return acceso(metodo, plantilla, METRICAS_PUBLICAS);
+    }
+
+    static Acceso acceso(HandlerType metodo, String plantilla, boolean metricasPublicas) {
+        if (metodo == HandlerType.POST
+                && (plantilla.equals("/api/v1/auth/login") || plantilla.equals("/api/v1/auth/refresh"))) {
+            return Acceso.PUBLICO;
+        }
+        if (plantilla.equals("/api/v1/auth/logout") || plantilla.equals("/api/v1/auth/verify")) {
+            return Acceso.PUBLICO;
+        }
+        if (metodo == HandlerType.GET && plantilla.equals("/metrics")) {
+            return metricasPublicas ? Acceso.PUBLICO : Acceso.ADMIN;
+        }
+        if (metodo == HandlerType.PUT && plantilla.equals("/api/v1/usuarios/{id}/password")) {
+            return Acceso.PROPIETARIO;
+        }
+        if (enPrefijo(plantilla, "/api/v1/usuarios") || enPrefijo(plantilla, "/api/v1/admin")) {
+            return Acceso.ADMIN;
+        }
+        return Acceso.AUTENTICADO;
+    }
+
+    private static void verificar(Context ctx) {
+        if (ctx.method() == HandlerType.OPTIONS) {
+            return;
+        }
+        String plantilla = RutaMatcher.plantilla(ctx);
+        if (plantilla == null) {
+            return;
+        }
+        Acceso acceso = TABLA.getOrDefault(ctx.method() + " " + plantilla, Acceso.AUTENTICADO);
+        if (acceso == Acceso.PUBLICO) {
+            return;
+        }
+
+        String authHeader = ctx.header("Authorization");
+        if (authHeader == null || !authHeader.startsWith(PREFIJO_BEARER)) {
+            throw new AccesoDenegadoException(401, "Token no proporcionado");
+        }
+        Map<String, String> claims = JWTUtil.decodeToken(authHeader.substring(PREFIJO_BEARER.length()));
+        if (claims == null) {
+            throw new AccesoDenegadoException(401, "Token inválido o expirado");
+        }
+        String rol = claims.get("rol");
+        if (!permitido(acceso, rol, claims.get("uid"), RutaMatcher.parametro(plantilla, ctx.path(), "id"))) {
+            logger.debug("Acceso denegado a {} {} para {} (rol {})", ctx.method(), plantilla, claims.get("username"), rol);
+            throw new AccesoDenegadoException(403, "Permisos insuficientes");
+        }
+        ctx.attribute(ATRIBUTO_USUARIO, claims.get("username"));
+        ctx.attribute(ATRIBUTO_ROL, rol);
+    }
+
+    /**
+     * Decide si un token con el rol y el uid dados puede usar una ruta ya
+     * autenticada.
+     *
+     * @param acceso Acceso que exige la ruta
+     * @param rol Rol del token
+     * @param uid ID del usuario del token
+     * @param idRuta Valor de {@code {id}} en la ruta, o null si no lo tiene
+     * @return true si se permite la petición
+     */
+    static boolean permitido(Acceso acceso, String rol, String uid, String idRuta) {
+        boolean admin = rol != null && ROLES_ADMIN.contains(rol.toUpperCase(Locale.ROOT));
+        switch (acceso) {
+            case ADMIN:
+                return admin;
+            case PROPIETARIO:
+                return admin || (uid != null && uid.equals(idRuta));
+            default:
+                return true;
+        }
+    }
+
+    private static boolean enPrefijo(String plantilla, String prefijo) {
+        return plantilla.equals(prefijo) || plantilla.startsWith(prefijo + "/");
+    }
+
+    private static Set<String> leerRoles(String lista) {
+        Set<String> roles = new HashSet<>();
+        for (String rol : lista.split(",")) {
+            if (!rol.isBlank()) {
+                roles.add(rol.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return Set.copyOf(roles);
+    }
+}
@@ -0,0 +1,141 @@
+package com.inventario.alma_jesus.router;
+
+import com.inventario.alma_jesus.service.ResourceVersions;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+
+/**
+ * Peticiones GET condicionales ({@code ETag} / {@code If-None-Match}) para los
+ * recursos de catálogo y referencia.
+ * <p>
+ * Los routers que lo activan registran un manejador {@code before} y uno
+ * {@code after} sobre su ruta base:
+ * </p>
+ * <ul>
+ *   <li>Antes de un GET se calcula el ETag a partir de la versión del recurso.
+ *       Si coincide con el {@code If-None-Match} del cliente se responde
+ *       {@code 304 Not Modified} sin ejecutar el endpoint, es decir, sin
+ *       consultar la base de datos ni serializar nada. El 304 se produce
+ *       lanzando {@link NoModificadoException} y no saltando los manejadores
+ *       restantes, para que los {@code after} globales (métricas, unidad de
+ *       trabajo) se ejecuten igual.</li>
+ *   <li>El {@code ETag} calculado antes de leer los datos se agrega a la
+ *       respuesta ya en el before, de modo que una escritura concurrente nunca
+ *       deja una respuesta nueva etiquetada con una versión posterior. Se
+ *       agrega antes del endpoint porque los endpoints en streaming
+ *       ({@code /export}, {@code ?stream=true}) envían los encabezados al
+ *       escribir el cuerpo, antes de que corra el after.</li>
+ *   <li>Después de un GET que no termina en 2xx se quitan esos encabezados,
+ *       si la respuesta todavía no se envió.</li>
+ *   <li>Después de un POST, PUT, PATCH o DELETE exitoso sobre la ruta se
+ *       incrementa la versión del recurso.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see ResourceVersions
+ *
+ * @example
+ * <pre>
+ * ConditionalGet.enable(app, "/api/v1/productos", ResourceVersions.PRODUCTOS);
+ *
+ * // GET /api/v1/productos               -> 200, ETag: W/"lqz3k2a1-4"
+ * // GET /api/v1/productos
+ * //     If-None-Match: W/"lqz3k2a1-4"   -> 304 sin cuerpo
+ * </pre>
+ */
+public final class ConditionalGet {
+
+    /**
+     * Atributo de la petición donde se guarda el ETag calculado en el before.
+     */
+    private static final String ATRIBUTO_ETAG = "conditionalGet.etag";
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Activa las peticiones condicionales para una ruta base y todas sus subrutas.
+     *
+     * @param app Instancia de Javalin
+     * @param basePath Ruta base del recurso, por ejemplo {@code /api/v1/productos}
+     * @param recursos Recursos de los que dependen las respuestas; el primero es
+     *                 el que se marca como modificado en las escrituras de esta ruta
+     */
+    public static void enable(Javalin app, String basePath, String... recursos) {
+        if (recursos.length == 0) {
+            throw new IllegalArgumentException("Se requiere al menos un recurso para " + basePath);
+        }
+        // Registrarlo en cada llamada solo reemplaza el mismo manejador
+        app.exception(NoModificadoException.class, ConditionalGet::noModificado);
+        for (String path : new String[]{basePath, basePath + "/*"}) {
+            app.before(path, ctx -> antes(ctx, recursos));
+            app.after(path, ctx -> despues(ctx, recursos));
+        }
+    }
+
+    private static void antes(Context ctx, String[] recursos) {
+        if (ctx.method() != HandlerType.GET) {
+            return;
+        }
+        String etag = ResourceVersions.etag(recursos);
+        ctx.attribute(ATRIBUTO_ETAG, etag);
+
+        if (coincide(ctx.header("If-None-Match"), etag)) {
+            // El endpoint no se ejecuta; los after sí
+            throw new NoModificadoException(etag);
+        }
+        ctx.header("ETag", etag);
+        // Obliga al cliente a revalidar con If-None-Match en cada uso
+        ctx.header("Cache-Control", "no-cache");
+    }
+
+    private static void noModificado(NoModificadoException e, Context ctx) {
+        ctx.header("ETag", e.getEtag());
+        ctx.header("Cache-Control", "no-cache");
+        ctx.status(304).result("");
+    }
+
+    private static void despues(Context ctx, String[] recursos) {
+        int status = ctx.statusCode();
+        if (ctx.method() == HandlerType.GET) {
+            String etag = ctx.attribute(ATRIBUTO_ETAG);
+            boolean exito = status >= 200 && status < 300;
+            if (etag != null && !exito && status != 304 && !ctx.res().isCommitted()) {
+                // Un error no debe quedar etiquetado con la versión del recurso
+                ctx.res().setHeader("ETag", null);
+                ctx.res().setHeader("Cache-Control", null);
+            }
+        } else if (esEscritura(ctx.method()) && status >= 200 && status < 300) {
+            ResourceVersions.incrementar(recursos[0]);
+        }
+    }
+
+    private static boolean esEscritura(HandlerType metodo) {
+        return metodo == HandlerType.POST || metodo == HandlerType.PUT
+                || metodo == HandlerType.PATCH || metodo == HandlerType.DELETE;
+    }
+
+    /**
+     * Compara el encabezado If-None-Match con el ETag actual usando la
+     * comparación débil de RFC 9110 (se ignora el prefijo {@code W/}).
+     */
+    private static boolean coincide(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String actual = sinPrefijoDebil(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if ("*".equals(valor) || sinPrefijoDebil(valor).equals(actual)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sinPrefijoDebil(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
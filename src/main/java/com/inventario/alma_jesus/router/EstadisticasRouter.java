@@ -33,12 +33,17 @@ public class EstadisticasRouter {
         EstadisticasService service = new EstadisticasService(repository);
         EstadisticasController controller = new EstadisticasController(service);
 
+        // Las estadísticas del dashboard se recalculan en segundo plano
+        service.iniciarRefrescoDashboard();
+
         // Rutas para estadísticas del dashboard
         app.get("/api/v1/dashboard/stats", controller.obtenerEstadisticasDashboard);
+        app.get("/api/v1/dashboard/completo", controller.obtenerDashboardCompleto);
 
-        // Rutas para análisis y gráficos
-        app.get("/api/v1/analytics/venta", controller.obtenerDatosGraficaVentas);
-        app.get("/api/v1/analytics/reparaciones", controller.obtenerDatosGraficaReparaciones);
-        app.get("/api/v1/analytics/materiales", controller.obtenerDatosGraficaMateriales);
+        // Rutas para análisis y gráficos. Una sola ruta con parámetro atiende tanto
+        // las series por rango (?desde=&hasta=&granularidad=) como las gráficas
+        // por periodo de venta, reparaciones y materiales (?periodo=), para que
+        // ninguna ruta fija quede ensombrecida por la ruta con parámetro.
+        app.get("/api/v1/analytics/{serie}", controller.obtenerSerieAnalitica);
     }
 }
\ No newline at end of file
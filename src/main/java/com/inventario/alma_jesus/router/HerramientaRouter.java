@@ -1,6 +1,7 @@
 package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.HerramientaController;
+import com.inventario.alma_jesus.service.ResourceVersions;
 import io.javalin.Javalin;
 
 /**
@@ -31,6 +32,8 @@ public class HerramientaRouter {
      *   <li>DELETE /api/v1/herramientas/{idONombre} - Eliminar herramienta (lógicamente)</li>
      * </ul>
      * El parámetro {idONombre} puede ser un ID numérico o el nombre de la herramienta.
+     * Los GET responden con {@code ETag} y admiten {@code If-None-Match}
+     * (ver {@link ConditionalGet}).
      * </p>
      *
      * @param app Instancia de {@link Javalin} donde se configurarán las rutas
@@ -39,6 +42,9 @@ public class HerramientaRouter {
     public static void configureRoutes(Javalin app) {
         HerramientaController controller = new HerramientaController();
 
+        // GET condicionales: 304 si las herramientas no cambiaron desde el ETag del cliente
+        ConditionalGet.enable(app, "/api/v1/herramientas", ResourceVersions.HERRAMIENTAS);
+
         // Endpoint 18: Listar herramientas
         app.get("/api/v1/herramientas", controller::listarHerramientas);
 
@@ -1,6 +1,7 @@
 package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.MateriaPrimaController;
+import com.inventario.alma_jesus.service.ResourceVersions;
 import io.javalin.Javalin;
 
 /**
@@ -25,9 +26,14 @@ public class MateriaPrimaRouter {
      *   <li>POST /api/v1/materiales - Crear un nuevo material (Endpoint 27)</li>
      *   <li>PUT /api/v1/materiales/{id} - Editar un material completo (Endpoint 28)</li>
      *   <li>PUT /api/v1/materiales/{id}/stock - Actualizar stock de material (Endpoint 29)</li>
+     *   <li>PUT /api/v1/materiales/{id}/stock/delta - Ajustar stock con un delta (Endpoint 29b)</li>
      *   <li>GET /api/v1/materiales/{id}/movimientos - Ver historial de movimientos (Endpoint 30)</li>
      *   <li>DELETE /api/v1/materiales/{id} - Eliminar un material (Endpoint 31)</li>
      * </ol>
+     * <p>
+     * Los GET responden con {@code ETag} y admiten {@code If-None-Match}
+     * (ver {@link ConditionalGet}).
+     * </p>
      *
      * @param app Instancia de la aplicación Javalin donde se registrarán las rutas.
      * @throws IllegalArgumentException Si la app proporcionada es null.
@@ -46,6 +52,9 @@ public class MateriaPrimaRouter {
 
         MateriaPrimaController controller = new MateriaPrimaController();
 
+        // GET condicionales: 304 si los materiales no cambiaron desde el ETag del cliente
+        ConditionalGet.enable(app, "/api/v1/materiales", ResourceVersions.MATERIALES);
+
         // Endpoint 25: Listar todos los materiales (operación READ - colección)
         app.get("/api/v1/materiales", controller::listarMateriales);
 
@@ -61,6 +70,9 @@ public class MateriaPrimaRouter {
         // Endpoint 29: Actualizar stock de material (operación UPDATE - parcial para stock)
         app.put("/api/v1/materiales/{id}/stock", controller::actualizarStock);
 
+        // Endpoint 29b: Ajustar stock con un delta y registrar el movimiento en una transacción
+        app.put("/api/v1/materiales/{id}/stock/delta", controller::ajustarStock);
+
         // Endpoint 30: Ver historial de movimientos del material (operación READ - historial)
         app.get("/api/v1/materiales/{id}/movimientos", controller::obtenerHistorial);
 
@@ -80,6 +92,7 @@ public class MateriaPrimaRouter {
                 "POST   /api/v1/materiales - Crear un nuevo material (Endpoint 27)",
                 "PUT    /api/v1/materiales/{id} - Editar material completo (Endpoint 28)",
                 "PUT    /api/v1/materiales/{id}/stock - Actualizar stock (Endpoint 29)",
+                "PUT    /api/v1/materiales/{id}/stock/delta - Ajustar stock con delta (Endpoint 29b)",
                 "GET    /api/v1/materiales/{id}/movimientos - Ver historial de movimientos (Endpoint 30)",
                 "DELETE /api/v1/materiales/{id} - Eliminar material (Endpoint 31)"
         };
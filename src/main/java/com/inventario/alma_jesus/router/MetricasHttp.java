@@ -0,0 +1,182 @@
+package com.inventario.alma_jesus.router;
+
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.repository.DatabaseConnection;
+import com.inventario.alma_jesus.repository.MetricaLatencia;
+import com.inventario.alma_jesus.repository.MetricasRepositorio;
+import com.inventario.alma_jesus.repository.PrometheusTexto;
+import com.inventario.alma_jesus.service.LoginThrottle;
+import com.inventario.alma_jesus.service.PasswordHashingPool;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencia, códigos de estado y peticiones en curso por ruta, y el endpoint
+ * {@code GET /metrics} en formato de texto de Prometheus.
+ * <p>
+ * Las métricas se agrupan por plantilla de ruta ({@code /api/v1/pedidos/{id}})
+ * y no por ruta concreta, para que la cantidad de series no crezca con los
+ * IDs. Las plantillas se resuelven con {@link RutaMatcher#plantilla(Context)}.
+ * Las peticiones que no corresponden a
+ * ninguna ruta se agrupan en {@code route="sin_ruta"}.
+ * </p>
+ * <p>
+ * La duración va del primer {@code before} al {@code after}; no incluye la
+ * escritura de respuestas en streaming que Javalin hace después.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see RutaMatcher
+ * @see MetricaLatencia
+ * @see MetricasRepositorio
+ *
+ * @example
+ * <pre>
+ * GET /metrics
+ *
+ * # TYPE http_server_requests_seconds summary
+ * http_server_requests_seconds{method="GET",route="/api/v1/pedidos/{id}",quantile="0.99"} 0.0183
+ * # TYPE http_server_requests_total counter
+ * http_server_requests_total{method="GET",route="/api/v1/pedidos/{id}",status="200"} 1532
+ * # TYPE http_server_requests_in_flight gauge
+ * http_server_requests_in_flight{method="GET",route="/api/v1/pedidos/{id}"} 2
+ * </pre>
+ */
+public final class MetricasHttp {
+
+    private static final boolean HABILITADO = AppConfig.getBoolean("metrics.http.enabled", true);
+
+    /**
+     * Atributo de la petición donde el before deja la medición en curso.
+     */
+    private static final String ATRIBUTO_MEDICION = "metricasHttp.medicion";
+
+    private static final String SIN_RUTA = "sin_ruta";
+
+    private static final Map<String, MetricaRuta> METRICAS = new ConcurrentHashMap<>();
+
+    private MetricasHttp() {
+    }
+
+    /**
+     * Registra los manejadores before/after de medición.
+     *
+     * @param app Instancia de Javalin
+     */
+    public static void registrar(Javalin app) {
+        if (!HABILITADO) {
+            return;
+        }
+        app.before(MetricasHttp::inicio);
+        app.after(MetricasHttp::fin);
+    }
+
+    private static void inicio(Context ctx) {
+        HandlerType metodo = ctx.method();
+        String plantilla = RutaMatcher.plantilla(ctx);
+        String clave = metodo + " " + (plantilla != null ? plantilla : SIN_RUTA);
+        MetricaRuta metrica = METRICAS.computeIfAbsent(clave, MetricaRuta::new);
+        ctx.attribute(ATRIBUTO_MEDICION, new Medicion(metrica, metrica.latencia.iniciar()));
+    }
+
+    private static void fin(Context ctx) {
+        Medicion medicion = ctx.attribute(ATRIBUTO_MEDICION);
+        if (medicion == null) {
+            return;
+        }
+        medicion.metrica.latencia.terminar(medicion.inicio);
+        medicion.metrica.estados.computeIfAbsent(ctx.statusCode(), s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Endpoint: Exporta todas las métricas en formato de texto de Prometheus.
+     * <p>
+     * Incluye las métricas HTTP por ruta, las de cada método de repositorio,
+     * el estado del pool de conexiones, el del pool de BCrypt y los rechazos
+     * del límite de intentos de login.
+     * </p>
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     *
+     * @example
+     * Petición GET: /metrics
+     */
+    public static void exportar(Context ctx) {
+        PrometheusTexto salida = new PrometheusTexto();
+        escribirHttp(salida);
+        MetricasRepositorio.exportar(salida);
+        escribirPool(salida);
+        PasswordHashingPool.exportar(salida);
+        LoginThrottle.exportar(salida);
+        ctx.contentType(PrometheusTexto.CONTENT_TYPE).result(salida.toString());
+    }
+
+    private static void escribirHttp(PrometheusTexto salida) {
+        Map<String, MetricaRuta> ordenadas = new TreeMap<>(METRICAS);
+
+        salida.metrica("http_server_requests_seconds", "summary", "Duración de las peticiones HTTP por ruta");
+        for (MetricaRuta metrica : ordenadas.values()) {
+            metrica.latencia.escribirResumen(salida, "http_server_requests_seconds", metrica.etiquetas);
+        }
+
+        salida.metrica("http_server_requests_total", "counter", "Peticiones HTTP atendidas por ruta y código de estado");
+        for (MetricaRuta metrica : ordenadas.values()) {
+            for (Map.Entry<Integer, LongAdder> estado : new TreeMap<>(metrica.estados).entrySet()) {
+                salida.muestra("http_server_requests_total", estado.getValue().sum(),
+                        PrometheusTexto.agregar(metrica.etiquetas, "status", String.valueOf(estado.getKey())));
+            }
+        }
+
+        salida.metrica("http_server_requests_in_flight", "gauge", "Peticiones HTTP en curso por ruta");
+        for (MetricaRuta metrica : ordenadas.values()) {
+            salida.muestra("http_server_requests_in_flight", metrica.latencia.getEnCurso(), metrica.etiquetas);
+        }
+    }
+
+    private static void escribirPool(PrometheusTexto salida) {
+        Map<String, Object> pool = DatabaseConnection.getPoolStatus();
+        salida.metrica("db_pool_connections", "gauge", "Conexiones del pool HikariCP por estado");
+        escribirEstadoPool(salida, pool, "activas", "active");
+        escribirEstadoPool(salida, pool, "inactivas", "idle");
+        escribirEstadoPool(salida, pool, "pendientes", "pending");
+        escribirEstadoPool(salida, pool, "maximo", "max");
+    }
+
+    private static void escribirEstadoPool(PrometheusTexto salida, Map<String, Object> pool, String clave, String estado) {
+        Object valor = pool.get(clave);
+        if (valor instanceof Number) {
+            salida.muestra("db_pool_connections", ((Number) valor).doubleValue(), "state", estado);
+        }
+    }
+
+    /**
+     * Contadores de una combinación método + plantilla de ruta.
+     */
+    private static final class MetricaRuta {
+        private final MetricaLatencia latencia = new MetricaLatencia();
+        private final Map<Integer, LongAdder> estados = new ConcurrentHashMap<>();
+        private final String[] etiquetas;
+
+        MetricaRuta(String clave) {
+            int espacio = clave.indexOf(' ');
+            this.etiquetas = new String[]{"method", clave.substring(0, espacio), "route", clave.substring(espacio + 1)};
+        }
+    }
+
+    private static final class Medicion {
+        private final MetricaRuta metrica;
+        private final long inicio;
+
+        Medicion(MetricaRuta metrica, long inicio) {
+            this.metrica = metrica;
+            this.inicio = inicio;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventario.alma_jesus.router;
+
+/**
+ * Excepción lanzada por {@link ConditionalGet} cuando el {@code If-None-Match}
+ * del cliente coincide con el ETag actual del recurso.
+ * <p>
+ * Su manejador responde {@code 304 Not Modified} con el ETag. Se usa una
+ * excepción en lugar de saltar los manejadores restantes porque eso también
+ * saltaría los {@code after} globales.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see ConditionalGet
+ */
+public class NoModificadoException extends RuntimeException {
+
+    private final String etag;
+
+    /**
+     * @param etag ETag actual del recurso
+     */
+    public NoModificadoException(String etag) {
+        super("No modificado", null, false, false);
+        this.etag = etag;
+    }
+
+    /**
+     * @return ETag actual del recurso
+     */
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -1,7 +1,10 @@
 package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.ProductoController;
+import com.inventario.alma_jesus.service.ResourceVersions;
 import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Router para la configuración de rutas de gestión de productos.
@@ -16,6 +19,12 @@ import io.javalin.Javalin;
  * @see ProductoController
  */
 public class ProductoRouter {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProductoRouter.class);
+
     private ProductoController productoController = new ProductoController();
 
     /**
@@ -25,6 +34,7 @@ public class ProductoRouter {
      * <ul>
      *   <li>GET /api/v1/productos - Listar todos los productos</li>
      *   <li>GET /api/v1/productos/filtrar - Filtrar productos por tipo (query param: tipo)</li>
+     *   <li>GET /api/v1/productos/export - Exportar todos los productos en streaming</li>
      *   <li>GET /api/v1/productos/{id} - Obtener producto específico por ID</li>
      *   <li>POST /api/v1/productos - Crear nuevo producto</li>
      *   <li>PUT /api/v1/productos/{id} - Actualizar producto existente</li>
@@ -33,12 +43,16 @@ public class ProductoRouter {
      *   <li>POST /api/v1/productos/upload - Subir imagen a Cloudinary y asociarla a producto</li>
      * </ul>
      * También imprime en consola un resumen de todas las rutas configuradas.
+     * Los GET responden con {@code ETag} y admiten {@code If-None-Match}
+     * (ver {@link ConditionalGet}).
      * </p>
      *
      * @param app Instancia de {@link Javalin} donde se configurarán las rutas
      * @throws IllegalArgumentException Si la aplicación Javalin es nula
      */
     public void configureRoutes(Javalin app) {
+        // GET condicionales: 304 si el catálogo no cambió desde el ETag del cliente
+        ConditionalGet.enable(app, "/api/v1/productos", ResourceVersions.PRODUCTOS);
 
         // ENDPOINT 9: LISTAR PRODUCTOS
         // GET http://localhost:7000/api/v1/productos
@@ -48,6 +62,10 @@ public class ProductoRouter {
         // GET http://localhost:7000/api/v1/productos/filtrar?tipo=religiosas
         app.get("/api/v1/productos/filtrar", productoController::listarProductosPorTipo);
 
+        // EXPORTAR PRODUCTOS EN STREAMING
+        // GET http://localhost:7000/api/v1/productos/export
+        app.get("/api/v1/productos/export", productoController::exportarProductos);
+
         // ENDPOINT 10: OBTENER PRODUCTO ESPECÍFICO
         // GET http://localhost:7000/api/v1/productos/{id}
         // Ejemplo: GET http://localhost:7000/api/v1/productos/1
@@ -76,14 +94,15 @@ public class ProductoRouter {
         app.post("/api/v1/productos/upload", productoController::subirImagen);
 
         // Log de configuración para depuración
-        System.out.println("ProductoRouter: Rutas de productos configuradas");
-        System.out.println("    GET    /api/v1/productos              - Listar productos");
-        System.out.println("    GET    /api/v1/productos/filtrar      - Filtrar productos por tipo");
-        System.out.println("    GET    /api/v1/productos/{id}         - Obtener producto por ID");
-        System.out.println("    POST   /api/v1/productos              - Crear producto");
-        System.out.println("   ️ PUT    /api/v1/productos/{id}         - Actualizar producto");
-        System.out.println("   DELETE /api/v1/productos/{id}         - Eliminar producto");
-        System.out.println("    POST   /api/v1/productos/publish      - Publicar precios");
-        System.out.println("    POST   /api/v1/productos/upload       - Subir imagen a Cloudinary");
+        logger.info("ProductoRouter: Rutas de productos configuradas");
+        logger.info("GET    /api/v1/productos              - Listar productos");
+        logger.info("GET    /api/v1/productos/filtrar      - Filtrar productos por tipo");
+        logger.info("GET    /api/v1/productos/export       - Exportar productos (streaming)");
+        logger.info("GET    /api/v1/productos/{id}         - Obtener producto por ID");
+        logger.info("POST   /api/v1/productos              - Crear producto");
+        logger.info("PUT    /api/v1/productos/{id}         - Actualizar producto");
+        logger.info("DELETE /api/v1/productos/{id}         - Eliminar producto");
+        logger.info("POST   /api/v1/productos/publish      - Publicar precios");
+        logger.info("POST   /api/v1/productos/upload       - Subir imagen a Cloudinary");
     }
 }
\ No newline at end of file
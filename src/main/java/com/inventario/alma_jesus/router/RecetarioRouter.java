@@ -3,6 +3,7 @@ package com.inventario.alma_jesus.router;
 import com.inventario.alma_jesus.controller.RecetarioController;
 import com.inventario.alma_jesus.service.RecetarioService;
 import com.inventario.alma_jesus.repository.RecetarioRepository;
+import com.inventario.alma_jesus.service.ResourceVersions;
 import io.javalin.Javalin;
 
 /**
@@ -38,6 +39,8 @@ public class RecetarioRouter {
      * </ul>
      * Cada receta incluye información sobre materiales requeridos, tiempo de fabricación,
      * instrucciones técnicas y herramientas necesarias.
+     * Los GET responden con {@code ETag} y admiten {@code If-None-Match}
+     * (ver {@link ConditionalGet}).
      * </p>
      *
      * @param app Instancia de {@link Javalin} donde se configurarán las rutas
@@ -49,8 +52,12 @@ public class RecetarioRouter {
         RecetarioService service = new RecetarioService(repository);
         RecetarioController controller = new RecetarioController(service);
 
+        // GET condicionales: con ?incluir=materiales las recetas muestran el nombre
+        // de sus materiales, así que el ETag cambia también cuando cambian los materiales
+        ConditionalGet.enable(app, "/api/v1/recetas", ResourceVersions.RECETAS, ResourceVersions.MATERIALES);
+
         // Endpoint: Listar todas las recetas (para administradores)
-        // GET /api/v1/recetas
+        // GET /api/v1/recetas[?incluir=materiales]
         app.get("/api/v1/recetas", controller.listarRecetas);
 
         // Endpoint: Listar recetas para trabajadores
@@ -59,8 +66,8 @@ public class RecetarioRouter {
         app.get("/api/v1/recetas/trabajador", controller.listarRecetasTrabajador);
 
         // Endpoint: Obtener receta específica por ID
-        // GET /api/v1/recetas/{id}
-        // Incluye materiales, instrucciones y herramientas asociadas
+        // GET /api/v1/recetas/{id}[?incluir=materiales]
+        // Incluye instrucciones y herramientas; los materiales solo con ?incluir=materiales
         app.get("/api/v1/recetas/{id}", controller.obtenerReceta);
 
         // Endpoint: Crear nueva receta
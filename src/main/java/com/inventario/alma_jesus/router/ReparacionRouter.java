@@ -2,6 +2,8 @@ package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.ReparacionController;
 import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Router para configurar las rutas relacionadas con la gestión de reparaciones en el sistema.
@@ -13,6 +15,12 @@ import io.javalin.Javalin;
  * @since 2024
  */
 public class ReparacionRouter {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ReparacionRouter.class);
+
     private final ReparacionController reparacionController;
 
     /**
@@ -21,7 +29,7 @@ public class ReparacionRouter {
      */
     public ReparacionRouter() {
         this.reparacionController = new ReparacionController();
-        System.out.println("🔧 [REPARACION-ROUTER] Router de reparaciones inicializado");
+        logger.info("Router de reparaciones inicializado");
     }
 
     /**
@@ -56,7 +64,7 @@ public class ReparacionRouter {
             throw new IllegalArgumentException("La instancia de Javalin no puede ser null");
         }
 
-        System.out.println("🛣️ [REPARACION-ROUTER] Configurando 8 endpoints de reparaciones");
+        logger.info("Configurando 8 endpoints de reparaciones");
 
         // 1. Listar todas las reparaciones (operación READ - colección)
         app.get("/api/v1/reparaciones", reparacionController::listarReparaciones);
@@ -82,7 +90,7 @@ public class ReparacionRouter {
         // 8. Eliminar una reparación (operación DELETE)
         app.delete("/api/v1/reparaciones/{id}", reparacionController::eliminarReparacion);
 
-        System.out.println("✅ [REPARACION-ROUTER] 8 endpoints configurados exitosamente");
+        logger.info("8 endpoints configurados exitosamente");
     }
 
     /**
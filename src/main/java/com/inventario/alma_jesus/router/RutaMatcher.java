@@ -0,0 +1,226 @@
+package com.inventario.alma_jesus.router;
+
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.HandlerType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resuelve la plantilla de ruta ({@code /api/v1/pedidos/{id}}) que atiende
+ * una petición a partir de su método y su ruta concreta ({@code /api/v1/pedidos/42}).
+ * <p>
+ * Javalin solo expone la plantilla del endpoint después de ejecutar los
+ * manejadores {@code before}; esta tabla permite conocerla desde ellos. La
+ * tabla de la aplicación se llena con el evento {@code handlerAdded} (ver
+ * {@link #registrarEn(Javalin)}) y {@link #plantilla(Context)} la resuelve una
+ * sola vez por petición para todos los filtros. Las rutas sin parámetros se buscan en un mapa; las
+ * que tienen parámetros se compilan una vez a expresiones regulares y se
+ * prueban en orden de registro, igual que hace Javalin.
+ * </p>
+ * <p>
+ * Sintaxis admitida: {@code {param}} (un segmento), {@code <param>} (uno o
+ * más segmentos) y {@code *}. La barra final se ignora, como en la
+ * configuración por defecto de Javalin.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see MetricasHttp
+ * @see AutorizacionFiltro
+ *
+ * @example
+ * <pre>
+ * RutaMatcher rutas = new RutaMatcher();
+ * rutas.registrar(HandlerType.GET, "/api/v1/pedidos/{id}");
+ * rutas.resolver(HandlerType.GET, "/api/v1/pedidos/42");   // "/api/v1/pedidos/{id}"
+ * rutas.resolver(HandlerType.GET, "/api/v1/inexistente");  // null
+ * </pre>
+ */
+public class RutaMatcher {
+
+    private static final Pattern PARAMETRO = Pattern.compile("\\{[^}/]+}|<[^>/]+>|\\*");
+
+    /**
+     * Métodos HTTP de los endpoints; los before/after también generan {@code handlerAdded}.
+     */
+    static final Set<HandlerType> METODOS_HTTP = EnumSet.of(
+            HandlerType.GET, HandlerType.POST, HandlerType.PUT, HandlerType.PATCH,
+            HandlerType.DELETE, HandlerType.HEAD, HandlerType.OPTIONS);
+
+    /**
+     * Atributo de la petición donde se guarda la plantilla ya resuelta.
+     */
+    private static final String ATRIBUTO_PLANTILLA = "ruta.plantilla";
+
+    /**
+     * Valor del atributo cuando ninguna plantilla coincide.
+     */
+    private static final String SIN_PLANTILLA = "";
+
+    private static final RutaMatcher APLICACION = new RutaMatcher();
+
+    private final Map<HandlerType, Map<String, String>> exactas = new EnumMap<>(HandlerType.class);
+    private final Map<HandlerType, List<RutaParametrizada>> parametrizadas = new EnumMap<>(HandlerType.class);
+
+    public RutaMatcher() {
+        for (HandlerType tipo : HandlerType.values()) {
+            exactas.put(tipo, new ConcurrentHashMap<>());
+            parametrizadas.put(tipo, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Llena la tabla de la aplicación con cada endpoint que se registre en
+     * Javalin. Debe llamarse antes de configurar los routers.
+     *
+     * @param app Instancia de Javalin
+     */
+    public static void registrarEn(Javalin app) {
+        app.events(eventos -> eventos.handlerAdded(meta -> {
+            if (METODOS_HTTP.contains(meta.getHttpMethod())) {
+                APLICACION.registrar(meta.getHttpMethod(), meta.getPath());
+            }
+        }));
+    }
+
+    /**
+     * @return Tabla de rutas de la aplicación
+     */
+    public static RutaMatcher aplicacion() {
+        return APLICACION;
+    }
+
+    /**
+     * Plantilla de la ruta que atiende la petición, resuelta en la tabla de la
+     * aplicación la primera vez y guardada en la petición para los siguientes filtros.
+     *
+     * @param ctx Contexto de Javalin con la petición HTTP
+     * @return La plantilla, o null si ninguna ruta coincide
+     */
+    public static String plantilla(Context ctx) {
+        String guardada = ctx.attribute(ATRIBUTO_PLANTILLA);
+        if (guardada == null) {
+            String resuelta = APLICACION.resolver(ctx.method(), ctx.path());
+            guardada = resuelta != null ? resuelta : SIN_PLANTILLA;
+            ctx.attribute(ATRIBUTO_PLANTILLA, guardada);
+        }
+        return guardada.isEmpty() ? null : guardada;
+    }
+
+    /**
+     * Registra una plantilla de ruta.
+     *
+     * @param metodo Método HTTP del endpoint
+     * @param plantilla Ruta tal como se registró en Javalin
+     */
+    public void registrar(HandlerType metodo, String plantilla) {
+        String normalizada = normalizar(plantilla);
+        if (!PARAMETRO.matcher(normalizada).find()) {
+            exactas.get(metodo).putIfAbsent(normalizada, plantilla);
+            return;
+        }
+        parametrizadas.get(metodo).add(new RutaParametrizada(plantilla, compilar(normalizada)));
+    }
+
+    /**
+     * Busca la plantilla que corresponde a una petición.
+     *
+     * @param metodo Método HTTP de la petición
+     * @param ruta Ruta concreta de la petición, sin query string
+     * @return La plantilla registrada, o null si ninguna coincide
+     */
+    public String resolver(HandlerType metodo, String ruta) {
+        String normalizada = normalizar(ruta);
+        String exacta = exactas.get(metodo).get(normalizada);
+        if (exacta != null) {
+            return exacta;
+        }
+        for (RutaParametrizada candidata : parametrizadas.get(metodo)) {
+            if (candidata.patron.matcher(normalizada).matches()) {
+                return candidata.plantilla;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Todas las plantillas registradas, con el formato {@code "GET /ruta"}
+     */
+    public List<String> plantillas() {
+        List<String> todas = new ArrayList<>();
+        for (HandlerType tipo : HandlerType.values()) {
+            for (String plantilla : exactas.get(tipo).values()) {
+                todas.add(tipo + " " + plantilla);
+            }
+            for (RutaParametrizada ruta : parametrizadas.get(tipo)) {
+                todas.add(tipo + " " + ruta.plantilla);
+            }
+        }
+        return todas;
+    }
+
+    /**
+     * Extrae de una ruta concreta el valor de un parámetro de un segmento
+     * ({@code {param}}) de su plantilla, sin esperar a que Javalin lo resuelva.
+     *
+     * @param plantilla Plantilla que atiende la ruta
+     * @param ruta Ruta concreta de la petición
+     * @param nombre Nombre del parámetro, sin llaves
+     * @return El valor del parámetro, o null si la plantilla no lo tiene o la ruta no coincide
+     */
+    public static String parametro(String plantilla, String ruta, String nombre) {
+        String[] segmentosPlantilla = normalizar(plantilla).split("/");
+        String[] segmentosRuta = normalizar(ruta).split("/");
+        if (segmentosPlantilla.length != segmentosRuta.length) {
+            return null;
+        }
+        String buscado = "{" + nombre + "}";
+        for (int i = 0; i < segmentosPlantilla.length; i++) {
+            if (segmentosPlantilla[i].equals(buscado)) {
+                return segmentosRuta[i];
+            }
+        }
+        return null;
+    }
+
+    private static String normalizar(String ruta) {
+        if (ruta.length() > 1 && ruta.endsWith("/")) {
+            return ruta.substring(0, ruta.length() - 1);
+        }
+        return ruta;
+    }
+
+    private static Pattern compilar(String plantilla) {
+        StringBuilder regex = new StringBuilder();
+        Matcher m = PARAMETRO.matcher(plantilla);
+        int ultimo = 0;
+        while (m.find()) {
+            regex.append(Pattern.quote(plantilla.substring(ultimo, m.start())));
+            String parametro = m.group();
+            regex.append(parametro.startsWith("{") ? "[^/]+" : ".*");
+            ultimo = m.end();
+        }
+        regex.append(Pattern.quote(plantilla.substring(ultimo)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static final class RutaParametrizada {
+        private final String plantilla;
+        private final Pattern patron;
+
+        RutaParametrizada(String plantilla, Pattern patron) {
+            this.plantilla = plantilla;
+            this.patron = patron;
+        }
+    }
+}
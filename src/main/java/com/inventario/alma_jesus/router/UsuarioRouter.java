@@ -2,6 +2,8 @@ package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.UsuarioController;
 import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Router para configurar las rutas relacionadas con la gestión de usuarios en el sistema.
@@ -13,6 +15,12 @@ import io.javalin.Javalin;
  * @since 2024
  */
 public class UsuarioRouter {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioRouter.class);
+
     private final UsuarioController usuarioController;
 
     /**
@@ -21,7 +29,7 @@ public class UsuarioRouter {
      */
     public UsuarioRouter() {
         this.usuarioController = new UsuarioController();
-        System.out.println("👤 [USUARIO-ROUTER] Router de usuarios inicializado");
+        logger.info("Router de usuarios inicializado");
     }
 
     /**
@@ -53,7 +61,7 @@ public class UsuarioRouter {
             throw new IllegalArgumentException("La instancia de Javalin no puede ser null");
         }
 
-        System.out.println("🛣️ [USUARIO-ROUTER] Configurando 5 endpoints de usuarios");
+        logger.info("Configurando 5 endpoints de usuarios");
 
         // Endpoint 4: Listar todos los usuarios (operación READ - colección)
         app.get("/api/v1/usuarios", usuarioController::listarUsuarios);
@@ -70,7 +78,7 @@ public class UsuarioRouter {
         // Endpoint 8: Eliminar usuario (operación DELETE)
         app.delete("/api/v1/usuarios/{id}", usuarioController::eliminarUsuario);
 
-        System.out.println("✅ [USUARIO-ROUTER] 5 endpoints configurados exitosamente");
+        logger.info("5 endpoints configurados exitosamente");
     }
 
     /**
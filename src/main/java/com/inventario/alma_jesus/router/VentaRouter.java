@@ -2,6 +2,8 @@ package com.inventario.alma_jesus.router;
 
 import com.inventario.alma_jesus.controller.VentaController;
 import io.javalin.Javalin;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Router para configurar las rutas relacionadas con la gestión de ventas en el sistema.
@@ -13,6 +15,12 @@ import io.javalin.Javalin;
  * @since 2024
  */
 public class VentaRouter {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(VentaRouter.class);
+
     private VentaController ventaController = new VentaController();
 
     /**
@@ -22,6 +30,7 @@ public class VentaRouter {
      * <p><b>Endpoints configurados:</b></p>
      * <ul>
      *   <li>GET /api/v1/ventas - Listar todas las ventas</li>
+     *   <li>GET /api/v1/ventas/export - Exportar todas las ventas en streaming</li>
      *   <li>GET /api/v1/ventas/{id} - Obtener venta específica por ID</li>
      *   <li>POST /api/v1/ventas - Registrar nueva venta</li>
      *   <li>DELETE /api/v1/ventas/{id} - Eliminar venta</li>
@@ -35,6 +44,9 @@ public class VentaRouter {
         // LISTAR VENTAS
         app.get("/api/v1/ventas", ventaController::listarVentas);
 
+        // EXPORTAR VENTAS EN STREAMING
+        app.get("/api/v1/ventas/export", ventaController::exportarVentas);
+
         // OBTENER VENTA ESPECÍFICA
         app.get("/api/v1/ventas/{id}", ventaController::obtenerVentaPorId);
 
@@ -47,11 +59,12 @@ public class VentaRouter {
         // NUEVA RUTA: BUSCAR PRODUCTO EN PEDIDOS
         app.get("/api/v1/ventas/buscar-producto", ventaController::buscarProductoEnPedidos);
 
-        System.out.println("Rutas de ventas configuradas");
-        System.out.println("GET    /api/v1/ventas                 - Listar ventas");
-        System.out.println("GET    /api/v1/ventas/{id}            - Obtener venta por ID");
-        System.out.println("POST   /api/v1/ventas                 - Registrar venta");
-        System.out.println("DELETE /api/v1/ventas/{id}            - Eliminar venta");
-        System.out.println("GET    /api/v1/ventas/buscar-producto - Buscar producto en pedidos"); //Nueva
+        logger.info("Rutas de ventas configuradas");
+        logger.info("GET    /api/v1/ventas                 - Listar ventas");
+        logger.info("GET    /api/v1/ventas/export          - Exportar ventas (streaming)");
+        logger.info("GET    /api/v1/ventas/{id}            - Obtener venta por ID");
+        logger.info("POST   /api/v1/ventas                 - Registrar venta");
+        logger.info("DELETE /api/v1/ventas/{id}            - Eliminar venta");
+        logger.info("GET    /api/v1/ventas/buscar-producto - Buscar producto en pedidos"); //Nueva
     }
 }
\ No newline at end of file
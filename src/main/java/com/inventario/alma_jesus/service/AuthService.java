@@ -5,13 +5,15 @@ import com.inventario.alma_jesus.repository.UsuarioRepository;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de autenticación de usuarios.
  * <p>
  * Esta clase maneja las operaciones de login, verificación de tokens JWT
  * y logout del sistema. Utiliza {@link PasswordUtil} para verificación
- * segura de contraseñas y {@link JWTUtil} para generación y validación
+ * segura de contraseñas (a través de {@link PasswordHashingPool}) y {@link JWTUtil} para generación y validación
  * de tokens de autenticación.
  * </p>
  *
@@ -22,6 +24,12 @@ import java.util.Optional;
  * @see JWTUtil
  */
 public class AuthService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
     private UsuarioRepository usuarioRepository = new UsuarioRepository();
 
     /**
@@ -34,17 +42,25 @@ public class AuthService {
      *
      * @param username Nombre de usuario (email o identificador único)
      * @param password Contraseña en texto plano (será encriptada para verificación)
+     * @param ip IP del cliente, para el límite de intentos
      * @return Mapa con los siguientes elementos:
      *         <ul>
      *           <li>success: boolean indicando si el login fue exitoso</li>
      *           <li>message: Mensaje descriptivo del resultado</li>
-     *           <li>token: Token JWT generado (solo si success=true)</li>
+     *           <li>token: Token JWT de acceso generado (solo si success=true)</li>
+     *           <li>refreshToken: Token para renovar el de acceso (solo si success=true)</li>
+     *           <li>expiresIn: Vigencia del token de acceso en segundos (solo si success=true)</li>
      *           <li>usuario: Información básica del usuario (solo si success=true)</li>
      *         </ul>
      * @throws NullPointerException Si username o password son nulos
+     * @throws ServidorOcupadoException Si el pool de BCrypt no admite más verificaciones
+     * @throws DemasiadosIntentosException Si el usuario o la IP superaron el límite de intentos
      */
-    public Map<String, Object> login(String username, String password) {
-        System.out.println("Intentando login para usuario: " + username);
+    public Map<String, Object> login(String username, String password, String ip) {
+        logger.debug("Intentando login para usuario: {}", username);
+
+        // Límite de intentos antes de tocar la base de datos o BCrypt
+        LoginThrottle.verificar(username, ip);
 
         Map<String, Object> response = new HashMap<>();
 
@@ -52,37 +68,44 @@ public class AuthService {
         Optional<Usuario> usuarioOpt = usuarioRepository.findByUsername(username);
 
         if (usuarioOpt.isEmpty()) {
-            System.out.println("Usuario no encontrado: " + username);
+            logger.debug("Usuario no encontrado: {}", username);
+            LoginThrottle.registrarFallo(username, ip);
             response.put("success", false);
             response.put("message", "Usuario no encontrado");
             return response;
         }
 
         Usuario usuario = usuarioOpt.get();
-        System.out.println("Usuario encontrado en BD:");
-        System.out.println("   - ID: " + usuario.getId());
-        System.out.println("   - Username: " + usuario.getUsername());
-        System.out.println("   - Rol: " + usuario.getRol());
-        System.out.println("   - Password en BD: " + usuario.getPassword());
-        System.out.println("   - Password recibida: " + password);
+        logger.debug("Usuario encontrado en BD: id={}, rol={}", usuario.getId(), usuario.getRol());
 
-        boolean passwordCorrecta = PasswordUtil.verifyPassword(password, usuario.getPassword());
-        System.out.println("Contrasena correcta: " + passwordCorrecta);
+        // BCrypt en su propio pool acotado; si está saturado lanza ServidorOcupadoException
+        boolean passwordCorrecta = PasswordHashingPool.verificar(password, usuario.getPassword());
+        logger.debug("Contrasena correcta: {}", passwordCorrecta);
 
         if (!passwordCorrecta) {
+            LoginThrottle.registrarFallo(username, ip);
             response.put("success", false);
             response.put("message", "Contraseña incorrecta");
             return response;
         }
 
-        // Generar token JWT
-        String token = JWTUtil.generateToken(usuario.getUsername(), usuario.getRol());
-        System.out.println("Token generado: " + token.substring(0, 50) + "...");
+        LoginThrottle.registrarExito(username, ip);
+
+        // Hash con un costo menor que el calibrado: se recalcula sin retrasar el login
+        if (PasswordUtil.necesitaRehash(usuario.getPassword())) {
+            programarRehash(usuario, password);
+        }
+
+        // Generar token de acceso y refresh token
+        String token = JWTUtil.generateToken(usuario.getUsername(), usuario.getRol(), usuario.getId());
+        String refreshToken = JWTUtil.generateRefreshToken(usuario.getUsername(), usuario.getRol(), usuario.getId());
 
         // Respuesta exitosa
         response.put("success", true);
         response.put("message", "Login exitoso");
         response.put("token", token);
+        response.put("refreshToken", refreshToken);
+        response.put("expiresIn", JWTUtil.getAccessTokenTtlSeconds());
         response.put("usuario", Map.of(
                 "id", usuario.getId(),
                 "username", usuario.getUsername(),
@@ -90,10 +113,38 @@ public class AuthService {
                 "email", usuario.getEmail()
         ));
 
-        System.out.println("Login exitoso para: " + username);
+        logger.debug("Login exitoso para: {}", username);
         return response;
     }
 
+    /**
+     * Recalcula en segundo plano el hash de la contraseña con el costo actual.
+     * <p>
+     * Si el pool de BCrypt está lleno no se hace nada; se intentará en el
+     * siguiente login. El reemplazo solo se aplica si el hash guardado sigue
+     * siendo el que se verificó y el nuevo tiene un costo mayor: nunca se
+     * guarda un hash más débil que el anterior.
+     * </p>
+     *
+     * @param usuario Usuario recién autenticado, con el hash leído de la base de datos
+     * @param password Contraseña en texto plano ya verificada
+     */
+    private void programarRehash(Usuario usuario, String password) {
+        String id = usuario.getId();
+        String hashAnterior = usuario.getPassword();
+        boolean encolado = PasswordHashingPool.hashearEnSegundoPlano(password, hashNuevo -> {
+            if (PasswordUtil.costoDe(hashNuevo) <= PasswordUtil.costoDe(hashAnterior)) {
+                logger.debug("Rehash de {} omitido: el costo nuevo no supera al guardado", id);
+                return;
+            }
+            boolean reemplazado = usuarioRepository.reemplazarHashPassword(id, hashAnterior, hashNuevo);
+            logger.debug("Rehash de contraseña de {} a costo {}: {}", id, PasswordUtil.getCosto(), reemplazado);
+        });
+        if (!encolado) {
+            logger.debug("Rehash de {} omitido: pool de BCrypt lleno", id);
+        }
+    }
+
     /**
      * Verifica la validez de un token JWT.
      * <p>
@@ -133,20 +184,69 @@ public class AuthService {
         response.put("message", "Token válido");
         response.put("usuario", tokenData);
 
-        System.out.println("Token verificado para: " + tokenData.get("username"));
+        logger.debug("Token verificado para: {}", tokenData.get("username"));
+        return response;
+    }
+
+    /**
+     * Emite un nuevo par de tokens a partir de un refresh token.
+     * <p>
+     * El refresh token se revoca al usarse (rotación), así que un refresh
+     * token robado y ya usado no sirve. El rol se vuelve a leer de la base de
+     * datos para que un cambio de rol o una baja surtan efecto en la siguiente
+     * renovación.
+     * </p>
+     *
+     * @param refreshToken Refresh token recibido en el login o en la renovación anterior
+     * @return Mapa con success, message y, si success=true, token, refreshToken y expiresIn
+     */
+    public Map<String, Object> refresh(String refreshToken) {
+        Map<String, Object> response = new HashMap<>();
+
+        Map<String, String> tokenData = JWTUtil.decodeRefreshToken(refreshToken);
+        if (tokenData == null) {
+            response.put("success", false);
+            response.put("message", "Refresh token inválido, expirado o ya usado");
+            return response;
+        }
+
+        Optional<Usuario> usuarioOpt = usuarioRepository.findByUsername(tokenData.get("username"));
+        if (usuarioOpt.isEmpty()) {
+            JWTUtil.revokeToken(refreshToken);
+            response.put("success", false);
+            response.put("message", "Usuario no encontrado");
+            return response;
+        }
+
+        // Un refresh token sirve una sola vez: solo la petición que lo revoca
+        // obtiene tokens nuevos; otra concurrente con el mismo token recibe 401
+        if (!JWTUtil.revokeToken(refreshToken)) {
+            response.put("success", false);
+            response.put("message", "Refresh token inválido, expirado o ya usado");
+            return response;
+        }
+
+        Usuario usuario = usuarioOpt.get();
+        response.put("success", true);
+        response.put("message", "Token renovado");
+        response.put("token", JWTUtil.generateToken(usuario.getUsername(), usuario.getRol(), usuario.getId()));
+        response.put("refreshToken", JWTUtil.generateRefreshToken(usuario.getUsername(), usuario.getRol(), usuario.getId()));
+        response.put("expiresIn", JWTUtil.getAccessTokenTtlSeconds());
+
+        logger.debug("Token renovado para: {}", usuario.getUsername());
         return response;
     }
 
     /**
      * Cierra la sesión de un usuario.
      * <p>
-     * Valida el token antes de proceder con el logout. En una implementación
-     * básica de JWT, esto simplemente indica que el token ya no debe usarse,
-     * aunque técnicamente los tokens JWT son stateless. Para invalidación
-     * completa se requeriría una lista negra de tokens.
+     * Valida el token y lo revoca hasta su expiración, junto con el refresh
+     * token si se envía. A partir de ese momento el filtro de autorización
+     * rechaza ambos.
      * </p>
      *
      * @param token Token JWT de la sesión a cerrar
+     * @param refreshToken Refresh token de la sesión, o null
      * @return Mapa con los siguientes elementos:
      *         <ul>
      *           <li>success: boolean indicando si el logout fue exitoso</li>
@@ -154,7 +254,7 @@ public class AuthService {
      *           <li>usuario: Nombre de usuario de la sesión cerrada (solo si success=true)</li>
      *         </ul>
      */
-    public Map<String, Object> logout(String token) {
+    public Map<String, Object> logout(String token, String refreshToken) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -169,11 +269,20 @@ public class AuthService {
 
             String username = tokenData.get("username");
 
+            JWTUtil.revokeToken(token);
+            if (refreshToken != null && !refreshToken.isEmpty()) {
+                Map<String, String> refreshData = JWTUtil.decodeRefreshToken(refreshToken);
+                // Solo se revoca el refresh token de la misma cuenta
+                if (refreshData != null && username.equals(refreshData.get("username"))) {
+                    JWTUtil.revokeToken(refreshToken);
+                }
+            }
+
             response.put("success", true);
             response.put("message", "Sesion cerrada exitosamente");
             response.put("usuario", username);
 
-            System.out.println("Logout exitoso para: " + username);
+            logger.debug("Logout exitoso para: {}", username);
 
         } catch (Exception e) {
             response.put("success", false);
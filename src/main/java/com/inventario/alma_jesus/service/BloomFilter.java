@@ -0,0 +1,100 @@
+package com.inventario.alma_jesus.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamaño fijo para cadenas.
+ * <p>
+ * Responde "seguro que no está" o "puede estar" con un costo fijo de unas
+ * pocas operaciones sobre bits, sin importar cuántos elementos tenga. Las
+ * posiciones se derivan de un hash FNV-1a de 64 bits partido en dos mitades
+ * (doble hashing). La lectura no toma bloqueos; los bits se encienden con
+ * compare-and-set, así que también se puede agregar desde varios hilos. No
+ * admite borrar: para descartar elementos se construye un filtro nuevo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see TokenRevocationStore
+ *
+ * @example
+ * <pre>
+ * BloomFilter filtro = new BloomFilter(1 &lt;&lt; 20, 4);
+ * filtro.agregar(jti);
+ * if (filtro.podriaContener(jti)) {
+ *     // confirmar en el conjunto exacto
+ * }
+ * </pre>
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+
+    /**
+     * @param numBits Tamaño del filtro en bits (se redondea a múltiplo de 64)
+     * @param numHashes Posiciones por elemento
+     */
+    public BloomFilter(long numBits, int numHashes) {
+        if (numBits <= 0 || numHashes <= 0) {
+            throw new IllegalArgumentException("El tamaño y el número de hashes deben ser positivos");
+        }
+        int palabras = (int) Math.min(Integer.MAX_VALUE, (numBits + 63) / 64);
+        this.bits = new AtomicLongArray(palabras);
+        this.numBits = (long) palabras * 64;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Agrega un elemento.
+     *
+     * @param valor Elemento a agregar
+     */
+    public void agregar(String valor) {
+        long hash = fnv1a(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long posicion = Math.floorMod(h1 + (long) i * h2, numBits);
+            int palabra = (int) (posicion >>> 6);
+            long mascara = 1L << (posicion & 63);
+            long actual;
+            do {
+                actual = bits.get(palabra);
+                if ((actual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+    }
+
+    /**
+     * Indica si el elemento puede estar en el filtro.
+     *
+     * @param valor Elemento a buscar
+     * @return false si seguro no se agregó; true si pudo haberse agregado
+     */
+    public boolean podriaContener(String valor) {
+        long hash = fnv1a(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            long posicion = Math.floorMod(h1 + (long) i * h2, numBits);
+            if ((bits.get((int) (posicion >>> 6)) & (1L << (posicion & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv1a(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,165 @@
+package com.inventario.alma_jesus.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de claims de tokens JWT ya verificados.
+ * <p>
+ * La clave es el SHA-256 del token, no el token, para no retener credenciales
+ * en memoria. Cada entrada vive hasta la expiración del propio token. La
+ * lectura no toma bloqueos: es la ruta de todas las peticiones autenticadas.
+ * Al llenarse, un solo hilo purga las entradas expiradas y, si no alcanza,
+ * descarta las que expiran antes hasta quedar en el 90 % del máximo, así el
+ * recorrido se amortiza entre muchas inserciones. El siguiente uso de un
+ * token descartado solo vuelve a verificar la firma.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see JWTUtil#decodeToken(String)
+ *
+ * @example
+ * <pre>
+ * ClaimsCache cache = new ClaimsCache(10_000);
+ * Map&lt;String, String&gt; claims = cache.obtener(token);
+ * if (claims == null) {
+ *     DecodedJWT jwt = VERIFIER.verify(token);
+ *     claims = ...;
+ *     cache.guardar(token, claims, jwt.getExpiresAt().getTime());
+ * }
+ * </pre>
+ */
+public class ClaimsCache {
+
+    private final int maxEntradas;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final AtomicBoolean desalojando = new AtomicBoolean();
+
+    /**
+     * @param maxEntradas Número máximo de tokens en caché
+     */
+    public ClaimsCache(int maxEntradas) {
+        if (maxEntradas <= 0) {
+            throw new IllegalArgumentException("El máximo de entradas debe ser positivo");
+        }
+        this.maxEntradas = maxEntradas;
+    }
+
+    /**
+     * Busca los claims de un token.
+     *
+     * @param token Token JWT
+     * @return Claims del token, o null si no está en caché o ya expiró
+     */
+    public Map<String, String> obtener(String token) {
+        String clave = hash(token);
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos.increment();
+            return null;
+        }
+        if (entrada.expiraEn <= System.currentTimeMillis()) {
+            entradas.remove(clave, entrada);
+            fallos.increment();
+            return null;
+        }
+        aciertos.increment();
+        return entrada.claims;
+    }
+
+    /**
+     * Guarda los claims de un token verificado.
+     *
+     * @param token Token JWT
+     * @param claims Claims inmutables del token
+     * @param expiraEn Expiración del token en milisegundos desde la época
+     */
+    public void guardar(String token, Map<String, String> claims, long expiraEn) {
+        long ahora = System.currentTimeMillis();
+        if (expiraEn <= ahora) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas) {
+            hacerEspacio(ahora);
+        }
+        entradas.put(hash(token), new Entrada(claims, expiraEn));
+    }
+
+    /**
+     * Elimina un token de la caché.
+     *
+     * @param token Token JWT
+     */
+    public void invalidar(String token) {
+        entradas.remove(hash(token));
+    }
+
+    /**
+     * @return Mapa con entradas, aciertos, fallos y hitRate
+     */
+    public Map<String, Object> estadisticas() {
+        long a = aciertos.sum();
+        long f = fallos.sum();
+        return Map.of(
+                "entradas", entradas.size(),
+                "aciertos", a,
+                "fallos", f,
+                "hitRate", a + f == 0 ? 0.0 : Math.round(a * 1000.0 / (a + f)) / 1000.0);
+    }
+
+    /**
+     * Purga las entradas expiradas y descarta las que expiran antes hasta
+     * quedar en el 90 % del máximo. Si otro hilo ya está desalojando, no hace nada.
+     */
+    private void hacerEspacio(long ahora) {
+        if (!desalojando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            entradas.values().removeIf(e -> e.expiraEn <= ahora);
+            int sobrantes = entradas.size() - maxEntradas * 9 / 10;
+            if (sobrantes <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Entrada>> copia = new ArrayList<>(entradas.entrySet());
+            copia.sort(Comparator.comparingLong(e -> e.getValue().expiraEn));
+            for (int i = 0; i < sobrantes && i < copia.size(); i++) {
+                entradas.remove(copia.get(i).getKey(), copia.get(i).getValue());
+            }
+        } finally {
+            desalojando.set(false);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM incluye SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entrada {
+        private final Map<String, String> claims;
+        private final long expiraEn;
+
+        Entrada(Map<String, String> claims, long expiraEn) {
+            this.claims = claims;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventario.alma_jesus.service;
+
+/**
+ * Excepción lanzada cuando un login se rechaza por exceso de intentos del
+ * mismo usuario o de la misma IP.
+ * <p>
+ * Los controladores la traducen a {@code 429 Too Many Requests} con el
+ * header {@code Retry-After}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see LoginThrottle
+ */
+public class DemasiadosIntentosException extends RuntimeException {
+
+    private final long reintentarEnSegundos;
+
+    /**
+     * @param message Mensaje para el cliente
+     * @param reintentarEnSegundos Segundos hasta poder reintentar
+     */
+    public DemasiadosIntentosException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    /**
+     * @return Segundos hasta poder reintentar, para el header {@code Retry-After}
+     */
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
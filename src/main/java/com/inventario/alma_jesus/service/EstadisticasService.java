@@ -1,12 +1,36 @@
 package com.inventario.alma_jesus.service;
 
+import com.inventario.alma_jesus.config.AppConfig;
 import com.inventario.alma_jesus.model.EstadisticaDashboard;
 import com.inventario.alma_jesus.model.EstadisticaVenta;
 import com.inventario.alma_jesus.model.EstadisticaReparacion;
 import com.inventario.alma_jesus.model.EstadisticaMaterial;
+import com.inventario.alma_jesus.model.PuntoSerie;
 import com.inventario.alma_jesus.repository.EstadisticasRepository;
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Servicio para la obtención y gestión de estadísticas del sistema.
@@ -32,6 +56,35 @@ public class EstadisticasService {
      */
     private final EstadisticasRepository repository;
 
+    /**
+     * Instantánea de las estadísticas generales, refrescada en segundo plano.
+     */
+    private final SnapshotRefresher<EstadisticaDashboard> dashboard;
+
+    /**
+     * Intervalos cerrados de las series de analítica, compartidos por todas
+     * las instancias del servicio.
+     */
+    private static final SerieAnaliticaCache SERIES = new SerieAnaliticaCache(
+            AppConfig.getInt("analitica.cache.max-intervalos", 20000));
+
+    private static final String[] DIAS_SEMANA = {
+            "Domingo", "Lunes", "Martes", "Miércoles", "Jueves", "Viernes", "Sábado"};
+
+    /**
+     * Hilos del fan-out de {@code /api/v1/dashboard/completo}. Cada sección se
+     * ejecuta en un hilo propio con su propia conexión del pool; el número de
+     * hilos y la cola están acotados para no agotar el pool de conexiones.
+     */
+    private static final ExecutorService FAN_OUT = crearFanOut(
+            AppConfig.getInt("dashboard.completo.threads", 4),
+            AppConfig.getInt("dashboard.completo.queue-size", 32));
+
+    /**
+     * Tiempo máximo de espera por sección del dashboard completo, en milisegundos.
+     */
+    private static final long TIMEOUT_SECCION_MS = AppConfig.getLong("dashboard.completo.timeout-ms", 3000);
+
     /**
      * Constructor del servicio.
      * <p>
@@ -43,6 +96,65 @@ public class EstadisticasService {
      */
     public EstadisticasService(EstadisticasRepository repository) {
         this.repository = repository;
+        this.dashboard = new SnapshotRefresher<>("dashboard-stats", repository::obtenerEstadisticasGenerales,
+                AppConfig.getLong("dashboard.stats.refresh-seconds", 60));
+    }
+
+    /**
+     * Invalida los intervalos cerrados de una serie que contienen una fecha.
+     * <p>
+     * Lo llaman, después de confirmar la escritura, los servicios que
+     * registran datos con fecha pasada en ventas, reparaciones o consumo de
+     * materiales. Si la fecha no se puede interpretar se invalida toda la serie.
+     * </p>
+     *
+     * @param serie {@link RangoAnalitica#VENTAS}, {@link RangoAnalitica#REPARACIONES}
+     *              o {@link RangoAnalitica#MATERIALES}
+     * @param fecha Fecha del registro ("YYYY-MM-DD", se ignora la hora), o null si no se conoce
+     */
+    public static void invalidarSerie(String serie, String fecha) {
+        LocalDate dia = null;
+        if (fecha != null && fecha.length() >= 10) {
+            try {
+                dia = LocalDate.parse(fecha.substring(0, 10));
+            } catch (Exception e) {
+                dia = null;
+            }
+        }
+        if (dia != null) {
+            SERIES.invalidarDia(serie, dia);
+        } else {
+            SERIES.invalidarSerie(serie);
+        }
+    }
+
+    /**
+     * Descarta todos los intervalos cerrados, por ejemplo tras reconstruir
+     * los resúmenes diarios.
+     */
+    public static void invalidarSeries() {
+        SERIES.invalidarTodo();
+    }
+
+    /**
+     * Obtiene los contadores de la caché de intervalos cerrados.
+     *
+     * @return Mapa con hits, misses, invalidaciones e intervalos guardados
+     * @see SerieAnaliticaCache#estadisticas()
+     */
+    public static Map<String, Object> estadisticasSeries() {
+        return SERIES.estadisticas();
+    }
+
+    /**
+     * Inicia el refresco periódico de las estadísticas del dashboard.
+     * <p>
+     * Se llama una vez al configurar las rutas; el intervalo se lee de
+     * {@code dashboard.stats.refresh-seconds} (60 segundos por defecto).
+     * </p>
+     */
+    public void iniciarRefrescoDashboard() {
+        dashboard.iniciar();
     }
 
     /**
@@ -50,7 +162,8 @@ public class EstadisticasService {
      * <p>
      * Retorna un objeto {@link EstadisticaDashboard} que contiene métricas
      * clave del sistema como total de ventas, reparaciones pendientes,
-     * clientes activos y materiales consumidos.
+     * clientes activos y materiales consumidos. Se sirve desde la instantánea
+     * refrescada en segundo plano.
      * </p>
      *
      * @return {@link EstadisticaDashboard} con las métricas generales del sistema
@@ -58,9 +171,26 @@ public class EstadisticasService {
      * @see EstadisticasRepository#obtenerEstadisticasGenerales()
      */
     public EstadisticaDashboard obtenerEstadisticasDashboard() {
+        return obtenerEstadisticasDashboard(false).getValor();
+    }
+
+    /**
+     * Obtiene la instantánea de las estadísticas generales del dashboard.
+     * <p>
+     * Devuelve en O(1) la última instantánea calculada por el refresco en
+     * segundo plano, con su antigüedad. Con {@code fresh=true} recalcula en
+     * el momento y actualiza la instantánea compartida.
+     * </p>
+     *
+     * @param fresh true para forzar el recálculo contra la base de datos
+     * @return Instantánea con las métricas y el instante en que se calcularon
+     * @throws RuntimeException Si ocurre un error al calcular las estadísticas
+     * @see SnapshotRefresher
+     */
+    public SnapshotRefresher.Instantanea<EstadisticaDashboard> obtenerEstadisticasDashboard(boolean fresh) {
         try {
-            return repository.obtenerEstadisticasGenerales();
-        } catch (SQLException e) {
+            return fresh ? dashboard.refrescar() : dashboard.obtener();
+        } catch (Exception e) {
             throw new RuntimeException("Error al obtener estadísticas: " + e.getMessage(), e);
         }
     }
@@ -69,63 +199,413 @@ public class EstadisticasService {
      * Obtiene datos de ventas para gráficas por período.
      * <p>
      * Retorna datos de ventas agrupados por el período especificado.
-     * Si no se proporciona un período, se usa "mensual" por defecto.
+     * Si no se proporciona un período, se usa "mensual" por defecto. Los
+     * totales diarios salen de {@link #obtenerSerie(RangoAnalitica)}, por lo
+     * que los días cerrados se sirven desde la caché, y se agrupan con
+     * {@link #clavePeriodo(String, String, LocalDate)}.
      * </p>
      *
      * @param periodo Período de agrupación ("diario", "semanal", "mensual", "anual")
      * @return Lista de {@link EstadisticaVenta} con cantidad y monto por período
      * @throws RuntimeException Si ocurre un error al acceder a la base de datos
-     * @see EstadisticasRepository#obtenerVentasPorPeriodo(String)
      */
     public List<EstadisticaVenta> obtenerDatosGraficaVentas(String periodo) {
-        try {
-            if (periodo == null) periodo = "mensual";
-            return repository.obtenerVentasPorPeriodo(periodo);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al obtener ventas: " + e.getMessage(), e);
+        String tipo = tipoPeriodo(periodo);
+        NavigableMap<Integer, PuntoSerie> porPeriodo = agruparDias(RangoAnalitica.VENTAS, tipo);
+        List<EstadisticaVenta> ventas = new ArrayList<>();
+        for (Map.Entry<Integer, PuntoSerie> entrada : porPeriodo.entrySet()) {
+            EstadisticaVenta venta = new EstadisticaVenta();
+            venta.setPeriodo(etiquetaPeriodo(tipo, entrada.getKey()));
+            venta.setCantidad(BigDecimal.valueOf(entrada.getValue().getCantidad()));
+            // Misma escala que la consulta original (SUM leído como double)
+            venta.setMonto(BigDecimal.valueOf(entrada.getValue().getMonto().doubleValue()));
+            ventas.add(venta);
         }
+        return ventas;
     }
 
     /**
      * Obtiene datos de reparaciones para gráficas por período.
      * <p>
      * Retorna el volumen de reparaciones agrupadas por el período especificado.
-     * Si no se proporciona un período, se usa "mensual" por defecto.
+     * Si no se proporciona un período, se usa "mensual" por defecto. Los
+     * totales diarios salen de {@link #obtenerSerie(RangoAnalitica)}, por lo
+     * que los días cerrados se sirven desde la caché.
      * </p>
      *
      * @param periodo Período de agrupación ("diario", "semanal", "mensual", "anual")
      * @return Lista de {@link EstadisticaReparacion} con cantidad de reparaciones por período
      * @throws RuntimeException Si ocurre un error al acceder a la base de datos
-     * @see EstadisticasRepository#obtenerReparacionesPorPeriodo(String)
      */
     public List<EstadisticaReparacion> obtenerDatosGraficaReparaciones(String periodo) {
-        try {
-            if (periodo == null) periodo = "mensual";
-            return repository.obtenerReparacionesPorPeriodo(periodo);
-        } catch (SQLException e) {
-            throw new RuntimeException("Error al obtener reparaciones: " + e.getMessage(), e);
+        String tipo = tipoPeriodo(periodo);
+        NavigableMap<Integer, PuntoSerie> porPeriodo = agruparDias(RangoAnalitica.REPARACIONES, tipo);
+        List<EstadisticaReparacion> reparaciones = new ArrayList<>();
+        for (Map.Entry<Integer, PuntoSerie> entrada : porPeriodo.entrySet()) {
+            EstadisticaReparacion reparacion = new EstadisticaReparacion();
+            reparacion.setPeriodo(etiquetaPeriodo(tipo, entrada.getKey()));
+            reparacion.setCantidadReparaciones((int) entrada.getValue().getCantidad());
+            reparacion.setTipoReparacion("General");
+            reparaciones.add(reparacion);
         }
+        return reparaciones;
+    }
+
+    /**
+     * Suma los totales diarios de la ventana de un período por su clave de
+     * agrupación. Solo aparecen los períodos con datos, ordenados por clave.
+     */
+    private NavigableMap<Integer, PuntoSerie> agruparDias(String serie, String tipo) {
+        NavigableMap<Integer, PuntoSerie> porPeriodo = new TreeMap<>();
+        for (PuntoSerie dia : obtenerSerie(ventanaPeriodo(serie, tipo, LocalDate.now()))) {
+            if (dia.getCantidad() == 0) {
+                continue;
+            }
+            int clave = clavePeriodo(serie, tipo, LocalDate.parse(dia.getDesde()));
+            PuntoSerie acumulado = porPeriodo.get(clave);
+            if (acumulado == null) {
+                porPeriodo.put(clave, new PuntoSerie(null, null, null, dia.getCantidad(), dia.getMonto()));
+            } else {
+                acumulado.setCantidad(acumulado.getCantidad() + dia.getCantidad());
+                if (dia.getMonto() != null) {
+                    acumulado.setMonto(acumulado.getMonto().add(dia.getMonto()));
+                }
+            }
+        }
+        return porPeriodo;
+    }
+
+    /**
+     * Normaliza el parámetro {@code periodo} de las gráficas; cualquier otro
+     * valor se trata como "mensual".
+     */
+    private static String tipoPeriodo(String periodo) {
+        String valor = periodo == null ? "" : periodo.toLowerCase(Locale.ROOT);
+        switch (valor) {
+            case "diario":
+            case "semanal":
+            case "anual":
+                return valor;
+            default:
+                return "mensual";
+        }
+    }
+
+    /**
+     * Rango diario de las gráficas por período, igual que las consultas
+     * originales ({@code fecha >= CURDATE() - INTERVAL ...}): los últimos 7
+     * días, 8 semanas, 12 meses o 3 años, más el día de hoy.
+     */
+    private static RangoAnalitica ventanaPeriodo(String serie, String tipo, LocalDate hoy) {
+        LocalDate desde;
+        switch (tipo) {
+            case "diario":
+                desde = hoy.minusDays(7);
+                break;
+            case "semanal":
+                desde = hoy.minusWeeks(8);
+                break;
+            case "anual":
+                desde = hoy.minusYears(3);
+                break;
+            default:
+                desde = hoy.minusMonths(12);
+        }
+        return RangoAnalitica.ultimos(serie, Granularidad.DIA, (int) ChronoUnit.DAYS.between(desde, hoy) + 1, hoy);
+    }
+
+    /**
+     * Clave de agrupación de las gráficas por período. Reproduce el
+     * {@code GROUP BY}/{@code ORDER BY} de las consultas originales:
+     * {@code DAYOFWEEK} (domingo = 1), {@code WEEK(fecha, 1)} para ventas y
+     * {@code WEEK(fecha)} (modo 0) para reparaciones y materiales, año-mes y año.
+     */
+    private static int clavePeriodo(String serie, String tipo, LocalDate fecha) {
+        switch (tipo) {
+            case "diario":
+                return fecha.getDayOfWeek().getValue() % 7 + 1;
+            case "semanal":
+                return RangoAnalitica.VENTAS.equals(serie) ? semanaModo1(fecha) : semanaModo0(fecha);
+            case "anual":
+                return fecha.getYear();
+            default:
+                return fecha.getYear() * 100 + fecha.getMonthValue();
+        }
+    }
+
+    private static String etiquetaPeriodo(String tipo, int clave) {
+        switch (tipo) {
+            case "diario":
+                return DIAS_SEMANA[clave - 1];
+            case "semanal":
+                return "Semana " + clave;
+            case "anual":
+                return String.valueOf(clave);
+            default:
+                return String.format("%04d-%02d", clave / 100, clave % 100);
+        }
+    }
+
+    /**
+     * {@code WEEK(fecha, 0)} de MySQL: semanas de domingo a sábado, 0 a 53;
+     * la semana 1 empieza en el primer domingo del año.
+     */
+    static int semanaModo0(LocalDate fecha) {
+        LocalDate primerDomingo = fecha.withDayOfYear(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        if (fecha.isBefore(primerDomingo)) {
+            return 0;
+        }
+        return (int) (ChronoUnit.DAYS.between(primerDomingo, fecha) / 7) + 1;
+    }
+
+    /**
+     * {@code WEEK(fecha, 1)} de MySQL: semanas de lunes a domingo, 0 a 53; la
+     * semana 1 es la primera con 4 o más días en el año. A diferencia de la
+     * semana ISO, los últimos días de diciembre cuentan como semana 53 y los
+     * primeros de enero como semana 0.
+     */
+    static int semanaModo1(LocalDate fecha) {
+        LocalDate inicioSemana1 = fecha.withDayOfYear(4).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        if (fecha.isBefore(inicioSemana1)) {
+            return 0;
+        }
+        return (int) (ChronoUnit.DAYS.between(inicioSemana1, fecha) / 7) + 1;
     }
 
     /**
      * Obtiene datos de consumo de materiales para gráficas por período.
      * <p>
      * Retorna el consumo de materiales agrupado por el período especificado.
-     * Si no se proporciona un período, se usa "mensual" por defecto.
-     * Los datos están organizados por tipo de material.
+     * Si no se proporciona un período, se usa "mensual" por defecto. Se leen
+     * los consumos diarios por material y se agrupan en Java con
+     * {@link #clavePeriodo(String, String, LocalDate)}. Dentro de cada período
+     * los materiales van de mayor a menor consumo; los períodos sin consumo
+     * no tienen filas.
      * </p>
      *
      * @param periodo Período de agrupación ("diario", "semanal", "mensual", "anual")
      * @return Lista de {@link EstadisticaMaterial} con material y cantidad consumida
      * @throws RuntimeException Si ocurre un error al acceder a la base de datos
-     * @see EstadisticasRepository#obtenerMaterialesPorPeriodo(String)
+     * @see EstadisticasRepository#obtenerConsumoDiarioPorMaterial(LocalDate, LocalDate)
      */
     public List<EstadisticaMaterial> obtenerDatosGraficaMateriales(String periodo) {
+        String tipo = tipoPeriodo(periodo);
+        RangoAnalitica rango = ventanaPeriodo(RangoAnalitica.MATERIALES, tipo, LocalDate.now());
+        List<EstadisticaMaterial> diarios;
         try {
-            if (periodo == null) periodo = "mensual";
-            return repository.obtenerMaterialesPorPeriodo(periodo);
+            diarios = repository.obtenerConsumoDiarioPorMaterial(rango.getDesde(), rango.getHastaExclusivo());
         } catch (SQLException e) {
             throw new RuntimeException("Error al obtener materiales: " + e.getMessage(), e);
         }
+
+        // Clave del período → material → consumo, en el orden de la consulta original
+        NavigableMap<Integer, Map<String, BigDecimal>> porPeriodo = new TreeMap<>();
+        for (EstadisticaMaterial dia : diarios) {
+            int clave = clavePeriodo(RangoAnalitica.MATERIALES, tipo, LocalDate.parse(dia.getPeriodo()));
+            porPeriodo.computeIfAbsent(clave, k -> new HashMap<>())
+                    .merge(dia.getMaterial(), dia.getCantidadConsumida(), BigDecimal::add);
+        }
+
+        List<EstadisticaMaterial> materiales = new ArrayList<>();
+        for (Map.Entry<Integer, Map<String, BigDecimal>> intervalo : porPeriodo.entrySet()) {
+            String etiqueta = etiquetaPeriodo(tipo, intervalo.getKey());
+            List<Map.Entry<String, BigDecimal>> consumos = new ArrayList<>(intervalo.getValue().entrySet());
+            consumos.sort(Map.Entry.<String, BigDecimal>comparingByValue().reversed());
+            for (Map.Entry<String, BigDecimal> consumo : consumos) {
+                EstadisticaMaterial material = new EstadisticaMaterial();
+                material.setPeriodo(etiqueta);
+                material.setMaterial(consumo.getKey());
+                material.setCantidadConsumida(consumo.getValue());
+                materiales.add(material);
+            }
+        }
+        return materiales;
+    }
+
+    /**
+     * Obtiene una serie de analítica agrupada por la granularidad del rango.
+     * <p>
+     * Se devuelve un punto por cada intervalo del rango, incluidos los que no
+     * tienen datos (con cantidad cero), para que las gráficas no presenten
+     * huecos. El primer y el último intervalo se recortan a los límites del
+     * rango solicitado.
+     * </p>
+     * <p>
+     * Los intervalos completos que ya terminaron se toman de la caché de
+     * intervalos cerrados. Para el resto (normalmente solo el intervalo
+     * abierto) se leen los totales diarios con una sola consulta que cubre
+     * únicamente esos días, se agrupan en Java y los que están cerrados se
+     * guardan en la caché.
+     * </p>
+     *
+     * @param rango Serie, granularidad y rango ya validados
+     * @return Lista de {@link PuntoSerie} ordenada por fecha, uno por intervalo
+     * @throws RuntimeException Si ocurre un error al acceder a la base de datos
+     * @see EstadisticasRepository#obtenerSerieDiaria(String, LocalDate, LocalDate)
+     * @see SerieAnaliticaCache
+     */
+    public List<PuntoSerie> obtenerSerie(RangoAnalitica rango) {
+        String nombre = rango.getSerie();
+        Granularidad granularidad = rango.getGranularidad();
+        LocalDate hoy = LocalDate.now();
+        long version = SERIES.version();
+
+        List<PuntoSerie> serie = new ArrayList<>();
+        List<Integer> pendientes = new ArrayList<>();
+        LocalDate leerDesde = null;
+        LocalDate leerHasta = null;
+
+        for (LocalDate inicio = granularidad.inicio(rango.getDesde());
+             inicio.isBefore(rango.getHastaExclusivo());
+             inicio = granularidad.siguiente(inicio)) {
+
+            LocalDate siguiente = granularidad.siguiente(inicio);
+            LocalDate desde = inicio.isBefore(rango.getDesde()) ? rango.getDesde() : inicio;
+            LocalDate hasta = siguiente.isAfter(rango.getHastaExclusivo()) ? rango.getHastaExclusivo() : siguiente;
+
+            PuntoSerie punto = new PuntoSerie(granularidad.etiqueta(inicio), desde.toString(), hasta.toString(), 0, null);
+            if (esCerrado(punto, inicio, siguiente, hoy)) {
+                PuntoSerie guardado = SERIES.obtener(nombre, granularidad, inicio);
+                if (guardado != null) {
+                    serie.add(guardado);
+                    continue;
+                }
+            }
+            pendientes.add(serie.size());
+            serie.add(punto);
+            if (leerDesde == null) {
+                leerDesde = desde;
+            }
+            leerHasta = hasta;
+        }
+
+        if (leerDesde == null) {
+            return serie;
+        }
+
+        NavigableMap<LocalDate, PuntoSerie> porDia = new TreeMap<>();
+        try {
+            for (PuntoSerie dia : repository.obtenerSerieDiaria(nombre, leerDesde, leerHasta)) {
+                porDia.put(LocalDate.parse(dia.getDesde()), dia);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al obtener la serie " + nombre + ": " + e.getMessage(), e);
+        }
+
+        boolean conMonto = RangoAnalitica.VENTAS.equals(nombre);
+        for (int indice : pendientes) {
+            PuntoSerie punto = serie.get(indice);
+            LocalDate desde = LocalDate.parse(punto.getDesde());
+            LocalDate hasta = LocalDate.parse(punto.getHasta());
+
+            long cantidad = 0;
+            BigDecimal monto = conMonto ? BigDecimal.ZERO : null;
+            for (PuntoSerie dia : porDia.subMap(desde, true, hasta, false).values()) {
+                cantidad += dia.getCantidad();
+                if (conMonto) {
+                    monto = monto.add(dia.getMonto());
+                }
+            }
+            punto.setCantidad(cantidad);
+            punto.setMonto(monto);
+
+            LocalDate inicio = granularidad.inicio(desde);
+            if (esCerrado(punto, inicio, granularidad.siguiente(inicio), hoy)) {
+                SERIES.guardar(nombre, granularidad, inicio, punto, version);
+            }
+        }
+        return serie;
+    }
+
+    /**
+     * Un intervalo se puede cachear si está completo (no recortado por el
+     * rango) y terminó antes de hoy.
+     */
+    private static boolean esCerrado(PuntoSerie punto, LocalDate inicio, LocalDate siguiente, LocalDate hoy) {
+        return punto.getDesde().equals(inicio.toString())
+                && punto.getHasta().equals(siguiente.toString())
+                && !siguiente.isAfter(hoy);
+    }
+
+    /**
+     * Obtiene en una sola llamada las estadísticas generales y las tres
+     * gráficas del dashboard.
+     * <p>
+     * Las cuatro secciones se calculan en paralelo en un ejecutor acotado, de
+     * modo que la latencia total es la de la sección más lenta y no la suma de
+     * todas. Todas comparten un mismo plazo de {@code dashboard.completo.timeout-ms};
+     * una sección que no termina a tiempo, que falla o que no cabe en la cola
+     * del ejecutor se devuelve como null y su motivo se informa en
+     * {@code errores}, sin afectar al resto (respuesta parcial).
+     * </p>
+     * <p>
+     * El mismo plazo se aplica como timeout a las consultas de cada sección
+     * (ver {@link EstadisticasRepository#conLimite(long, Callable)}), así que
+     * una sección abandonada no sigue ocupando su hilo y su conexión.
+     * </p>
+     *
+     * @param periodo Período de agrupación de las gráficas ("diario", "semanal", "mensual", "anual")
+     * @return Mapa con las secciones {@code stats}, {@code ventas},
+     *         {@code reparaciones} y {@code materiales}, los errores por sección
+     *         y el indicador {@code parcial}
+     */
+    public Map<String, Object> obtenerDashboardCompleto(String periodo) {
+        Map<String, Callable<Object>> secciones = new LinkedHashMap<>();
+        secciones.put("stats", this::obtenerEstadisticasDashboard);
+        secciones.put("ventas", () -> obtenerDatosGraficaVentas(periodo));
+        secciones.put("reparaciones", () -> obtenerDatosGraficaReparaciones(periodo));
+        secciones.put("materiales", () -> obtenerDatosGraficaMateriales(periodo));
+
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_SECCION_MS);
+        Map<String, Future<Object>> futuros = new LinkedHashMap<>();
+        Map<String, Object> errores = new LinkedHashMap<>();
+        for (Map.Entry<String, Callable<Object>> seccion : secciones.entrySet()) {
+            Callable<Object> tarea = seccion.getValue();
+            try {
+                futuros.put(seccion.getKey(), FAN_OUT.submit(() -> EstadisticasRepository.conLimite(limite, tarea)));
+            } catch (RejectedExecutionException e) {
+                errores.put(seccion.getKey(), "Servidor ocupado, sección no calculada");
+            }
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        for (String nombre : secciones.keySet()) {
+            data.put(nombre, null);
+            Future<Object> futuro = futuros.get(nombre);
+            if (futuro == null) {
+                continue;
+            }
+            try {
+                data.put(nombre, futuro.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                futuro.cancel(true);
+                errores.put(nombre, "Tiempo de espera agotado (" + TIMEOUT_SECCION_MS + " ms)");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futuro.cancel(true);
+                errores.put(nombre, "Interrumpido");
+            } catch (ExecutionException e) {
+                errores.put(nombre, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        }
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("data", data);
+        resultado.put("errores", errores);
+        resultado.put("parcial", !errores.isEmpty());
+        resultado.put("completas", secciones.size() - errores.size());
+        return resultado;
+    }
+
+    private static ExecutorService crearFanOut(int hilos, int cola) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(cola), r -> {
+                    Thread hilo = new Thread(r, "dashboard-fanout-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
-}
\ No newline at end of file
+}
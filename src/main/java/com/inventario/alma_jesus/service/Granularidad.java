@@ -0,0 +1,200 @@
+package com.inventario.alma_jesus.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidad de agrupación de las series de analítica.
+ * <p>
+ * Define cómo se alinea una fecha al inicio de su intervalo, cuál es el
+ * inicio del intervalo siguiente y la etiqueta que se muestra en la gráfica.
+ * El agrupamiento se hace en Java sobre filas diarias, de modo que la consulta
+ * SQL solo filtra por un rango sobre la columna de fecha sin aplicarle
+ * funciones y puede usar su índice.
+ * </p>
+ * <p>
+ * Las semanas son ISO 8601: empiezan en lunes y se etiquetan con el año ISO
+ * y el número de semana ({@code 2024-S45}).
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * Granularidad g = Granularidad.desdeParametro("semana");
+ * LocalDate inicio = g.inicio(LocalDate.of(2024, 11, 7));   // 2024-11-04
+ * LocalDate siguiente = g.siguiente(inicio);                 // 2024-11-11
+ * String etiqueta = g.etiqueta(inicio);                      // "2024-S45"
+ * </pre>
+ */
+public enum Granularidad {
+
+    DIA("dia", ChronoUnit.DAYS, 30) {
+        @Override
+        public LocalDate inicio(LocalDate fecha) {
+            return fecha;
+        }
+
+        @Override
+        public String etiqueta(LocalDate inicio) {
+            return inicio.toString();
+        }
+    },
+
+    SEMANA("semana", ChronoUnit.WEEKS, 12) {
+        @Override
+        public LocalDate inicio(LocalDate fecha) {
+            return fecha.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public String etiqueta(LocalDate inicio) {
+            return String.format("%d-S%02d",
+                    inicio.get(IsoFields.WEEK_BASED_YEAR), inicio.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+        }
+    },
+
+    MES("mes", ChronoUnit.MONTHS, 12) {
+        @Override
+        public LocalDate inicio(LocalDate fecha) {
+            return fecha.withDayOfMonth(1);
+        }
+
+        @Override
+        public String etiqueta(LocalDate inicio) {
+            return String.format("%d-%02d", inicio.getYear(), inicio.getMonthValue());
+        }
+    },
+
+    ANIO("año", ChronoUnit.YEARS, 5) {
+        @Override
+        public LocalDate inicio(LocalDate fecha) {
+            return fecha.withDayOfYear(1);
+        }
+
+        @Override
+        public String etiqueta(LocalDate inicio) {
+            return String.valueOf(inicio.getYear());
+        }
+    };
+
+    /**
+     * Valor del parámetro {@code granularidad} en la API.
+     */
+    private final String parametro;
+
+    /**
+     * Unidad de tiempo de un intervalo.
+     */
+    private final ChronoUnit unidad;
+
+    /**
+     * Número de intervalos que se muestran cuando la petición no indica {@code desde}.
+     */
+    private final int intervalosPorDefecto;
+
+    Granularidad(String parametro, ChronoUnit unidad, int intervalosPorDefecto) {
+        this.parametro = parametro;
+        this.unidad = unidad;
+        this.intervalosPorDefecto = intervalosPorDefecto;
+    }
+
+    /**
+     * Alinea una fecha al primer día de su intervalo.
+     *
+     * @param fecha Fecha a alinear
+     * @return Primer día del intervalo que contiene la fecha
+     */
+    public abstract LocalDate inicio(LocalDate fecha);
+
+    /**
+     * Construye la etiqueta del intervalo para la gráfica.
+     *
+     * @param inicio Primer día del intervalo
+     * @return Etiqueta, por ejemplo "2024-11-04", "2024-S45", "2024-11" o "2024"
+     */
+    public abstract String etiqueta(LocalDate inicio);
+
+    /**
+     * Calcula el inicio del intervalo siguiente.
+     *
+     * @param inicio Primer día de un intervalo
+     * @return Primer día del intervalo siguiente (límite exclusivo del actual)
+     */
+    public LocalDate siguiente(LocalDate inicio) {
+        return inicio.plus(1, unidad);
+    }
+
+    /**
+     * Calcula el inicio del intervalo situado {@code intervalos} posiciones
+     * antes del que contiene la fecha.
+     *
+     * @param fecha Fecha de referencia
+     * @param intervalos Número de intervalos hacia atrás (0 para el intervalo actual)
+     * @return Primer día del intervalo resultante
+     */
+    public LocalDate inicioHace(LocalDate fecha, long intervalos) {
+        return inicio(fecha).minus(intervalos, unidad);
+    }
+
+    /**
+     * Cuenta los intervalos que cubren un rango semiabierto.
+     *
+     * @param desde Primer día del rango, inclusive
+     * @param hastaExclusivo Día siguiente al último del rango
+     * @return Número de intervalos, contando los parciales de los extremos
+     */
+    public long intervalos(LocalDate desde, LocalDate hastaExclusivo) {
+        return inicio(desde).until(hastaExclusivo, unidad) + 1;
+    }
+
+    /**
+     * Fecha inicial por defecto cuando la petición no indica {@code desde}:
+     * 30 días, 12 semanas, 12 meses o 5 años hasta la fecha final.
+     */
+    LocalDate desdePorDefecto(LocalDate hasta) {
+        return inicioHace(hasta, intervalosPorDefecto - 1);
+    }
+
+    /**
+     * Obtiene el valor del parámetro de la API.
+     *
+     * @return Valor del parámetro {@code granularidad}
+     */
+    public String getParametro() {
+        return parametro;
+    }
+
+    /**
+     * Interpreta el parámetro {@code granularidad} de la petición.
+     *
+     * @param valor Valor recibido ("dia", "semana", "mes", "año"); se aceptan
+     *              también "día" y "anio". Null equivale a "dia"
+     * @return La granularidad correspondiente
+     * @throws IllegalArgumentException Si el valor no es reconocido
+     */
+    public static Granularidad desdeParametro(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return DIA;
+        }
+        switch (valor.trim().toLowerCase()) {
+            case "dia":
+            case "día":
+                return DIA;
+            case "semana":
+                return SEMANA;
+            case "mes":
+                return MES;
+            case "año":
+            case "anio":
+                return ANIO;
+            default:
+                throw new IllegalArgumentException(
+                        "Granularidad no válida: " + valor + ". Valores permitidos: dia, semana, mes, año");
+        }
+    }
+}
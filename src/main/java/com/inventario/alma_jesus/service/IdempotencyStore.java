@@ -0,0 +1,146 @@
+package com.inventario.alma_jesus.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Almacén en memoria de resultados asociados a una clave de idempotencia.
+ * <p>
+ * Guarda el resultado de una operación ya realizada para que un reintento con
+ * la misma clave (por ejemplo, una tablet que reenvía la petición al perder la
+ * conexión) reciba la respuesta original sin repetir la operación. El número de
+ * entradas está acotado: al superar el máximo se descarta la guardada hace más
+ * tiempo, y cada entrada expira al cumplirse su tiempo de vida.
+ * </p>
+ * <p>
+ * El almacén es una primera línea rápida; la garantía definitiva la da la
+ * restricción única de la base de datos, que cubre los reintentos que llegan
+ * después de expirar la entrada o de reiniciar el servidor.
+ * </p>
+ *
+ * @param <V> Tipo del resultado almacenado
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * IdempotencyStore&lt;Map&lt;String, Object&gt;&gt; store = new IdempotencyStore&lt;&gt;(10000, 86400);
+ * Map&lt;String, Object&gt; previo = store.obtener(clave);
+ * if (previo == null) {
+ *     Map&lt;String, Object&gt; resultado = registrar();
+ *     store.guardar(clave, resultado);
+ * }
+ * </pre>
+ */
+public class IdempotencyStore<V> {
+
+    /**
+     * Número máximo de claves retenidas.
+     */
+    private final int maxEntradas;
+
+    /**
+     * Tiempo de vida de cada entrada, en milisegundos.
+     */
+    private final long ttlMillis;
+
+    /**
+     * Entradas en orden de inserción (la primera es la guardada hace más
+     * tiempo). Como el tiempo de vida es el mismo para todas, es también el
+     * orden de expiración.
+     */
+    private final LinkedHashMap<String, Entrada<V>> entradas;
+
+    /**
+     * Crea un almacén acotado.
+     *
+     * @param maxEntradas Número máximo de claves retenidas
+     * @param ttlSegundos Tiempo de vida de cada entrada, en segundos
+     * @throws IllegalArgumentException Si alguno de los límites no es positivo
+     */
+    public IdempotencyStore(int maxEntradas, long ttlSegundos) {
+        if (maxEntradas <= 0 || ttlSegundos <= 0) {
+            throw new IllegalArgumentException("El máximo de entradas y el TTL deben ser positivos");
+        }
+        this.maxEntradas = maxEntradas;
+        this.ttlMillis = ttlSegundos * 1000L;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada<V>> eldest) {
+                return size() > IdempotencyStore.this.maxEntradas;
+            }
+        };
+    }
+
+    /**
+     * Obtiene el resultado guardado para una clave.
+     *
+     * @param clave Clave de idempotencia
+     * @return El resultado original, o null si la clave no existe o ya expiró
+     */
+    public synchronized V obtener(String clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEn <= System.currentTimeMillis()) {
+            entradas.remove(clave);
+            return null;
+        }
+        return entrada.valor;
+    }
+
+    /**
+     * Guarda el resultado de una operación bajo su clave de idempotencia.
+     * <p>
+     * Aprovecha cada escritura para purgar las entradas expiradas más antiguas.
+     * </p>
+     *
+     * @param clave Clave de idempotencia
+     * @param valor Resultado a devolver en los reintentos
+     */
+    public synchronized void guardar(String clave, V valor) {
+        long ahora = System.currentTimeMillis();
+        purgarExpiradas(ahora);
+        // Reemplazar una clave no la mueve al final; se quita antes para
+        // conservar el orden de expiración
+        entradas.remove(clave);
+        entradas.put(clave, new Entrada<>(valor, ahora + ttlMillis));
+    }
+
+    /**
+     * Obtiene el número de claves retenidas actualmente.
+     *
+     * @return Número de entradas, incluidas las expiradas aún no purgadas
+     */
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    private void purgarExpiradas(long ahora) {
+        Iterator<Entrada<V>> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            Entrada<V> entrada = it.next();
+            if (entrada.expiraEn > ahora) {
+                // El orden de inserción es el de expiración: las siguientes
+                // también están vigentes, así que la purga es O(expiradas).
+                return;
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Resultado almacenado y su instante de expiración.
+     */
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEn;
+
+        Entrada(V valor, long expiraEn) {
+            this.valor = valor;
+            this.expiraEn = expiraEn;
+        }
+    }
+}
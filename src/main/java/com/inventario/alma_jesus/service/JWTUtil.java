@@ -4,9 +4,16 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.JWTVerifier;
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.repository.TokenRevocadoRepository;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Utilidad para la gestión de tokens JWT (JSON Web Tokens).
@@ -16,8 +23,24 @@ import java.util.Map;
  * auth0-java-jwt para la implementación segura de tokens.
  * </p>
  * <p>
- * Los tokens incluyen claims estándar como subject (username) y claims personalizados
- * como rol del usuario. Tienen una validez de 24 horas por defecto.
+ * Los tokens incluyen claims estándar como subject (username) y jti
+ * (identificador único) y claims personalizados como rol del usuario, tipo y
+ * uid (id del usuario, para las rutas que solo puede usar su propietario).
+ * Hay dos tipos: el token de acceso, de vida corta ({@code auth.access-token.ttl-seconds},
+ * 15 minutos por defecto), que se envía en cada petición, y el refresh token
+ * ({@code auth.refresh-token.ttl-seconds}, 7 días), que solo sirve para pedir
+ * un nuevo par en {@code POST /api/v1/auth/refresh}.
+ * </p>
+ * <p>
+ * Un token revocado (logout o refresh token ya usado) se rechaza hasta su
+ * expiración. La revisión se hace en memoria con {@link TokenRevocationStore},
+ * sin consultar la base de datos en cada petición.
+ * </p>
+ * <p>
+ * El algoritmo y el verificador se crean una sola vez: ambos son inmutables y
+ * seguros entre hilos. Los claims de los tokens ya verificados se guardan en
+ * una {@link ClaimsCache} hasta su expiración, así que el filtro de
+ * autorización solo verifica la firma la primera vez que ve cada token.
  * </p>
  *
  * @version 1.0
@@ -26,6 +49,12 @@ import java.util.Map;
  * @see <a href="https://github.com/auth0/java-jwt">auth0 java-jwt library</a>
  */
 public class JWTUtil {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(JWTUtil.class);
+
     /**
      * Clave secreta utilizada para firmar y verificar tokens.
      * <p>
@@ -37,35 +66,105 @@ public class JWTUtil {
     private static final String SECRET = "inventario_alma_jesus_secret_key_2024";
 
     /**
-     * Tiempo de expiración de los tokens en milisegundos.
-     * Valor por defecto: 24 horas (86400000 ms).
+     * Tiempo de expiración de los tokens de acceso en milisegundos.
+     * Valor por defecto: 15 minutos.
+     */
+    private static final long EXPIRATION_TIME = AppConfig.getLong("auth.access-token.ttl-seconds", 900) * 1000;
+
+    /**
+     * Tiempo de expiración de los refresh tokens en milisegundos.
+     * Valor por defecto: 7 días.
      */
-    private static final long EXPIRATION_TIME = 86400000; // 24 horas
+    private static final long REFRESH_EXPIRATION_TIME = AppConfig.getLong("auth.refresh-token.ttl-seconds", 604800) * 1000;
 
     /**
-     * Genera un nuevo token JWT para un usuario.
+     * Valores del claim "tipo".
+     */
+    private static final String TIPO_ACCESO = "access";
+    private static final String TIPO_REFRESH = "refresh";
+
+    /**
+     * Algoritmo de firma, compartido por la generación y la verificación.
+     */
+    private static final Algorithm ALGORITMO = Algorithm.HMAC256(SECRET);
+
+    /**
+     * Verificador reutilizable de firma y expiración.
+     */
+    private static final JWTVerifier VERIFICADOR = JWT.require(ALGORITMO).build();
+
+    /**
+     * Claims de los tokens ya verificados, por hash del token.
+     */
+    private static final ClaimsCache CLAIMS = new ClaimsCache(AppConfig.getInt("auth.claims-cache.max-size", 10000));
+
+    /**
+     * jti de los tokens revocados.
+     */
+    private static final TokenRevocationStore REVOCADOS = new TokenRevocationStore(
+            new TokenRevocadoRepository(),
+            AppConfig.getLong("auth.revocation.bloom-bits", 1 << 20),
+            AppConfig.getLong("auth.revocation.purge-seconds", 300));
+
+    /**
+     * Genera un nuevo token JWT de acceso para un usuario.
      * <p>
      * Crea un token firmado con el algoritmo HMAC256 que contiene:
      * <ul>
      *   <li><strong>Subject:</strong> Nombre de usuario (identificador único)</li>
      *   <li><strong>Rol:</strong> Rol del usuario en el sistema</li>
-     *   <li><strong>Expiración:</strong> Fecha de expiración (24 horas desde la generación)</li>
+     *   <li><strong>uid:</strong> ID del usuario</li>
+     *   <li><strong>jti:</strong> Identificador del token, para poder revocarlo</li>
+     *   <li><strong>Expiración:</strong> Fecha de expiración (15 minutos desde la generación, por defecto)</li>
      * </ul>
      * </p>
      *
      * @param username Nombre de usuario que será el subject del token
      * @param rol Rol del usuario en el sistema (ej: ADMIN, TRABAJADOR, SUPERVISOR)
+     * @param usuarioId ID del usuario
      * @return Token JWT firmado como String
      * @throws RuntimeException Si ocurre un error durante la generación del token
      * @throws IllegalArgumentException Si username o rol son nulos o vacíos
      */
-    public static String generateToken(String username, String rol) {
+    public static String generateToken(String username, String rol, String usuarioId) {
+        return generar(username, rol, usuarioId, TIPO_ACCESO, EXPIRATION_TIME);
+    }
+
+    /**
+     * Genera un refresh token para un usuario.
+     * <p>
+     * Solo es válido en {@code POST /api/v1/auth/refresh}; el filtro de
+     * autorización no lo acepta como token de acceso. Se revoca al usarse,
+     * así que cada refresh token sirve una sola vez.
+     * </p>
+     *
+     * @param username Nombre de usuario que será el subject del token
+     * @param rol Rol del usuario en el sistema
+     * @param usuarioId ID del usuario
+     * @return Refresh token firmado como String
+     * @throws RuntimeException Si ocurre un error durante la generación del token
+     */
+    public static String generateRefreshToken(String username, String rol, String usuarioId) {
+        return generar(username, rol, usuarioId, TIPO_REFRESH, REFRESH_EXPIRATION_TIME);
+    }
+
+    /**
+     * @return Vigencia de los tokens de acceso en segundos
+     */
+    public static long getAccessTokenTtlSeconds() {
+        return EXPIRATION_TIME / 1000;
+    }
+
+    private static String generar(String username, String rol, String usuarioId, String tipo, long vigenciaMs) {
         try {
             return JWT.create()
                     .withSubject(username)
+                    .withJWTId(UUID.randomUUID().toString())
                     .withClaim("rol", rol)
-                    .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                    .sign(Algorithm.HMAC256(SECRET));
+                    .withClaim("uid", usuarioId)
+                    .withClaim("tipo", tipo)
+                    .withExpiresAt(new Date(System.currentTimeMillis() + vigenciaMs))
+                    .sign(ALGORITMO);
         } catch (JWTCreationException e) {
             throw new RuntimeException("Error al generar token", e);
         }
@@ -82,41 +181,126 @@ public class JWTUtil {
      * @return true si el token es válido, false en caso contrario
      */
     public static boolean verifyToken(String token) {
-        try {
-            JWT.require(Algorithm.HMAC256(SECRET))
-                    .build()
-                    .verify(token);
-            return true;
-        } catch (Exception e) {
-            System.out.println("Token invalido: " + e.getMessage());
-            return false;
-        }
+        return decodeToken(token) != null;
     }
 
     /**
      * Decodifica un token JWT y extrae sus claims.
      * <p>
-     * Verifica la validez del token y extrae la información contenida en él.
-     * Retorna un mapa con los claims del token si es válido.
+     * Verifica la validez del token de acceso y extrae la información
+     * contenida en él. Retorna un mapa con los claims del token si es válido.
+     * Si el token ya se verificó antes y no ha expirado, los claims salen de
+     * la caché sin volver a verificar la firma; la revocación se revisa
+     * siempre, en memoria. Los refresh tokens no se aceptan aquí.
      * </p>
      *
      * @param token Token JWT a decodificar
-     * @return Mapa con los claims del token (username y rol), o null si el token es inválido
+     * @return Mapa inmutable con los claims del token (username, rol, uid y jti), o null si el token es inválido
      * @see #verifyToken(String)
      */
     public static Map<String, String> decodeToken(String token) {
-        try {
-            DecodedJWT jwt = JWT.require(Algorithm.HMAC256(SECRET))
-                    .build()
-                    .verify(token);
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Map<String, String> claims = CLAIMS.obtener(token);
+        if (claims == null) {
+            DecodedJWT jwt = verificar(token);
+            if (jwt == null || TIPO_REFRESH.equals(jwt.getClaim("tipo").asString())) {
+                return null;
+            }
+            claims = claims(jwt);
+            if (jwt.getExpiresAt() != null) {
+                CLAIMS.guardar(token, claims, jwt.getExpiresAt().getTime());
+            }
+        }
+        return estaRevocado(claims) ? null : claims;
+    }
+
+    /**
+     * Decodifica un refresh token.
+     *
+     * @param token Refresh token
+     * @return Mapa inmutable con los claims del token (username, rol, uid y jti), o null si es
+     *         inválido, expiró, fue revocado o no es un refresh token
+     */
+    public static Map<String, String> decodeRefreshToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        DecodedJWT jwt = verificar(token);
+        if (jwt == null || !TIPO_REFRESH.equals(jwt.getClaim("tipo").asString())) {
+            return null;
+        }
+        Map<String, String> claims = claims(jwt);
+        return estaRevocado(claims) ? null : claims;
+    }
+
+    /**
+     * Revoca un token (de acceso o refresh) hasta su expiración.
+     * <p>
+     * Los tokens emitidos antes de incluir jti no se pueden revocar; dejan de
+     * ser válidos al expirar.
+     * </p>
+     *
+     * @param token Token JWT a revocar
+     * @return true si el token era válido y esta llamada lo revocó; false si
+     *         es inválido o ya estaba revocado
+     */
+    public static boolean revokeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        DecodedJWT jwt = verificar(token);
+        if (jwt == null || jwt.getId() == null || jwt.getExpiresAt() == null) {
+            return false;
+        }
+        CLAIMS.invalidar(token);
+        return REVOCADOS.revocar(jwt.getId(), jwt.getExpiresAt().getTime());
+    }
 
-            Map<String, String> claims = new HashMap<>();
-            claims.put("username", jwt.getSubject());
-            claims.put("rol", jwt.getClaim("rol").asString());
+    /**
+     * Carga las revocaciones guardadas y programa su purga. Se llama una vez al arrancar.
+     */
+    public static void iniciarRevocaciones() {
+        REVOCADOS.iniciar();
+    }
 
-            return claims;
+    private static DecodedJWT verificar(String token) {
+        try {
+            return VERIFICADOR.verify(token);
         } catch (Exception e) {
+            logger.debug("Token invalido: {}", e.getMessage());
             return null;
         }
     }
+
+    private static Map<String, String> claims(DecodedJWT jwt) {
+        Map<String, String> claims = new HashMap<>();
+        claims.put("username", jwt.getSubject());
+        claims.put("rol", jwt.getClaim("rol").asString());
+        String uid = jwt.getClaim("uid").asString();
+        if (uid != null) {
+            claims.put("uid", uid);
+        }
+        if (jwt.getId() != null) {
+            claims.put("jti", jwt.getId());
+        }
+        return Collections.unmodifiableMap(claims);
+    }
+
+    private static boolean estaRevocado(Map<String, String> claims) {
+        String jti = claims.get("jti");
+        return jti != null && REVOCADOS.estaRevocado(jti);
+    }
+
+    /**
+     * Obtiene los contadores de la caché de claims y el número de tokens revocados.
+     *
+     * @return Mapa con entradas, aciertos, fallos, hitRate y revocados
+     */
+    public static Map<String, Object> estadisticasCache() {
+        Map<String, Object> estadisticas = new HashMap<>(CLAIMS.estadisticas());
+        estadisticas.put("revocados", REVOCADOS.tamano());
+        return estadisticas;
+    }
 }
\ No newline at end of file
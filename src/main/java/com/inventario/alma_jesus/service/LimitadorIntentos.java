@@ -0,0 +1,252 @@
+package com.inventario.alma_jesus.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cubetas de tokens por clave (usuario o IP) con bloqueo exponencial tras
+ * fallos consecutivos.
+ * <p>
+ * Cada intento consume un token de la cubeta de su clave; la cubeta se
+ * recarga a ritmo constante hasta su capacidad. Además, al acumular
+ * {@code umbralBloqueo} fallos dentro de la ventana, la clave queda bloqueada
+ * un tiempo que se duplica con cada fallo adicional, hasta un máximo. Un
+ * éxito borra los fallos.
+ * </p>
+ * <p>
+ * El estado de cada clave es inmutable y se reemplaza con compare-and-set,
+ * así que ningún intento toma bloqueos. El número de claves está acotado: al
+ * pasar el máximo, un solo hilo descarta las usadas hace más tiempo hasta
+ * quedar en el 90 % del máximo.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see LoginThrottle
+ *
+ * @example
+ * <pre>
+ * LimitadorIntentos porIp = new LimitadorIntentos(20, 20.0 / 60, 20, 30_000, 900_000, 900_000, 50_000);
+ * long esperaMs = porIp.intentar(ip);
+ * if (esperaMs &gt; 0) {
+ *     // rechazar sin consultar la base de datos
+ * }
+ * </pre>
+ */
+public class LimitadorIntentos {
+
+    private final int capacidad;
+    private final double recargaPorNano;
+    private final int umbralBloqueo;
+    private final long bloqueoBaseNanos;
+    private final long bloqueoMaxNanos;
+    private final long ventanaFallosNanos;
+    private final int maxClaves;
+
+    private final Map<String, Cubeta> cubetas = new ConcurrentHashMap<>();
+    private final AtomicBoolean desalojando = new AtomicBoolean();
+
+    /**
+     * @param capacidad Intentos que se pueden hacer seguidos
+     * @param recargaPorSegundo Intentos que se recuperan por segundo
+     * @param umbralBloqueo Fallos dentro de la ventana a partir de los cuales se bloquea
+     * @param bloqueoBaseMs Duración del primer bloqueo; cada fallo adicional la duplica
+     * @param bloqueoMaxMs Duración máxima de un bloqueo
+     * @param ventanaFallosMs Tiempo sin fallos tras el cual el contador vuelve a cero
+     * @param maxClaves Número máximo de claves retenidas
+     */
+    public LimitadorIntentos(int capacidad, double recargaPorSegundo, int umbralBloqueo,
+                             long bloqueoBaseMs, long bloqueoMaxMs, long ventanaFallosMs, int maxClaves) {
+        if (capacidad <= 0 || recargaPorSegundo <= 0 || umbralBloqueo <= 0 || maxClaves <= 0) {
+            throw new IllegalArgumentException("Los límites del limitador deben ser positivos");
+        }
+        this.capacidad = capacidad;
+        this.recargaPorNano = recargaPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.umbralBloqueo = umbralBloqueo;
+        this.bloqueoBaseNanos = TimeUnit.MILLISECONDS.toNanos(bloqueoBaseMs);
+        this.bloqueoMaxNanos = TimeUnit.MILLISECONDS.toNanos(bloqueoMaxMs);
+        this.ventanaFallosNanos = TimeUnit.MILLISECONDS.toNanos(ventanaFallosMs);
+        this.maxClaves = maxClaves;
+    }
+
+    /**
+     * Intenta consumir un token de la clave.
+     *
+     * @param clave Usuario o IP
+     * @return 0 si el intento se permite; si no, milisegundos hasta poder reintentar
+     */
+    public long intentar(String clave) {
+        Cubeta cubeta = cubeta(clave);
+        while (true) {
+            long ahora = System.nanoTime();
+            Estado actual = cubeta.estado.get();
+            if (actual.fallos >= umbralBloqueo && actual.bloqueadoHasta - ahora > 0) {
+                return aMilisegundos(actual.bloqueadoHasta - ahora);
+            }
+            double tokens = Math.min(capacidad, actual.tokens + (ahora - actual.actualizado) * recargaPorNano);
+            if (tokens < 1) {
+                return aMilisegundos((long) Math.ceil((1 - tokens) / recargaPorNano));
+            }
+            Estado nuevo = new Estado(tokens - 1, ahora, actual.fallos, actual.ultimoFallo, actual.bloqueadoHasta);
+            if (cubeta.estado.compareAndSet(actual, nuevo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Registra un intento fallido y, si se alcanza el umbral, bloquea la clave.
+     *
+     * @param clave Usuario o IP
+     */
+    public void registrarFallo(String clave) {
+        Cubeta cubeta = cubeta(clave);
+        while (true) {
+            long ahora = System.nanoTime();
+            Estado actual = cubeta.estado.get();
+            int fallos = actual.fallos > 0 && ahora - actual.ultimoFallo <= ventanaFallosNanos ? actual.fallos + 1 : 1;
+            long bloqueadoHasta = actual.bloqueadoHasta;
+            if (fallos >= umbralBloqueo) {
+                int duplicaciones = Math.min(fallos - umbralBloqueo, 30);
+                long duracion = bloqueoBaseNanos << duplicaciones;
+                bloqueadoHasta = ahora + (duracion <= 0 || duracion > bloqueoMaxNanos ? bloqueoMaxNanos : duracion);
+            }
+            Estado nuevo = new Estado(actual.tokens, actual.actualizado, fallos, ahora, bloqueadoHasta);
+            if (cubeta.estado.compareAndSet(actual, nuevo)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registra un intento exitoso: borra los fallos y el bloqueo de la clave.
+     *
+     * @param clave Usuario o IP
+     */
+    public void registrarExito(String clave) {
+        Cubeta cubeta = cubetas.get(clave);
+        if (cubeta == null) {
+            return;
+        }
+        while (true) {
+            Estado actual = cubeta.estado.get();
+            if (actual.fallos == 0) {
+                return;
+            }
+            Estado nuevo = new Estado(actual.tokens, actual.actualizado, 0, 0, 0);
+            if (cubeta.estado.compareAndSet(actual, nuevo)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el token que consumió un intento que no debe contar contra el
+     * límite, sin pasar de la capacidad. No toca los fallos ni el bloqueo.
+     *
+     * @param clave Usuario o IP
+     */
+    public void devolver(String clave) {
+        Cubeta cubeta = cubetas.get(clave);
+        if (cubeta == null) {
+            return;
+        }
+        while (true) {
+            long ahora = System.nanoTime();
+            Estado actual = cubeta.estado.get();
+            double tokens = Math.min(capacidad, actual.tokens + (ahora - actual.actualizado) * recargaPorNano + 1);
+            Estado nuevo = new Estado(tokens, ahora, actual.fallos, actual.ultimoFallo, actual.bloqueadoHasta);
+            if (cubeta.estado.compareAndSet(actual, nuevo)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Número de claves retenidas
+     */
+    public int claves() {
+        return cubetas.size();
+    }
+
+    private Cubeta cubeta(String clave) {
+        Cubeta cubeta = cubetas.get(clave);
+        if (cubeta == null) {
+            cubeta = cubetas.computeIfAbsent(clave, k -> new Cubeta(new Estado(capacidad, System.nanoTime(), 0, 0, 0)));
+            if (cubetas.size() > maxClaves) {
+                desalojar();
+            }
+        }
+        cubeta.ultimoAcceso = System.nanoTime();
+        return cubeta;
+    }
+
+    /**
+     * Descarta las claves usadas hace más tiempo hasta quedar en el 90 % del
+     * máximo. Si otro hilo ya está desalojando, no hace nada.
+     */
+    private void desalojar() {
+        if (!desalojando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // Copia de los accesos: ordenar sobre valores que cambian rompería el comparador
+            long ahora = System.nanoTime();
+            List<Map.Entry<String, Long>> accesos = new ArrayList<>(cubetas.size());
+            for (Map.Entry<String, Cubeta> entrada : cubetas.entrySet()) {
+                accesos.add(Map.entry(entrada.getKey(), entrada.getValue().ultimoAcceso - ahora));
+            }
+            accesos.sort(Map.Entry.comparingByValue());
+            int sobrantes = cubetas.size() - maxClaves * 9 / 10;
+            for (int i = 0; i < sobrantes && i < accesos.size(); i++) {
+                String clave = accesos.get(i).getKey();
+                Cubeta cubeta = cubetas.get(clave);
+                // Si se usó después de la copia, se conserva
+                if (cubeta != null && cubeta.ultimoAcceso - ahora == accesos.get(i).getValue()) {
+                    cubetas.remove(clave, cubeta);
+                }
+            }
+        } finally {
+            desalojando.set(false);
+        }
+    }
+
+    private static long aMilisegundos(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    private static final class Cubeta {
+        private final AtomicReference<Estado> estado;
+        private volatile long ultimoAcceso;
+
+        Cubeta(Estado inicial) {
+            this.estado = new AtomicReference<>(inicial);
+            this.ultimoAcceso = inicial.actualizado;
+        }
+    }
+
+    /**
+     * Estado inmutable de una clave; los instantes son de {@link System#nanoTime()}.
+     * {@code bloqueadoHasta} solo vale mientras {@code fallos} alcanza el umbral.
+     */
+    private static final class Estado {
+        private final double tokens;
+        private final long actualizado;
+        private final int fallos;
+        private final long ultimoFallo;
+        private final long bloqueadoHasta;
+
+        Estado(double tokens, long actualizado, int fallos, long ultimoFallo, long bloqueadoHasta) {
+            this.tokens = tokens;
+            this.actualizado = actualizado;
+            this.fallos = fallos;
+            this.ultimoFallo = ultimoFallo;
+            this.bloqueadoHasta = bloqueadoHasta;
+        }
+    }
+}
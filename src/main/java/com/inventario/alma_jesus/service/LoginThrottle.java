@@ -0,0 +1,139 @@
+package com.inventario.alma_jesus.service;
+
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.repository.PrometheusTexto;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Límite de intentos de login por usuario y por IP.
+ * <p>
+ * {@link #verificar(String, String)} se llama antes de buscar al usuario o
+ * verificar la contraseña, así que un ataque de fuerza bruta se rechaza sin
+ * consultar la base de datos ni gastar CPU en BCrypt. Cada dimensión es un
+ * {@link LimitadorIntentos}: una cubeta de tokens que limita el ritmo y un
+ * bloqueo que se duplica con cada fallo a partir del umbral. El límite por IP
+ * es más holgado, porque una oficina entera puede salir por la misma IP.
+ * </p>
+ * <p>
+ * Un login correcto borra los fallos del usuario y devuelve el token de la
+ * IP, así que la cubeta de la IP solo se gasta con fallos y una oficina que
+ * entra a la vez no se bloquea. Los fallos de la IP no se borran: caducan
+ * solos al pasar la ventana sin fallos, para que una cuenta válida no sirva
+ * para seguir probando otras desde la misma IP.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see LimitadorIntentos
+ * @see AuthService#login(String, String, String)
+ */
+public final class LoginThrottle {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    private static final boolean HABILITADO = AppConfig.getBoolean("auth.throttle.enabled", true);
+
+    private static final LimitadorIntentos POR_USUARIO = crear("auth.throttle.username", 5, 5, 5);
+
+    private static final LimitadorIntentos POR_IP = crear("auth.throttle.ip", 20, 20, 20);
+
+    private static final LongAdder RECHAZOS_USUARIO = new LongAdder();
+    private static final LongAdder RECHAZOS_IP = new LongAdder();
+
+    private LoginThrottle() {
+    }
+
+    /**
+     * Consume un intento del usuario y de la IP.
+     *
+     * @param username Usuario con el que se intenta entrar
+     * @param ip IP del cliente
+     * @throws DemasiadosIntentosException Si el usuario o la IP superaron su límite o están bloqueados
+     */
+    public static void verificar(String username, String ip) {
+        if (!HABILITADO) {
+            return;
+        }
+        long esperaIp = POR_IP.intentar(ip);
+        if (esperaIp > 0) {
+            RECHAZOS_IP.increment();
+            logger.debug("Login rechazado por límite de IP: {}", ip);
+            throw rechazo(esperaIp);
+        }
+        long esperaUsuario = POR_USUARIO.intentar(normalizar(username));
+        if (esperaUsuario > 0) {
+            RECHAZOS_USUARIO.increment();
+            logger.debug("Login rechazado por límite de usuario: {}", username);
+            throw rechazo(esperaUsuario);
+        }
+    }
+
+    /**
+     * Registra un login fallido (usuario inexistente o contraseña incorrecta).
+     *
+     * @param username Usuario con el que se intentó entrar
+     * @param ip IP del cliente
+     */
+    public static void registrarFallo(String username, String ip) {
+        if (!HABILITADO) {
+            return;
+        }
+        POR_USUARIO.registrarFallo(normalizar(username));
+        POR_IP.registrarFallo(ip);
+    }
+
+    /**
+     * Registra un login correcto: borra los fallos del usuario y devuelve el
+     * token que {@link #verificar(String, String)} consumió de la IP.
+     *
+     * @param username Usuario autenticado
+     * @param ip IP del cliente
+     */
+    public static void registrarExito(String username, String ip) {
+        if (!HABILITADO) {
+            return;
+        }
+        POR_USUARIO.registrarExito(normalizar(username));
+        POR_IP.devolver(ip);
+    }
+
+    /**
+     * Escribe los rechazos y las claves retenidas en formato Prometheus.
+     *
+     * @param salida Documento en construcción
+     */
+    public static void exportar(PrometheusTexto salida) {
+        salida.metrica("login_throttle_rejected_total", "counter", "Logins rechazados antes de consultar la base de datos");
+        salida.muestra("login_throttle_rejected_total", RECHAZOS_USUARIO.sum(), "key", "username");
+        salida.muestra("login_throttle_rejected_total", RECHAZOS_IP.sum(), "key", "ip");
+
+        salida.metrica("login_throttle_tracked_keys", "gauge", "Usuarios e IPs con estado de límite en memoria");
+        salida.muestra("login_throttle_tracked_keys", POR_USUARIO.claves(), "key", "username");
+        salida.muestra("login_throttle_tracked_keys", POR_IP.claves(), "key", "ip");
+    }
+
+    private static DemasiadosIntentosException rechazo(long esperaMs) {
+        return new DemasiadosIntentosException("Demasiados intentos, intente más tarde", (esperaMs + 999) / 1000);
+    }
+
+    private static String normalizar(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static LimitadorIntentos crear(String prefijo, int capacidad, int porMinuto, int umbral) {
+        return new LimitadorIntentos(
+                AppConfig.getInt(prefijo + ".capacity", capacidad),
+                AppConfig.getInt(prefijo + ".refill-per-minute", porMinuto) / 60.0,
+                AppConfig.getInt(prefijo + ".lockout-threshold", umbral),
+                AppConfig.getLong("auth.throttle.lockout-base-ms", 30_000),
+                AppConfig.getLong("auth.throttle.lockout-max-ms", 900_000),
+                AppConfig.getLong("auth.throttle.failure-window-ms", 900_000),
+                AppConfig.getInt("auth.throttle.max-keys", 50_000));
+    }
+}
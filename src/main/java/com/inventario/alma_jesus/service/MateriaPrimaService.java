@@ -4,8 +4,13 @@ import com.inventario.alma_jesus.model.MateriaPrima;
 import com.inventario.alma_jesus.model.MovimientoMp;
 import com.inventario.alma_jesus.repository.MateriaPrimaRepository;
 import com.inventario.alma_jesus.repository.MovimientoMpRepository;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
+import com.inventario.alma_jesus.repository.UnitOfWork;
 import java.time.LocalDate;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de materia prima en el inventario.
@@ -24,6 +29,12 @@ import java.util.List;
  * @see MovimientoMp
  */
 public class MateriaPrimaService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MateriaPrimaService.class);
+
     private final MateriaPrimaRepository materiaRepository = new MateriaPrimaRepository();
     private final MovimientoMpRepository movimientoRepository = new MovimientoMpRepository();
 
@@ -40,7 +51,7 @@ public class MateriaPrimaService {
      * @see MateriaPrimaRepository#findAll(String, String)
      */
     public List<MateriaPrima> listarMateriales(String buscar, String categoria) {
-        System.out.println(" [MATERIAL-SERVICE] Listando materiales - Buscar: '" + buscar + "', Categoría: '" + categoria + "'");
+        logger.debug("Listando materiales - Buscar: '{}', Categoría: '{}'", buscar, categoria);
         return materiaRepository.findAll(buscar, categoria);
     }
 
@@ -53,10 +64,10 @@ public class MateriaPrimaService {
      * @see MateriaPrimaRepository#findById(Long)
      */
     public MateriaPrima obtenerMaterial(Long id) {
-        System.out.println(" [MATERIAL-SERVICE] Obteniendo material ID: " + id);
+        logger.debug("Obteniendo material ID: {}", id);
         return materiaRepository.findById(id)
                 .orElseThrow(() -> {
-                    System.out.println("❌ [MATERIAL-SERVICE] Material no encontrado ID: " + id);
+                    logger.debug("Material no encontrado ID: {}", id);
                     return new RuntimeException("Material no encontrado ID: " + id);
                 });
     }
@@ -76,13 +87,13 @@ public class MateriaPrimaService {
      * @see MateriaPrimaRepository#save(MateriaPrima)
      */
     public MateriaPrima crearMaterial(MateriaPrima material) {
-        System.out.println(" [MATERIAL-SERVICE] Creando nuevo material: " + material.getNombre());
+        logger.debug("Creando nuevo material: {}", material.getNombre());
         validarMaterial(material);
         MateriaPrima materialCreado = materiaRepository.save(material);
 
         // Registrar movimiento inicial si hay cantidad
         if (materialCreado.getCantidad() > 0) {
-            System.out.println(" [MATERIAL-SERVICE] Registrando movimiento inicial para: " + materialCreado.getNombre());
+            logger.debug("Registrando movimiento inicial para: {}", materialCreado.getNombre());
             MovimientoMp movimiento = new MovimientoMp();
             movimiento.setMateriaId(materialCreado.getId());
             movimiento.setFecha(LocalDate.now().toString());
@@ -92,7 +103,7 @@ public class MateriaPrimaService {
             movimientoRepository.save(movimiento);
         }
 
-        System.out.println(" [MATERIAL-SERVICE] Material creado exitosamente: " + materialCreado.getNombre());
+        logger.debug("Material creado exitosamente: {}", materialCreado.getNombre());
         return materialCreado;
     }
 
@@ -111,7 +122,7 @@ public class MateriaPrimaService {
      * @see MateriaPrimaRepository#update(MateriaPrima)
      */
     public boolean editarMaterial(MateriaPrima material) {
-        System.out.println(" [MATERIAL-SERVICE] Editando material ID: " + material.getId());
+        logger.debug("Editando material ID: {}", material.getId());
         validarMaterial(material);
         return materiaRepository.update(material);
     }
@@ -134,20 +145,20 @@ public class MateriaPrimaService {
      * @see MovimientoMpRepository#save(MovimientoMp)
      */
     public boolean actualizarStock(Long id, Integer nuevaCantidad, String usuarioId, String nota) {
-        System.out.println(" [MATERIAL-SERVICE] Actualizando stock material ID: " + id + " -> " + nuevaCantidad);
+        logger.debug("Actualizando stock material ID: {} -> {}", id, nuevaCantidad);
         if (nuevaCantidad == null || nuevaCantidad < 0) {
-            System.out.println(" [MATERIAL-SERVICE] Cantidad inválida: " + nuevaCantidad);
+            logger.debug("Cantidad inválida: {}", nuevaCantidad);
             throw new RuntimeException("La cantidad debe ser un número positivo");
         }
 
         MateriaPrima material = obtenerMaterial(id);
         Integer diferencia = nuevaCantidad - material.getCantidad();
-        System.out.println(" [MATERIAL-SERVICE] Diferencia de stock: " + diferencia);
+        logger.debug("Diferencia de stock: {}", diferencia);
 
         boolean actualizado = materiaRepository.updateStock(id, nuevaCantidad);
 
         if (actualizado && diferencia != 0) {
-            System.out.println("[MATERIAL-SERVICE] Registrando movimiento - Tipo: " + (diferencia > 0 ? "entrada" : "salida") + ", Cantidad: " + Math.abs(diferencia));
+            logger.debug("Registrando movimiento - Tipo: {}, Cantidad: {}", (diferencia > 0 ? "entrada" : "salida"), Math.abs(diferencia));
             // Registrar movimiento
             MovimientoMp movimiento = new MovimientoMp();
             movimiento.setMateriaId(id);
@@ -158,10 +169,51 @@ public class MateriaPrimaService {
             movimientoRepository.save(movimiento);
         }
 
-        System.out.println("[MATERIAL-SERVICE] Stock actualizado exitosamente");
+        logger.debug("Stock actualizado exitosamente");
         return actualizado;
     }
 
+    /**
+     * Ajusta el stock de una materia prima con un delta y registra el movimiento en una sola transacción.
+     * <p>
+     * A diferencia de {@link #actualizarStock}, no lee el material ni calcula la
+     * diferencia en Java: suma el delta en la base de datos y registra el
+     * movimiento ("entrada" si el delta es positivo, "salida" si es negativo)
+     * dentro de la misma transacción, de modo que el stock y el historial de
+     * movimientos no pueden divergir y los ajustes concurrentes se acumulan.
+     * </p>
+     *
+     * @param id ID del material cuyo stock se ajustará
+     * @param delta Cantidad a sumar al stock (negativa para salidas)
+     * @param usuarioId ID del usuario que realiza el ajuste
+     * @param nota Nota u observación sobre el ajuste (actualmente no se usa, reservado para futuro)
+     * @return El movimiento registrado
+     * @throws RuntimeException Si el delta es nulo o cero
+     * @throws IllegalStateException Si el material no existe o el stock no alcanza para la salida
+     * @see MateriaPrimaRepository#adjustStock(Long, int)
+     * @see UnitOfWork#inTransaction(UnitOfWork.TransactionalWork)
+     */
+    public MovimientoMp ajustarStock(Long id, Integer delta, String usuarioId, String nota) {
+        logger.debug("Ajustando stock material ID: {} delta: {}", id, delta);
+        if (delta == null || delta == 0) {
+            throw new RuntimeException("El delta debe ser un número distinto de cero");
+        }
+
+        return UnitOfWork.inTransaction(() -> {
+            if (!materiaRepository.adjustStock(id, delta)) {
+                throw new IllegalStateException("Material no encontrado o stock insuficiente para la salida");
+            }
+
+            MovimientoMp movimiento = new MovimientoMp();
+            movimiento.setMateriaId(id);
+            movimiento.setFecha(LocalDate.now().toString());
+            movimiento.setTipo(delta > 0 ? "entrada" : "salida");
+            movimiento.setCantidad(Math.abs(delta));
+            movimiento.setUsuarioId(usuarioId);
+            return movimientoRepository.save(movimiento);
+        });
+    }
+
     /**
      * Obtiene el historial de movimientos de una materia prima.
      * <p>
@@ -174,10 +226,22 @@ public class MateriaPrimaService {
      * @see MovimientoMpRepository#findByMateriaId(Long)
      */
     public List<MovimientoMp> obtenerHistorial(Long materiaId) {
-        System.out.println(" [MATERIAL-SERVICE] Obteniendo historial para material ID: " + materiaId);
+        logger.debug("Obteniendo historial para material ID: {}", materiaId);
         return movimientoRepository.findByMateriaId(materiaId);
     }
 
+    /**
+     * Obtiene una página del historial de movimientos de una materia prima.
+     *
+     * @param materiaId ID de la materia prima para la cual obtener el historial
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link MovimientoMp} ordenada por fecha descendente
+     * @see MovimientoMpRepository#findByMateriaId(Long, PageRequest)
+     */
+    public Page<MovimientoMp> obtenerHistorial(Long materiaId, PageRequest page) {
+        return movimientoRepository.findByMateriaId(materiaId, page);
+    }
+
     /**
      * Elimina una materia prima del inventario (eliminación lógica).
      * <p>
@@ -191,7 +255,7 @@ public class MateriaPrimaService {
      * @see MateriaPrimaRepository#delete(Long)
      */
     public boolean eliminarMaterial(Long id) {
-        System.out.println(" [MATERIAL-SERVICE] Eliminando material ID: " + id);
+        logger.debug("Eliminando material ID: {}", id);
         return materiaRepository.delete(id);
     }
 
@@ -214,7 +278,7 @@ public class MateriaPrimaService {
      *         </ul>
      */
     private void validarMaterial(MateriaPrima material) {
-        System.out.println(" [MATERIAL-SERVICE] Validando material: " + material.getNombre());
+        logger.debug("Validando material: {}", material.getNombre());
         if (material.getNombre() == null || material.getNombre().trim().isEmpty()) {
             throw new RuntimeException("El nombre del material es requerido");
         }
@@ -233,6 +297,6 @@ public class MateriaPrimaService {
         if (material.getCategoria() == null || material.getCategoria().trim().isEmpty()) {
             throw new RuntimeException("La categoría es requerida");
         }
-        System.out.println("[MATERIAL-SERVICE] Material validado correctamente");
+        logger.debug("Material validado correctamente");
     }
 }
\ No newline at end of file
@@ -69,7 +69,7 @@ public class MaterialUtilizadoService {
      */
     public MaterialUtilizado registrarMaterialUtilizado(Long reparacionId, Long materiaId,
                                                         Integer cantidad, Integer costoUnitario, String usuarioId) {
-        logger.info("📦 Registrando material utilizado - Reparación: {}, Material: {}, Cantidad: {}",
+        logger.info("Registrando material utilizado - Reparación: {}, Material: {}, Cantidad: {}",
                 reparacionId, materiaId, cantidad);
 
         MaterialUtilizado material = new MaterialUtilizado();
@@ -82,7 +82,7 @@ public class MaterialUtilizadoService {
         material.setUsuarioId(usuarioId);
 
         MaterialUtilizado materialGuardado = materialUtilizadoRepository.save(material);
-        logger.info("✅ Material registrado exitosamente - ID: {}", materialGuardado.getId());
+        logger.info("Material registrado exitosamente - ID: {}", materialGuardado.getId());
 
         return materialGuardado;
     }
@@ -102,13 +102,13 @@ public class MaterialUtilizadoService {
      *      MaterialUtilizado.TipoDocumento, Long)
      */
     public List<MaterialUtilizado> obtenerMaterialesPorReparacion(Long reparacionId) {
-        logger.info("📦 Obteniendo materiales utilizados para reparación ID: {}", reparacionId);
+        logger.info("Obteniendo materiales utilizados para reparación ID: {}", reparacionId);
 
         List<MaterialUtilizado> materiales = materialUtilizadoRepository
                 .findByTipoDocumentoAndDocumentoIdOrderByFechaRegistroDesc(
                         MaterialUtilizado.TipoDocumento.reparacion, reparacionId);
 
-        logger.info("✅ Se encontraron {} materiales para la reparación", materiales.size());
+        logger.info("Se encontraron {} materiales para la reparación", materiales.size());
         return materiales;
     }
 
@@ -126,7 +126,7 @@ public class MaterialUtilizadoService {
      */
     public Integer calcularCostoMaterialesReparacion(Long reparacionId) {
         Integer costoTotal = materialUtilizadoRepository.calcularCostoTotalMaterialesPorReparacion(reparacionId);
-        logger.info("💰 Costo total de materiales para reparación {}: ${}",
+        logger.info("Costo total de materiales para reparación {}: ${}",
                 reparacionId, costoTotal / 100.0);
         return costoTotal;
     }
@@ -145,15 +145,15 @@ public class MaterialUtilizadoService {
      * @see MaterialUtilizadoRepository#deleteById(Long)
      */
     public boolean eliminarMaterialUtilizado(Long materialId) {
-        logger.info("🗑️ Eliminando material utilizado ID: {}", materialId);
+        logger.info("Eliminando material utilizado ID: {}", materialId);
 
         if (materialUtilizadoRepository.existsById(materialId)) {
             materialUtilizadoRepository.deleteById(materialId);
-            logger.info("✅ Material eliminado exitosamente");
+            logger.info("Material eliminado exitosamente");
             return true;
         }
 
-        logger.warn("⚠️ Material con ID {} no encontrado", materialId);
+        logger.warn("Material con ID {} no encontrado", materialId);
         return false;
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.inventario.alma_jesus.service;
 import java.util.regex.Pattern;
 import java.util.HashMap;
 import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para validar y procesar materiales en el sistema de inventario.
@@ -15,6 +17,11 @@ import java.util.Map;
  */
 public class MaterialValidator {
 
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MaterialValidator.class);
+
     private static final String[] MATERIALES_ENTEROS = {
             "pincel", "brocha", "lija", "espátula", "clavo", "tornillo",
             "destornillador", "martillo", "taladro", "sierra", "cutter",
@@ -38,7 +45,7 @@ public class MaterialValidator {
         if (input == null || input.trim().isEmpty()) return result;
 
         String trimmed = input.trim().toLowerCase();
-        System.out.println("🔍 [MATERIAL-VALIDATOR] Analizando: " + trimmed);
+        logger.debug("Analizando: {}", trimmed);
 
         boolean esMaterialEntero = esMaterialEntero(trimmed);
         Pattern fractionPattern = Pattern.compile("\\b\\d+/\\d+\\b");
@@ -59,7 +66,7 @@ public class MaterialValidator {
                 result.put("cantidad", cantidad);
                 result.put("tipo", "fraccion");
                 result.put("esEntero", false);
-                System.out.println("🔢 Convertido " + fraccion + " a " + cantidad);
+                logger.debug("Convertido {} a {}", fraccion, cantidad);
             } else if (decimalPattern.matcher(trimmed).find()) {
                 java.util.regex.Matcher decimalMatcher = decimalPattern.matcher(trimmed);
                 if (decimalMatcher.find()) {
@@ -71,7 +78,7 @@ public class MaterialValidator {
                     result.put("cantidad", cantidad);
                     result.put("tipo", cantidad % 1 == 0 ? "entero" : "decimal");
                     result.put("esEntero", esMaterialEntero);
-                    System.out.println("🔢 Número: " + cantidad + " (entero: " + esMaterialEntero + ")");
+                    logger.debug("Número: {} (entero: {})", cantidad, esMaterialEntero);
                 }
             }
             String nombreMaterial = obtenerNombreMaterial(trimmed);
@@ -91,7 +98,7 @@ public class MaterialValidator {
     private static boolean esMaterialEntero(String texto) {
         for (String material : MATERIALES_ENTEROS) {
             if (texto.contains(material)) {
-                System.out.println("✅ Material entero detectado: " + material);
+                logger.debug("Material entero detectado: {}", material);
                 return true;
             }
         }
@@ -122,7 +129,7 @@ public class MaterialValidator {
     public static void procesarMaterialesParaInventario(String textoMateriales) {
         if (textoMateriales == null || textoMateriales.trim().isEmpty()) return;
 
-        System.out.println("\n🎨 [MATERIAL-VALIDATOR] Procesando materiales: " + textoMateriales);
+        logger.debug("Procesando materiales: {}", textoMateriales);
         String[] materiales = textoMateriales.split(",");
 
         for (String material : materiales) {
@@ -133,15 +140,15 @@ public class MaterialValidator {
                     String nombre = (String) resultado.get("nombreMaterial");
                     Double cantidad = (Double) resultado.get("cantidad");
                     Boolean esEntero = (Boolean) resultado.get("esEntero");
-                    System.out.println("✅ MATERIAL: " + nombre);
-                    System.out.println("   📦 Cantidad: " + cantidad + " (" + (esEntero ? "ENTERO" : "FRACCION") + ")");
+                    logger.debug("MATERIAL: {}", nombre);
+                    logger.debug("Cantidad: {} ({})", cantidad, (esEntero ? "ENTERO" : "FRACCION"));
                 }
             } catch (IllegalArgumentException e) {
-                System.err.println("❌ Error en material '" + materialTrim + "': " + e.getMessage());
+                logger.warn("Error en material '{}': {}", materialTrim, e.getMessage());
                 throw e;
             }
         }
-        System.out.println("✅ [MATERIAL-VALIDATOR] Procesamiento completado\n");
+        logger.debug("Procesamiento completado");
     }
 
     /**
@@ -153,7 +160,7 @@ public class MaterialValidator {
     public static void validarMaterialesUsados(String materialesUsados) {
         if (materialesUsados == null || materialesUsados.trim().isEmpty()) return;
 
-        System.out.println("🔍 [MATERIAL-VALIDATOR] Validando materiales...");
+        logger.debug("Validando materiales...");
         String[] materiales = materialesUsados.split(",");
 
         for (String material : materiales) {
@@ -161,13 +168,13 @@ public class MaterialValidator {
             try {
                 Map<String, Object> resultado = parseMaterialWithQuantity(materialTrim);
                 if (resultado.isEmpty()) {
-                    System.out.println("⚠️ Material sin cantidad específica: " + materialTrim);
+                    logger.warn("Material sin cantidad específica: {}", materialTrim);
                 }
             } catch (IllegalArgumentException e) {
-                System.err.println("❌ Validación fallida: " + e.getMessage());
+                logger.warn("Validación fallida: {}", e.getMessage());
                 throw new IllegalArgumentException("Error en material '" + materialTrim + "': " + e.getMessage());
             }
         }
-        System.out.println("✅ [MATERIAL-VALIDATOR] Validación completada exitosamente");
+        logger.debug("Validación completada exitosamente");
     }
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.inventario.alma_jesus.service;
+
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.repository.MetricaLatencia;
+import com.inventario.alma_jesus.repository.PrometheusTexto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ejecuta el hash y la verificación de contraseñas BCrypt en un pool propio y acotado.
+ * <p>
+ * Cada verificación con costo 12 consume unos 250 ms de CPU. Si se hiciera en
+ * los hilos de Jetty, una ráfaga de logins ocuparía todos los hilos y
+ * retrasaría el resto de la API. Aquí se ejecutan en tantos hilos como
+ * núcleos, con una cola acotada: cuando la cola está llena (o la espera supera
+ * {@code auth.bcrypt.timeout-ms}) se lanza {@link ServidorOcupadoException}
+ * y el login responde 503 con {@code Retry-After} en lugar de acumular
+ * peticiones.
+ * </p>
+ * <p>
+ * El hilo de la petición espera el resultado, pero sin consumir CPU, y como
+ * mucho hay {@code hilos + cola} peticiones esperando.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see PasswordUtil
+ * @see ServidorOcupadoException
+ *
+ * @example
+ * <pre>
+ * try {
+ *     boolean ok = PasswordHashingPool.verificar(password, usuario.getPassword());
+ * } catch (ServidorOcupadoException e) {
+ *     ctx.header("Retry-After", String.valueOf(e.getReintentarEnSegundos())).status(503);
+ * }
+ * </pre>
+ */
+public final class PasswordHashingPool {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingPool.class);
+
+    private static final int HILOS = AppConfig.getInt("auth.bcrypt.threads", Runtime.getRuntime().availableProcessors());
+
+    private static final int COLA = AppConfig.getInt("auth.bcrypt.queue-size", 64);
+
+    /**
+     * Tiempo máximo que una petición espera su turno y el cálculo, en milisegundos.
+     */
+    private static final long TIMEOUT_MS = AppConfig.getLong("auth.bcrypt.timeout-ms", 5000);
+
+    private static final int REINTENTAR_EN_SEGUNDOS = AppConfig.getInt("auth.bcrypt.retry-after-seconds", 2);
+
+    private static final ThreadPoolExecutor POOL = crearPool(HILOS, COLA);
+
+    private static final MetricaLatencia VERIFICACION = new MetricaLatencia();
+    private static final MetricaLatencia HASH = new MetricaLatencia();
+    private static final MetricaLatencia ESPERA = new MetricaLatencia();
+    private static final LongAdder RECHAZADAS = new LongAdder();
+
+    private PasswordHashingPool() {
+    }
+
+    /**
+     * Verifica una contraseña contra su hash BCrypt en el pool.
+     *
+     * @param password Contraseña en texto plano
+     * @param hash Hash BCrypt almacenado
+     * @return true si la contraseña coincide
+     * @throws ServidorOcupadoException Si la cola está llena o se agota el tiempo de espera
+     */
+    public static boolean verificar(String password, String hash) {
+        return ejecutar(VERIFICACION, () -> PasswordUtil.verifyPassword(password, hash));
+    }
+
+    /**
+     * Calcula el hash BCrypt de una contraseña en el pool.
+     *
+     * @param password Contraseña en texto plano
+     * @return Hash BCrypt
+     * @throws ServidorOcupadoException Si la cola está llena o se agota el tiempo de espera
+     */
+    public static String hashear(String password) {
+        return ejecutar(HASH, () -> PasswordUtil.encryptPassword(password));
+    }
+
+    /**
+     * Calcula el hash de una contraseña en el pool sin esperar el resultado.
+     * <p>
+     * Pensado para trabajo opcional, como recalcular un hash con el costo
+     * actual después de un login: si la cola pasa de la mitad no se encola,
+     * para dejar sitio a los logins, y se devuelve false sin contarlo como rechazo.
+     * </p>
+     *
+     * @param password Contraseña en texto plano
+     * @param alTerminar Recibe el hash nuevo, en el hilo del pool
+     * @return true si la tarea se encoló
+     */
+    public static boolean hashearEnSegundoPlano(String password, Consumer<String> alTerminar) {
+        if (POOL.getQueue().size() > COLA / 2) {
+            return false;
+        }
+        try {
+            POOL.execute(() -> {
+                long inicio = HASH.iniciar();
+                String hash;
+                try {
+                    hash = PasswordUtil.encryptPassword(password);
+                } finally {
+                    HASH.terminar(inicio);
+                }
+                try {
+                    alTerminar.accept(hash);
+                } catch (RuntimeException e) {
+                    logger.error("Error en PasswordHashingPool.hashearEnSegundoPlano", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Escribe el estado del pool en formato Prometheus: latencia de
+     * verificación y hash, espera en cola, tamaño de la cola y rechazos.
+     *
+     * @param salida Documento en construcción
+     */
+    public static void exportar(PrometheusTexto salida) {
+        salida.metrica("bcrypt_operation_seconds", "summary", "Duración del cálculo BCrypt, sin la espera en cola");
+        VERIFICACION.escribirResumen(salida, "bcrypt_operation_seconds", "operation", "verify");
+        HASH.escribirResumen(salida, "bcrypt_operation_seconds", "operation", "hash");
+
+        salida.metrica("bcrypt_queue_wait_seconds", "summary", "Espera en cola antes del cálculo BCrypt");
+        ESPERA.escribirResumen(salida, "bcrypt_queue_wait_seconds");
+
+        salida.metrica("bcrypt_queue_depth", "gauge", "Operaciones BCrypt en cola");
+        salida.muestra("bcrypt_queue_depth", POOL.getQueue().size());
+
+        salida.metrica("bcrypt_active_threads", "gauge", "Hilos del pool BCrypt calculando");
+        salida.muestra("bcrypt_active_threads", POOL.getActiveCount());
+
+        salida.metrica("bcrypt_rejected_total", "counter", "Operaciones BCrypt rechazadas por cola llena o tiempo agotado");
+        salida.muestra("bcrypt_rejected_total", RECHAZADAS.sum());
+    }
+
+    private static <T> T ejecutar(MetricaLatencia metrica, Callable<T> operacion) {
+        long encolada = ESPERA.iniciar();
+        Future<T> futuro;
+        try {
+            futuro = POOL.submit(() -> {
+                ESPERA.terminar(encolada);
+                long inicio = metrica.iniciar();
+                try {
+                    return operacion.call();
+                } finally {
+                    metrica.terminar(inicio);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ESPERA.terminar(encolada);
+            RECHAZADAS.increment();
+            throw new ServidorOcupadoException("Servidor ocupado, intente de nuevo", REINTENTAR_EN_SEGUNDOS);
+        }
+
+        try {
+            return futuro.get(TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(false);
+            RECHAZADAS.increment();
+            throw new ServidorOcupadoException("Servidor ocupado, intente de nuevo", REINTENTAR_EN_SEGUNDOS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuro.cancel(false);
+            throw new IllegalStateException("Interrumpido esperando BCrypt", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    private static ThreadPoolExecutor crearPool(int hilos, int cola) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(cola), r -> {
+                    Thread hilo = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
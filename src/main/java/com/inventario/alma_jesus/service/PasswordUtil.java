@@ -1,10 +1,22 @@
 package com.inventario.alma_jesus.service;
 
 import at.favre.lib.crypto.bcrypt.BCrypt;
+import com.inventario.alma_jesus.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Utilidad para el manejo seguro de contraseñas en el sistema.
  * Proporciona métodos para encriptar y verificar contraseñas usando el algoritmo BCrypt.
+ * <p>
+ * El factor de costo no es fijo: {@link #calibrar()} lo elige al arrancar
+ * midiendo BCrypt en la máquina actual, para que una verificación no supere
+ * {@code auth.bcrypt.budget-ms}. Los hashes guardados con otro costo se
+ * siguen verificando (el costo va dentro del hash). Los de costo menor se
+ * recalculan al siguiente login correcto (ver {@link #necesitaRehash(String)});
+ * los de costo mayor se conservan, para que un servidor más lento que calibra
+ * un costo menor no debilite los hashes que guardó otro más rápido.
+ * </p>
  *
  * @author Alma & Jesús
  * @version 1.0
@@ -13,7 +25,24 @@ import at.favre.lib.crypto.bcrypt.BCrypt;
 public class PasswordUtil {
 
     /**
-     * Encripta una contraseña usando el algoritmo BCrypt con factor de costo 12.
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUtil.class);
+
+    /**
+     * Costo usado si no se calibra, el mismo que se usaba antes de calibrar.
+     * También es el mínimo por defecto de la calibración, para que un servidor
+     * lento no guarde hashes más débiles que los que ya existían.
+     */
+    private static final int COSTO_POR_DEFECTO = 12;
+
+    /**
+     * Costo actual de los hashes nuevos.
+     */
+    private static volatile int costo = COSTO_POR_DEFECTO;
+
+    /**
+     * Encripta una contraseña usando el algoritmo BCrypt con el factor de costo actual.
      *
      * @param password Contraseña en texto plano a encriptar.
      * @return Contraseña encriptada en formato BCrypt.
@@ -27,7 +56,7 @@ public class PasswordUtil {
      * }</pre>
      */
     public static String encryptPassword(String password) {
-        return BCrypt.withDefaults().hashToString(12, password.toCharArray());
+        return BCrypt.withDefaults().hashToString(costo, password.toCharArray());
     }
 
     /**
@@ -50,4 +79,103 @@ public class PasswordUtil {
         BCrypt.Result result = BCrypt.verifyer().verify(password.toCharArray(), encryptedPassword);
         return result.verified;
     }
-}
\ No newline at end of file
+
+    /**
+     * Indica si un hash se calculó con un costo menor que el actual.
+     * <p>
+     * Nunca se baja el costo de un hash: cada servidor calibra el suyo, y
+     * sin esta regla dos servidores con costos distintos se reescribirían
+     * mutuamente los hashes en cada login.
+     * </p>
+     *
+     * @param encryptedPassword Hash BCrypt almacenado ({@code $2a$12$...})
+     * @return true si conviene recalcularlo con el costo actual
+     */
+    public static boolean necesitaRehash(String encryptedPassword) {
+        int costoHash = costoDe(encryptedPassword);
+        return costoHash > 0 && costoHash < costo;
+    }
+
+    /**
+     * @return Factor de costo de los hashes nuevos
+     */
+    public static int getCosto() {
+        return costo;
+    }
+
+    /**
+     * Elige el factor de costo para esta máquina.
+     * <p>
+     * Si {@code auth.bcrypt.cost} está configurado se usa tal cual. Si no, se
+     * mide un hash con cada costo desde {@code auth.bcrypt.min-cost} y se
+     * queda el mayor cuya duración no supera {@code auth.bcrypt.budget-ms},
+     * sin pasar de {@code auth.bcrypt.max-cost}. Cada costo duplica el tiempo
+     * del anterior, así que la medición se detiene en cuanto se pasa del
+     * presupuesto. Si ni el mínimo cabe en el presupuesto, se usa el mínimo.
+     * </p>
+     *
+     * @return Factor de costo elegido
+     *
+     * @example
+     * <pre>{@code
+     * // En Main, antes de atender peticiones
+     * PasswordUtil.calibrar();   // p. ej. 12 en un nodo pequeño, 13 en uno grande
+     * }</pre>
+     */
+    public static int calibrar() {
+        int fijo = AppConfig.getInt("auth.bcrypt.cost", 0);
+        if (fijo > 0) {
+            costo = fijo;
+            logger.info("Costo de BCrypt fijado por configuración: {}", fijo);
+            return fijo;
+        }
+
+        long presupuestoMs = AppConfig.getLong("auth.bcrypt.budget-ms", 250);
+        int minimo = AppConfig.getInt("auth.bcrypt.min-cost", COSTO_POR_DEFECTO);
+        int maximo = AppConfig.getInt("auth.bcrypt.max-cost", 14);
+
+        char[] muestra = "calibracion-bcrypt".toCharArray();
+        // Calentamiento: la primera ejecución incluye carga de clases y JIT
+        BCrypt.withDefaults().hash(4, muestra);
+
+        int elegido = minimo;
+        long duracionElegido = -1;
+        for (int c = minimo; c <= maximo; c++) {
+            long inicio = System.nanoTime();
+            BCrypt.withDefaults().hash(c, muestra);
+            long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+            if (duracionMs > presupuestoMs) {
+                break;
+            }
+            elegido = c;
+            duracionElegido = duracionMs;
+        }
+
+        costo = elegido;
+        if (duracionElegido < 0) {
+            logger.warn("Ni el costo mínimo de BCrypt ({}) cabe en {} ms; se usa el mínimo", minimo, presupuestoMs);
+        } else {
+            logger.info("Costo de BCrypt calibrado: {} ({} ms por hash, presupuesto {} ms)",
+                    elegido, duracionElegido, presupuestoMs);
+        }
+        return elegido;
+    }
+
+    /**
+     * Lee el factor de costo de un hash con formato {@code $2a$12$...}.
+     *
+     * @param hash Hash BCrypt
+     * @return El costo, o -1 si el formato no es el esperado
+     */
+    static int costoDe(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        char decenas = hash.charAt(4);
+        char unidades = hash.charAt(5);
+        if (!Character.isDigit(decenas) || !Character.isDigit(unidades)) {
+            return -1;
+        }
+        return (decenas - '0') * 10 + (unidades - '0');
+    }
+}
@@ -3,6 +3,8 @@ package com.inventario.alma_jesus.service;
 import com.inventario.alma_jesus.model.Pedido;
 import com.inventario.alma_jesus.model.PedidoProducto;
 import com.inventario.alma_jesus.model.Venta;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.repository.PedidoRepository;
 import com.inventario.alma_jesus.repository.VentaRepository;
 
@@ -10,6 +12,8 @@ import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de pedidos de fabricación.
@@ -28,6 +32,12 @@ import java.util.List;
  * @see PedidoProducto
  */
 public class PedidoService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(PedidoService.class);
+
     private final PedidoRepository repository;
 
     /**
@@ -54,6 +64,22 @@ public class PedidoService {
         }
     }
 
+    /**
+     * Lista una página de pedidos paginada por cursor.
+     *
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link Pedido} ordenada por fecha de creación descendente
+     * @throws RuntimeException Si ocurre un error al acceder a la base de datos
+     * @see PedidoRepository#findAll(PageRequest)
+     */
+    public Page<Pedido> listarPedidos(PageRequest page) {
+        try {
+            return repository.findAll(page);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error al listar pedidos: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Lista pedidos filtrados por una fecha específica.
      * <p>
@@ -115,6 +141,11 @@ public class PedidoService {
      * Valida los datos del pedido, calcula totales automáticamente, genera
      * un resumen descriptivo y persiste tanto el pedido como sus productos.
      * </p>
+     * <p>
+     * El encabezado y las líneas se escriben en una sola transacción, y la
+     * respuesta se construye con lo que se insertó en lugar de volver a leer
+     * el pedido.
+     * </p>
      *
      * @param pedido Objeto {@link Pedido} con los datos del nuevo pedido
      * @return El {@link Pedido} creado con su ID generado y productos asociados
@@ -125,52 +156,48 @@ public class PedidoService {
      *           <li>El total es nulo o menor/igual a cero</li>
      *           <li>Ocurre un error al acceder a la base de datos</li>
      *         </ul>
-     * @see PedidoRepository#create(Pedido)
-     * @see PedidoRepository#createProductos(Long, List)
+     * @see PedidoRepository#createConProductos(Pedido)
      */
     public Pedido crearPedido(Pedido pedido) {
-        try {
-            // Validaciones básicas
-            if (pedido.getClienteNombre() == null || pedido.getClienteNombre().trim().isEmpty()) {
-                throw new RuntimeException("El nombre del cliente es requerido");
-            }
-            if (pedido.getProductos() == null || pedido.getProductos().isEmpty()) {
-                throw new RuntimeException("Debe agregar al menos un producto al pedido");
-            }
-            if (pedido.getTotal() == null || pedido.getTotal().compareTo(java.math.BigDecimal.ZERO) <= 0) {
-                throw new RuntimeException("El total del pedido debe ser mayor a cero");
-            }
-
-            // Calcular cantidad total
-            int totalCantidad = pedido.getProductos().stream()
-                    .mapToInt(PedidoProducto::getCantidad)
-                    .sum();
-            pedido.setTotalCantidad(totalCantidad);
-
-            // Generar resumen descriptivo del producto
-            String primerProducto = pedido.getProductos().get(0).getProductoNombre();
-            if (pedido.getProductos().size() > 1) {
-                pedido.setResumenProducto(primerProducto.substring(0, Math.min(primerProducto.length(), 30)) +
-                        "... (+" + (pedido.getProductos().size() - 1) + " items)");
-            } else {
-                pedido.setResumenProducto(primerProducto);
-            }
+        // Validaciones básicas
+        if (pedido.getClienteNombre() == null || pedido.getClienteNombre().trim().isEmpty()) {
+            throw new RuntimeException("El nombre del cliente es requerido");
+        }
+        if (pedido.getProductos() == null || pedido.getProductos().isEmpty()) {
+            throw new RuntimeException("Debe agregar al menos un producto al pedido");
+        }
+        if (pedido.getTotal() == null || pedido.getTotal().compareTo(java.math.BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("El total del pedido debe ser mayor a cero");
+        }
 
-            // Valores por defecto
-            if (pedido.getEtapa() == null) {
-                pedido.setEtapa("Pendiente por realizar");
-            }
+        // Calcular cantidad total
+        int totalCantidad = pedido.getProductos().stream()
+                .mapToInt(PedidoProducto::getCantidad)
+                .sum();
+        pedido.setTotalCantidad(totalCantidad);
+
+        // Generar resumen descriptivo del producto
+        String primerProducto = pedido.getProductos().get(0).getProductoNombre();
+        if (pedido.getProductos().size() > 1) {
+            pedido.setResumenProducto(primerProducto.substring(0, Math.min(primerProducto.length(), 30)) +
+                    "... (+" + (pedido.getProductos().size() - 1) + " items)");
+        } else {
+            pedido.setResumenProducto(primerProducto);
+        }
 
-            if (pedido.getCreadoPor() == null) {
-                pedido.setCreadoPor("admin");
-            }
+        // Valores por defecto
+        if (pedido.getEtapa() == null) {
+            pedido.setEtapa("Pendiente por realizar");
+        }
 
-            // Persistir pedido y productos
-            Long pedidoId = repository.create(pedido);
-            repository.createProductos(pedidoId, pedido.getProductos());
+        if (pedido.getCreadoPor() == null) {
+            pedido.setCreadoPor("admin");
+        }
 
-            return obtenerPedido(pedidoId);
-        } catch (SQLException e) {
+        // Persistir encabezado y productos en una sola transacción
+        try {
+            return repository.createConProductos(pedido);
+        } catch (RuntimeException e) {
             throw new RuntimeException("Error al crear pedido: " + e.getMessage(), e);
         }
     }
@@ -263,18 +290,18 @@ public class PedidoService {
      *
      * @param pedidoId ID del pedido finalizado
      * @throws RuntimeException Si ocurre un error durante la creación de la venta
-     * @see VentaRepository#crearVenta(Venta)
+     * @see VentaRepository#crearVenta(Venta, boolean)
      */
     private void crearVentaDesdePedido(Long pedidoId) {
         try {
-            System.out.println("Creando venta desde pedido ID: " + pedidoId);
+            logger.debug("Creando venta desde pedido ID: {}", pedidoId);
 
             // Obtener el pedido completado
             Pedido pedido = obtenerPedido(pedidoId);
 
             // Verificar que el pedido tenga productos
             if (pedido.getProductos() == null || pedido.getProductos().isEmpty()) {
-                System.out.println("❌ Pedido sin productos, no se crea venta");
+                logger.warn("Pedido sin productos, no se crea venta");
                 return;
             }
 
@@ -283,7 +310,7 @@ public class PedidoService {
 
             // Verificar datos esenciales
             if (primerProducto.getProductoId() == null) {
-                System.out.println("❌ Producto sin ID, no se crea venta");
+                logger.warn("Producto sin ID, no se crea venta");
                 return;
             }
 
@@ -311,29 +338,23 @@ public class PedidoService {
 
             // El precioTotal se calcula automáticamente en el constructor de Venta
 
-            System.out.println(" Datos de venta a crear:");
-            System.out.println("  - Cliente ID: " + venta.getClienteId());
-            System.out.println("  - Producto ID: " + venta.getProductoId());
-            System.out.println("  - Cantidad: " + venta.getCantidad());
-            System.out.println("  - Precio Unitario: " + venta.getPrecioUnitario());
-            System.out.println("  - Precio Total: " + venta.getPrecioTotal());
-            System.out.println("  - Fecha: " + venta.getFecha());
-            System.out.println("  - Tipo: " + venta.getTipo());
+            logger.debug("Venta a crear: clienteId={}, productoId={}, cantidad={}, precioUnitario={}, total={}, fecha={}, tipo={}",
+                    venta.getClienteId(), venta.getProductoId(), venta.getCantidad(), venta.getPrecioUnitario(),
+                    venta.getPrecioTotal(), venta.getFecha(), venta.getTipo());
 
-            // Guardar la venta usando el repositorio de ventas
+            // Guardar la venta usando el repositorio de ventas. El producto de un pedido
+            // se fabrica bajo encargo y nunca entró al stock, por lo que no se descuenta
             VentaRepository ventaRepository = new VentaRepository();
-            boolean ventaCreada = ventaRepository.crearVenta(venta);
+            VentaRepository.ResultadoRegistro resultado = ventaRepository.crearVenta(venta, false);
 
-            if (ventaCreada) {
-                System.out.println("Venta creada exitosamente desde pedido ID: " + pedidoId);
-                System.out.println("Total de venta: $" + venta.getPrecioTotal());
+            if (resultado == VentaRepository.ResultadoRegistro.CREADA) {
+                logger.debug("Venta creada exitosamente desde pedido ID: {} - Total: ${}", pedidoId, venta.getPrecioTotal());
             } else {
-                System.out.println(" Error al crear venta desde pedido ID: " + pedidoId);
+                logger.error("Error al crear venta desde pedido ID: {}", pedidoId);
             }
 
         } catch (Exception e) {
-            System.err.println("Error al crear venta desde pedido: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error al crear venta desde pedido", e);
         }
     }
 }
\ No newline at end of file
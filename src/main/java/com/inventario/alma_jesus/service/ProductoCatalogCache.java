@@ -0,0 +1,286 @@
+package com.inventario.alma_jesus.service;
+
+import com.inventario.alma_jesus.model.Producto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria del catálogo de productos activos.
+ * <p>
+ * Guarda una instantánea inmutable de todos los productos activos con dos
+ * índices: por ID y por tipo. El índice por tipo no distingue mayúsculas ni
+ * espacios al inicio o al final, como la comparación {@code tipo = ?} con la
+ * intercalación {@code _ci} de MySQL a la que reemplaza. La instantánea se carga bajo demanda la primera
+ * vez que se consulta (read-through) y se descarta cuando un alta, edición o
+ * baja modifica el catálogo, o cuando supera su tiempo de vida. Una venta no
+ * la descarta: {@link #ajustarStock(int, int)} reemplaza solo el producto
+ * vendido.
+ * </p>
+ * <p>
+ * Las lecturas no toman ningún bloqueo: leen la referencia volátil a la
+ * instantánea vigente. La recarga está sincronizada, para que varias
+ * peticiones simultáneas tras una invalidación provoquen una única consulta.
+ * Cada cambio incrementa un contador de versión; la recarga instala su
+ * instantánea solo si la versión no cambió mientras consultaba. La
+ * comprobación y la instalación, igual que las invalidaciones y los ajustes,
+ * se hacen bajo un segundo candado que nunca se retiene durante la consulta,
+ * así que una invalidación no puede colarse entre ambas ni esperar a la
+ * base de datos.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see ProductoService
+ *
+ * @example
+ * <pre>
+ * ProductoCatalogCache cache = new ProductoCatalogCache(300);
+ * List&lt;Producto&gt; religiosas = cache.porTipo("religiosas", repository::findAll);
+ * cache.invalidar(); // tras crear, editar o eliminar un producto
+ * cache.ajustarStock(productoId, -cantidad); // tras registrar una venta
+ * </pre>
+ */
+public class ProductoCatalogCache {
+
+    /**
+     * Tiempo de vida de una instantánea, en milisegundos.
+     */
+    private final long ttlMillis;
+
+    /**
+     * Instantánea vigente, o null si hay que recargar.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Candado de los cambios de {@link #snapshot} y {@link #version}.
+     */
+    private final Object escritura = new Object();
+
+    /**
+     * Versión del catálogo; se incrementa en cada invalidación o ajuste.
+     * Protegida por {@link #escritura}.
+     */
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Crea una caché vacía.
+     *
+     * @param ttlSegundos Tiempo de vida de cada instantánea, en segundos; cubre
+     *                    los cambios hechos directamente en la base de datos
+     */
+    public ProductoCatalogCache(long ttlSegundos) {
+        this.ttlMillis = ttlSegundos * 1000L;
+    }
+
+    /**
+     * Obtiene todos los productos activos.
+     *
+     * @param cargador Consulta que devuelve los productos activos de la base de
+     *                 datos; debe lanzar una excepción si falla, no devolver una lista vacía
+     * @return Lista inmutable de productos activos
+     */
+    public List<Producto> todos(Supplier<List<Producto>> cargador) {
+        return obtener(cargador).todos;
+    }
+
+    /**
+     * Obtiene los productos activos de un tipo.
+     *
+     * @param tipo Tipo de producto; se compara sin distinguir mayúsculas ni
+     *             espacios al inicio o al final
+     * @param cargador Consulta que devuelve los productos activos de la base de datos
+     * @return Lista inmutable de productos del tipo, vacía si no hay ninguno
+     */
+    public List<Producto> porTipo(String tipo, Supplier<List<Producto>> cargador) {
+        List<Producto> productos = obtener(cargador).porTipo.get(claveTipo(tipo));
+        return productos != null ? productos : Collections.emptyList();
+    }
+
+    /**
+     * Obtiene un producto activo por su ID.
+     *
+     * @param id ID del producto
+     * @param cargador Consulta que devuelve los productos activos de la base de datos
+     * @return El producto, o null si no existe o está inactivo
+     */
+    public Producto porId(int id, Supplier<List<Producto>> cargador) {
+        return obtener(cargador).porId.get(id);
+    }
+
+    /**
+     * Descarta la instantánea vigente.
+     * <p>
+     * Se llama después de cada escritura que modifica el catálogo; la siguiente
+     * lectura vuelve a cargarlo.
+     * </p>
+     */
+    public void invalidar() {
+        synchronized (escritura) {
+            version++;
+            if (snapshot != null) {
+                snapshot = null;
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Ajusta el stock de un producto en la instantánea vigente sin descartar
+     * el resto del catálogo.
+     * <p>
+     * Se llama después de confirmar el cambio de stock en la base de datos.
+     * El producto se reemplaza por una copia, porque la instantánea anterior
+     * puede estar serializándose en otro hilo. Si no hay instantánea o el
+     * producto no está en ella, no hay nada que ajustar; una recarga en curso
+     * se descarta igual, porque pudo leer el stock anterior.
+     * </p>
+     *
+     * @param id ID del producto
+     * @param delta Unidades a sumar al stock (negativo para descontar)
+     */
+    public void ajustarStock(int id, int delta) {
+        synchronized (escritura) {
+            version++;
+            Snapshot actual = snapshot;
+            if (actual == null) {
+                return;
+            }
+            Producto anterior = actual.porId.get(id);
+            if (anterior == null) {
+                return;
+            }
+            List<Producto> productos = new ArrayList<>(actual.todos);
+            productos.set(productos.indexOf(anterior), copiaConStock(anterior, anterior.getStock() + delta));
+            snapshot = new Snapshot(productos, actual.cargadoEn);
+        }
+    }
+
+    /**
+     * Obtiene los contadores de la caché para monitoreo.
+     *
+     * @return Mapa con hits, misses, evictions, tasa de aciertos, productos
+     *         cacheados y antigüedad de la instantánea en milisegundos
+     */
+    public Map<String, Object> estadisticas() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Snapshot actual = snapshot;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("evictions", evictions.sum());
+        stats.put("hitRate", h + m == 0 ? 0.0 : Math.round(h * 10000.0 / (h + m)) / 10000.0);
+        stats.put("productos", actual != null ? actual.todos.size() : 0);
+        stats.put("edadMs", actual != null ? System.currentTimeMillis() - actual.cargadoEn : null);
+        return stats;
+    }
+
+    private Snapshot obtener(Supplier<List<Producto>> cargador) {
+        Snapshot actual = vigente();
+        if (actual != null) {
+            hits.increment();
+            return actual;
+        }
+
+        synchronized (this) {
+            actual = vigente();
+            if (actual != null) {
+                hits.increment();
+                return actual;
+            }
+            misses.increment();
+            long versionInicial;
+            synchronized (escritura) {
+                versionInicial = version;
+            }
+            // Si la consulta falla, la excepción sale antes de instalar nada;
+            // un catálogo vacío leído sin error sí se cachea
+            Snapshot nuevo = new Snapshot(cargador.get(), System.currentTimeMillis());
+            synchronized (escritura) {
+                if (version == versionInicial) {
+                    snapshot = nuevo;
+                }
+            }
+            return nuevo;
+        }
+    }
+
+    private Snapshot vigente() {
+        Snapshot actual = snapshot;
+        if (actual == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - actual.cargadoEn > ttlMillis) {
+            synchronized (escritura) {
+                if (snapshot == actual) {
+                    snapshot = null;
+                    evictions.increment();
+                }
+            }
+            return null;
+        }
+        return actual;
+    }
+
+    /**
+     * Clave del índice por tipo: sin espacios al inicio o al final y en minúsculas.
+     */
+    private static String claveTipo(String tipo) {
+        return tipo != null ? tipo.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Producto copiaConStock(Producto p, int stock) {
+        Producto copia = new Producto();
+        copia.setId(p.getId());
+        copia.setModelo(p.getModelo());
+        copia.setColor(p.getColor());
+        copia.setPrecio(p.getPrecio());
+        copia.setStock(stock);
+        copia.setTamaño(p.getTamaño());
+        copia.setImagenUrl(p.getImagenUrl());
+        copia.setActivo(p.isActivo());
+        copia.setCreadoPor(p.getCreadoPor());
+        copia.setFechaCreacion(p.getFechaCreacion());
+        copia.setTipo(p.getTipo());
+        return copia;
+    }
+
+    /**
+     * Instantánea inmutable del catálogo con sus índices.
+     */
+    private static final class Snapshot {
+        private final List<Producto> todos;
+        private final Map<Integer, Producto> porId;
+        private final Map<String, List<Producto>> porTipo;
+        private final long cargadoEn;
+
+        Snapshot(List<Producto> productos, long cargadoEn) {
+            Map<Integer, Producto> ids = new HashMap<>();
+            Map<String, List<Producto>> tipos = new HashMap<>();
+            for (Producto producto : productos) {
+                ids.put(producto.getId(), producto);
+                tipos.computeIfAbsent(claveTipo(producto.getTipo()), k -> new ArrayList<>()).add(producto);
+            }
+            tipos.replaceAll((tipo, lista) -> Collections.unmodifiableList(lista));
+
+            this.todos = Collections.unmodifiableList(new ArrayList<>(productos));
+            this.porId = ids;
+            this.porTipo = tipos;
+            this.cargadoEn = cargadoEn;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.inventario.alma_jesus.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.config.JacksonConfig;
 import com.inventario.alma_jesus.model.Producto;
+import com.inventario.alma_jesus.model.ProductoDTO;
+import com.inventario.alma_jesus.model.ProductoRequest;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.repository.ProductoRepository;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de productos en el sistema de inventario.
@@ -19,35 +31,99 @@ import java.util.stream.Collectors;
  * @since 2024
  */
 public class ProductoService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ProductoService.class);
+
+    /**
+     * Fábrica de generadores JSON para las respuestas en streaming.
+     */
+    private static final JsonFactory JSON_FACTORY = JacksonConfig.mapper().getFactory();
+
+    /**
+     * Catálogo de productos activos en memoria, compartido por todas las
+     * instancias del servicio.
+     */
+    private static final ProductoCatalogCache CATALOGO =
+            new ProductoCatalogCache(AppConfig.getLong("productos.cache.ttl-seconds", 300));
+
     private ProductoRepository productoRepository = new ProductoRepository();
 
+    /**
+     * Descarta el catálogo en memoria y marca los productos como modificados.
+     * <p>
+     * Lo usan las escrituras de este servicio y las de otros módulos que
+     * modifican productos. Un cambio de stock usa {@link #ajustarStockCatalogo(int, int)}.
+     * También cambia el {@code ETag} de los GET de productos.
+     * </p>
+     */
+    public static void invalidarCatalogo() {
+        CATALOGO.invalidar();
+        ResourceVersions.incrementar(ResourceVersions.PRODUCTOS);
+    }
+
+    /**
+     * Refleja en el catálogo en memoria un cambio de stock ya confirmado en la
+     * base de datos, sin descartar el resto del catálogo. También cambia el
+     * {@code ETag} de los GET de productos.
+     *
+     * @param productoId ID del producto
+     * @param delta Unidades sumadas al stock (negativo si se descontaron)
+     * @see ProductoCatalogCache#ajustarStock(int, int)
+     */
+    public static void ajustarStockCatalogo(int productoId, int delta) {
+        CATALOGO.ajustarStock(productoId, delta);
+        ResourceVersions.incrementar(ResourceVersions.PRODUCTOS);
+    }
+
+    /**
+     * Obtiene los contadores de la caché del catálogo.
+     *
+     * @return Mapa con hits, misses, evictions y tamaño de la caché
+     * @see ProductoCatalogCache#estadisticas()
+     */
+    public static Map<String, Object> estadisticasCatalogo() {
+        return CATALOGO.estadisticas();
+    }
+
     /**
      * Obtiene todos los productos activos del sistema.
      *
      * @return Mapa con los productos y metadatos de la operación.
      */
     public Map<String, Object> listarProductos() {
+        return listarProductos(null);
+    }
+
+    /**
+     * Obtiene los productos activos, opcionalmente paginados por cursor.
+     * <p>
+     * Si {@code page} es null se devuelven todos los productos desde el catálogo
+     * en memoria. Con una petición de página se consulta la base de datos y la
+     * respuesta incluye además {@code nextCursor} y {@code hasMore}.
+     * </p>
+     *
+     * @param page Petición de página, o null para listar todos los productos
+     * @return Mapa con los productos y metadatos de la operación.
+     */
+    public Map<String, Object> listarProductos(PageRequest page) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            List<Producto> productos = productoRepository.findAll();
-
-            List<Map<String, Object>> productosSeguros = productos.stream()
-                    .map(producto -> {
-                        Map<String, Object> productoMap = new HashMap<>();
-                        productoMap.put("id", producto.getId());
-                        productoMap.put("modelo", producto.getModelo());
-                        productoMap.put("color", producto.getColor());
-                        productoMap.put("precio", producto.getPrecio());
-                        productoMap.put("stock", producto.getStock());
-                        productoMap.put("tamaño", producto.getTamaño());
-                        productoMap.put("imagenUrl", producto.getImagenUrl());
-                        productoMap.put("activo", producto.isActivo());
-                        productoMap.put("creadoPor", producto.getCreadoPor());
-                        productoMap.put("fechaCreacion", producto.getFechaCreacion());
-                        productoMap.put("tipo", producto.getTipo());
-                        return productoMap;
-                    })
+            List<Producto> productos;
+            if (page == null) {
+                productos = CATALOGO.todos(productoRepository::findAll);
+            } else {
+                Page<Producto> pagina = productoRepository.findAll(page);
+                productos = pagina.getItems();
+                response.put("nextCursor", pagina.getNextCursor());
+                response.put("hasMore", pagina.isHasMore());
+            }
+
+            List<ProductoDTO> productosSeguros = productos.stream()
+                    .map(ProductoDTO::de)
                     .collect(Collectors.toList());
 
             response.put("success", true);
@@ -56,8 +132,7 @@ public class ProductoService {
             response.put("total", productosSeguros.size());
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.listarProductos: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.listarProductos", e);
             response.put("success", false);
             response.put("message", "Error al listar productos: " + e.getMessage());
         }
@@ -65,8 +140,57 @@ public class ProductoService {
         return response;
     }
 
+    /**
+     * Escribe el listado completo de productos activos como JSON directamente en un flujo de salida.
+     * <p>
+     * Produce el mismo documento que {@link #listarProductos()} sin construir la
+     * lista ni los mapas intermedios; {@code total} se escribe al final.
+     * </p>
+     *
+     * @param out Flujo de salida de la respuesta
+     * @throws Exception Si falla la consulta o la escritura
+     */
+    public void exportarProductos(OutputStream out) throws Exception {
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            gen.writeStringField("message", "Productos listados exitosamente");
+            gen.writeArrayFieldStart("productos");
+            int total = productoRepository.streamAll(producto -> escribirProducto(gen, producto));
+            gen.writeEndArray();
+            gen.writeNumberField("total", total);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Escribe un producto con los mismos campos que {@link ProductoDTO#de(Producto)}.
+     *
+     * @param gen Generador JSON de la respuesta
+     * @param producto Producto a escribir
+     * @throws IOException Si falla la escritura
+     */
+    private void escribirProducto(JsonGenerator gen, Producto producto) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", producto.getId());
+        gen.writeStringField("modelo", producto.getModelo());
+        gen.writeStringField("color", producto.getColor());
+        gen.writeNumberField("precio", producto.getPrecio());
+        gen.writeNumberField("stock", producto.getStock());
+        gen.writeStringField("tamaño", producto.getTamaño());
+        gen.writeStringField("imagenUrl", producto.getImagenUrl());
+        gen.writeBooleanField("activo", producto.isActivo());
+        gen.writeStringField("creadoPor", producto.getCreadoPor());
+        gen.writeStringField("fechaCreacion", producto.getFechaCreacion());
+        gen.writeStringField("tipo", producto.getTipo());
+        gen.writeEndObject();
+    }
+
     /**
      * Filtra productos por tipo específico.
+     * <p>
+     * Se resuelve con el índice por tipo del catálogo en memoria.
+     * </p>
      *
      * @param tipo Tipo de producto a filtrar (ej: "religiosas").
      * @return Mapa con los productos filtrados por tipo.
@@ -75,21 +199,10 @@ public class ProductoService {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            List<Producto> productos = productoRepository.findByTipo(tipo);
-
-            List<Map<String, Object>> productosSeguros = productos.stream()
-                    .map(producto -> {
-                        Map<String, Object> productoMap = new HashMap<>();
-                        productoMap.put("id", producto.getId());
-                        productoMap.put("modelo", producto.getModelo());
-                        productoMap.put("color", producto.getColor());
-                        productoMap.put("precio", producto.getPrecio());
-                        productoMap.put("stock", producto.getStock());
-                        productoMap.put("tamaño", producto.getTamaño());
-                        productoMap.put("imagenUrl", producto.getImagenUrl());
-                        productoMap.put("tipo", producto.getTipo());
-                        return productoMap;
-                    })
+            List<Producto> productos = CATALOGO.porTipo(tipo, productoRepository::findAll);
+
+            List<ProductoDTO> productosSeguros = productos.stream()
+                    .map(ProductoDTO::resumen)
                     .collect(Collectors.toList());
 
             response.put("success", true);
@@ -106,6 +219,9 @@ public class ProductoService {
 
     /**
      * Obtiene un producto específico por su ID.
+     * <p>
+     * Se resuelve con el índice por ID del catálogo en memoria.
+     * </p>
      *
      * @param id ID del producto a buscar.
      * @return Mapa con el producto encontrado o mensaje de error.
@@ -114,36 +230,20 @@ public class ProductoService {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            var productoOpt = productoRepository.findById(id);
+            Producto producto = CATALOGO.porId(id, productoRepository::findAll);
 
-            if (productoOpt.isEmpty()) {
+            if (producto == null) {
                 response.put("success", false);
                 response.put("message", "Producto no encontrado");
                 return response;
             }
 
-            Producto producto = productoOpt.get();
-
-            Map<String, Object> productoSeguro = new HashMap<>();
-            productoSeguro.put("id", producto.getId());
-            productoSeguro.put("modelo", producto.getModelo());
-            productoSeguro.put("color", producto.getColor());
-            productoSeguro.put("precio", producto.getPrecio());
-            productoSeguro.put("stock", producto.getStock());
-            productoSeguro.put("tamaño", producto.getTamaño());
-            productoSeguro.put("imagenUrl", producto.getImagenUrl());
-            productoSeguro.put("activo", producto.isActivo());
-            productoSeguro.put("creadoPor", producto.getCreadoPor());
-            productoSeguro.put("fechaCreacion", producto.getFechaCreacion());
-            productoSeguro.put("tipo", producto.getTipo());
-
             response.put("success", true);
             response.put("message", "Producto encontrado exitosamente");
-            response.put("producto", productoSeguro);
+            response.put("producto", ProductoDTO.de(producto));
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.obtenerProductoPorId: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.obtenerProductoPorId", e);
             response.put("success", false);
             response.put("message", "Error al obtener producto: " + e.getMessage());
         }
@@ -153,36 +253,33 @@ public class ProductoService {
 
     /**
      * Crea un nuevo producto en el sistema.
+     * <p>
+     * Los datos llegan validados por el controlador; tamaño, imagenUrl y tipo
+     * toman su valor por defecto si no se enviaron.
+     * </p>
      *
-     * @param productoData Mapa con los datos del nuevo producto.
+     * @param productoData Datos del nuevo producto.
      * @return Mapa con el resultado de la operación.
+     * @see ProductoRequest#validarAlta(com.inventario.alma_jesus.model.ErroresValidacion)
      */
-    public Map<String, Object> crearProducto(Map<String, Object> productoData) {
+    public Map<String, Object> crearProducto(ProductoRequest productoData) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            if (productoData.get("modelo") == null || productoData.get("color") == null ||
-                    productoData.get("precio") == null || productoData.get("stock") == null ||
-                    productoData.get("creadoPor") == null) {
-
-                response.put("success", false);
-                response.put("message", "Modelo, color, precio, stock y creadoPor son requeridos");
-                return response;
-            }
-
             Producto nuevoProducto = new Producto();
-            nuevoProducto.setModelo(productoData.get("modelo").toString());
-            nuevoProducto.setColor(productoData.get("color").toString());
-            nuevoProducto.setPrecio(Integer.parseInt(productoData.get("precio").toString()));
-            nuevoProducto.setStock(Integer.parseInt(productoData.get("stock").toString()));
-            nuevoProducto.setTamaño(productoData.get("tamaño") != null ? productoData.get("tamaño").toString() : "200x300");
-            nuevoProducto.setImagenUrl(productoData.get("imagenUrl") != null ? productoData.get("imagenUrl").toString() : "");
-            nuevoProducto.setCreadoPor(productoData.get("creadoPor").toString());
-            nuevoProducto.setTipo(productoData.get("tipo") != null ? productoData.get("tipo").toString() : "religiosas");
+            nuevoProducto.setModelo(productoData.getModelo());
+            nuevoProducto.setColor(productoData.getColor());
+            nuevoProducto.setPrecio(productoData.getPrecio());
+            nuevoProducto.setStock(productoData.getStock());
+            nuevoProducto.setTamaño(productoData.getTamaño() != null ? productoData.getTamaño() : "200x300");
+            nuevoProducto.setImagenUrl(productoData.getImagenUrl() != null ? productoData.getImagenUrl() : "");
+            nuevoProducto.setCreadoPor(productoData.getCreadoPor());
+            nuevoProducto.setTipo(productoData.getTipo() != null ? productoData.getTipo() : "religiosas");
 
             boolean creado = productoRepository.crearProducto(nuevoProducto);
 
             if (creado) {
+                invalidarCatalogo();
                 response.put("success", true);
                 response.put("message", "Producto creado exitosamente");
                 response.put("producto", Map.of(
@@ -199,8 +296,7 @@ public class ProductoService {
             }
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.crearProducto: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.crearProducto", e);
             response.put("success", false);
             response.put("message", "Error al crear producto: " + e.getMessage());
         }
@@ -212,10 +308,11 @@ public class ProductoService {
      * Actualiza los datos de un producto existente.
      *
      * @param id ID del producto a actualizar.
-     * @param productoData Mapa con los nuevos datos del producto.
+     * @param productoData Nuevos datos del producto; solo se aplican los campos no nulos.
      * @return Mapa con el resultado de la operación.
+     * @see ProductoRequest#validarCambios(com.inventario.alma_jesus.model.ErroresValidacion)
      */
-    public Map<String, Object> actualizarProducto(int id, Map<String, Object> productoData) {
+    public Map<String, Object> actualizarProducto(int id, ProductoRequest productoData) {
         Map<String, Object> response = new HashMap<>();
 
         try {
@@ -229,31 +326,32 @@ public class ProductoService {
 
             Producto productoExistente = productoOpt.get();
 
-            if (productoData.get("modelo") != null) {
-                productoExistente.setModelo(productoData.get("modelo").toString());
+            if (productoData.getModelo() != null) {
+                productoExistente.setModelo(productoData.getModelo());
             }
-            if (productoData.get("color") != null) {
-                productoExistente.setColor(productoData.get("color").toString());
+            if (productoData.getColor() != null) {
+                productoExistente.setColor(productoData.getColor());
             }
-            if (productoData.get("precio") != null) {
-                productoExistente.setPrecio(Integer.parseInt(productoData.get("precio").toString()));
+            if (productoData.getPrecio() != null) {
+                productoExistente.setPrecio(productoData.getPrecio());
             }
-            if (productoData.get("stock") != null) {
-                productoExistente.setStock(Integer.parseInt(productoData.get("stock").toString()));
+            if (productoData.getStock() != null) {
+                productoExistente.setStock(productoData.getStock());
             }
-            if (productoData.get("tamaño") != null) {
-                productoExistente.setTamaño(productoData.get("tamaño").toString());
+            if (productoData.getTamaño() != null) {
+                productoExistente.setTamaño(productoData.getTamaño());
             }
-            if (productoData.get("imagenUrl") != null) {
-                productoExistente.setImagenUrl(productoData.get("imagenUrl").toString());
+            if (productoData.getImagenUrl() != null) {
+                productoExistente.setImagenUrl(productoData.getImagenUrl());
             }
-            if (productoData.get("tipo") != null) {
-                productoExistente.setTipo(productoData.get("tipo").toString());
+            if (productoData.getTipo() != null) {
+                productoExistente.setTipo(productoData.getTipo());
             }
 
             boolean actualizado = productoRepository.actualizarProducto(productoExistente);
 
             if (actualizado) {
+                invalidarCatalogo();
                 response.put("success", true);
                 response.put("message", "Producto actualizado exitosamente");
                 response.put("producto", Map.of(
@@ -270,8 +368,7 @@ public class ProductoService {
             }
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.actualizarProducto: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.actualizarProducto", e);
             response.put("success", false);
             response.put("message", "Error al actualizar producto: " + e.getMessage());
         }
@@ -302,6 +399,7 @@ public class ProductoService {
             boolean eliminado = productoRepository.eliminarProducto(id);
 
             if (eliminado) {
+                invalidarCatalogo();
                 response.put("success", true);
                 response.put("message", "Producto eliminado exitosamente");
                 response.put("producto", producto.getModelo());
@@ -311,8 +409,7 @@ public class ProductoService {
             }
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.eliminarProducto: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.eliminarProducto", e);
             response.put("success", false);
             response.put("message", "Error al eliminar producto: " + e.getMessage());
         }
@@ -340,8 +437,7 @@ public class ProductoService {
             }
 
         } catch (Exception e) {
-            System.out.println("Error en ProductoService.publicarPrecios: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en ProductoService.publicarPrecios", e);
             response.put("success", false);
             response.put("message", "Error al publicar precios: " + e.getMessage());
         }
@@ -379,7 +475,7 @@ public class ProductoService {
             response.put("imageUrl", imageUrl);
 
         } catch (Exception e) {
-            System.out.println("Error subiendo imagen: " + e.getMessage());
+            logger.error("Error subiendo imagen: {}", e.getMessage());
             response.put("success", false);
             response.put("message", "Error al subir imagen: " + e.getMessage());
         }
@@ -0,0 +1,146 @@
+package com.inventario.alma_jesus.service;
+
+import java.time.LocalDate;
+
+/**
+ * Consulta de una serie de analítica ya validada: serie, granularidad y rango.
+ * <p>
+ * El rango se guarda como intervalo semiabierto {@code [desde, hastaExclusivo)}.
+ * En la API {@code hasta} es inclusivo (el último día que se quiere ver), así
+ * que se convierte sumándole un día; las consultas SQL usan entonces
+ * {@code dia >= ? AND dia < ?} sobre la columna sin funciones.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see Granularidad
+ *
+ * @example
+ * <pre>
+ * // GET /api/v1/analytics/ventas?desde=2024-01-01&amp;hasta=2024-06-30&amp;granularidad=mes
+ * RangoAnalitica rango = RangoAnalitica.de("ventas", "2024-01-01", "2024-06-30", "mes", LocalDate.now());
+ * rango.getHastaExclusivo(); // 2024-07-01
+ * </pre>
+ */
+public final class RangoAnalitica {
+
+    public static final String VENTAS = "ventas";
+    public static final String REPARACIONES = "reparaciones";
+    public static final String MATERIALES = "materiales";
+
+    /**
+     * Número máximo de intervalos por respuesta, para acotar el tamaño de la gráfica.
+     */
+    public static final int MAX_INTERVALOS = 1000;
+
+    private final String serie;
+    private final Granularidad granularidad;
+    private final LocalDate desde;
+    private final LocalDate hastaExclusivo;
+
+    private RangoAnalitica(String serie, Granularidad granularidad, LocalDate desde, LocalDate hastaExclusivo) {
+        this.serie = serie;
+        this.granularidad = granularidad;
+        this.desde = desde;
+        this.hastaExclusivo = hastaExclusivo;
+    }
+
+    /**
+     * Valida y normaliza los parámetros de la petición.
+     *
+     * @param serie Nombre de la serie ("ventas", "reparaciones", "materiales"; se acepta "venta")
+     * @param desde Primer día ("YYYY-MM-DD"), o null para usar el valor por defecto de la granularidad
+     * @param hasta Último día inclusive ("YYYY-MM-DD"), o null para usar la fecha actual
+     * @param granularidad "dia", "semana", "mes" o "año"; null equivale a "dia"
+     * @param hoy Fecha actual
+     * @return El rango validado
+     * @throws IllegalArgumentException Si algún parámetro no es válido, si
+     *         {@code desde} es posterior a {@code hasta} o si el rango produce
+     *         más de {@value #MAX_INTERVALOS} intervalos
+     */
+    public static RangoAnalitica de(String serie, String desde, String hasta, String granularidad, LocalDate hoy) {
+        String nombre = normalizarSerie(serie);
+        Granularidad g = Granularidad.desdeParametro(granularidad);
+
+        LocalDate fin = hasta == null || hasta.isBlank() ? hoy : parsear("hasta", hasta);
+        LocalDate inicio = desde == null || desde.isBlank() ? g.desdePorDefecto(fin) : parsear("desde", desde);
+        if (inicio.isAfter(fin)) {
+            throw new IllegalArgumentException("La fecha 'desde' no puede ser posterior a 'hasta'");
+        }
+
+        LocalDate hastaExclusivo = fin.plusDays(1);
+        if (g.intervalos(inicio, hastaExclusivo) > MAX_INTERVALOS) {
+            throw new IllegalArgumentException("El rango solicitado genera demasiados intervalos (máximo "
+                    + MAX_INTERVALOS + "); use una granularidad mayor");
+        }
+        return new RangoAnalitica(nombre, g, inicio, hastaExclusivo);
+    }
+
+    /**
+     * Construye el rango de los últimos intervalos completos hasta hoy, usado
+     * por las gráficas por periodo ({@code ?periodo=semanal}, etc.).
+     *
+     * @param serie Nombre de la serie
+     * @param granularidad Granularidad de los intervalos
+     * @param intervalos Número de intervalos, incluido el actual
+     * @param hoy Fecha actual
+     * @return Rango desde el inicio del primer intervalo hasta hoy inclusive
+     * @throws IllegalArgumentException Si la serie no existe
+     */
+    public static RangoAnalitica ultimos(String serie, Granularidad granularidad, int intervalos, LocalDate hoy) {
+        return new RangoAnalitica(normalizarSerie(serie), granularidad,
+                granularidad.inicioHace(hoy, intervalos - 1), hoy.plusDays(1));
+    }
+
+    private static String normalizarSerie(String serie) {
+        String valor = serie == null ? "" : serie.trim().toLowerCase();
+        switch (valor) {
+            case "venta":
+            case VENTAS:
+                return VENTAS;
+            case REPARACIONES:
+                return REPARACIONES;
+            case MATERIALES:
+                return MATERIALES;
+            default:
+                throw new IllegalArgumentException(
+                        "Serie no válida: " + serie + ". Valores permitidos: ventas, reparaciones, materiales");
+        }
+    }
+
+    private static LocalDate parsear(String nombre, String valor) {
+        try {
+            return LocalDate.parse(valor.trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Fecha '" + nombre + "' no válida: " + valor + " (formato YYYY-MM-DD)");
+        }
+    }
+
+    /**
+     * @return Nombre normalizado de la serie
+     */
+    public String getSerie() {
+        return serie;
+    }
+
+    /**
+     * @return Granularidad de agrupación
+     */
+    public Granularidad getGranularidad() {
+        return granularidad;
+    }
+
+    /**
+     * @return Primer día del rango, inclusive
+     */
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    /**
+     * @return Día siguiente al último del rango, exclusivo
+     */
+    public LocalDate getHastaExclusivo() {
+        return hastaExclusivo;
+    }
+}
@@ -40,8 +40,20 @@ public class RecetarioService {
      * @see RecetarioRepository#findAll()
      */
     public List<Recetario> listarRecetas() {
+        return listarRecetas(false);
+    }
+
+    /**
+     * Lista todas las recetas del sistema.
+     *
+     * @param conMateriales true para incluir los materiales de cada receta
+     * @return Lista de todas las {@link Recetario} disponibles
+     * @throws RuntimeException Si ocurre un error al acceder a la base de datos
+     * @see RecetarioRepository#findAll(boolean)
+     */
+    public List<Recetario> listarRecetas(boolean conMateriales) {
         try {
-            return repository.findAll();
+            return repository.findAll(conMateriales);
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar recetas: " + e.getMessage(), e);
         }
@@ -60,8 +72,20 @@ public class RecetarioService {
      * @throws RuntimeException Si ocurre un error al acceder a la base de datos
      */
     public List<Recetario> listarRecetasParaTrabajador() {
+        return listarRecetasParaTrabajador(false);
+    }
+
+    /**
+     * Lista las recetas disponibles para trabajadores.
+     *
+     * @param conMateriales true para incluir los materiales de cada receta
+     * @return Lista de {@link Recetario} disponibles para trabajadores
+     * @throws RuntimeException Si ocurre un error al acceder a la base de datos
+     * @see #listarRecetasParaTrabajador()
+     */
+    public List<Recetario> listarRecetasParaTrabajador(boolean conMateriales) {
         try {
-            return repository.findAll();
+            return repository.findAll(conMateriales);
         } catch (SQLException e) {
             throw new RuntimeException("Error al listar recetas para trabajador: " + e.getMessage(), e);
         }
@@ -80,8 +104,21 @@ public class RecetarioService {
      * @see RecetarioRepository#findById(Long)
      */
     public Recetario obtenerReceta(Long id) {
+        return obtenerReceta(id, false);
+    }
+
+    /**
+     * Obtiene una receta específica por su ID.
+     *
+     * @param id ID de la receta a obtener
+     * @param conMateriales true para incluir los materiales de la receta
+     * @return La {@link Recetario} encontrada
+     * @throws RuntimeException Si no se encuentra la receta o falla la base de datos
+     * @see RecetarioRepository#findById(Long, boolean)
+     */
+    public Recetario obtenerReceta(Long id, boolean conMateriales) {
         try {
-            Recetario receta = repository.findById(id);
+            Recetario receta = repository.findById(id, conMateriales);
             if (receta == null) {
                 throw new RuntimeException("Receta no encontrada con ID: " + id);
             }
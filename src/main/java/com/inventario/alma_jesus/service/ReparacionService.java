@@ -1,8 +1,12 @@
 package com.inventario.alma_jesus.service;
 
 import com.inventario.alma_jesus.model.Reparacion;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.repository.ReparacionRepository;
 import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de reparaciones en el sistema.
@@ -14,6 +18,12 @@ import java.util.*;
  * @since 2024
  */
 public class ReparacionService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ReparacionService.class);
+
     private final ReparacionRepository reparacionRepository;
 
     /**
@@ -33,10 +43,23 @@ public class ReparacionService {
      * @return Lista de reparaciones que cumplen con los filtros especificados.
      */
     public List<Reparacion> listarReparaciones(String estado, String cliente, String modelo) {
-        System.out.println("Listando reparaciones");
+        logger.debug("Listando reparaciones");
         return reparacionRepository.findAll(estado, cliente, modelo);
     }
 
+    /**
+     * Lista una página de reparaciones con los mismos filtros que {@link #listarReparaciones(String, String, String)}.
+     *
+     * @param estado Estado de la reparación para filtrar (opcional).
+     * @param cliente Nombre del cliente para filtrar (opcional).
+     * @param modelo Modelo del producto para filtrar (opcional).
+     * @param page Petición de página con límite y cursor opcional.
+     * @return Página de reparaciones que cumplen con los filtros especificados.
+     */
+    public Page<Reparacion> listarReparaciones(String estado, String cliente, String modelo, PageRequest page) {
+        return reparacionRepository.findAll(estado, cliente, modelo, page);
+    }
+
     /**
      * Obtiene una reparación específica por su ID.
      *
@@ -44,7 +67,7 @@ public class ReparacionService {
      * @return Optional conteniendo la reparación si se encuentra, Optional.empty() en caso contrario.
      */
     public Optional<Reparacion> obtenerReparacion(Long id) {
-        System.out.println("Obteniendo reparacion ID: " + id);
+        logger.debug("Obteniendo reparacion ID: {}", id);
         if (id == null) return Optional.empty();
         return reparacionRepository.findById(id);
     }
@@ -57,7 +80,7 @@ public class ReparacionService {
      * @throws IllegalArgumentException Si los datos requeridos no son válidos.
      */
     public Reparacion crearReparacion(Reparacion reparacion) {
-        System.out.println("Creando nueva reparacion");
+        logger.debug("Creando nueva reparacion");
 
         if (reparacion.getNombreCliente() == null || reparacion.getNombreCliente().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre del cliente es requerido");
@@ -76,7 +99,10 @@ public class ReparacionService {
         if (reparacion.getReciboUrl() == null) reparacion.setReciboUrl("");
         if (reparacion.getMaterialOriginal() == null) reparacion.setMaterialOriginal("Yeso frio");
 
-        return reparacionRepository.save(reparacion);
+        Reparacion creada = reparacionRepository.save(reparacion);
+        // Una reparación con fecha de ingreso pasada cambia un intervalo ya cerrado de la gráfica
+        EstadisticasService.invalidarSerie(RangoAnalitica.REPARACIONES, reparacion.getFechaIngreso());
+        return creada;
     }
 
     /**
@@ -87,7 +113,7 @@ public class ReparacionService {
      * @throws IllegalArgumentException Si el ID de la reparación es null.
      */
     public boolean actualizarReparacion(Reparacion reparacion) {
-        System.out.println("Actualizando reparacion ID: " + reparacion.getId());
+        logger.debug("Actualizando reparacion ID: {}", reparacion.getId());
         if (reparacion.getId() == null) {
             throw new IllegalArgumentException("ID de reparacion es requerido para actualizar");
         }
@@ -103,7 +129,7 @@ public class ReparacionService {
      * @throws IllegalArgumentException Si el estado no es válido.
      */
     public boolean cambiarEstado(Long id, String nuevoEstado) {
-        System.out.println("Cambiando estado ID: " + id + " -> " + nuevoEstado);
+        logger.debug("Cambiando estado ID: {} -> {}", id, nuevoEstado);
         if (!esEstadoValido(nuevoEstado)) {
             throw new IllegalArgumentException("Estado no valido. Use: Pendiente, En Proceso, Completado, Entregado");
         }
@@ -117,8 +143,12 @@ public class ReparacionService {
      * @return true si la reparación fue eliminada exitosamente, false en caso contrario.
      */
     public boolean eliminarReparacion(Long id) {
-        System.out.println("Eliminando reparacion ID: " + id);
-        return reparacionRepository.delete(id);
+        logger.debug("Eliminando reparacion ID: {}", id);
+        boolean eliminada = reparacionRepository.delete(id);
+        if (eliminada) {
+            EstadisticasService.invalidarSerie(RangoAnalitica.REPARACIONES, null);
+        }
+        return eliminada;
     }
 
     /**
@@ -128,7 +158,7 @@ public class ReparacionService {
      * @return Lista de mapas con las entradas del historial.
      */
     public List<Map<String, Object>> obtenerHistorial(Long reparacionId) {
-        System.out.println("Obteniendo historial ID: " + reparacionId);
+        logger.debug("Obteniendo historial ID: {}", reparacionId);
 
         List<Map<String, Object>> historial = new ArrayList<>();
 
@@ -152,7 +182,7 @@ public class ReparacionService {
         entrada2.put("estado_nuevo", "En Proceso");
         historial.add(entrada2);
 
-        System.out.println("Historial obtenido: " + historial.size() + " entradas");
+        logger.debug("Historial obtenido: {} entradas", historial.size());
         return historial;
     }
 
@@ -164,7 +194,7 @@ public class ReparacionService {
      * @throws RuntimeException Si la reparación no se encuentra.
      */
     public Map<String, Object> generarRecibo(Long reparacionId) {
-        System.out.println("Generando recibo ID: " + reparacionId);
+        logger.debug("Generando recibo ID: {}", reparacionId);
 
         Optional<Reparacion> reparacionOpt = obtenerReparacion(reparacionId);
         if (reparacionOpt.isEmpty()) {
@@ -189,7 +219,7 @@ public class ReparacionService {
         recibo.put("materialesUsados", reparacion.getNotas());
         recibo.put("reciboUrl", reparacion.getReciboUrl());
 
-        System.out.println("Recibo generado para ID: " + reparacionId);
+        logger.debug("Recibo generado para ID: {}", reparacionId);
         return recibo;
     }
 
@@ -0,0 +1,87 @@
+package com.inventario.alma_jesus.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores de versión de los recursos de catálogo y referencia.
+ * <p>
+ * Cada recurso (productos, materiales, herramientas, recetas) tiene un contador
+ * que se incrementa cada vez que se modifica. La versión se usa para construir
+ * el {@code ETag} de sus listados: mientras el contador no cambie, el cliente
+ * puede reutilizar la respuesta que ya tiene. Los contadores viven en memoria
+ * y se combinan con el instante de arranque del servidor, de modo que un
+ * reinicio invalida todos los ETag emitidos antes.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * ResourceVersions.incrementar(ResourceVersions.PRODUCTOS);
+ * String etag = ResourceVersions.etag(ResourceVersions.RECETAS, ResourceVersions.MATERIALES);
+ * // W/"lqz3k2a1-4-12"
+ * </pre>
+ */
+public final class ResourceVersions {
+
+    public static final String PRODUCTOS = "productos";
+    public static final String MATERIALES = "materiales";
+    public static final String HERRAMIENTAS = "herramientas";
+    public static final String RECETAS = "recetas";
+
+    /**
+     * Instante de arranque en base 36, prefijo común de todos los ETag.
+     */
+    private static final String EPOCA = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final Map<String, AtomicLong> VERSIONES = new ConcurrentHashMap<>();
+
+    private ResourceVersions() {
+    }
+
+    /**
+     * Obtiene la versión actual de un recurso.
+     *
+     * @param recurso Nombre del recurso
+     * @return Versión actual (0 si nunca se modificó desde el arranque)
+     */
+    public static long actual(String recurso) {
+        return contador(recurso).get();
+    }
+
+    /**
+     * Marca un recurso como modificado.
+     *
+     * @param recurso Nombre del recurso
+     */
+    public static void incrementar(String recurso) {
+        contador(recurso).incrementAndGet();
+    }
+
+    /**
+     * Construye el ETag débil correspondiente a las versiones actuales de uno o
+     * varios recursos.
+     * <p>
+     * Un listado que incluye datos de otros recursos (por ejemplo, las recetas
+     * muestran el nombre de sus materiales) debe pasar todos ellos para que su
+     * ETag cambie cuando cambie cualquiera.
+     * </p>
+     *
+     * @param recursos Recursos de los que depende la respuesta
+     * @return ETag débil, por ejemplo {@code W/"lqz3k2a1-4-12"}
+     */
+    public static String etag(String... recursos) {
+        StringBuilder sb = new StringBuilder("W/\"").append(EPOCA);
+        for (String recurso : recursos) {
+            sb.append('-').append(actual(recurso));
+        }
+        return sb.append('"').toString();
+    }
+
+    private static AtomicLong contador(String recurso) {
+        return VERSIONES.computeIfAbsent(recurso, k -> new AtomicLong());
+    }
+}
@@ -0,0 +1,200 @@
+package com.inventario.alma_jesus.service;
+
+import com.inventario.alma_jesus.model.PuntoSerie;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de los intervalos cerrados de las series de analítica.
+ * <p>
+ * Una semana, un mes o un año que ya terminó no cambia, así que su total se
+ * guarda con la clave {@code (serie, granularidad, inicio)}. Solo el
+ * intervalo abierto (el que contiene el día de hoy) y los intervalos
+ * recortados por los extremos del rango se recalculan en cada petición.
+ * </p>
+ * <p>
+ * Como los clientes eligen el rango libremente, el número de intervalos
+ * guardados está acotado: al superar el máximo se descarta el usado hace más
+ * tiempo.
+ * </p>
+ * <p>
+ * Una escritura con fecha pasada (una venta o reparación registrada con
+ * retraso, o la eliminación de una venta) invalida los intervalos que
+ * contienen esa fecha en todas las granularidades. Cada invalidación
+ * incrementa una versión; un cálculo que empezó antes de la invalidación no
+ * guarda su resultado, de modo que nunca se instala un total obsoleto. La
+ * comprobación de la versión y la escritura se hacen bajo el mismo candado
+ * que las invalidaciones.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see EstadisticasService#obtenerSerie(RangoAnalitica)
+ *
+ * @example
+ * <pre>
+ * long version = cache.version();
+ * PuntoSerie punto = cache.obtener("ventas", Granularidad.MES, LocalDate.of(2024, 10, 1));
+ * if (punto == null) {
+ *     punto = calcular(...);
+ *     cache.guardar("ventas", Granularidad.MES, LocalDate.of(2024, 10, 1), punto, version);
+ * }
+ * cache.invalidarDia("ventas", LocalDate.of(2024, 10, 17)); // venta registrada con retraso
+ * </pre>
+ */
+public class SerieAnaliticaCache {
+
+    /**
+     * Intervalos cerrados en orden de acceso (el primero es el usado hace más
+     * tiempo). Se accede siempre bajo el candado de la instancia.
+     */
+    private final LinkedHashMap<String, PuntoSerie> cerrados;
+
+    /**
+     * Versión de la caché; se incrementa en cada invalidación.
+     */
+    private long version;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidaciones = new LongAdder();
+
+    /**
+     * Crea una caché acotada.
+     *
+     * @param maxIntervalos Número máximo de intervalos guardados
+     * @throws IllegalArgumentException Si el máximo no es positivo
+     */
+    public SerieAnaliticaCache(int maxIntervalos) {
+        if (maxIntervalos <= 0) {
+            throw new IllegalArgumentException("El máximo de intervalos debe ser positivo");
+        }
+        this.cerrados = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PuntoSerie> eldest) {
+                return size() > maxIntervalos;
+            }
+        };
+    }
+
+    /**
+     * Obtiene la versión actual. Debe leerse antes de consultar la base de
+     * datos y pasarse a {@link #guardar}.
+     *
+     * @return Versión actual de la caché
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Obtiene el total de un intervalo cerrado.
+     *
+     * @param serie Nombre de la serie
+     * @param granularidad Granularidad del intervalo
+     * @param inicio Primer día del intervalo
+     * @return Copia del punto guardado, o null si no está en la caché
+     */
+    public synchronized PuntoSerie obtener(String serie, Granularidad granularidad, LocalDate inicio) {
+        PuntoSerie punto = cerrados.get(clave(serie, granularidad, inicio));
+        if (punto == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copia(punto);
+    }
+
+    /**
+     * Guarda el total de un intervalo cerrado.
+     * <p>
+     * No hace nada si hubo una invalidación desde que se leyó
+     * {@code versionLeida}: el total pudo calcularse con datos anteriores.
+     * </p>
+     *
+     * @param serie Nombre de la serie
+     * @param granularidad Granularidad del intervalo
+     * @param inicio Primer día del intervalo
+     * @param punto Total calculado
+     * @param versionLeida Versión obtenida con {@link #version()} antes del cálculo
+     */
+    public synchronized void guardar(String serie, Granularidad granularidad, LocalDate inicio, PuntoSerie punto, long versionLeida) {
+        if (version == versionLeida) {
+            cerrados.put(clave(serie, granularidad, inicio), copia(punto));
+        }
+    }
+
+    /**
+     * Invalida los intervalos de una serie que contienen un día, en todas las
+     * granularidades.
+     *
+     * @param serie Nombre de la serie
+     * @param dia Día afectado por la escritura
+     */
+    public synchronized void invalidarDia(String serie, LocalDate dia) {
+        version++;
+        for (Granularidad granularidad : Granularidad.values()) {
+            if (cerrados.remove(clave(serie, granularidad, granularidad.inicio(dia))) != null) {
+                invalidaciones.increment();
+            }
+        }
+    }
+
+    /**
+     * Invalida todos los intervalos de una serie; se usa cuando no se conoce
+     * la fecha afectada.
+     *
+     * @param serie Nombre de la serie
+     */
+    public synchronized void invalidarSerie(String serie) {
+        version++;
+        String prefijo = serie + "|";
+        cerrados.keySet().removeIf(clave -> {
+            boolean coincide = clave.startsWith(prefijo);
+            if (coincide) {
+                invalidaciones.increment();
+            }
+            return coincide;
+        });
+    }
+
+    /**
+     * Descarta todos los intervalos guardados, por ejemplo tras reconstruir
+     * los resúmenes diarios.
+     */
+    public synchronized void invalidarTodo() {
+        version++;
+        invalidaciones.add(cerrados.size());
+        cerrados.clear();
+    }
+
+    /**
+     * Obtiene los contadores de la caché para monitoreo.
+     *
+     * @return Mapa con hits, misses, invalidaciones, tasa de aciertos e intervalos guardados
+     */
+    public synchronized Map<String, Object> estadisticas() {
+        long h = hits.sum();
+        long m = misses.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", h);
+        stats.put("misses", m);
+        stats.put("invalidaciones", invalidaciones.sum());
+        stats.put("hitRate", h + m == 0 ? 0.0 : Math.round(h * 10000.0 / (h + m)) / 10000.0);
+        stats.put("intervalos", cerrados.size());
+        return stats;
+    }
+
+    private static String clave(String serie, Granularidad granularidad, LocalDate inicio) {
+        return serie + "|" + granularidad.name() + "|" + inicio;
+    }
+
+    private static PuntoSerie copia(PuntoSerie punto) {
+        return new PuntoSerie(punto.getPeriodo(), punto.getDesde(), punto.getHasta(),
+                punto.getCantidad(), punto.getMonto());
+    }
+}
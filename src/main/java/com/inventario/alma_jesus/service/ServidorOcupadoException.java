@@ -0,0 +1,34 @@
+package com.inventario.alma_jesus.service;
+
+/**
+ * Excepción lanzada cuando una operación se rechaza por falta de capacidad
+ * (cola llena o tiempo de espera agotado) y conviene reintentarla más tarde.
+ * <p>
+ * Los controladores la traducen a {@code 503 Service Unavailable} con el
+ * header {@code Retry-After}.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see PasswordHashingPool
+ */
+public class ServidorOcupadoException extends RuntimeException {
+
+    private final int reintentarEnSegundos;
+
+    /**
+     * @param message Mensaje para el cliente
+     * @param reintentarEnSegundos Segundos sugeridos antes de reintentar
+     */
+    public ServidorOcupadoException(String message, int reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    /**
+     * @return Segundos sugeridos antes de reintentar, para el header {@code Retry-After}
+     */
+    public int getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
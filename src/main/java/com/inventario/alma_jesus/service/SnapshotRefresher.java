@@ -0,0 +1,206 @@
+package com.inventario.alma_jesus.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Instantánea de un cálculo costoso que se refresca periódicamente en segundo plano.
+ * <p>
+ * Un hilo programado recalcula el valor cada cierto intervalo y lo publica en
+ * una referencia volátil. Los lectores obtienen la última instantánea en O(1),
+ * sin tocar la base de datos, junto con su antigüedad. Si un refresco falla se
+ * conserva la instantánea anterior y se reintenta en el siguiente ciclo.
+ * </p>
+ * <p>
+ * {@link #refrescar()} fuerza un recálculo inmediato. Los recálculos se hacen
+ * de uno en uno; quien espera su turno y encuentra publicada una instantánea
+ * cuyo cálculo empezó después de su llamada la reutiliza en lugar de repetir
+ * la consulta, así que N peticiones simultáneas producen un solo recálculo
+ * adicional, no N.
+ * </p>
+ *
+ * @param <T> Tipo del valor calculado
+ * @version 1.0
+ * @since 2024
+ *
+ * @example
+ * <pre>
+ * SnapshotRefresher&lt;EstadisticaDashboard&gt; stats =
+ *         new SnapshotRefresher&lt;&gt;("dashboard-stats", repository::obtenerEstadisticasGenerales, 60);
+ * stats.iniciar();
+ * SnapshotRefresher.Instantanea&lt;EstadisticaDashboard&gt; actual = stats.obtener();
+ * long edadMs = actual.getEdadMs();
+ * </pre>
+ */
+public class SnapshotRefresher<T> {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRefresher.class);
+
+    private final String nombre;
+    private final Callable<T> calculo;
+    private final long intervaloSegundos;
+
+    /**
+     * Última instantánea calculada, o null si aún no se calculó ninguna.
+     */
+    private volatile Instantanea<T> actual;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Serializa los recálculos; no se usa el monitor de la instancia para no
+     * bloquear {@link #iniciar()} y {@link #detener()} durante un cálculo.
+     */
+    private final Object recalculo = new Object();
+
+    /**
+     * Crea el refrescador sin iniciar el hilo programado.
+     *
+     * @param nombre Nombre del hilo y de los mensajes de log
+     * @param calculo Cálculo que produce el valor
+     * @param intervaloSegundos Intervalo entre refrescos, en segundos
+     * @throws IllegalArgumentException Si el intervalo no es positivo
+     */
+    public SnapshotRefresher(String nombre, Callable<T> calculo, long intervaloSegundos) {
+        if (intervaloSegundos <= 0) {
+            throw new IllegalArgumentException("El intervalo de refresco debe ser positivo");
+        }
+        this.nombre = nombre;
+        this.calculo = calculo;
+        this.intervaloSegundos = intervaloSegundos;
+    }
+
+    /**
+     * Inicia el refresco periódico; el primer cálculo se hace de inmediato.
+     * Llamadas posteriores no tienen efecto.
+     */
+    public synchronized void iniciar() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, nombre + "-refresh");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        scheduler.scheduleWithFixedDelay(this::refrescarEnSegundoPlano, 0, intervaloSegundos, TimeUnit.SECONDS);
+        logger.info("[{}] Refresco programado cada {} s", nombre, intervaloSegundos);
+    }
+
+    /**
+     * Detiene el refresco periódico.
+     */
+    public synchronized void detener() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Obtiene la última instantánea.
+     * <p>
+     * Solo calcula en la petición si todavía no existe ninguna instantánea
+     * (por ejemplo, justo al arrancar antes del primer refresco). Las
+     * peticiones que llegan mientras se hace ese primer cálculo esperan su
+     * resultado y no lo repiten.
+     * </p>
+     *
+     * @return Última instantánea disponible
+     * @throws Exception Si no había instantánea y el cálculo falla
+     */
+    public Instantanea<T> obtener() throws Exception {
+        Instantanea<T> instantanea = actual;
+        return instantanea != null ? instantanea : recalcular(Long.MIN_VALUE);
+    }
+
+    /**
+     * Recalcula el valor de inmediato y publica la nueva instantánea.
+     * <p>
+     * Si mientras se esperaba el turno otro hilo publicó una instantánea cuyo
+     * cálculo empezó después de esta llamada, se devuelve esa: ya refleja todo
+     * lo que había en la base de datos al momento de pedirla.
+     * </p>
+     *
+     * @return Una instantánea calculada después de la llamada
+     * @throws Exception Si el cálculo falla (se conserva la instantánea anterior)
+     */
+    public Instantanea<T> refrescar() throws Exception {
+        return recalcular(System.nanoTime());
+    }
+
+    /**
+     * Recalcula salvo que ya exista una instantánea cuyo cálculo empezó en
+     * {@code pedido} o después; {@link Long#MIN_VALUE} acepta cualquiera.
+     */
+    private Instantanea<T> recalcular(long pedido) throws Exception {
+        synchronized (recalculo) {
+            Instantanea<T> publicada = actual;
+            if (publicada != null && (pedido == Long.MIN_VALUE || publicada.inicioNanos - pedido >= 0)) {
+                return publicada;
+            }
+            long inicio = System.nanoTime();
+            Instantanea<T> nueva = new Instantanea<>(calculo.call(), System.currentTimeMillis(), inicio);
+            actual = nueva;
+            return nueva;
+        }
+    }
+
+    private void refrescarEnSegundoPlano() {
+        try {
+            refrescar();
+        } catch (Exception e) {
+            // Una excepción cancelaría la tarea programada: se registra y se reintenta en el siguiente ciclo
+            logger.error("[{}] Error refrescando la instantánea: {}", nombre, e.getMessage());
+        }
+    }
+
+    /**
+     * Valor calculado y el instante en que se calculó.
+     *
+     * @param <T> Tipo del valor
+     */
+    public static final class Instantanea<T> {
+        private final T valor;
+        private final long generadoEn;
+
+        /**
+         * {@link System#nanoTime()} al empezar el cálculo.
+         */
+        private final long inicioNanos;
+
+        Instantanea(T valor, long generadoEn, long inicioNanos) {
+            this.valor = valor;
+            this.generadoEn = generadoEn;
+            this.inicioNanos = inicioNanos;
+        }
+
+        /**
+         * @return Valor calculado
+         */
+        public T getValor() {
+            return valor;
+        }
+
+        /**
+         * @return Instante del cálculo, en milisegundos desde la época
+         */
+        public long getGeneradoEn() {
+            return generadoEn;
+        }
+
+        /**
+         * @return Milisegundos transcurridos desde el cálculo
+         */
+        public long getEdadMs() {
+            return System.currentTimeMillis() - generadoEn;
+        }
+    }
+}
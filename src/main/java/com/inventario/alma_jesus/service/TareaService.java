@@ -1,6 +1,8 @@
 package com.inventario.alma_jesus.service;
 
 import com.inventario.alma_jesus.model.Tarea;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
 import com.inventario.alma_jesus.repository.TareaRepository;
 import java.time.LocalDate;
 import java.util.List;
@@ -33,6 +35,19 @@ public class TareaService {
         return tareaRepository.findAll(buscar, estado);
     }
 
+    /**
+     * Lista una página de tareas con opciones de filtrado.
+     *
+     * @param buscar Texto opcional para buscar en asunto o detalles de tareas
+     * @param estado Estado opcional para filtrar tareas ("TODAS" para incluir todos)
+     * @param page Petición de página con límite y cursor opcional
+     * @return Página de {@link Tarea} que cumplen con los criterios de filtrado
+     * @see TareaRepository#findAll(String, String, PageRequest)
+     */
+    public Page<Tarea> listarTareas(String buscar, String estado, PageRequest page) {
+        return tareaRepository.findAll(buscar, estado, page);
+    }
+
     /**
      * Lista tareas asignadas a un trabajador específico.
      *
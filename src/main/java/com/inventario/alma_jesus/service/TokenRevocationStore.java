@@ -0,0 +1,186 @@
+package com.inventario.alma_jesus.service;
+
+import com.inventario.alma_jesus.repository.TokenRevocadoRepository;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Conjunto de tokens JWT revocados, identificados por su {@code jti}.
+ * <p>
+ * La revisión de cada petición autenticada es en memoria y de costo
+ * constante: primero un {@link BloomFilter}, que descarta sin más a casi
+ * todos los tokens no revocados, y solo si el filtro dice "puede estar" se
+ * consulta el mapa exacto. Ninguna petición consulta la base de datos.
+ * </p>
+ * <p>
+ * Cada revocación se guarda también en la tabla {@code token_revocado}
+ * (migración 004), que se lee una vez al arrancar. Como un token revocado deja
+ * de importar cuando expira, las entradas se purgan al pasar su expiración,
+ * en memoria y en la tabla; al purgar se reconstruye el filtro, porque un
+ * filtro de Bloom no admite borrar.
+ * </p>
+ *
+ * @version 1.0
+ * @since 2024
+ * @see JWTUtil
+ * @see TokenRevocadoRepository
+ *
+ * @example
+ * <pre>
+ * TokenRevocationStore revocados = new TokenRevocationStore(new TokenRevocadoRepository(), 1 &lt;&lt; 20, 300);
+ * revocados.iniciar();
+ * revocados.revocar(jti, expiraEn);
+ * revocados.estaRevocado(jti);   // true hasta expiraEn
+ * </pre>
+ */
+public class TokenRevocationStore {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationStore.class);
+
+    /**
+     * Posiciones por elemento en el filtro de Bloom.
+     */
+    private static final int HASHES_BLOOM = 4;
+
+    private final TokenRevocadoRepository repository;
+    private final long bitsBloom;
+    private final long intervaloPurgaSegundos;
+
+    /**
+     * jti → expiración del token en milisegundos desde la época.
+     */
+    private final Map<String, Long> revocados = new ConcurrentHashMap<>();
+
+    /**
+     * Filtro de los jti de {@link #revocados}. Se reemplaza completo al purgar.
+     */
+    private volatile BloomFilter filtro;
+
+    private ScheduledExecutorService purga;
+
+    /**
+     * @param repository Persistencia de las revocaciones
+     * @param bitsBloom Tamaño del filtro de Bloom en bits
+     * @param intervaloPurgaSegundos Cada cuánto se purgan las revocaciones expiradas
+     */
+    public TokenRevocationStore(TokenRevocadoRepository repository, long bitsBloom, long intervaloPurgaSegundos) {
+        this.repository = repository;
+        this.bitsBloom = bitsBloom;
+        this.intervaloPurgaSegundos = intervaloPurgaSegundos;
+        this.filtro = new BloomFilter(bitsBloom, HASHES_BLOOM);
+    }
+
+    /**
+     * Carga las revocaciones vigentes de la base de datos y programa la purga.
+     * <p>
+     * Si la tabla no se puede leer se arranca sin ellas y se registra el
+     * error: los tokens revocados antes del reinicio volverían a aceptarse
+     * hasta su expiración.
+     * </p>
+     */
+    public synchronized void iniciar() {
+        try {
+            Map<String, Long> vigentes = repository.findVigentes(System.currentTimeMillis());
+            revocados.putAll(vigentes);
+            reconstruirFiltro();
+            logger.info("Tokens revocados cargados: {}", vigentes.size());
+        } catch (SQLException e) {
+            logger.error("No se pudieron cargar los tokens revocados; se arranca sin ellos", e);
+        }
+
+        if (purga == null) {
+            purga = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "token-revocation-purge");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            purga.scheduleWithFixedDelay(this::purgar, intervaloPurgaSegundos, intervaloPurgaSegundos, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Revoca un token hasta su expiración.
+     * <p>
+     * La revocación es atómica: si varios hilos revocan el mismo jti, solo uno
+     * obtiene true. Así se reclama un refresh token de un solo uso. Se agrega
+     * al filtro y al mapa antes de persistirlo, así que la revocación tiene
+     * efecto en este servidor aunque falle la escritura en la tabla.
+     * </p>
+     *
+     * @param jti Identificador del token
+     * @param expiraEn Expiración del token en milisegundos desde la época
+     * @return true si esta llamada lo revocó; false si ya estaba revocado o ya expiró
+     */
+    public boolean revocar(String jti, long expiraEn) {
+        if (expiraEn <= System.currentTimeMillis()) {
+            return false;
+        }
+        // Sincronizado con la reconstrucción del filtro para no perder el jti al reemplazarlo
+        synchronized (this) {
+            if (revocados.putIfAbsent(jti, expiraEn) != null) {
+                return false;
+            }
+            filtro.agregar(jti);
+        }
+        if (!repository.guardar(jti, expiraEn)) {
+            logger.warn("Token {} revocado solo en memoria: no se pudo guardar", jti);
+        }
+        return true;
+    }
+
+    /**
+     * Indica si un token está revocado. No toma bloqueos ni consulta la base de datos.
+     *
+     * @param jti Identificador del token
+     * @return true si el token se revocó y aún no expira
+     */
+    public boolean estaRevocado(String jti) {
+        if (!filtro.podriaContener(jti)) {
+            return false;
+        }
+        Long expiraEn = revocados.get(jti);
+        return expiraEn != null && expiraEn > System.currentTimeMillis();
+    }
+
+    /**
+     * @return Número de revocaciones vigentes en memoria
+     */
+    public int tamano() {
+        return revocados.size();
+    }
+
+    /**
+     * Descarta las revocaciones de tokens ya expirados, en memoria y en la tabla.
+     */
+    void purgar() {
+        try {
+            long ahora = System.currentTimeMillis();
+            synchronized (this) {
+                if (revocados.values().removeIf(expiraEn -> expiraEn <= ahora)) {
+                    reconstruirFiltro();
+                }
+            }
+            int borrados = repository.eliminarExpirados(ahora);
+            logger.debug("Purga de tokens revocados: {} vigentes, {} filas borradas", revocados.size(), borrados);
+        } catch (RuntimeException e) {
+            logger.error("Error en TokenRevocationStore.purgar", e);
+        }
+    }
+
+    private void reconstruirFiltro() {
+        BloomFilter nuevo = new BloomFilter(bitsBloom, HASHES_BLOOM);
+        for (String jti : revocados.keySet()) {
+            nuevo.agregar(jti);
+        }
+        filtro = nuevo;
+    }
+}
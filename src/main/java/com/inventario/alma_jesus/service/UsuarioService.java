@@ -1,5 +1,6 @@
 package com.inventario.alma_jesus.service;
 
+import com.inventario.alma_jesus.model.CrearUsuarioRequest;
 import com.inventario.alma_jesus.model.Usuario;
 import com.inventario.alma_jesus.repository.UsuarioRepository;
 import java.util.List;
@@ -7,6 +8,8 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de usuarios en el sistema.
@@ -18,6 +21,12 @@ import java.util.stream.Collectors;
  * @since 2024
  */
 public class UsuarioService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(UsuarioService.class);
+
     private UsuarioRepository usuarioRepository = new UsuarioRepository();
 
     /**
@@ -49,10 +58,10 @@ public class UsuarioService {
             response.put("usuarios", usuariosSeguros);
             response.put("total", usuariosSeguros.size());
 
-            System.out.println("Listados " + usuariosSeguros.size() + " usuarios");
+            logger.debug("Listados {} usuarios", usuariosSeguros.size());
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioService.listarUsuarios", e);
             response.put("success", false);
             response.put("message", "Error al listar usuarios: " + e.getMessage());
         }
@@ -92,10 +101,10 @@ public class UsuarioService {
             response.put("message", "Usuario encontrado exitosamente");
             response.put("usuario", usuarioSeguro);
 
-            System.out.println("Usuario encontrado: " + usuario.getUsername());
+            logger.debug("Usuario encontrado: {}", usuario.getUsername());
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioService.obtenerUsuarioPorId", e);
             response.put("success", false);
             response.put("message", "Error al obtener usuario: " + e.getMessage());
         }
@@ -106,23 +115,16 @@ public class UsuarioService {
     /**
      * Crea un nuevo usuario en el sistema con validaciones de unicidad.
      *
-     * @param usuarioData Mapa con los datos del nuevo usuario.
+     * @param usuarioData Datos del nuevo usuario, ya validados con
+     *                    {@link CrearUsuarioRequest#validar}.
      * @return Mapa con el resultado de la operación.
      */
-    public Map<String, Object> crearUsuario(Map<String, String> usuarioData) {
+    public Map<String, Object> crearUsuario(CrearUsuarioRequest usuarioData) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            // Validar datos requeridos
-            if (usuarioData.get("id") == null || usuarioData.get("username") == null ||
-                    usuarioData.get("password") == null || usuarioData.get("rol") == null) {
-                response.put("success", false);
-                response.put("message", "ID, username, password y rol son requeridos");
-                return response;
-            }
-
             // Verificación de ID único
-            Optional<Usuario> usuarioConId = usuarioRepository.findById(usuarioData.get("id"));
+            Optional<Usuario> usuarioConId = usuarioRepository.findById(usuarioData.getId());
             if (usuarioConId.isPresent()) {
                 response.put("success", false);
                 response.put("message", "El ID de usuario ya esta en uso");
@@ -130,7 +132,7 @@ public class UsuarioService {
             }
 
             // Verificación de username único
-            Optional<Usuario> usuarioConUsername = usuarioRepository.findByUsername(usuarioData.get("username"));
+            Optional<Usuario> usuarioConUsername = usuarioRepository.findByUsername(usuarioData.getUsername());
             if (usuarioConUsername.isPresent()) {
                 response.put("success", false);
                 response.put("message", "El username ya esta en uso");
@@ -139,11 +141,11 @@ public class UsuarioService {
 
             // Crear nuevo usuario
             Usuario nuevoUsuario = new Usuario();
-            nuevoUsuario.setId(usuarioData.get("id"));
-            nuevoUsuario.setUsername(usuarioData.get("username"));
-            nuevoUsuario.setPassword(PasswordUtil.encryptPassword(usuarioData.get("password")));
-            nuevoUsuario.setRol(usuarioData.get("rol"));
-            nuevoUsuario.setEmail(usuarioData.get("email"));
+            nuevoUsuario.setId(usuarioData.getId());
+            nuevoUsuario.setUsername(usuarioData.getUsername());
+            nuevoUsuario.setPassword(PasswordHashingPool.hashear(usuarioData.getPassword()));
+            nuevoUsuario.setRol(usuarioData.getRol());
+            nuevoUsuario.setEmail(usuarioData.getEmail());
             nuevoUsuario.setActivo(true);
 
             boolean creado = usuarioRepository.crearUsuario(nuevoUsuario);
@@ -159,14 +161,16 @@ public class UsuarioService {
                         "activo", nuevoUsuario.isActivo()
                 ));
 
-                System.out.println("Usuario creado: " + nuevoUsuario.getUsername());
+                logger.debug("Usuario creado: {}", nuevoUsuario.getUsername());
             } else {
                 response.put("success", false);
                 response.put("message", "Error al crear usuario en la base de datos");
             }
 
+        } catch (ServidorOcupadoException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioService.crearUsuario", e);
             response.put("success", false);
             response.put("message", "Error al crear usuario: " + e.getMessage());
         }
@@ -199,7 +203,7 @@ public class UsuarioService {
                 return response;
             }
 
-            String passwordEncriptada = PasswordUtil.encryptPassword(nuevaPassword);
+            String passwordEncriptada = PasswordHashingPool.hashear(nuevaPassword);
 
             boolean actualizado = usuarioRepository.cambiarPassword(id, passwordEncriptada);
 
@@ -208,14 +212,16 @@ public class UsuarioService {
                 response.put("message", "Contraseña actualizada exitosamente");
                 response.put("usuario", usuarioOpt.get().getUsername());
 
-                System.out.println("Contraseña cambiada para: " + usuarioOpt.get().getUsername());
+                logger.debug("Contraseña cambiada para: {}", usuarioOpt.get().getUsername());
             } else {
                 response.put("success", false);
                 response.put("message", "Error al actualizar contraseña");
             }
 
+        } catch (ServidorOcupadoException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioService.cambiarPassword", e);
             response.put("success", false);
             response.put("message", "Error al cambiar contraseña: " + e.getMessage());
         }
@@ -257,14 +263,14 @@ public class UsuarioService {
                 response.put("message", "Usuario eliminado exitosamente");
                 response.put("usuario", usuario.getUsername());
 
-                System.out.println("Usuario eliminado: " + usuario.getUsername());
+                logger.debug("Usuario eliminado: {}", usuario.getUsername());
             } else {
                 response.put("success", false);
                 response.put("message", "Error al eliminar usuario");
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error en UsuarioService.eliminarUsuario", e);
             response.put("success", false);
             response.put("message", "Error al eliminar usuario: " + e.getMessage());
         }
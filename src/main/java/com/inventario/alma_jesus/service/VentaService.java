@@ -1,11 +1,24 @@
 package com.inventario.alma_jesus.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.inventario.alma_jesus.config.AppConfig;
+import com.inventario.alma_jesus.config.JacksonConfig;
 import com.inventario.alma_jesus.model.Venta;
+import com.inventario.alma_jesus.model.VentaDTO;
+import com.inventario.alma_jesus.model.VentaRequest;
+import com.inventario.alma_jesus.repository.Page;
+import com.inventario.alma_jesus.repository.PageRequest;
+import com.inventario.alma_jesus.repository.ResultSetStreamer;
 import com.inventario.alma_jesus.repository.VentaRepository;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Servicio para la gestión de ventas del sistema.
@@ -22,47 +35,76 @@ import java.util.stream.Collectors;
  * @see Venta
  */
 public class VentaService {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(VentaService.class);
+
+    /**
+     * Fábrica de generadores JSON para las respuestas en streaming.
+     */
+    private static final JsonFactory JSON_FACTORY = JacksonConfig.mapper().getFactory();
+
+    /**
+     * Ventas ya registradas (huella y respuesta), indexadas por su {@code Idempotency-Key}.
+     * Es compartido por todas las instancias del servicio.
+     */
+    private static final IdempotencyStore<VentaRegistrada> IDEMPOTENCIA = new IdempotencyStore<>(
+            AppConfig.getInt("ventas.idempotency.max-entries", 10000),
+            AppConfig.getLong("ventas.idempotency.ttl-seconds", 86400));
+
     private VentaRepository ventaRepository = new VentaRepository();
 
     /**
      * Lista todas las ventas del sistema con formato estructurado.
      * <p>
-     * Retorna todas las ventas registradas, transformadas a un formato de mapa
-     * para facilitar su serialización a JSON en las respuestas de la API.
+     * Retorna todas las ventas registradas como {@link VentaDTO}, que Jackson
+     * serializa directamente en las respuestas de la API.
      * </p>
      *
      * @return Mapa con los siguientes elementos:
      *         <ul>
      *           <li>success: boolean indicando si la operación fue exitosa</li>
      *           <li>message: Mensaje descriptivo del resultado</li>
-     *           <li>ventas: Lista de ventas formateadas como mapas</li>
+     *           <li>ventas: Lista de {@link VentaDTO}</li>
      *           <li>total: Cantidad total de ventas listadas</li>
      *         </ul>
      * @throws RuntimeException Si ocurre un error interno no manejado
      * @see VentaRepository#findAll()
      */
     public Map<String, Object> listarVentas() {
+        return listarVentas(null);
+    }
+
+    /**
+     * Lista las ventas del sistema, opcionalmente paginadas por cursor.
+     * <p>
+     * Si {@code page} es null se devuelven todas las ventas, como en
+     * {@link #listarVentas()}. Con una petición de página la respuesta incluye
+     * además {@code nextCursor} y {@code hasMore}.
+     * </p>
+     *
+     * @param page Petición de página, o null para listar todas las ventas
+     * @return Mapa con success, message, ventas y total (más nextCursor y hasMore si se pagina)
+     * @see VentaRepository#findAll(PageRequest)
+     */
+    public Map<String, Object> listarVentas(PageRequest page) {
         Map<String, Object> response = new HashMap<>();
 
         try {
-            List<Venta> ventas = ventaRepository.findAll();
-
-            List<Map<String, Object>> ventasFormateadas = ventas.stream()
-                    .map(venta -> {
-                        Map<String, Object> ventaMap = new HashMap<>();
-                        ventaMap.put("id", venta.getId());
-                        ventaMap.put("clienteId", venta.getClienteId());
-                        ventaMap.put("productoId", venta.getProductoId());
-                        ventaMap.put("productoModelo", venta.getProductoModelo());
-                        ventaMap.put("cantidad", venta.getCantidad());
-                        ventaMap.put("precioUnitario", venta.getPrecioUnitario());
-                        ventaMap.put("precioTotal", venta.getPrecioTotal());
-                        ventaMap.put("fecha", venta.getFecha());
-                        ventaMap.put("tipo", venta.getTipo());
-                        ventaMap.put("usuarioRegistro", venta.getUsuarioRegistro());
-                        ventaMap.put("fechaRegistro", venta.getFechaRegistro());
-                        return ventaMap;
-                    })
+            List<Venta> ventas;
+            if (page == null) {
+                ventas = ventaRepository.findAll();
+            } else {
+                Page<Venta> pagina = ventaRepository.findAll(page);
+                ventas = pagina.getItems();
+                response.put("nextCursor", pagina.getNextCursor());
+                response.put("hasMore", pagina.isHasMore());
+            }
+
+            List<VentaDTO> ventasFormateadas = ventas.stream()
+                    .map(VentaDTO::de)
                     .collect(Collectors.toList());
 
             response.put("success", true);
@@ -78,6 +120,55 @@ public class VentaService {
         return response;
     }
 
+    /**
+     * Escribe el listado completo de ventas como JSON directamente en un flujo de salida.
+     * <p>
+     * Produce el mismo documento que {@link #listarVentas()}, pero cada venta se
+     * escribe en el {@link JsonGenerator} en cuanto se lee del resultado, sin
+     * construir la lista ni los mapas intermedios. El campo {@code total} se
+     * escribe al final, después del arreglo de ventas.
+     * </p>
+     *
+     * @param out Flujo de salida de la respuesta
+     * @throws Exception Si falla la consulta o la escritura
+     * @see VentaRepository#streamAll(ResultSetStreamer.RowConsumer)
+     */
+    public void exportarVentas(OutputStream out) throws Exception {
+        try (JsonGenerator gen = JSON_FACTORY.createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeBooleanField("success", true);
+            gen.writeStringField("message", "Ventas listadas exitosamente");
+            gen.writeArrayFieldStart("ventas");
+            int total = ventaRepository.streamAll(venta -> escribirVenta(gen, venta));
+            gen.writeEndArray();
+            gen.writeNumberField("total", total);
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Escribe una venta con los mismos campos que {@link VentaDTO#de(Venta)}.
+     *
+     * @param gen Generador JSON de la respuesta
+     * @param venta Venta a escribir
+     * @throws IOException Si falla la escritura
+     */
+    private void escribirVenta(JsonGenerator gen, Venta venta) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", venta.getId());
+        gen.writeNumberField("clienteId", venta.getClienteId());
+        gen.writeNumberField("productoId", venta.getProductoId());
+        gen.writeStringField("productoModelo", venta.getProductoModelo());
+        gen.writeNumberField("cantidad", venta.getCantidad());
+        gen.writeNumberField("precioUnitario", venta.getPrecioUnitario());
+        gen.writeNumberField("precioTotal", venta.getPrecioTotal());
+        gen.writeStringField("fecha", venta.getFecha());
+        gen.writeStringField("tipo", venta.getTipo());
+        gen.writeStringField("usuarioRegistro", venta.getUsuarioRegistro());
+        gen.writeStringField("fechaRegistro", venta.getFechaRegistro());
+        gen.writeEndObject();
+    }
+
     /**
      * Obtiene una venta específica por su ID.
      *
@@ -104,22 +195,9 @@ public class VentaService {
 
             Venta venta = ventaOpt.get();
 
-            Map<String, Object> ventaDetallada = new HashMap<>();
-            ventaDetallada.put("id", venta.getId());
-            ventaDetallada.put("clienteId", venta.getClienteId());
-            ventaDetallada.put("productoId", venta.getProductoId());
-            ventaDetallada.put("productoModelo", venta.getProductoModelo());
-            ventaDetallada.put("cantidad", venta.getCantidad());
-            ventaDetallada.put("precioUnitario", venta.getPrecioUnitario());
-            ventaDetallada.put("precioTotal", venta.getPrecioTotal());
-            ventaDetallada.put("fecha", venta.getFecha());
-            ventaDetallada.put("tipo", venta.getTipo());
-            ventaDetallada.put("usuarioRegistro", venta.getUsuarioRegistro());
-            ventaDetallada.put("fechaRegistro", venta.getFechaRegistro());
-
             response.put("success", true);
             response.put("message", "Venta encontrada exitosamente");
-            response.put("venta", ventaDetallada);
+            response.put("venta", VentaDTO.de(venta));
 
         } catch (Exception e) {
             response.put("success", false);
@@ -132,89 +210,114 @@ public class VentaService {
     /**
      * Registra una nueva venta en el sistema.
      * <p>
-     * Valida que todos los campos requeridos estén presentes, crea un objeto
-     * {@link Venta} y lo persiste en la base de datos. Incluye verificación
-     * de duplicados para evitar ventas repetidas.
+     * Recibe la venta ya leída y validada por el controlador, crea un objeto
+     * {@link Venta} y lo persiste en la base de datos. Los reintentos se
+     * controlan con la clave de idempotencia de {@link #registrarVenta(VentaRequest, String)}.
      * </p>
      *
-     * @param ventaData Mapa con los datos de la nueva venta, debe contener:
-     *                  <ul>
-     *                    <li>clienteId: ID del cliente (entero)</li>
-     *                    <li>productoId: ID del producto (entero)</li>
-     *                    <li>cantidad: Cantidad vendida (entero)</li>
-     *                    <li>precioUnitario: Precio por unidad en centavos (entero)</li>
-     *                    <li>fecha: Fecha de la venta en formato "YYYY-MM-DD" (string)</li>
-     *                    <li>tipo: Tipo de transacción (string, ej: "EFECTIVO", "TARJETA")</li>
-     *                    <li>usuarioRegistro: ID del usuario que registra la venta (string)</li>
-     *                  </ul>
+     * @param ventaData Datos de la nueva venta (clienteId, productoId, cantidad,
+     *                  precioUnitario en centavos, fecha "YYYY-MM-DD", tipo y usuarioRegistro)
      * @return Mapa con los siguientes elementos:
      *         <ul>
      *           <li>success: boolean indicando si el registro fue exitoso</li>
      *           <li>message: Mensaje descriptivo del resultado</li>
+     *           <li>stockInsuficiente: true si la venta se rechazó por falta de stock</li>
      *         </ul>
-     * @throws NumberFormatException Si los campos numéricos no pueden ser convertidos a enteros
+     * @see VentaRequest#validar(com.inventario.alma_jesus.model.ErroresValidacion)
+     * @see #registrarVenta(VentaRequest, String)
+     */
+    public Map<String, Object> registrarVenta(VentaRequest ventaData) {
+        return registrarVenta(ventaData, null);
+    }
+
+    /**
+     * Registra una nueva venta de forma idempotente.
+     * <p>
+     * Si la clave ya se usó en una venta registrada con el mismo cuerpo,
+     * devuelve el resultado original con {@code idempotentReplay=true} sin
+     * volver a insertar ni invalidar cachés. Si la clave no está en memoria
+     * (expiró o el servidor se reinició), el repositorio la busca en la tabla
+     * antes de descontar stock. Si la clave se usó con otro cuerpo, se
+     * responde {@code claveReutilizada=true} y no se registra nada.
+     * </p>
+     *
+     * @param ventaData Mapa con los datos de la nueva venta (ver {@link #registrarVenta(VentaRequest)})
+     * @param idempotencyKey Valor del encabezado {@code Idempotency-Key}, o null si no se envió
+     * @return Mapa con success, message y, según el caso, stockInsuficiente,
+     *         idempotentReplay o claveReutilizada
      * @see VentaRepository#crearVenta(Venta)
-     * @see VentaRepository#findDuplicadas(Venta)
+     * @see IdempotencyStore
      */
-    public Map<String, Object> registrarVenta(Map<String, Object> ventaData) {
+    public Map<String, Object> registrarVenta(VentaRequest ventaData, String idempotencyKey) {
+        String huella = idempotencyKey != null ? ventaData.huella() : null;
+        if (idempotencyKey != null) {
+            VentaRegistrada previa = IDEMPOTENCIA.obtener(idempotencyKey);
+            if (previa != null) {
+                if (!previa.huella.equals(huella)) {
+                    return claveReutilizada();
+                }
+                logger.debug("Reintento de venta con Idempotency-Key {}, se devuelve el resultado original", idempotencyKey);
+                return repeticion(previa.respuesta);
+            }
+        }
+
         Map<String, Object> response = new HashMap<>();
 
         try {
-            System.out.println("Iniciando registro de venta con datos: " + ventaData);
-
-            // Validación de campos requeridos
-            if (ventaData.get("clienteId") == null || ventaData.get("productoId") == null ||
-                    ventaData.get("cantidad") == null || ventaData.get("precioUnitario") == null ||
-                    ventaData.get("fecha") == null || ventaData.get("tipo") == null ||
-                    ventaData.get("usuarioRegistro") == null) {
-
-                System.out.println("Campos faltantes en ventaData");
-                response.put("success", false);
-                response.put("message", "Todos los campos son requeridos");
-                return response;
-            }
+            logger.debug("Iniciando registro de venta con datos: {}", ventaData);
 
             // Crear objeto Venta a partir de los datos
             Venta nuevaVenta = new Venta();
-            nuevaVenta.setClienteId(Integer.parseInt(ventaData.get("clienteId").toString()));
-            nuevaVenta.setProductoId(Integer.parseInt(ventaData.get("productoId").toString()));
-            nuevaVenta.setCantidad(Integer.parseInt(ventaData.get("cantidad").toString()));
-            nuevaVenta.setPrecioUnitario(Integer.parseInt(ventaData.get("precioUnitario").toString()));
-            nuevaVenta.setFecha(ventaData.get("fecha").toString());
-            nuevaVenta.setTipo(ventaData.get("tipo").toString());
-            nuevaVenta.setUsuarioRegistro(ventaData.get("usuarioRegistro").toString());
-
-            System.out.println("Venta creada en servicio: " +
-                    "ProductoID=" + nuevaVenta.getProductoId() +
-                    ", Cantidad=" + nuevaVenta.getCantidad() +
-                    ", Fecha=" + nuevaVenta.getFecha() +
-                    ", Tipo=" + nuevaVenta.getTipo());
-
-            // Verificación de duplicados para debugging
-            List<Venta> duplicadas = ventaRepository.findDuplicadas(nuevaVenta);
-            if (!duplicadas.isEmpty()) {
-                System.out.println("Se encontraron ventas duplicadas existentes:");
-                for (Venta dup : duplicadas) {
-                    System.out.println("   - ID: " + dup.getId() + ", FechaRegistro: " + dup.getFechaRegistro());
-                }
-            }
+            nuevaVenta.setClienteId(ventaData.getClienteId());
+            nuevaVenta.setProductoId(ventaData.getProductoId());
+            nuevaVenta.setCantidad(ventaData.getCantidad());
+            nuevaVenta.setPrecioUnitario(ventaData.getPrecioUnitario());
+            nuevaVenta.setFecha(ventaData.getFecha());
+            nuevaVenta.setTipo(ventaData.getTipo());
+            nuevaVenta.setUsuarioRegistro(ventaData.getUsuarioRegistro());
+            nuevaVenta.setIdempotencyKey(idempotencyKey);
+            nuevaVenta.setIdempotencyFingerprint(huella);
+
+            logger.debug("Venta creada en servicio: ProductoID={}, Cantidad={}, Fecha={}, Tipo={}", nuevaVenta.getProductoId(), nuevaVenta.getCantidad(), nuevaVenta.getFecha(), nuevaVenta.getTipo());
 
             // Persistir la venta
-            boolean creada = ventaRepository.crearVenta(nuevaVenta);
+            VentaRepository.ResultadoRegistro resultado = ventaRepository.crearVenta(nuevaVenta);
 
-            if (creada) {
-                System.out.println(" Venta registrada exitosamente en servicio");
+            if (resultado == VentaRepository.ResultadoRegistro.CLAVE_REUTILIZADA) {
+                return claveReutilizada();
+            }
+            if (resultado == VentaRepository.ResultadoRegistro.REPETIDA) {
+                // La venta original se registró antes; no cambió nada que invalidar
+                Map<String, Object> original = new HashMap<>();
+                original.put("success", true);
+                original.put("message", "Venta registrada exitosamente");
+                IDEMPOTENCIA.guardar(idempotencyKey, new VentaRegistrada(huella, original));
+                return repeticion(original);
+            }
+            if (resultado == VentaRepository.ResultadoRegistro.CREADA) {
+                logger.debug("Venta registrada exitosamente en servicio");
+                // Solo cambió el stock del producto vendido
+                ProductoService.ajustarStockCatalogo(nuevaVenta.getProductoId(), -nuevaVenta.getCantidad());
+                // Una venta con fecha pasada cambia un intervalo ya cerrado de la gráfica
+                EstadisticasService.invalidarSerie(RangoAnalitica.VENTAS, nuevaVenta.getFecha());
                 response.put("success", true);
                 response.put("message", "Venta registrada exitosamente");
+                if (idempotencyKey != null) {
+                    IDEMPOTENCIA.guardar(idempotencyKey, new VentaRegistrada(huella, new HashMap<>(response)));
+                }
             } else {
-                System.out.println(" No se pudo crear la venta en el repositorio (posible duplicado)");
+                logger.warn("No se pudo crear la venta en el repositorio (posible duplicado)");
                 response.put("success", false);
                 response.put("message", "Error al registrar venta o venta duplicada");
             }
 
+        } catch (IllegalStateException e) {
+            logger.warn("Venta rechazada: {}", e.getMessage());
+            response.put("success", false);
+            response.put("stockInsuficiente", true);
+            response.put("message", e.getMessage());
         } catch (Exception e) {
-            System.out.println("❌ Error en VentaService.registrarVenta: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Error en VentaService.registrarVenta", e);
             response.put("success", false);
             response.put("message", "Error al registrar venta: " + e.getMessage());
         }
@@ -222,6 +325,20 @@ public class VentaService {
         return response;
     }
 
+    private static Map<String, Object> repeticion(Map<String, Object> original) {
+        Map<String, Object> replay = new HashMap<>(original);
+        replay.put("idempotentReplay", true);
+        return replay;
+    }
+
+    private static Map<String, Object> claveReutilizada() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("claveReutilizada", true);
+        response.put("message", "La Idempotency-Key ya se usó con otros datos de venta");
+        return response;
+    }
+
     /**
      * Elimina una venta del sistema.
      *
@@ -231,10 +348,28 @@ public class VentaService {
      */
     public boolean eliminarVenta(int id) {
         try {
-            return ventaRepository.eliminarVenta(id);
+            boolean eliminada = ventaRepository.eliminarVenta(id);
+            if (eliminada) {
+                EstadisticasService.invalidarSerie(RangoAnalitica.VENTAS, null);
+            }
+            return eliminada;
         } catch (Exception e) {
-            System.out.println("Error en VentaService.eliminarVenta: " + e.getMessage());
+            logger.error("Error en VentaService.eliminarVenta: {}", e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Venta registrada con clave de idempotencia: la huella de su cuerpo y la
+     * respuesta que se devolvió.
+     */
+    private static final class VentaRegistrada {
+        private final String huella;
+        private final Map<String, Object> respuesta;
+
+        VentaRegistrada(String huella, Map<String, Object> respuesta) {
+            this.huella = huella;
+            this.respuesta = respuesta;
+        }
+    }
+}
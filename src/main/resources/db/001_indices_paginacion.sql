@@ -0,0 +1,11 @@
+-- Índices compuestos para la paginación por cursor (keyset).
+-- Cada listado se ordena por (fecha DESC, id DESC) y continúa con
+-- "fecha < ? OR (fecha = ? AND id < ?)", que MySQL resuelve como un
+-- rango sobre estos índices sin ordenar la tabla completa.
+
+CREATE INDEX idx_venta_fecha_registro_id ON venta (fecha_registro, id);
+CREATE INDEX idx_pedidos_fecha_creacion_id ON pedidos (fecha_creacion, id);
+CREATE INDEX idx_reparacion_fecha_registro_id ON reparacion (fecha_registro, id);
+CREATE INDEX idx_tareas_fecha_creacion_id ON tareas (fecha_creacion, id);
+CREATE INDEX idx_producto_fecha_creacion_id ON producto (fecha_creacion, id);
+CREATE INDEX idx_movimientomp_materia_fecha_id ON movimientomp (materia_id, fecha, id);
@@ -0,0 +1,7 @@
+-- Clave de idempotencia de las ventas (encabezado Idempotency-Key).
+-- El índice único impide registrar dos veces la misma venta cuando un
+-- cliente reintenta el POST; las ventas sin clave quedan en NULL y no
+-- entran en conflicto entre sí.
+
+ALTER TABLE venta ADD COLUMN idempotency_key VARCHAR(64) NULL;
+CREATE UNIQUE INDEX uk_venta_idempotency_key ON venta (idempotency_key);
@@ -0,0 +1,38 @@
+-- Tablas de resumen diario para las gráficas de /api/v1/analytics.
+-- Las mantienen al día VentaRepository, ReparacionRepository y
+-- MovimientoMpRepository en la misma transacción que cada escritura.
+-- La migración llena el histórico con las mismas consultas que
+-- RollupRepository.reconstruir(); aplicarla antes de arrancar la versión que
+-- escribe en las tablas. Para corregir una desviación más adelante:
+--   java -jar inventario-alma-jesus.jar --rebuild-rollups
+-- o POST /api/v1/admin/rollups/rebuild.
+
+CREATE TABLE resumen_ventas_dia (
+    dia DATE NOT NULL PRIMARY KEY,
+    ventas_count INT NOT NULL DEFAULT 0,
+    ventas_monto BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE resumen_reparaciones_dia (
+    dia DATE NOT NULL PRIMARY KEY,
+    reparaciones_count INT NOT NULL DEFAULT 0
+);
+
+CREATE TABLE resumen_consumo_dia (
+    dia DATE NOT NULL,
+    materia_id BIGINT NOT NULL,
+    consumo BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (dia, materia_id)
+);
+
+INSERT INTO resumen_ventas_dia (dia, ventas_count, ventas_monto)
+SELECT DATE(fecha), COUNT(*), COALESCE(SUM(precio_total), 0)
+FROM venta GROUP BY DATE(fecha);
+
+INSERT INTO resumen_reparaciones_dia (dia, reparaciones_count)
+SELECT DATE(fecha_ingreso), COUNT(*)
+FROM reparacion WHERE activo = true GROUP BY DATE(fecha_ingreso);
+
+INSERT INTO resumen_consumo_dia (dia, materia_id, consumo)
+SELECT DATE(fecha), materia_id, SUM(cantidad)
+FROM movimientomp WHERE tipo = 'consumo' GROUP BY DATE(fecha), materia_id;
@@ -0,0 +1,11 @@
+-- Tokens JWT revocados (logout y rotación de refresh tokens), por su jti.
+-- El servidor los mantiene en memoria y consulta esta tabla solo al arrancar,
+-- para que un reinicio no vuelva a aceptar tokens revocados. expira_en es la
+-- expiración del propio token en milisegundos desde la época: pasada esa
+-- fecha el token ya no es válido y la fila se borra.
+
+CREATE TABLE token_revocado (
+    jti CHAR(36) NOT NULL PRIMARY KEY,
+    expira_en BIGINT NOT NULL
+);
+CREATE INDEX idx_token_revocado_expira_en ON token_revocado (expira_en);
@@ -0,0 +1,7 @@
+-- Huella del cuerpo de la venta registrada con cada Idempotency-Key.
+-- Permite distinguir un reintento legítimo (mismo cuerpo, se responde con la
+-- venta original) de una clave reutilizada con otros datos (se rechaza con
+-- 422). Es el SHA-256 en hexadecimal de los campos de la venta; las ventas sin
+-- clave quedan en NULL.
+
+ALTER TABLE venta ADD COLUMN idempotency_fingerprint CHAR(64) NULL;
@@ -0,0 +1,50 @@
+package com.inventario.alma_jesus.router;
+
+import io.javalin.http.HandlerType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reglas de acceso de {@link AutorizacionFiltro} para las rutas de usuarios y
+ * de métricas.
+ */
+class AutorizacionFiltroTest {
+
+    private static final String PASSWORD = "/api/v1/usuarios/{id}/password";
+
+    @Test
+    void cambiarPasswordEsDelPropietarioYElRestoDeUsuariosDeAdmin() {
+        assertEquals(AutorizacionFiltro.Acceso.PROPIETARIO, AutorizacionFiltro.acceso(HandlerType.PUT, PASSWORD));
+        assertEquals(AutorizacionFiltro.Acceso.ADMIN, AutorizacionFiltro.acceso(HandlerType.GET, "/api/v1/usuarios/{id}"));
+        assertEquals(AutorizacionFiltro.Acceso.ADMIN, AutorizacionFiltro.acceso(HandlerType.DELETE, "/api/v1/usuarios/{id}"));
+    }
+
+    @Test
+    void trabajadorSoloCambiaSuPropiaPassword() {
+        String propia = RutaMatcher.parametro(PASSWORD, "/api/v1/usuarios/USU002/password", "id");
+        String ajena = RutaMatcher.parametro(PASSWORD, "/api/v1/usuarios/USU001/password", "id");
+
+        assertEquals("USU002", propia);
+        assertTrue(AutorizacionFiltro.permitido(AutorizacionFiltro.Acceso.PROPIETARIO, "TRABAJADOR", "USU002", propia));
+        assertFalse(AutorizacionFiltro.permitido(AutorizacionFiltro.Acceso.PROPIETARIO, "TRABAJADOR", "USU002", ajena));
+        assertFalse(AutorizacionFiltro.permitido(AutorizacionFiltro.Acceso.PROPIETARIO, "TRABAJADOR", null, propia));
+        assertTrue(AutorizacionFiltro.permitido(AutorizacionFiltro.Acceso.PROPIETARIO, "admin", "USU001", ajena));
+    }
+
+    @Test
+    void parametroNoCoincideConOtraForma() {
+        assertNull(RutaMatcher.parametro(PASSWORD, "/api/v1/usuarios/USU002", "id"));
+        assertNull(RutaMatcher.parametro("/api/v1/usuarios", "/api/v1/usuarios", "id"));
+    }
+
+    @Test
+    void metricasSonDeAdminSalvoQueSeHaganPublicas() {
+        assertEquals(AutorizacionFiltro.Acceso.ADMIN, AutorizacionFiltro.acceso(HandlerType.GET, "/metrics", false));
+        assertEquals(AutorizacionFiltro.Acceso.PUBLICO, AutorizacionFiltro.acceso(HandlerType.GET, "/metrics", true));
+        assertFalse(AutorizacionFiltro.permitido(AutorizacionFiltro.Acceso.ADMIN, "TRABAJADOR", "USU002", null));
+    }
+}
@@ -0,0 +1,30 @@
+package com.inventario.alma_jesus.service;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Números de semana de las gráficas por período, comparados con los que
+ * devuelve {@code WEEK()} de MySQL.
+ */
+class EstadisticasServiceTest {
+
+    @Test
+    void semanaModo0EmpiezaEnElPrimerDomingo() {
+        assertEquals(0, EstadisticasService.semanaModo0(LocalDate.of(2024, 1, 1)));
+        assertEquals(1, EstadisticasService.semanaModo0(LocalDate.of(2024, 1, 7)));
+        assertEquals(7, EstadisticasService.semanaModo0(LocalDate.of(2008, 2, 20)));
+        assertEquals(52, EstadisticasService.semanaModo0(LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void semanaModo1NoPasaAlAnioSiguiente() {
+        assertEquals(8, EstadisticasService.semanaModo1(LocalDate.of(2008, 2, 20)));
+        assertEquals(53, EstadisticasService.semanaModo1(LocalDate.of(2008, 12, 31)));
+        assertEquals(53, EstadisticasService.semanaModo1(LocalDate.of(2024, 12, 30)));
+        assertEquals(0, EstadisticasService.semanaModo1(LocalDate.of(2021, 1, 1)));
+        assertEquals(1, EstadisticasService.semanaModo1(LocalDate.of(2021, 1, 4)));
+    }
+}
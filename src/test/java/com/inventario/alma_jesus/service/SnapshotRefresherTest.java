@@ -0,0 +1,71 @@
+package com.inventario.alma_jesus.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las peticiones simultáneas a {@link SnapshotRefresher} comparten el recálculo.
+ */
+class SnapshotRefresherTest {
+
+    private static final int PETICIONES = 8;
+
+    @Test
+    void obtenerSinInstantaneaCalculaUnaSolaVez() throws Exception {
+        AtomicInteger calculos = new AtomicInteger();
+        SnapshotRefresher<Integer> refresher = lento(calculos);
+
+        simultaneas(() -> refresher.obtener().getValor());
+
+        assertEquals(1, calculos.get());
+    }
+
+    @Test
+    void refrescarSimultaneoNoRepiteElCalculoPorPeticion() throws Exception {
+        AtomicInteger calculos = new AtomicInteger();
+        SnapshotRefresher<Integer> refresher = lento(calculos);
+
+        simultaneas(() -> refresher.refrescar().getValor());
+
+        // Un cálculo para las que llegaron antes de que empezara y otro para las demás
+        assertTrue(calculos.get() <= 2);
+    }
+
+    private static SnapshotRefresher<Integer> lento(AtomicInteger calculos) {
+        return new SnapshotRefresher<>("prueba", () -> {
+            Thread.sleep(100);
+            return calculos.incrementAndGet();
+        }, 60);
+    }
+
+    private static void simultaneas(Callable<Integer> peticion) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(PETICIONES);
+        try {
+            CountDownLatch salida = new CountDownLatch(1);
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int i = 0; i < PETICIONES; i++) {
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    return peticion.call();
+                }));
+            }
+            salida.countDown();
+            for (Future<Integer> resultado : resultados) {
+                resultado.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}